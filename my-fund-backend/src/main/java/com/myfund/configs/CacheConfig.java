@@ -16,15 +16,11 @@ public class CacheConfig {
     @Bean
     public CacheManager cacheManager() {
         CaffeineCacheManager cacheManager = new CaffeineCacheManager();
-        cacheManager.registerCustomCache("passwordResetTokens", Caffeine.newBuilder()
+        cacheManager.registerCustomCache("userDetails", Caffeine.newBuilder()
                 .initialCapacity(100)
-                .maximumSize(500)
+                .maximumSize(10_000)
                 .expireAfterWrite(10, TimeUnit.MINUTES)
-                .build());
-        cacheManager.registerCustomCache("emailThrottleCache", Caffeine.newBuilder()
-                .initialCapacity(100)
-                .maximumSize(500)
-                .expireAfterWrite(60, TimeUnit.MINUTES)
+                .recordStats()
                 .build());
         return cacheManager;
     }
@@ -0,0 +1,99 @@
+package com.myfund.configs;
+
+import com.myfund.services.BudgetService;
+import com.myfund.services.csv.CsvBatchWriter;
+import com.myfund.services.csv.CsvImportPipeline;
+import com.myfund.services.csv.CsvRowEncryptor;
+import com.myfund.services.encryption.BigDecimalEncryptor;
+import com.myfund.services.encryption.LocalDateTimeEncryptor;
+import com.myfund.services.encryption.RowPayloadEncryptor;
+import com.myfund.services.encryption.StringEncryptor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+@Configuration
+public class CsvImportConfig {
+
+    public static final int DEFAULT_CHUNK_SIZE = 500;
+
+    @Value("${csv.import.threads:2}")
+    private int threads;
+
+    @Value("${csv.import.queue-capacity:20}")
+    private int queueCapacity;
+
+    @Value("${csv.import.chunk-size:" + DEFAULT_CHUNK_SIZE + "}")
+    private int chunkSize;
+
+    @Value("${csv.import.encryption-threads:0}")
+    private int encryptionThreads;
+
+    @Value("${csv.import.chunks-in-flight:0}")
+    private int chunksInFlight;
+
+    @Value("${encryption.row-payload.enabled:false}")
+    private boolean rowPayload;
+
+    @Bean
+    public ThreadPoolTaskExecutor csvImportExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("csv-import-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor csvEncryptionExecutor() {
+        int poolSize = resolveEncryptionThreads();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setThreadNamePrefix("csv-encrypt-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor csvWriterExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(threads);
+        executor.setThreadNamePrefix("csv-writer-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    @Bean
+    public CsvRowEncryptor csvRowEncryptor(AutowireCapableBeanFactory beanFactory) {
+        return new CsvRowEncryptor(
+                beanFactory.createBean(StringEncryptor.class),
+                beanFactory.createBean(BigDecimalEncryptor.class),
+                beanFactory.createBean(LocalDateTimeEncryptor.class),
+                rowPayload ? beanFactory.createBean(RowPayloadEncryptor.class) : null);
+    }
+
+    @Bean
+    public CsvImportPipeline csvImportPipeline(BudgetService budgetService, CsvRowEncryptor csvRowEncryptor, CsvBatchWriter csvBatchWriter,
+                                               @Qualifier("csvEncryptionExecutor") Executor csvEncryptionExecutor,
+                                               @Qualifier("csvWriterExecutor") Executor csvWriterExecutor) {
+        int inFlight = chunksInFlight > 0 ? chunksInFlight : 2 * resolveEncryptionThreads();
+        return new CsvImportPipeline(budgetService, csvRowEncryptor, csvBatchWriter, csvEncryptionExecutor, csvWriterExecutor, chunkSize, inFlight);
+    }
+
+    private int resolveEncryptionThreads() {
+        return encryptionThreads > 0 ? encryptionThreads : Runtime.getRuntime().availableProcessors();
+    }
+}
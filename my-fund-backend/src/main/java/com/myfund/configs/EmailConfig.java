@@ -0,0 +1,43 @@
+package com.myfund.configs;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class EmailConfig {
+
+    @Value("${postmark.http.max-connections:20}")
+    private int maxConnections;
+
+    @Value("${postmark.http.connect-timeout-ms:5000}")
+    private int connectTimeoutMs;
+
+    @Value("${postmark.http.socket-timeout-ms:15000}")
+    private int socketTimeoutMs;
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient postmarkHttpClient() {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(60, TimeUnit.SECONDS);
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnections);
+        connectionManager.setValidateAfterInactivity(2_000);
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy(DefaultConnectionKeepAliveStrategy.INSTANCE)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectTimeout(connectTimeoutMs)
+                        .setConnectionRequestTimeout(connectTimeoutMs)
+                        .setSocketTimeout(socketTimeoutMs)
+                        .build())
+                .evictIdleConnections(30, TimeUnit.SECONDS)
+                .build();
+    }
+}
@@ -0,0 +1,86 @@
+package com.myfund.configs;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Configuration
+public class MetricsConfig {
+
+    // Latency meters on the request, persistence and import paths; histograms let dashboards aggregate percentiles
+    // across instances. Each meter's buckets are clamped to its expected range, which keeps the number of le series
+    // per tag set small, most of all for the many converter type and operation tags. The first matching prefix wins.
+    static final Map<String, HistogramRange> HISTOGRAM_RANGES = histogramRanges();
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public MeterFilter histogramMeterFilter() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                HistogramRange range = histogramRange(id.getName());
+                if (range == null) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .minimumExpectedValue(range.getMinimum())
+                        .maximumExpectedValue(range.getMaximum())
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+
+    static HistogramRange histogramRange(String meterName) {
+        return HISTOGRAM_RANGES.entrySet().stream()
+                .filter(entry -> meterName.startsWith(entry.getKey()))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static Map<String, HistogramRange> histogramRanges() {
+        Map<String, HistogramRange> ranges = new LinkedHashMap<>();
+        ranges.put("http.server.requests", HistogramRange.of(Duration.ofMillis(1), Duration.ofSeconds(30)));
+        ranges.put("hikaricp.connections.acquire", HistogramRange.of(Duration.ofNanos(100_000), Duration.ofSeconds(30)));
+        ranges.put("encryption.converter", HistogramRange.of(Duration.ofNanos(1_000), Duration.ofMillis(10)));
+        // Rows per second, not a duration.
+        ranges.put("csv.import.throughput", new HistogramRange(1, 1_000_000));
+        ranges.put("csv.import", HistogramRange.of(Duration.ofMillis(10), Duration.ofMinutes(10)));
+        ranges.put("budget.totals", HistogramRange.of(Duration.ofNanos(100_000), Duration.ofSeconds(5)));
+        ranges.put("category.totals", HistogramRange.of(Duration.ofNanos(100_000), Duration.ofSeconds(30)));
+        return ranges;
+    }
+
+    /**
+     * Expected value range of a histogram, in the meter's base unit; nanoseconds for timers.
+     */
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PACKAGE)
+    static final class HistogramRange {
+
+        private final double minimum;
+
+        private final double maximum;
+
+        static HistogramRange of(Duration minimum, Duration maximum) {
+            return new HistogramRange(minimum.toNanos(), maximum.toNanos());
+        }
+    }
+}
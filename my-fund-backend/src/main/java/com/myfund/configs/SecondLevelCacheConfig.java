@@ -0,0 +1,117 @@
+package com.myfund.configs;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level cache, held in node-local Caffeine caches behind JCache. Entries keep the decrypted
+ * attribute values by reference, so they never leave the heap and a hit skips both the query and the decryption.
+ */
+@Configuration
+@Slf4j
+public class SecondLevelCacheConfig {
+
+    public static final String CATEGORY_REGION = "category";
+
+    public static final String CATEGORY_SUBCATEGORIES_REGION = "category.subCategories";
+
+    public static final String SUBCATEGORY_REGION = "subcategory";
+
+    public static final String BUDGET_REGION = "budget";
+
+    private static final String REGION_PROPERTY_PREFIX = "hibernate.cache.regions.";
+
+    // Regions are node-local and only invalidated on the node that wrote, so every cached entity, and the category
+    // tree derived from them, shares one expiry that bounds how stale another node's copy can get.
+    public static final Duration EXPIRE_AFTER_WRITE = Duration.ofMinutes(1);
+
+    static final Map<String, RegionSettings> DEFAULT_REGIONS = Map.of(
+            CATEGORY_REGION, new RegionSettings(10_000, EXPIRE_AFTER_WRITE),
+            CATEGORY_SUBCATEGORIES_REGION, new RegionSettings(10_000, EXPIRE_AFTER_WRITE),
+            SUBCATEGORY_REGION, new RegionSettings(100_000, EXPIRE_AFTER_WRITE),
+            BUDGET_REGION, new RegionSettings(10_000, EXPIRE_AFTER_WRITE));
+
+    // A unique URI per context, so test contexts sharing the JVM do not share (and close) each other's regions.
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(Environment environment) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("myfund-hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+        regionSettings(environment).forEach((region, settings) -> {
+            cacheManager.createCache(region, settings.toConfiguration());
+            log.info("Second-level cache region {} created. Maximum size: {}, expire after write: {}", region, settings.getMaximumSize(), settings.getExpireAfterWrite());
+        });
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheHibernatePropertiesCustomizer(CacheManager hibernateCacheManager) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            // Every cached region is sized above; an unexpected one must not silently become an unbounded cache.
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(CacheManager hibernateCacheManager) {
+        return registry -> bindRegionMetrics(hibernateCacheManager, registry);
+    }
+
+    static void bindRegionMetrics(CacheManager cacheManager, MeterRegistry registry) {
+        for (String region : cacheManager.getCacheNames()) {
+            JCacheMetrics.monitor(registry, cacheManager.getCache(region), Tags.of("cacheType", "hibernate"));
+        }
+    }
+
+    static Map<String, RegionSettings> regionSettings(Environment environment) {
+        Map<String, RegionSettings> regions = new LinkedHashMap<>();
+        DEFAULT_REGIONS.forEach((region, defaults) -> regions.put(region, new RegionSettings(
+                environment.getProperty(REGION_PROPERTY_PREFIX + region + ".maximum-size", Long.class, defaults.getMaximumSize()),
+                environment.getProperty(REGION_PROPERTY_PREFIX + region + ".expire-after-write", Duration.class, defaults.getExpireAfterWrite()))));
+        return regions;
+    }
+
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PACKAGE)
+    static final class RegionSettings {
+
+        private final long maximumSize;
+
+        private final Duration expireAfterWrite;
+
+        CaffeineConfiguration<Object, Object> toConfiguration() {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setTypes(Object.class, Object.class);
+            configuration.setStoreByValue(false);
+            configuration.setStatisticsEnabled(true);
+            configuration.setMaximumSize(OptionalLong.of(maximumSize));
+            configuration.setExpireAfterWrite(OptionalLong.of(expireAfterWrite.toNanos()));
+            return configuration;
+        }
+    }
+}
@@ -1,13 +1,19 @@
 package com.myfund.controllers;
 
+import com.myfund.models.DTOs.AccessTokenDTO;
 import com.myfund.models.DTOs.CreateUserDTO;
 import com.myfund.models.DTOs.PasswordChangeDTO;
 import com.myfund.models.DTOs.PasswordChangeRequestDTO;
+import com.myfund.models.DTOs.SignInDTO;
 import com.myfund.models.DTOs.UserDTO;
+import com.myfund.models.DTOs.mappers.AccessTokenMapper;
 import com.myfund.models.DTOs.mappers.PasswordChangeMapper;
 import com.myfund.models.DTOs.mappers.PasswordChangeRequestMapper;
+import com.myfund.models.DTOs.mappers.SignInMapper;
 import com.myfund.models.DTOs.mappers.UserMapper;
 import com.myfund.models.User;
+import com.myfund.models.AccessToken;
+import com.myfund.services.AuthenticationService;
 import com.myfund.services.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -15,7 +21,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
-import java.io.IOException;
 
 @RestController
 @RequestMapping("/v1")
@@ -23,13 +28,22 @@ public class AuthControler {
 
     private final UserService userService;
 
+    private final AuthenticationService authenticationService;
+
     @Autowired
-    public AuthControler(UserService userService) {
+    public AuthControler(UserService userService, AuthenticationService authenticationService) {
         this.userService = userService;
+        this.authenticationService = authenticationService;
+    }
+
+    @PostMapping("/signin")
+    public ResponseEntity<AccessTokenDTO> signIn(@Valid @RequestBody SignInDTO signInDTO) {
+        AccessToken accessToken = authenticationService.signIn(SignInMapper.toModel(signInDTO));
+        return new ResponseEntity<>(AccessTokenMapper.toDTO(accessToken), HttpStatus.OK);
     }
 
     @PostMapping("/register")
-    public ResponseEntity<UserDTO> registerUser(@Valid @RequestBody CreateUserDTO createUserDTO) throws IOException {
+    public ResponseEntity<UserDTO> registerUser(@Valid @RequestBody CreateUserDTO createUserDTO) {
         User user = userService.createUser(UserMapper.toModel(createUserDTO));
         return new ResponseEntity<>(UserMapper.toDTO(user), HttpStatus.CREATED);
     }
@@ -7,6 +7,7 @@ import com.myfund.models.DTOs.mappers.*;
 import com.myfund.services.BudgetService;
 import com.myfund.services.csv.CsvReaderService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -14,6 +15,8 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -44,8 +47,20 @@ public class BudgetController {
 
     @GetMapping()
     public ResponseEntity<List<BudgetSummaryDTO>> getAllBudgets(@AuthenticationPrincipal User user) {
-        List<Budget> allBudgetsByUser = budgetService.findAllBudgetsByUser(user);
-        return new ResponseEntity<>(BudgetSummaryMapper.toListDTO(allBudgetsByUser), HttpStatus.OK);
+        List<BudgetSummary> allBudgetsByUser = budgetService.findAllBudgetsByUser(user);
+        return new ResponseEntity<>(BudgetSummaryMapper.toListDTOFromSummaries(allBudgetsByUser), HttpStatus.OK);
+    }
+
+    @GetMapping("/{budgetId}/expenses")
+    public ResponseEntity<PageDTO<ExpenseDTO>> getExpenses(@PathVariable("budgetId") Long budgetId, @RequestParam(value = "size", defaultValue = "" + BudgetService.DEFAULT_PAGE_SIZE) int size, @RequestParam(value = "continuationToken", required = false) String continuationToken, @AuthenticationPrincipal User user) throws InvalidInputException {
+        Slice<Expense> expenses = budgetService.findExpensesPage(budgetId, user, continuationToken, size);
+        return new ResponseEntity<>(PageMapper.toDTO(expenses, ExpenseMapper::toDTO, Expense::getId), HttpStatus.OK);
+    }
+
+    @GetMapping("/{budgetId}/incomes")
+    public ResponseEntity<PageDTO<IncomeDTO>> getIncomes(@PathVariable("budgetId") Long budgetId, @RequestParam(value = "size", defaultValue = "" + BudgetService.DEFAULT_PAGE_SIZE) int size, @RequestParam(value = "continuationToken", required = false) String continuationToken, @AuthenticationPrincipal User user) throws InvalidInputException {
+        Slice<Income> incomes = budgetService.findIncomesPage(budgetId, user, continuationToken, size);
+        return new ResponseEntity<>(PageMapper.toDTO(incomes, IncomeMapper::toDTO, Income::getId), HttpStatus.OK);
     }
 
     @PostMapping("/{budgetId}/expenses")
@@ -121,17 +136,24 @@ public class BudgetController {
     }
 
     @PostMapping("/{budgetId}/upload-csv/{bankName}")
-    public ResponseEntity<String> uploadCsv(@PathVariable(value = "bankName") BankName bankName, @RequestParam("file") MultipartFile file, @AuthenticationPrincipal User user, @PathVariable Long budgetId) {
+    public ResponseEntity<?> uploadCsv(@PathVariable(value = "bankName") BankName bankName, @RequestParam("file") MultipartFile file, @AuthenticationPrincipal User user, @PathVariable Long budgetId) {
         if (file.isEmpty()) {
             return ResponseEntity.badRequest().body("{\"message\": \"File is empty\"}");
         }
         try {
-            csvReaderService.parseFile(bankName, file, user, budgetId);
-            String successMessage = String.format("Successfully uploaded '%s' for %s", file.getOriginalFilename(), bankName);
-            return ResponseEntity.ok("{\"message\": \"" + successMessage + "\"}");
-        } catch (Exception e) {
+            CsvImportJob csvImportJob = csvReaderService.submitImport(bankName, file, user, budgetId);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/v1/budgets/" + budgetId + "/imports/" + csvImportJob.getId()))
+                    .body(CsvImportJobMapper.toDTO(csvImportJob));
+        } catch (IOException | IllegalArgumentException e) {
             String errorMessage = String.format("Error processing file: %s", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("{\"message\": \"" + errorMessage + "\"}");
         }
     }
+
+    @GetMapping("/{budgetId}/imports/{jobId}")
+    public ResponseEntity<CsvImportJobDTO> getImport(@PathVariable("budgetId") Long budgetId, @PathVariable("jobId") String jobId, @AuthenticationPrincipal User user) {
+        CsvImportJob csvImportJob = csvReaderService.findImport(jobId, budgetId, user);
+        return new ResponseEntity<>(CsvImportJobMapper.toDTO(csvImportJob), HttpStatus.OK);
+    }
 }
\ No newline at end of file
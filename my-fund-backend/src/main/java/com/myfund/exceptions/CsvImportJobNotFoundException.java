@@ -0,0 +1,7 @@
+package com.myfund.exceptions;
+
+public class CsvImportJobNotFoundException extends RuntimeException {
+    public CsvImportJobNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.myfund.exceptions;
+
+public class CsvImportRejectedException extends RuntimeException {
+    public CsvImportRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,110 @@
+package com.myfund.migrations;
+
+import com.myfund.services.encryption.BigDecimalEncryptor;
+import com.myfund.services.encryption.RowPayload;
+import com.myfund.services.encryption.RowPayloadEncryptor;
+import jakarta.persistence.AttributeConverter;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recomputes balance, total income and total expense of every budget from its expense and income rows, once.
+ * Budgets whose stored totals drifted before they were maintained incrementally are corrected here; amounts are
+ * encrypted, so the sums cannot be done in SQL.
+ */
+@Component
+@Slf4j
+public class V11__Recompute_budget_totals extends BaseJavaMigration {
+
+    static final int BATCH_SIZE = 1000;
+
+    private final AttributeConverter<BigDecimal, byte[]> bigDecimalEncryptor;
+
+    private final AttributeConverter<RowPayload, byte[]> rowPayloadEncryptor;
+
+    @Autowired
+    public V11__Recompute_budget_totals(AutowireCapableBeanFactory beanFactory) {
+        this(beanFactory.createBean(BigDecimalEncryptor.class), beanFactory.createBean(RowPayloadEncryptor.class));
+    }
+
+    V11__Recompute_budget_totals(AttributeConverter<BigDecimal, byte[]> bigDecimalEncryptor, AttributeConverter<RowPayload, byte[]> rowPayloadEncryptor) {
+        this.bigDecimalEncryptor = bigDecimalEncryptor;
+        this.rowPayloadEncryptor = rowPayloadEncryptor;
+    }
+
+    @Override
+    public void migrate(Context context) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+        Map<Long, BigDecimal> expenses = sumAmounts(jdbcTemplate, "expense");
+        Map<Long, BigDecimal> incomes = sumAmounts(jdbcTemplate, "income");
+        int budgets = writeTotals(jdbcTemplate, incomes, expenses);
+        log.info("Budget totals recomputed. Budgets: {}, budgets with expenses: {}, budgets with incomes: {}", budgets, expenses.size(), incomes.size());
+    }
+
+    Map<Long, BigDecimal> sumAmounts(JdbcTemplate jdbcTemplate, String table) {
+        String select = "SELECT id, budget_id, amount, payload FROM " + table + " WHERE id > ? ORDER BY id LIMIT " + BATCH_SIZE;
+        Map<Long, BigDecimal> totals = new HashMap<>();
+        long lastId = 0;
+        List<Map<String, Object>> rows;
+        do {
+            rows = jdbcTemplate.queryForList(select, lastId);
+            for (Map<String, Object> row : rows) {
+                lastId = ((Number) row.get("id")).longValue();
+                Number budgetId = (Number) row.get("budget_id");
+                BigDecimal amount = amount(row);
+                if (budgetId != null && amount != null) {
+                    totals.merge(budgetId.longValue(), amount, BigDecimal::add);
+                }
+            }
+        } while (rows.size() == BATCH_SIZE);
+        return totals;
+    }
+
+    int writeTotals(JdbcTemplate jdbcTemplate, Map<Long, BigDecimal> incomes, Map<Long, BigDecimal> expenses) {
+        String select = "SELECT id FROM budget WHERE id > ? ORDER BY id LIMIT " + BATCH_SIZE;
+        String update = "UPDATE budget SET balance = ?, total_income = ?, total_expense = ? WHERE id = ?";
+        int updated = 0;
+        long lastId = 0;
+        List<Long> ids;
+        do {
+            ids = jdbcTemplate.queryForList(select, Long.class, lastId);
+            List<Object[]> batch = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                BigDecimal totalIncome = incomes.getOrDefault(id, BigDecimal.ZERO);
+                BigDecimal totalExpense = expenses.getOrDefault(id, BigDecimal.ZERO);
+                batch.add(new Object[]{
+                        bigDecimalEncryptor.convertToDatabaseColumn(totalIncome.subtract(totalExpense)),
+                        bigDecimalEncryptor.convertToDatabaseColumn(totalIncome),
+                        bigDecimalEncryptor.convertToDatabaseColumn(totalExpense),
+                        id});
+                lastId = id;
+            }
+            if (!batch.isEmpty()) {
+                jdbcTemplate.batchUpdate(update, batch);
+                updated += batch.size();
+            }
+        } while (ids.size() == BATCH_SIZE);
+        return updated;
+    }
+
+    // Rows converted to a single payload keep their amount there, mirroring Expense#getAmount and Income#getAmount.
+    private BigDecimal amount(Map<String, Object> row) {
+        byte[] payload = (byte[]) row.get("payload");
+        if (payload != null) {
+            return rowPayloadEncryptor.convertToEntityAttribute(payload).getAmount();
+        }
+        return bigDecimalEncryptor.convertToEntityAttribute((byte[]) row.get("amount"));
+    }
+}
@@ -0,0 +1,81 @@
+package com.myfund.migrations;
+
+import com.myfund.services.encryption.BlindIndex;
+import com.myfund.services.encryption.EncryptionUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes the blind indexes added in V7 for rows written before them. Needs the encryption keys, so it runs
+ * as a Spring bean picked up by Flyway rather than from the SQL migration location.
+ */
+@Component
+@Slf4j
+public class V8__Backfill_blind_indexes extends BaseJavaMigration {
+
+    static final int BATCH_SIZE = 1000;
+
+    private final BlindIndex blindIndex;
+
+    private final String encryptionKey;
+
+    public V8__Backfill_blind_indexes(BlindIndex blindIndex, @Value("${encryption.key}") String encryptionKey) {
+        this.blindIndex = blindIndex;
+        this.encryptionKey = encryptionKey;
+    }
+
+    @Override
+    public void migrate(Context context) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+        int users = backfill(jdbcTemplate, "users", List.of("email", "username"));
+        int budgets = backfill(jdbcTemplate, "budget", List.of("name"));
+        int categories = backfill(jdbcTemplate, "category", List.of("name"));
+        log.info("Blind indexes backfilled. Users: {}, budgets: {}, categories: {}", users, budgets, categories);
+    }
+
+    int backfill(JdbcTemplate jdbcTemplate, String table, List<String> columns) {
+        String select = "SELECT id, " + String.join(", ", columns) + " FROM " + table + " WHERE id > ? ORDER BY id LIMIT " + BATCH_SIZE;
+        String update = "UPDATE " + table + " SET " + String.join(", ", columns.stream().map(column -> column + "_index = ?").toList()) + " WHERE id = ?";
+        int updated = 0;
+        long lastId = 0;
+        List<Map<String, Object>> rows;
+        do {
+            rows = jdbcTemplate.queryForList(select, lastId);
+            List<Object[]> batch = new ArrayList<>(rows.size());
+            for (Map<String, Object> row : rows) {
+                Object[] arguments = new Object[columns.size() + 1];
+                for (int i = 0; i < columns.size(); i++) {
+                    arguments[i] = blindIndex.of(decrypt((String) row.get(columns.get(i)), table, columns.get(i)));
+                }
+                lastId = ((Number) row.get("id")).longValue();
+                arguments[columns.size()] = lastId;
+                batch.add(arguments);
+            }
+            if (!batch.isEmpty()) {
+                jdbcTemplate.batchUpdate(update, batch);
+                updated += batch.size();
+            }
+        } while (rows.size() == BATCH_SIZE);
+        return updated;
+    }
+
+    private String decrypt(String value, String table, String column) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return EncryptionUtil.decrypt(value, encryptionKey);
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to decrypt " + table + "." + column + " for blind index backfill", e);
+        }
+    }
+}
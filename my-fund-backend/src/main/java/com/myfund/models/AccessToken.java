@@ -0,0 +1,15 @@
+package com.myfund.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+@Getter
+@AllArgsConstructor
+public class AccessToken {
+
+    private String token;
+
+    private Instant expiresAt;
+}
@@ -2,11 +2,17 @@ package com.myfund.models;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import com.myfund.configs.SecondLevelCacheConfig;
+import com.myfund.services.encryption.BlindIndex;
+import com.myfund.services.encryption.BlindIndexListener;
+import com.myfund.services.encryption.BlindIndexed;
 import com.myfund.services.encryption.StringEncryptor;
 import com.myfund.services.encryption.LocalDateTimeEncryptor;
 import com.myfund.services.encryption.BigDecimalEncryptor;
@@ -17,7 +23,10 @@ import com.myfund.services.encryption.BigDecimalEncryptor;
 @AllArgsConstructor
 @Data
 @Table(name = "budget")
-public class Budget {
+@EntityListeners(BlindIndexListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.BUDGET_REGION)
+public class Budget implements BlindIndexed {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -25,17 +34,25 @@ public class Budget {
     @Convert(converter = StringEncryptor.class)
     private String name;
 
-    @ManyToOne
+    private String nameIndex;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User user;
 
     @Convert(converter = LocalDateTimeEncryptor.class)
     private LocalDateTime localDateTime;
 
-    @OneToMany(mappedBy = "budget", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "budget", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private List<Expense> expenses;
 
-    @OneToMany(mappedBy = "budget", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "budget", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private List<Income> incomes;
 
     @Convert(converter = BigDecimalEncryptor.class)
@@ -50,11 +67,17 @@ public class Budget {
     @Builder.Default
     private BigDecimal totalExpense = BigDecimal.ZERO;
 
+    @Version
+    private Long version;
+
+    private boolean categoryTotalsInitialized;
+
     public static Budget createDefault(User user) {
         return Budget.builder()
                 .name("Default Budget")
                 .user(user)
                 .localDateTime(LocalDateTime.now())
+                .categoryTotalsInitialized(true)
                 .build();
     }
 
@@ -63,7 +86,19 @@ public class Budget {
                 .name(budget.getName())
                 .user(user)
                 .localDateTime(LocalDateTime.now())
+                .categoryTotalsInitialized(true)
                 .build();
     }
 
+    @Override
+    public void updateBlindIndexes(BlindIndex blindIndex) {
+        this.nameIndex = blindIndex.of(name);
+    }
+
+    public void applyDelta(BigDecimal incomeDelta, BigDecimal expenseDelta) {
+        this.totalIncome = this.totalIncome.add(incomeDelta);
+        this.totalExpense = this.totalExpense.add(expenseDelta);
+        this.balance = this.totalIncome.subtract(this.totalExpense);
+    }
+
 }
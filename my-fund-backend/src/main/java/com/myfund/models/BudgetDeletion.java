@@ -0,0 +1,15 @@
+package com.myfund.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class BudgetDeletion {
+
+    private Long budgetId;
+
+    private int expensesDeleted;
+
+    private int incomesDeleted;
+}
@@ -0,0 +1,21 @@
+package com.myfund.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+@Getter
+@AllArgsConstructor
+public class BudgetSummary {
+
+    private Long id;
+
+    private String name;
+
+    private BigDecimal balance;
+
+    private BigDecimal totalIncome;
+
+    private BigDecimal totalExpense;
+}
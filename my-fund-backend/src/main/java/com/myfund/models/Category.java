@@ -1,8 +1,14 @@
 package com.myfund.models;
 
+import com.myfund.configs.SecondLevelCacheConfig;
+import com.myfund.services.encryption.BlindIndex;
+import com.myfund.services.encryption.BlindIndexListener;
+import com.myfund.services.encryption.BlindIndexed;
 import com.myfund.services.encryption.StringEncryptor;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.validation.constraints.NotNull;
 import java.util.ArrayList;
@@ -11,12 +17,15 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Table(name = "category")
+@EntityListeners(BlindIndexListener.class)
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
 @Data
 @Builder
-public class Category {
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.CATEGORY_REGION)
+public class Category implements BlindIndexed {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -26,13 +35,23 @@ public class Category {
     @Convert(converter = StringEncryptor.class)
     private String name;
 
+    private String nameIndex;
+
     @OneToMany(mappedBy = "category", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.CATEGORY_SUBCATEGORIES_REGION)
     private List<SubCategory> subCategories;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User user;
 
+    @Override
+    public void updateBlindIndexes(BlindIndex blindIndex) {
+        this.nameIndex = blindIndex.of(name);
+    }
+
     public static Category create(Category category, User user) {
         Category newCategory = Category.builder()
                 .name(category.getName())
@@ -0,0 +1,13 @@
+package com.myfund.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CategoryLink {
+
+    private Long categoryId;
+
+    private Long subCategoryId;
+}
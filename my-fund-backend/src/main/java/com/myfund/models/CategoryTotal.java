@@ -0,0 +1,49 @@
+package com.myfund.models;
+
+import com.myfund.services.encryption.BigDecimalEncryptor;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Table(name = "category_total")
+public class CategoryTotal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "budget_id", nullable = false)
+    private Long budgetId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type_aggregate", nullable = false)
+    private TypeAggregate typeAggregate;
+
+    @Column(name = "target_id", nullable = false)
+    private Long targetId;
+
+    @Convert(converter = BigDecimalEncryptor.class)
+    @Builder.Default
+    private BigDecimal total = BigDecimal.ZERO;
+
+    @Version
+    private Long version;
+
+    public static CategoryTotal create(Long budgetId, TypeAggregate typeAggregate, Long targetId) {
+        return CategoryTotal.builder()
+                .budgetId(budgetId)
+                .typeAggregate(typeAggregate)
+                .targetId(targetId)
+                .build();
+    }
+
+    public void add(BigDecimal delta) {
+        this.total = this.total.add(delta);
+    }
+}
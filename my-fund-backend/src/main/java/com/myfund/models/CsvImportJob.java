@@ -0,0 +1,104 @@
+package com.myfund.models;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Getter
+public class CsvImportJob {
+
+    private final String id;
+
+    private final Long budgetId;
+
+    private final Long userId;
+
+    private final BankName bankName;
+
+    private final String fileName;
+
+    private final LocalDateTime createdAt;
+
+    private volatile CsvImportStatus status = CsvImportStatus.QUEUED;
+
+    private volatile LocalDateTime startedAt;
+
+    private volatile LocalDateTime finishedAt;
+
+    private volatile String errorMessage;
+
+    @Getter(lombok.AccessLevel.NONE)
+    private final AtomicLong rowsParsed = new AtomicLong();
+
+    @Getter(lombok.AccessLevel.NONE)
+    private final AtomicLong rowsPersisted = new AtomicLong();
+
+    @Getter(lombok.AccessLevel.NONE)
+    private final AtomicLong rowsRejected = new AtomicLong();
+
+    private CsvImportJob(Long budgetId, Long userId, BankName bankName, String fileName) {
+        this.id = UUID.randomUUID().toString();
+        this.budgetId = budgetId;
+        this.userId = userId;
+        this.bankName = bankName;
+        this.fileName = fileName;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public static CsvImportJob create(Long budgetId, User user, BankName bankName, String fileName) {
+        return new CsvImportJob(budgetId, user.getId(), bankName, fileName);
+    }
+
+    public void markRunning() {
+        this.startedAt = LocalDateTime.now();
+        this.status = CsvImportStatus.RUNNING;
+    }
+
+    public void markCompleted() {
+        this.finishedAt = LocalDateTime.now();
+        this.status = CsvImportStatus.COMPLETED;
+    }
+
+    public void markFailed(String errorMessage) {
+        this.errorMessage = errorMessage;
+        this.finishedAt = LocalDateTime.now();
+        this.status = CsvImportStatus.FAILED;
+    }
+
+    public void rowParsed() {
+        rowsParsed.incrementAndGet();
+    }
+
+    public void rowRejected() {
+        rowsRejected.incrementAndGet();
+    }
+
+    public void rowsPersisted(int count) {
+        rowsPersisted.addAndGet(count);
+    }
+
+    public long getRowsParsed() {
+        return rowsParsed.get();
+    }
+
+    public long getRowsPersisted() {
+        return rowsPersisted.get();
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected.get();
+    }
+
+    public double getRowsPerSecond() {
+        LocalDateTime start = startedAt;
+        if (start == null) {
+            return 0;
+        }
+        LocalDateTime end = finishedAt != null ? finishedAt : LocalDateTime.now();
+        long millis = Math.max(1, Duration.between(start, end).toMillis());
+        return getRowsPersisted() * 1000.0 / millis;
+    }
+}
@@ -0,0 +1,5 @@
+package com.myfund.models;
+
+public enum CsvImportStatus {
+    QUEUED, RUNNING, COMPLETED, FAILED
+}
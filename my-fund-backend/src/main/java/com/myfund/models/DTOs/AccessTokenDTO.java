@@ -0,0 +1,14 @@
+package com.myfund.models.DTOs;
+
+import lombok.*;
+
+@Data
+@Builder
+public class AccessTokenDTO {
+
+    private String accessToken;
+
+    private String tokenType;
+
+    private long expiresIn;
+}
@@ -6,7 +6,6 @@ import lombok.Getter;
 import lombok.Setter;
 
 import java.math.BigDecimal;
-import java.util.List;
 
 @Data
 @Builder
@@ -21,8 +20,4 @@ public class BudgetDTO {
     @Builder.Default private BigDecimal totalIncome = BigDecimal.ZERO;
 
     @Builder.Default private BigDecimal totalExpense = BigDecimal.ZERO;
-
-    private List<ExpenseDTO> expenses;
-
-    private List<IncomeDTO> incomes;
 }
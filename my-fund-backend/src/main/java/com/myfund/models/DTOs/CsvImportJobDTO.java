@@ -0,0 +1,39 @@
+package com.myfund.models.DTOs;
+
+import com.myfund.models.BankName;
+import com.myfund.models.CsvImportStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class CsvImportJobDTO {
+
+    private String jobId;
+
+    private Long budgetId;
+
+    private BankName bankName;
+
+    private String fileName;
+
+    private CsvImportStatus status;
+
+    private long rowsParsed;
+
+    private long rowsPersisted;
+
+    private long rowsRejected;
+
+    private double rowsPerSecond;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+
+    private String errorMessage;
+}
@@ -0,0 +1,14 @@
+package com.myfund.models.DTOs;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class SignInDTO {
+
+    @NotBlank(message = "User name is required")
+    private String username;
+
+    @NotBlank(message = "Password is required")
+    private String password;
+}
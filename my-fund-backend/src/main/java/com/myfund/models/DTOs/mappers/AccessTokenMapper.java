@@ -0,0 +1,18 @@
+package com.myfund.models.DTOs.mappers;
+
+import com.myfund.models.AccessToken;
+import com.myfund.models.DTOs.AccessTokenDTO;
+
+import java.time.Duration;
+import java.time.Instant;
+
+public class AccessTokenMapper {
+
+    public static AccessTokenDTO toDTO(AccessToken accessToken) {
+        return AccessTokenDTO.builder()
+                .accessToken(accessToken.getToken())
+                .tokenType("Bearer")
+                .expiresIn(Math.max(0, Duration.between(Instant.now(), accessToken.getExpiresAt()).getSeconds()))
+                .build();
+    }
+}
@@ -3,10 +3,6 @@ package com.myfund.models.DTOs.mappers;
 import com.myfund.models.Budget;
 import com.myfund.models.DTOs.*;
 
-import java.util.Collections;
-import java.util.List;
-import java.util.stream.Collectors;
-
 public class BudgetMapper {
 
     public static Budget toModel(CreateBudgetDTO createBudgetDTO) {
@@ -21,12 +17,6 @@ public class BudgetMapper {
                 .balance(budget.getBalance())
                 .totalExpense(budget.getTotalExpense())
                 .totalIncome(budget.getTotalIncome())
-                .expenses((budget.getExpenses() != null) ? budget.getExpenses().stream()
-                        .map(ExpenseMapper::toDTO)
-                        .collect(Collectors.toList()) : Collections.emptyList())
-                .incomes((budget.getIncomes() != null) ? budget.getIncomes().stream()
-                        .map(IncomeMapper::toDTO)
-                        .collect(Collectors.toList()) : Collections.emptyList())
                 .build();
     }
 
@@ -1,6 +1,7 @@
 package com.myfund.models.DTOs.mappers;
 
 import com.myfund.models.Budget;
+import com.myfund.models.BudgetSummary;
 import com.myfund.models.DTOs.BudgetSummaryDTO;
 
 import java.util.List;
@@ -24,6 +25,18 @@ public class BudgetSummaryMapper {
                 })
                 .collect(Collectors.toList());
     }
+    public static List<BudgetSummaryDTO> toListDTOFromSummaries(List<BudgetSummary> budgetSummaries) {
+        return budgetSummaries.stream()
+                .map(budgetSummary -> BudgetSummaryDTO.builder()
+                        .id(budgetSummary.getId())
+                        .name(budgetSummary.getName())
+                        .balance(budgetSummary.getBalance())
+                        .totalExpense(budgetSummary.getTotalExpense())
+                        .totalIncome(budgetSummary.getTotalIncome())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
     public static BudgetSummaryDTO toDTO(Budget budget){
         BudgetSummaryDTO budgetSummaryDTO = BudgetSummaryDTO.builder()
                 .id(budget.getId())
@@ -0,0 +1,25 @@
+package com.myfund.models.DTOs.mappers;
+
+import com.myfund.models.CsvImportJob;
+import com.myfund.models.DTOs.CsvImportJobDTO;
+
+public class CsvImportJobMapper {
+
+    public static CsvImportJobDTO toDTO(CsvImportJob csvImportJob) {
+        return CsvImportJobDTO.builder()
+                .jobId(csvImportJob.getId())
+                .budgetId(csvImportJob.getBudgetId())
+                .bankName(csvImportJob.getBankName())
+                .fileName(csvImportJob.getFileName())
+                .status(csvImportJob.getStatus())
+                .rowsParsed(csvImportJob.getRowsParsed())
+                .rowsPersisted(csvImportJob.getRowsPersisted())
+                .rowsRejected(csvImportJob.getRowsRejected())
+                .rowsPerSecond(csvImportJob.getRowsPerSecond())
+                .createdAt(csvImportJob.getCreatedAt())
+                .startedAt(csvImportJob.getStartedAt())
+                .finishedAt(csvImportJob.getFinishedAt())
+                .errorMessage(csvImportJob.getErrorMessage())
+                .build();
+    }
+}
@@ -0,0 +1,25 @@
+package com.myfund.models.DTOs.mappers;
+
+import com.myfund.models.DTOs.PageDTO;
+import com.myfund.services.pagination.ContinuationToken;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class PageMapper {
+
+    public static <T, R> PageDTO<R> toDTO(Slice<T> slice, Function<T, R> contentMapper, Function<T, Long> idExtractor) {
+        List<T> content = slice.getContent();
+        String continuationToken = slice.hasNext() && !content.isEmpty()
+                ? ContinuationToken.encode(idExtractor.apply(content.get(content.size() - 1)))
+                : null;
+        return PageDTO.<R>builder()
+                .content(content.stream().map(contentMapper).collect(Collectors.toList()))
+                .size(content.size())
+                .hasNext(slice.hasNext())
+                .continuationToken(continuationToken)
+                .build();
+    }
+}
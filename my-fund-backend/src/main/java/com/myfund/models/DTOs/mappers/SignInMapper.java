@@ -0,0 +1,14 @@
+package com.myfund.models.DTOs.mappers;
+
+import com.myfund.models.DTOs.SignInDTO;
+import com.myfund.models.SignIn;
+
+public class SignInMapper {
+
+    public static SignIn toModel(SignInDTO signInDTO) {
+        SignIn signIn = new SignIn();
+        signIn.setUsername(signInDTO.getUsername());
+        signIn.setPassword(signInDTO.getPassword());
+        return signIn;
+    }
+}
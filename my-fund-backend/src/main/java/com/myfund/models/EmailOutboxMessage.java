@@ -0,0 +1,98 @@
+package com.myfund.models;
+
+import com.myfund.services.encryption.StringEncryptor;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Table(name = "email_outbox")
+public class EmailOutboxMessage {
+
+    private static final int MAX_ERROR_LENGTH = 1024;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private EmailTemplate template;
+
+    @Convert(converter = StringEncryptor.class)
+    @Column(nullable = false)
+    private String recipient;
+
+    @Convert(converter = StringEncryptor.class)
+    @Column(name = "template_model", nullable = false)
+    private String templateModel;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private EmailOutboxStatus status;
+
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    public static EmailOutboxMessage create(EmailTemplate template, String recipient, String templateModel, LocalDateTime now) {
+        return EmailOutboxMessage.builder()
+                .template(template)
+                .recipient(recipient)
+                .templateModel(templateModel)
+                .status(EmailOutboxStatus.PENDING)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
+    }
+
+    /**
+     * Leases the message to one dispatcher: other nodes skip it until the lease ends, and pick it up again if the
+     * dispatcher dies before recording a result.
+     */
+    public void claim(LocalDateTime leaseUntil) {
+        this.nextAttemptAt = leaseUntil;
+    }
+
+    public void markSent(LocalDateTime now) {
+        this.status = EmailOutboxStatus.SENT;
+        this.attempts++;
+        this.sentAt = now;
+        this.lastError = null;
+    }
+
+    public void markAttemptFailed(String error, LocalDateTime nextAttemptAt) {
+        this.status = EmailOutboxStatus.PENDING;
+        this.attempts++;
+        this.nextAttemptAt = nextAttemptAt;
+        this.lastError = truncate(error);
+    }
+
+    public void markFailed(String error) {
+        this.status = EmailOutboxStatus.FAILED;
+        this.attempts++;
+        this.lastError = truncate(error);
+    }
+
+    private static String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
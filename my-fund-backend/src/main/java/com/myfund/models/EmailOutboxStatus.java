@@ -0,0 +1,5 @@
+package com.myfund.models;
+
+public enum EmailOutboxStatus {
+    PENDING, SENT, FAILED
+}
@@ -0,0 +1,16 @@
+package com.myfund.models;
+
+public enum EmailTemplate {
+    WELCOME(35874742L),
+    PASSWORD_RESET(35917746L);
+
+    private final long templateId;
+
+    EmailTemplate(long templateId) {
+        this.templateId = templateId;
+    }
+
+    public long getTemplateId() {
+        return templateId;
+    }
+}
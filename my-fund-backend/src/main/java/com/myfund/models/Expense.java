@@ -2,6 +2,10 @@ package com.myfund.models;
 
 import com.myfund.services.encryption.BigDecimalEncryptor;
 import com.myfund.services.encryption.LocalDateTimeEncryptor;
+import com.myfund.services.encryption.RowPayload;
+import com.myfund.services.encryption.RowPayloadEncryptor;
+import com.myfund.services.encryption.RowPayloadEntity;
+import com.myfund.services.encryption.RowPayloadListener;
 import com.myfund.services.encryption.StringEncryptor;
 import jakarta.persistence.*;
 import lombok.*;
@@ -17,10 +21,12 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Data
-public class Expense {
+@EntityListeners(RowPayloadListener.class)
+public class Expense implements RowPayloadEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "expense_id")
+    @TableGenerator(name = "expense_id", table = "id_generator", pkColumnName = "sequence_name", valueColumnName = "next_val", pkColumnValue = "expense", allocationSize = 50)
     private Long id;
 
     @NotNull
@@ -34,6 +40,15 @@ public class Expense {
     @Convert(converter = LocalDateTimeEncryptor.class)
     private LocalDateTime localDateTime;
 
+    // Replaces the three columns above once the row is stored as a single encrypted record.
+    @Convert(converter = RowPayloadEncryptor.class)
+    @Column(name = "payload")
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private RowPayload payload;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "budget_id")
     private Budget budget;
@@ -48,6 +63,57 @@ public class Expense {
     @JoinColumn(name = "user_id")
     private User user;
 
+    public String getName() {
+        return payload != null ? payload.getName() : name;
+    }
+
+    public void setName(String name) {
+        if (payload != null) {
+            payload = payload.withName(name);
+        } else {
+            this.name = name;
+        }
+    }
+
+    public BigDecimal getAmount() {
+        return payload != null ? payload.getAmount() : amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        if (payload != null) {
+            payload = payload.withAmount(amount);
+        } else {
+            this.amount = amount;
+        }
+    }
+
+    public LocalDateTime getLocalDateTime() {
+        return payload != null ? payload.getLocalDateTime() : localDateTime;
+    }
+
+    public void setLocalDateTime(LocalDateTime localDateTime) {
+        if (payload != null) {
+            payload = payload.withLocalDateTime(localDateTime);
+        } else {
+            this.localDateTime = localDateTime;
+        }
+    }
+
+    @Override
+    public void storeAsRowPayload(boolean rowPayload) {
+        if (rowPayload && payload == null) {
+            payload = new RowPayload(name, amount, localDateTime);
+            name = null;
+            amount = null;
+            localDateTime = null;
+        } else if (!rowPayload && payload != null) {
+            name = payload.getName();
+            amount = payload.getAmount();
+            localDateTime = payload.getLocalDateTime();
+            payload = null;
+        }
+    }
+
     public static Expense create(Budget budget, User user, Expense expense) {
         return Expense.builder()
                 .name(expense.getName())
@@ -0,0 +1,11 @@
+package com.myfund.models;
+
+import lombok.Data;
+
+@Data
+public class SignIn {
+
+    private String username;
+
+    private String password;
+}
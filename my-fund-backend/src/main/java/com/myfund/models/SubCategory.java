@@ -1,8 +1,11 @@
 package com.myfund.models;
 
+import com.myfund.configs.SecondLevelCacheConfig;
 import com.myfund.services.encryption.StringEncryptor;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Builder
@@ -10,6 +13,8 @@ import lombok.*;
 @NoArgsConstructor
 @Data
 @Table(name = "subcategory")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.SUBCATEGORY_REGION)
 public class SubCategory {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
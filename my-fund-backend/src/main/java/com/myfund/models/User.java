@@ -1,5 +1,8 @@
 package com.myfund.models;
 
+import com.myfund.services.encryption.BlindIndex;
+import com.myfund.services.encryption.BlindIndexListener;
+import com.myfund.services.encryption.BlindIndexed;
 import com.myfund.services.encryption.StringEncryptor;
 import jakarta.persistence.*;
 import lombok.*;
@@ -16,10 +19,11 @@ import java.util.List;
 @Entity
 @Validated
 @Table(name = "users")
+@EntityListeners(BlindIndexListener.class)
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class User implements UserDetails {
+public class User implements UserDetails, BlindIndexed {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -32,6 +36,10 @@ public class User implements UserDetails {
     @Convert(converter = StringEncryptor.class)
     private String username;
 
+    private String emailIndex;
+
+    private String usernameIndex;
+
     @Convert(converter = StringEncryptor.class)
     private String role;
 
@@ -41,6 +49,12 @@ public class User implements UserDetails {
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<Category> categoryList;
 
+    @Override
+    public void updateBlindIndexes(BlindIndex blindIndex) {
+        this.emailIndex = blindIndex.of(email);
+        this.usernameIndex = blindIndex.of(username);
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return List.of(new SimpleGrantedAuthority(role));
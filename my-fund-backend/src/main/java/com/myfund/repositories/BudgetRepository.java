@@ -1,22 +1,42 @@
 package com.myfund.repositories;
 
 import com.myfund.models.Budget;
+import com.myfund.models.BudgetSummary;
 import com.myfund.models.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface BudgetRepository extends JpaRepository<Budget, Long> {
-    Optional<Budget> findByNameAndUser(String name, User user);
+    Optional<Budget> findByNameIndexAndUser(String nameIndex, User user);
 
-    Optional<Budget> findByIdAndUser(Long budgetId, User user);
+    // Goes through the identifier lookup, so the budget header is served from the second-level cache when present.
+    default Optional<Budget> findByIdAndUser(Long budgetId, User user) {
+        return findById(budgetId).filter(budget -> budget.getUser().getId().equals(user.getId()));
+    }
+
+    // Serializes lazy category totals initialization on the budget row. A stale managed instance fails the version
+    // check here, which surfaces as an optimistic lock failure and is retried with a fresh persistence context.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Budget b WHERE b.id = :budgetId")
+    Optional<Budget> findByIdForUpdate(@Param("budgetId") Long budgetId);
+
+    @Query("SELECT new com.myfund.models.BudgetSummary(b.id, b.name, b.balance, b.totalIncome, b.totalExpense) FROM Budget b WHERE b.user = :user")
+    List<BudgetSummary> findSummariesByUser(@Param("user") User user);
 
     List<Budget> findAllCategoriesByUser(User user);
 
     List<Budget> findAllByUser(User user);
 
-    void deleteBudgetByIdAndUser(Long budgetId, User user);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Budget b WHERE b.id = :budgetId AND b.user.id = :userId")
+    int deleteByIdAndUserId(@Param("budgetId") Long budgetId, @Param("userId") Long userId);
 
     boolean existsByIdAndUserId(Long budgetId, Long id);
 
@@ -1,8 +1,11 @@
 package com.myfund.repositories;
 
 import com.myfund.models.Category;
+import com.myfund.models.CategoryLink;
 import com.myfund.models.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -10,10 +13,17 @@ import java.util.Optional;
 public interface CategoryRepository extends JpaRepository<Category, Long> {
     Optional<Category> findByName(String name);
 
-    Optional<Category> findByNameAndUser(String categoryName, User user);
+    Optional<Category> findByNameIndexAndUser(String nameIndex, User user);
 
-    Optional<Category> findByIdAndUser(Long categoryId, User user);
+    // Goes through the identifier lookup, so the category is served from the second-level cache when present.
+    default Optional<Category> findByIdAndUser(Long categoryId, User user) {
+        return findById(categoryId).filter(category -> category.getUser().getId().equals(user.getId()));
+    }
 
-    List<Category> findAllCategoriesByUser(User user);
+    @Query("SELECT c FROM Category c LEFT JOIN FETCH c.subCategories WHERE c.user = :user ORDER BY c.id")
+    List<Category> findAllWithSubCategoriesByUser(@Param("user") User user);
+
+    @Query("SELECT new com.myfund.models.CategoryLink(c.id, s.id) FROM Category c LEFT JOIN c.subCategories s WHERE c.user.id = :userId")
+    List<CategoryLink> findLinksByUserId(@Param("userId") Long userId);
 
 }
@@ -0,0 +1,20 @@
+package com.myfund.repositories;
+
+import com.myfund.models.CategoryTotal;
+import com.myfund.models.TypeAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.Optional;
+
+public interface CategoryTotalRepository extends JpaRepository<CategoryTotal, Long> {
+
+    Optional<CategoryTotal> findByBudgetIdAndTypeAggregateAndTargetId(Long budgetId, TypeAggregate typeAggregate, Long targetId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM CategoryTotal t WHERE t.typeAggregate IN :typeAggregates AND t.targetId IN :targetIds")
+    int deleteByTypeAggregateInAndTargetIdIn(@Param("typeAggregates") Collection<TypeAggregate> typeAggregates, @Param("targetIds") Collection<Long> targetIds);
+}
@@ -3,7 +3,10 @@ package com.myfund.repositories;
 import com.myfund.models.Budget;
 import com.myfund.models.Expense;
 import com.myfund.models.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -16,9 +19,13 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
 
     Optional<Expense> findByIdAndUserIdAndBudgetId(Long expenseId, Long userId, Long budgetId);
 
-    List<Expense> findByIdCategory(Long idCategory);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Expense e SET e.idCategory = NULL, e.idSubCategory = NULL WHERE e.idCategory = :idCategory AND e.user.id = :userId")
+    int clearCategoryByIdCategoryAndUserId(@Param("idCategory") Long idCategory, @Param("userId") Long userId);
 
-    List<Expense> findByIdSubCategory(Long subcategoryId);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Expense e SET e.idSubCategory = NULL WHERE e.idSubCategory = :idSubCategory AND e.user.id = :userId")
+    int clearSubcategoryByIdSubCategoryAndUserId(@Param("idSubCategory") Long idSubCategory, @Param("userId") Long userId);
 
     List<Expense> findByIdCategoryAndUserIdAndBudgetId(Long idCategory, Long userId, Long budgetId);
 
@@ -26,7 +33,13 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
 
     List<Expense> findByBudgetId(Long budgetId);
 
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM Expense e WHERE e.budget.id = :budgetId AND e.user.id = :userId")
+    int deleteByBudgetIdAndUserId(@Param("budgetId") Long budgetId, @Param("userId") Long userId);
+
     void deleteExpenseByIdAndUserAndBudgetId(Long expenseId, User user, Long budgetId);
 
     List<Expense> findByBudgetIdAndUser(Long budgetId, User user);
+
+    Slice<Expense> findByBudgetIdAndUserIdAndIdGreaterThanOrderByIdAsc(Long budgetId, Long userId, Long afterId, Pageable pageable);
 }
\ No newline at end of file
@@ -4,7 +4,10 @@ import com.myfund.models.Budget;
 import com.myfund.models.Expense;
 import com.myfund.models.Income;
 import com.myfund.models.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -17,9 +20,13 @@ public interface IncomeRepository extends JpaRepository<Income, Long> {
 
     Optional<Income> findByIdAndUserIdAndBudgetId(Long expenseId, Long userId, Long budgetId);
 
-    List<Income> findByIdCategory(Long idCategory);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Income e SET e.idCategory = NULL, e.idSubCategory = NULL WHERE e.idCategory = :idCategory AND e.user.id = :userId")
+    int clearCategoryByIdCategoryAndUserId(@Param("idCategory") Long idCategory, @Param("userId") Long userId);
 
-    List<Income> findByIdSubCategory(Long subcategoryId);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Income e SET e.idSubCategory = NULL WHERE e.idSubCategory = :idSubCategory AND e.user.id = :userId")
+    int clearSubcategoryByIdSubCategoryAndUserId(@Param("idSubCategory") Long idSubCategory, @Param("userId") Long userId);
 
     List<Income> findByIdCategoryAndUserIdAndBudgetId(Long idCategory, Long userId, Long budgetId);
 
@@ -27,7 +34,13 @@ public interface IncomeRepository extends JpaRepository<Income, Long> {
 
     List<Income> findByBudgetId(Long budgetId);
 
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM Income e WHERE e.budget.id = :budgetId AND e.user.id = :userId")
+    int deleteByBudgetIdAndUserId(@Param("budgetId") Long budgetId, @Param("userId") Long userId);
+
     void deleteIncomeByIdAndUser(Long incomeId, User user);
 
     void deleteExpenseByIdAndUserAndBudgetId(Long incomeId, User user, Long budgetId);
+
+    Slice<Income> findByBudgetIdAndUserIdAndIdGreaterThanOrderByIdAsc(Long budgetId, Long userId, Long afterId, Pageable pageable);
 }
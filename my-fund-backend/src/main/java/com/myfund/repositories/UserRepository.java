@@ -7,11 +7,11 @@ import org.springframework.security.core.userdetails.UserDetails;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<UserDetails> findByUsername(String username);
+    Optional<UserDetails> findByUsernameIndex(String usernameIndex);
 
-    Optional<User> findByEmail(String email);
+    Optional<User> findByEmailIndex(String emailIndex);
 
-    boolean existsByEmail(String email);
+    boolean existsByEmailIndex(String emailIndex);
 
-    boolean existsByUsername(String username);
+    boolean existsByUsernameIndex(String usernameIndex);
 }
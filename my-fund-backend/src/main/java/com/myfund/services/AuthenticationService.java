@@ -0,0 +1,32 @@
+package com.myfund.services;
+
+import com.myfund.models.AccessToken;
+import com.myfund.models.SignIn;
+import com.myfund.models.User;
+import com.myfund.services.jwt.JwtService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class AuthenticationService {
+
+    private final AuthenticationManager authenticationManager;
+
+    private final JwtService jwtService;
+
+    public AccessToken signIn(SignIn signIn) {
+        log.debug("Starting sign in for username: {}", signIn.getUsername());
+        Authentication authentication = authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(signIn.getUsername(), signIn.getPassword()));
+        User user = (User) authentication.getPrincipal();
+        AccessToken accessToken = jwtService.issue(user);
+        log.info("User signed in. User ID: {}", user.getId());
+        return accessToken;
+    }
+}
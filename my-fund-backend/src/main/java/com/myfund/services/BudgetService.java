@@ -5,9 +5,14 @@ import com.myfund.models.*;
 import com.myfund.repositories.BudgetRepository;
 import com.myfund.repositories.ExpenseRepository;
 import com.myfund.repositories.IncomeRepository;
+import com.myfund.services.encryption.BlindIndex;
+import com.myfund.services.pagination.ContinuationToken;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,6 +28,10 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class BudgetService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    public static final int MAX_PAGE_SIZE = 200;
+
     private final BudgetRepository budgetRepository;
 
     private final ExpenseRepository expenseRepository;
@@ -31,6 +40,10 @@ public class BudgetService {
 
     private final CategoryService categoryService;
 
+    private final CategoryTotalService categoryTotalService;
+
+    private final BlindIndex blindIndex;
+
     public void createDefaultBudget(User user) {
         Budget initializedBudget = Budget.createDefault(user);
         budgetRepository.save(initializedBudget);
@@ -42,8 +55,8 @@ public class BudgetService {
             throw new InvalidInputException("Budget name is required");
         }
 
-        budgetRepository.findByNameAndUser(budget.getName(), user).ifPresent(budgetFound -> {
-            String errorMessage = String.format("Attempt to create a duplicate budget. User Email: %s, Budget Name: %s", user.getEmail(), budget.getName());
+        budgetRepository.findByNameIndexAndUser(blindIndex.of(budget.getName()), user).ifPresent(budgetFound -> {
+            String errorMessage = String.format("Attempt to create a duplicate budget. User ID: %s, Budget Name: %s", user.getId(), budget.getName());
             log.warn(errorMessage);
             throw new BudgetNotUniqueException(errorMessage);
         });
@@ -51,16 +64,45 @@ public class BudgetService {
         Budget initializedBudget = Budget.create(budget, user);
         Budget savedBudget = budgetRepository.save(initializedBudget);
 
-        log.info("New budget saved for user. Email: {}. Name: {}", user.getEmail(), budget.getName());
+        log.info("New budget saved for user. User ID: {}. Name: {}", user.getId(), budget.getName());
         return savedBudget;
     }
 
-    public List<Budget> findAllBudgetsByUser(User user) {
-        List<Budget> allBudgetsByUser = budgetRepository.findAllByUser(user);
+    public List<BudgetSummary> findAllBudgetsByUser(User user) {
+        List<BudgetSummary> allBudgetsByUser = budgetRepository.findSummariesByUser(user);
         log.info("Retrieved {} budgets for user with ID: {}", allBudgetsByUser.size(), user.getId());
         return allBudgetsByUser;
     }
 
+    public Slice<Expense> findExpensesPage(Long budgetId, User user, String continuationToken, int size) throws InvalidInputException {
+        log.debug("Starting to find expenses page for budget ID: {} and user ID: {}", budgetId, user.getId());
+        Long afterId = validatePageRequest(budgetId, user, continuationToken, size);
+        Slice<Expense> expenses = expenseRepository.findByBudgetIdAndUserIdAndIdGreaterThanOrderByIdAsc(budgetId, user.getId(), afterId, PageRequest.ofSize(size));
+        log.info("Retrieved {} expenses after ID: {} for budget ID: {} and user ID: {}", expenses.getNumberOfElements(), afterId, budgetId, user.getId());
+        return expenses;
+    }
+
+    public Slice<Income> findIncomesPage(Long budgetId, User user, String continuationToken, int size) throws InvalidInputException {
+        log.debug("Starting to find incomes page for budget ID: {} and user ID: {}", budgetId, user.getId());
+        Long afterId = validatePageRequest(budgetId, user, continuationToken, size);
+        Slice<Income> incomes = incomeRepository.findByBudgetIdAndUserIdAndIdGreaterThanOrderByIdAsc(budgetId, user.getId(), afterId, PageRequest.ofSize(size));
+        log.info("Retrieved {} incomes after ID: {} for budget ID: {} and user ID: {}", incomes.getNumberOfElements(), afterId, budgetId, user.getId());
+        return incomes;
+    }
+
+    private Long validatePageRequest(Long budgetId, User user, String continuationToken, int size) throws InvalidInputException {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            log.warn("Invalid page size: {} requested for budget ID: {}", size, budgetId);
+            throw new InvalidInputException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        Long afterId = ContinuationToken.decode(continuationToken);
+        if (!budgetRepository.existsByIdAndUserId(budgetId, user.getId())) {
+            log.warn("Budget not found for user with ID: {} and budget ID: {}", user.getId(), budgetId);
+            throw new BudgetNotFoundException("Budget not found for user with ID: " + user.getId() + " and budget ID: " + budgetId);
+        }
+        return afterId;
+    }
+
     public Budget findBudgetByIdAndUser(Long budgetId, User user) {
         log.debug("Starting to find budget by ID: {} for user ID: {}", budgetId, user.getId());
 
@@ -74,6 +116,8 @@ public class BudgetService {
         return budget;
     }
 
+    @Transactional
+    @RetryOnConflict
     public Expense createExpense(Long budgetId, Expense expense, User user) throws InvalidInputException {
         log.debug("Starting to create expense for budget ID: {} and user ID: {}", budgetId, user.getId());
 
@@ -102,12 +146,15 @@ public class BudgetService {
 
         Expense initializedExpense = Expense.create(budget, user, expense);
         Expense savedExpense = expenseRepository.save(initializedExpense);
-        updateTotalExpense(budget);
+        updateTotals(budget, BigDecimal.ZERO, savedExpense.getAmount());
+        categoryTotalService.applyExpenseDelta(budget, savedExpense.getIdCategory(), savedExpense.getIdSubCategory(), savedExpense.getAmount());
 
         log.info("Expense created for budget ID: {} and user ID: {}", budgetId, user.getId());
         return savedExpense;
     }
 
+    @Transactional
+    @RetryOnConflict
     public Income createIncome(Long budgetId, Income income, User user) throws InvalidInputException {
         log.debug("Starting to create income for budget ID: {} and user ID: {}", budgetId, user.getId());
 
@@ -136,12 +183,15 @@ public class BudgetService {
 
         Income initializedIncome = Income.create(budget, user, income);
         Income savedIncome = incomeRepository.save(initializedIncome);
-        updateTotalIncome(budget);
+        updateTotals(budget, savedIncome.getAmount(), BigDecimal.ZERO);
+        categoryTotalService.applyIncomeDelta(budget, savedIncome.getIdCategory(), savedIncome.getIdSubCategory(), savedIncome.getAmount());
 
         log.info("Income created for budget ID: {} and user ID: {}", budgetId, user.getId());
         return savedIncome;
     }
 
+    @Transactional
+    @RetryOnConflict
     public Expense updateExpense(Long budgetId, Long expenseId, Expense expense, User user) throws InvalidInputException {
         log.debug("Starting to update expense. Expense ID: {}, Budget ID: {}, User ID: {}", expenseId, budgetId, user.getId());
 
@@ -168,13 +218,22 @@ public class BudgetService {
 
         log.debug("Expense found for update. Expense ID: {}, Budget ID: {}, User ID: {}", expenseId, budgetId, user.getId());
 
+        BigDecimal previousAmount = existingExpense.getAmount();
+        Long previousCategoryId = existingExpense.getIdCategory();
+        Long previousSubcategoryId = existingExpense.getIdSubCategory();
+        Budget budget = existingExpense.getBudget();
         Expense updatedExpense = Expense.update(existingExpense, expense);
         Expense savedExpense = expenseRepository.save(updatedExpense);
+        updateTotals(budget, BigDecimal.ZERO, savedExpense.getAmount().subtract(previousAmount));
+        categoryTotalService.applyExpenseDelta(budget, previousCategoryId, previousSubcategoryId, previousAmount.negate());
+        categoryTotalService.applyExpenseDelta(budget, savedExpense.getIdCategory(), savedExpense.getIdSubCategory(), savedExpense.getAmount());
 
         log.info("Expense successfully updated. Expense ID: {}, Budget ID: {}, User ID: {}", expenseId, budgetId, user.getId());
         return savedExpense;
     }
 
+    @Transactional
+    @RetryOnConflict
     public Income updateIncome(Long budgetId, Long incomeId, Income income, User user) throws InvalidInputException {
         log.debug("Starting to update income. Income ID: {}, Budget ID: {}, User ID: {}", incomeId, budgetId, user.getId());
 
@@ -202,8 +261,15 @@ public class BudgetService {
             throw new SubcategoryNotRelatedToCategoryException("Subcategory with ID: " + income.getIdSubCategory() + " is not related to category with ID: " + income.getIdCategory());
         }
 
+        BigDecimal previousAmount = existingIncome.getAmount();
+        Long previousCategoryId = existingIncome.getIdCategory();
+        Long previousSubcategoryId = existingIncome.getIdSubCategory();
+        Budget budget = existingIncome.getBudget();
         Income updatedIncome = Income.update(existingIncome, income);
         Income savedIncome = incomeRepository.save(updatedIncome);
+        updateTotals(budget, savedIncome.getAmount().subtract(previousAmount), BigDecimal.ZERO);
+        categoryTotalService.applyIncomeDelta(budget, previousCategoryId, previousSubcategoryId, previousAmount.negate());
+        categoryTotalService.applyIncomeDelta(budget, savedIncome.getIdCategory(), savedIncome.getIdSubCategory(), savedIncome.getAmount());
 
         log.info("Income successfully updated. Income ID: {}, Budget ID: {}, User ID: {}", incomeId, budgetId, user.getId());
         return savedIncome;
@@ -226,78 +292,57 @@ public class BudgetService {
         return categoryService.isSubcategoryRelatedToCategory(subCategoryId, categoryId, user);
     }
 
-    private void updateTotalExpense(Budget budget) {
-        log.debug("Starting to update total expense for budget ID: {}", budget.getId());
-        List<Expense> expenses = expenseRepository.findByBudget(budget);
-        BigDecimal totalExpense = expenses.stream().map(Expense::getAmount).reduce(BigDecimal.ZERO, BigDecimal::add);
-        budget.setTotalExpense(totalExpense);
-        updateBalance(budget);
-        budgetRepository.save(budget);
-        log.info("Total expense updated for budget ID: {}. New total expense: {}", budget.getId(), totalExpense);
-    }
-
-    private void updateBalance(Budget budget) {
-        log.debug("Starting to update balance for budget ID: {}", budget.getId());
-        budget.setBalance(budget.getTotalIncome().subtract(budget.getTotalExpense()));
-        budgetRepository.save(budget);
-        log.info("Balance updated for budget ID: {}. New balance: {}", budget.getId(), budget.getBalance());
+    @Transactional
+    @RetryOnConflict
+    @Timed("budget.totals.apply")
+    public void applyTotalsDelta(Long budgetId, BigDecimal incomeDelta, BigDecimal expenseDelta) {
+        Budget budget = budgetRepository.findById(budgetId)
+                .orElseThrow(() -> {
+                    log.warn("Budget not found for totals update. Budget ID: {}", budgetId);
+                    return new BudgetNotFoundException("Budget not found for budget ID: " + budgetId);
+                });
+        updateTotals(budget, incomeDelta, expenseDelta);
     }
 
-    private void updateTotalIncome(Budget budget) {
-        log.debug("Starting to update total income for budget ID: {}", budget.getId());
-        List<Income> incomes = incomeRepository.findByBudget(budget);
-        BigDecimal totalIncome = incomes.stream().map(Income::getAmount).reduce(BigDecimal.ZERO, BigDecimal::add);
-        budget.setTotalIncome(totalIncome);
-        updateBalance(budget);
+    private void updateTotals(Budget budget, BigDecimal incomeDelta, BigDecimal expenseDelta) {
+        log.debug("Starting to update totals for budget ID: {}. Income delta: {}, expense delta: {}", budget.getId(), incomeDelta, expenseDelta);
+        budget.applyDelta(incomeDelta, expenseDelta);
         budgetRepository.save(budget);
-        log.info("Total income updated for budget ID: {}. New total income: {}", budget.getId(), totalIncome);
+        log.info("Totals updated for budget ID: {}. Total income: {}, total expense: {}, balance: {}", budget.getId(), budget.getTotalIncome(), budget.getTotalExpense(), budget.getBalance());
     }
 
-    public void updateExpensesCategoryIdToNull(Long idCategory) {
-        log.debug("Starting to update category ID to null for all expenses with category ID: {}", idCategory);
-        List<Expense> expenses = expenseRepository.findByIdCategory(idCategory);
-        expenses.forEach(expense -> {
-            expense.setIdCategory(null);
-            expense.setIdSubCategory(null);
-        });
-        expenseRepository.saveAll(expenses);
-        log.info("All expenses with category ID: {} have been updated to have null category and subcategory IDs", idCategory);
+    @Transactional
+    public void updateExpensesCategoryIdToNull(Long idCategory, User user) {
+        log.debug("Starting to update category ID to null for all expenses with category ID: {} and user ID: {}", idCategory, user.getId());
+        int updated = expenseRepository.clearCategoryByIdCategoryAndUserId(idCategory, user.getId());
+        log.info("{} expenses with category ID: {} have been updated to have null category and subcategory IDs for user ID: {}", updated, idCategory, user.getId());
     }
 
-    public void updateIncomesCategoryIdToNull(Long idCategory) {
-        log.debug("Starting to update category ID to null for all incomes with category ID: {}", idCategory);
-        List<Income> incomes = incomeRepository.findByIdCategory(idCategory);
-        incomes.forEach(income -> {
-            income.setIdCategory(null);
-            income.setIdSubCategory(null);
-        });
-        incomeRepository.saveAll(incomes);
-        log.info("All incomes with category ID: {} have been updated to have null category and subcategory IDs", idCategory);
+    @Transactional
+    public void updateIncomesCategoryIdToNull(Long idCategory, User user) {
+        log.debug("Starting to update category ID to null for all incomes with category ID: {} and user ID: {}", idCategory, user.getId());
+        int updated = incomeRepository.clearCategoryByIdCategoryAndUserId(idCategory, user.getId());
+        log.info("{} incomes with category ID: {} have been updated to have null category and subcategory IDs for user ID: {}", updated, idCategory, user.getId());
     }
 
-    public void updateExpensesSubcategoryIdToNull(Long subcategoryId) {
-        log.debug("Starting to update subcategory ID to null for all expenses with subcategory ID: {}", subcategoryId);
-        List<Expense> expenses = expenseRepository.findByIdSubCategory(subcategoryId);
-        expenses.forEach(expense -> expense.setIdSubCategory(null));
-        expenseRepository.saveAll(expenses);
-        log.info("All expenses with subcategory ID: {} have been updated to have null subcategory ID", subcategoryId);
+    @Transactional
+    public void updateExpensesSubcategoryIdToNull(Long subcategoryId, User user) {
+        log.debug("Starting to update subcategory ID to null for all expenses with subcategory ID: {} and user ID: {}", subcategoryId, user.getId());
+        int updated = expenseRepository.clearSubcategoryByIdSubCategoryAndUserId(subcategoryId, user.getId());
+        log.info("{} expenses with subcategory ID: {} have been updated to have null subcategory ID for user ID: {}", updated, subcategoryId, user.getId());
     }
 
-    public void updateIncomesSubcategoryIdToNull(Long subcategoryId) {
-        log.debug("Starting to update subcategory ID to null for all incomes with subcategory ID: {}", subcategoryId);
-        List<Income> incomes = incomeRepository.findByIdSubCategory(subcategoryId);
-        incomes.forEach(income -> income.setIdSubCategory(null));
-        incomeRepository.saveAll(incomes);
-        log.info("All incomes with subcategory ID: {} have been updated to have null subcategory ID", subcategoryId);
+    @Transactional
+    public void updateIncomesSubcategoryIdToNull(Long subcategoryId, User user) {
+        log.debug("Starting to update subcategory ID to null for all incomes with subcategory ID: {} and user ID: {}", subcategoryId, user.getId());
+        int updated = incomeRepository.clearSubcategoryByIdSubCategoryAndUserId(subcategoryId, user.getId());
+        log.info("{} incomes with subcategory ID: {} have been updated to have null subcategory ID for user ID: {}", updated, subcategoryId, user.getId());
     }
 
     public FinancialAggregate getTotalExpensesByCategory(Long budgetId, Long categoryId, User user) {
         log.debug("Starting to get total expenses for budget ID: {}, category ID: {}, and user ID: {}", budgetId, categoryId, user.getId());
         try {
-            List<Expense> expenses = expenseRepository.findByIdCategoryAndUserIdAndBudgetId(categoryId, user.getId(), budgetId);
-            BigDecimal totalExpenses = expenses != null ? expenses.stream()
-                    .map(Expense::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add) : BigDecimal.ZERO;
+            BigDecimal totalExpenses = findCategoryTotal(budgetId, user, TypeAggregate.EXPENSES_BY_CATEGORY, categoryId);
             FinancialAggregate financialAggregate = FinancialAggregate.createByCategory(totalExpenses, categoryId, budgetId, TypeAggregate.EXPENSES_BY_CATEGORY, user.getId());
             log.info("Total expenses retrieved for budget ID: {}, category ID: {}, and user ID: {}. Total: {}", budgetId, categoryId, user.getId(), totalExpenses);
             return financialAggregate;
@@ -310,18 +355,8 @@ public class BudgetService {
     public FinancialAggregate getTotalExpensesBySubcategory(Long budgetId, Long subcategoryId, User user) {
         log.debug("Starting to get total expenses for budget ID: {}, subcategory ID: {}, and user ID: {}", budgetId, subcategoryId, user.getId());
         try {
-            List<Expense> expenses = expenseRepository.findByIdSubCategoryAndUserIdAndBudgetId(subcategoryId, user.getId(), budgetId);
-            BigDecimal totalExpenses = expenses != null ? expenses.stream()
-                    .map(Expense::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add) : BigDecimal.ZERO;
-
+            BigDecimal totalExpenses = findCategoryTotal(budgetId, user, TypeAggregate.EXPENSES_BY_SUBCATEGORY, subcategoryId);
             FinancialAggregate financialAggregate = FinancialAggregate.createBySubcategory(totalExpenses, subcategoryId, budgetId, TypeAggregate.EXPENSES_BY_SUBCATEGORY, user.getId());
-            if (totalExpenses == null) {
-                log.info("No expenses found for budget ID: {}, subcategory ID: {}, and user ID: {}. Returning ZERO.", budgetId, subcategoryId, user.getId());
-                financialAggregate.setValue(BigDecimal.ZERO);
-                return financialAggregate;
-            }
-            financialAggregate.setValue(totalExpenses);
             log.info("Total expenses retrieved for budget ID: {}, subcategory ID: {}, and user ID: {}. Total: {}", budgetId, subcategoryId, user.getId(), totalExpenses);
             return financialAggregate;
         } catch (Exception e) {
@@ -333,18 +368,8 @@ public class BudgetService {
     public FinancialAggregate getTotalIncomesByCategory(Long budgetId, Long categoryId, User user) {
         log.debug("Starting to get total incomes for budget ID: {}, category ID: {}, and user ID: {}", budgetId, categoryId, user.getId());
         try {
-            List<Income> incomes = incomeRepository.findByIdCategoryAndUserIdAndBudgetId(categoryId, user.getId(), budgetId);
-            BigDecimal totalIncomes = incomes != null ? incomes.stream()
-                    .map(Income::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add) : BigDecimal.ZERO;
-
+            BigDecimal totalIncomes = findCategoryTotal(budgetId, user, TypeAggregate.INCOMES_BY_CATEGORY, categoryId);
             FinancialAggregate financialAggregate = FinancialAggregate.createByCategory(totalIncomes, categoryId, budgetId, TypeAggregate.INCOMES_BY_CATEGORY, user.getId());
-            if (totalIncomes == null) {
-                log.info("No incomes found for budget ID: {}, category ID: {}, and user ID: {}. Returning ZERO.", budgetId, categoryId, user.getId());
-                financialAggregate.setValue(BigDecimal.ZERO);
-                return financialAggregate;
-            }
-            financialAggregate.setValue(totalIncomes);
             log.info("Total incomes retrieved for budget ID: {}, category ID: {}, and user ID: {}. Total: {}", budgetId, categoryId, user.getId(), totalIncomes);
             return financialAggregate;
         } catch (Exception e) {
@@ -356,18 +381,8 @@ public class BudgetService {
     public FinancialAggregate getTotalIncomesBySubcategory(Long budgetId, Long subcategoryId, User user) {
         log.debug("Starting to get total incomes for budget ID: {}, subcategory ID: {}, and user ID: {}", budgetId, subcategoryId, user.getId());
         try {
-            List<Income> incomes = incomeRepository.findByIdSubCategoryAndUserIdAndBudgetId(subcategoryId, user.getId(), budgetId);
-            BigDecimal totalIncomes = incomes != null ? incomes.stream()
-                    .map(Income::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add) : BigDecimal.ZERO;
-
+            BigDecimal totalIncomes = findCategoryTotal(budgetId, user, TypeAggregate.INCOMES_BY_SUBCATEGORY, subcategoryId);
             FinancialAggregate financialAggregate = FinancialAggregate.createBySubcategory(totalIncomes, subcategoryId, budgetId, TypeAggregate.INCOMES_BY_SUBCATEGORY, user.getId());
-            if (totalIncomes == null) {
-                log.info("No incomes found for budget ID: {}, subcategory ID: {}, and user ID: {}. Returning ZERO.", budgetId, subcategoryId, user.getId());
-                financialAggregate.setValue(BigDecimal.ZERO);
-                return financialAggregate;
-            }
-            financialAggregate.setValue(totalIncomes);
             log.info("Total incomes retrieved for budget ID: {}, subcategory ID: {}, and user ID: {}. Total: {}", budgetId, subcategoryId, user.getId(), totalIncomes);
             return financialAggregate;
         } catch (Exception e) {
@@ -376,74 +391,79 @@ public class BudgetService {
         }
     }
 
+    private BigDecimal findCategoryTotal(Long budgetId, User user, TypeAggregate typeAggregate, Long targetId) {
+        Optional<Budget> budget = budgetRepository.findByIdAndUser(budgetId, user);
+        if (budget.isEmpty()) {
+            log.debug("Budget ID: {} not found for user ID: {}. Returning ZERO for {}", budgetId, user.getId(), typeAggregate);
+            return BigDecimal.ZERO;
+        }
+        if (!budget.get().isCategoryTotalsInitialized()) {
+            categoryTotalService.initializeTotals(budgetId);
+        }
+        return categoryTotalService.findTotal(budgetId, typeAggregate, targetId);
+    }
+
     @Transactional
-    public void deleteBudgetByIdAndUser(Long budgetId, User user) {
+    public BudgetDeletion deleteBudgetByIdAndUser(Long budgetId, User user) {
         log.debug("Starting to delete budget ID: {} and user ID: {}", budgetId, user.getId());
-        if (!budgetRepository.existsByIdAndUserId(budgetId, user.getId())) {
-            log.error("Budget ID: {} for user ID: {} not found.", budgetId, user.getId());
-            throw new BudgetNotFoundException("Budget ID: " + budgetId + " and user ID: " + user.getId() + " not found.");
-        }
+        int expensesDeleted;
+        int incomesDeleted;
+        int budgetsDeleted;
         try {
-            deleteExpensesForBudget(budgetId);
-            deleteIncomesForBudget(budgetId);
-            budgetRepository.deleteBudgetByIdAndUser(budgetId, user);
-            log.info("Budget ID: {} for user ID: {} successfully deleted.", budgetId, user.getId());
+            // Children are removed with set-based statements first, which is what orphanRemoval would do row by row.
+            // The category totals go with the budget through ON DELETE CASCADE.
+            expensesDeleted = expenseRepository.deleteByBudgetIdAndUserId(budgetId, user.getId());
+            incomesDeleted = incomeRepository.deleteByBudgetIdAndUserId(budgetId, user.getId());
+            budgetsDeleted = budgetRepository.deleteByIdAndUserId(budgetId, user.getId());
         } catch (Exception e) {
             log.error("Error deleting budget ID: {} for user ID: {}. Error: {}", budgetId, user.getId(), e.getMessage());
             throw new BudgetNotFoundException("Error deleting budget ID: " + budgetId + " and user ID: " + user.getId());
         }
-    }
-
-    @Transactional
-    private void deleteExpensesForBudget(Long budgetId) {
-        List<Expense> expenses = expenseRepository.findByBudgetId(budgetId);
-        if (!expenses.isEmpty()) {
-            expenseRepository.deleteAll(expenses);
-            log.info("All expenses for budget ID: {} have been deleted. Deleted expenses: {}", budgetId, expenses.size());
-        }
-    }
-
-    @Transactional
-    private void deleteIncomesForBudget(Long budgetId) {
-        List<Income> incomes = incomeRepository.findByBudgetId(budgetId);
-        if (!incomes.isEmpty()) {
-            incomeRepository.deleteAll(incomes);
-            log.info("All incomes for budget ID: {} have been deleted. Deleted incomes: {}", budgetId, incomes.size());
+        if (budgetsDeleted == 0) {
+            log.error("Budget ID: {} for user ID: {} not found.", budgetId, user.getId());
+            throw new BudgetNotFoundException("Budget ID: " + budgetId + " and user ID: " + user.getId() + " not found.");
         }
+        log.info("Budget ID: {} for user ID: {} successfully deleted. Deleted expenses: {}, deleted incomes: {}", budgetId, user.getId(), expensesDeleted, incomesDeleted);
+        return new BudgetDeletion(budgetId, expensesDeleted, incomesDeleted);
     }
 
     @Transactional
+    @RetryOnConflict
     public void deleteExpenseByIdAndUser(Long expenseId, User user, Long budgetId) {
         log.debug("Starting to delete expense ID: {} and user ID: {}", expenseId, user.getId());
-        try {
-            expenseRepository.findByIdAndUserIdAndBudgetId(expenseId, user.getId(), budgetId)
-                    .orElseThrow(() -> {
-                        log.error("Expense ID: {} is not associated with budget ID: {} for user ID: {}", expenseId, budgetId, user.getId());
-                        return new ExpenseNotFoundException("Expense ID: " + expenseId + " is not associated with budget ID: " + budgetId + " for user ID: " + user.getId());
-                    });
-            expenseRepository.deleteExpenseByIdAndUserAndBudgetId(expenseId, user, budgetId);
-            log.info("Expense ID: {} for user ID: {} successfully deleted.", expenseId, user.getId());
-        } catch (Exception e) {
-            log.error("Error deleting expense ID: {} for user ID: {}. Error: {}", expenseId, user.getId(), e.getMessage());
-            throw new ExpenseNotFoundException(e.getMessage());
-        }
+        Expense expense = expenseRepository.findByIdAndUserIdAndBudgetId(expenseId, user.getId(), budgetId)
+                .orElseThrow(() -> {
+                    log.error("Expense ID: {} is not associated with budget ID: {} for user ID: {}", expenseId, budgetId, user.getId());
+                    return new ExpenseNotFoundException("Expense ID: " + expenseId + " is not associated with budget ID: " + budgetId + " for user ID: " + user.getId());
+                });
+        // Optimistic lock failures from the totals update must propagate unchanged so @RetryOnConflict can retry.
+        expenseRepository.deleteExpenseByIdAndUserAndBudgetId(expenseId, user, budgetId);
+        expenseRepository.flush();
+        budgetRepository.findById(budgetId)
+                .ifPresent(budget -> {
+                    updateTotals(budget, BigDecimal.ZERO, expense.getAmount().negate());
+                    categoryTotalService.applyExpenseDelta(budget, expense.getIdCategory(), expense.getIdSubCategory(), expense.getAmount().negate());
+                });
+        log.info("Expense ID: {} for user ID: {} successfully deleted.", expenseId, user.getId());
     }
 
     @Transactional
+    @RetryOnConflict
     public void deleteIncomeByIdAndUser(Long incomeId, User user, Long budgetId) {
         log.debug("Starting to delete income ID: {} and user ID: {}", incomeId, user.getId());
-        try {
-            incomeRepository.findByIdAndUserIdAndBudgetId(incomeId, user.getId(), budgetId)
-                    .orElseThrow(() -> {
-                        log.error("Expense ID: {} is not associated with budget ID: {} for user ID: {}", incomeId, budgetId, user.getId());
-                        return new ExpenseNotFoundException("Expense ID: " + incomeId + " is not associated with budget ID: " + budgetId + " for user ID: " + user.getId());
-                    });
-            incomeRepository.deleteExpenseByIdAndUserAndBudgetId(incomeId, user, budgetId);
-            log.info("Income ID: {} for user ID: {} successfully deleted.", incomeId, user.getId());
-        } catch (Exception e) {
-            log.error("Error deleting income ID: {} for user ID: {}. Error: {}", incomeId, user.getId(), e.getMessage());
-            throw new IncomeNotFoundException(e.getMessage());
-        }
+        Income income = incomeRepository.findByIdAndUserIdAndBudgetId(incomeId, user.getId(), budgetId)
+                .orElseThrow(() -> {
+                    log.error("Income ID: {} is not associated with budget ID: {} for user ID: {}", incomeId, budgetId, user.getId());
+                    return new IncomeNotFoundException("Income ID: " + incomeId + " is not associated with budget ID: " + budgetId + " for user ID: " + user.getId());
+                });
+        incomeRepository.deleteExpenseByIdAndUserAndBudgetId(incomeId, user, budgetId);
+        incomeRepository.flush();
+        budgetRepository.findById(budgetId)
+                .ifPresent(budget -> {
+                    updateTotals(budget, income.getAmount().negate(), BigDecimal.ZERO);
+                    categoryTotalService.applyIncomeDelta(budget, income.getIdCategory(), income.getIdSubCategory(), income.getAmount().negate());
+                });
+        log.info("Income ID: {} for user ID: {} successfully deleted.", incomeId, user.getId());
     }
 
     public ExpensesSummary calculateExpensesSummary(User user, Long budgetId) {
@@ -482,17 +502,6 @@ public class BudgetService {
         return expensesSummary;
     }
 
-    public void saveExpenseFromCsv(Expense expense) {
-        log.debug("Starting to save expense from CSV");
-        expenseRepository.save(expense);
-        log.debug("Expense from CSV successfully saved");
-    }
-
-    public void saveIncomeFromCsv(Income income) {
-        log.debug("Starting to save income from CSV");
-        incomeRepository.save(income);
-        log.debug("Income from CSV successfully saved");
-    }
 }
 
 
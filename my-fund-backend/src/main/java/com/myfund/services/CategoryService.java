@@ -13,6 +13,7 @@ import com.myfund.models.SubCategory;
 import com.myfund.models.User;
 import com.myfund.repositories.CategoryRepository;
 import com.myfund.repositories.SubCategoryRepository;
+import com.myfund.services.encryption.BlindIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -35,8 +36,14 @@ public class CategoryService {
     @Lazy
     private final BudgetService budgetService;
 
+    private final CategoryTotalService categoryTotalService;
+
+    private final CategoryTreeCache categoryTreeCache;
+
+    private final BlindIndex blindIndex;
+
     public List<Category> findAllCategoriesByUser(User user) {
-        List<Category> category = categoryRepository.findAllCategoriesByUser(user);
+        List<Category> category = categoryRepository.findAllWithSubCategoriesByUser(user);
         log.info("Retrieved {} categories for user with ID: {}", category.size(), user.getId());
         return category;
     }
@@ -60,13 +67,14 @@ public class CategoryService {
             log.warn("Category name is required.");
             throw new InvalidInputException("Category name is required");
         }
-        categoryRepository.findByNameAndUser(category.getName(), user)
+        categoryRepository.findByNameIndexAndUser(blindIndex.of(category.getName()), user)
                 .ifPresent(existingCategory -> {
                     log.warn("Category creation attempt failed. Category with name: {} already exists for user ID: {}", category.getName(), user.getId());
                     throw new CategoryNotUniqueException("Category with name: " + existingCategory.getName() + " is not unique");
                 });
         Category inicializedCategory = Category.create(category, user);
         Category savedCatgory=categoryRepository.save(inicializedCategory);
+        categoryTreeCache.evict(user.getId());
         log.info("New category created with name: {} for user ID: {}", category.getName(), user.getId());
         return savedCatgory;
     }
@@ -80,6 +88,7 @@ public class CategoryService {
                 });
         Category updatedCategory = Category.update(existingCategory, category);
         Category savedCategory = categoryRepository.save(updatedCategory);
+        categoryTreeCache.evict(user.getId());
         log.info("Category with ID: {} updated for user ID: {}", categoryId, user.getId());
         return savedCategory;
     }
@@ -95,32 +104,31 @@ public class CategoryService {
                     return new CategoryNotFoundException("Category not found for user with ID: " + user.getId() + " and category ID: " + categoryId);
                 });
 
-        budgetService.updateExpensesCategoryIdToNull(category.getId());
-        budgetService.updateIncomesCategoryIdToNull(category.getId());
+        categoryTotalService.deleteTotalsForCategory(category.getId(), category.getSubCategories().stream().map(SubCategory::getId).toList());
         categoryRepository.delete(category);
+        // The bulk updates flush and clear the persistence context, so they run after the category itself is removed.
+        budgetService.updateExpensesCategoryIdToNull(category.getId(), user);
+        budgetService.updateIncomesCategoryIdToNull(category.getId(), user);
+        categoryTreeCache.evict(user.getId());
 
         log.info("Category with ID: {} deleted for user ID: {}", categoryId, user.getId());
     }
 
-    private Category getCategoryByIdAndUser(Long categoryId, User user) {
-        log.debug("Starting to find category with ID: {} for user ID: {}", categoryId, user.getId());
-        return categoryRepository.findByIdAndUser(categoryId, user)
-                .orElseThrow(() -> {
-                    log.info("Category with ID: {} not found for user ID: {}", categoryId, user.getId());
-                    return new CategoryNotFoundException("Category not found for user with ID: " + user.getId() + " and category ID: " + categoryId);
-                });
-    }
-
     public boolean isSubcategoryRelatedToCategory(Long subcategoryId, Long categoryId, User user) {
 
         log.debug("Checking if subcategory with ID: {} is related to category ID: {} for user ID: {}", subcategoryId, categoryId, user.getId());
-        Category category  = getCategoryByIdAndUser(categoryId, user);
+        CategoryTree categoryTree = categoryTreeCache.get(user.getId());
+        if (!categoryTree.containsCategory(categoryId)) {
+            log.info("Category with ID: {} not found for user ID: {}", categoryId, user.getId());
+            throw new CategoryNotFoundException("Category not found for user with ID: " + user.getId() + " and category ID: " + categoryId);
+        }
 
-        boolean isRelated = category.getSubCategories().stream().anyMatch(subCategory -> subCategory.getId().equals(subcategoryId));
+        boolean isRelated = subcategoryId != null && categoryTree.isSubcategoryRelatedToCategory(subcategoryId, categoryId);
         log.info("Subcategory with ID: {} is {}related to category ID: {} for user ID: {}", subcategoryId, isRelated ? "" : "not ", categoryId, user.getId());
         return isRelated;
     }
 
+    @Transactional
     public void deleteSubcategoryByIdsAndUser(Long categoryId, Long subcategoryId, User user) {
         log.debug("Starting to delete subcategory with ID: {} from category ID: {} for user ID: {}", subcategoryId, categoryId, user.getId());
 
@@ -140,11 +148,12 @@ public class CategoryService {
                     return new SubcategoryNotFoundException("Subcategory not found for user with ID: " + user.getId() + ", category ID: " + categoryId + " and subcategory ID: " + subcategoryId);
                 });
 
-        budgetService.updateExpensesSubcategoryIdToNull(subcategoryId);
-        budgetService.updateIncomesSubcategoryIdToNull(subcategoryId);
-
+        categoryTotalService.deleteTotalsForSubcategory(subcategoryId);
         category.getSubCategories().remove(subCategoryToRemove);
         subCategoryRepository.delete(subCategoryToRemove);
+        budgetService.updateExpensesSubcategoryIdToNull(subcategoryId, user);
+        budgetService.updateIncomesSubcategoryIdToNull(subcategoryId, user);
+        categoryTreeCache.evict(user.getId());
 
         log.info("Subcategory with ID: {} removed from category ID: {} for user ID: {}", subcategoryId, categoryId, user.getId());
     }
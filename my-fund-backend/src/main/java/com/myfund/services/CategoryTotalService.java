@@ -0,0 +1,146 @@
+package com.myfund.services;
+
+import com.myfund.exceptions.BudgetNotFoundException;
+import com.myfund.models.Budget;
+import com.myfund.models.CategoryTotal;
+import com.myfund.models.Expense;
+import com.myfund.models.Income;
+import com.myfund.models.TypeAggregate;
+import com.myfund.repositories.BudgetRepository;
+import com.myfund.repositories.CategoryTotalRepository;
+import com.myfund.repositories.ExpenseRepository;
+import com.myfund.repositories.IncomeRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class CategoryTotalService {
+
+    private static final Set<TypeAggregate> CATEGORY_TYPES = EnumSet.of(TypeAggregate.EXPENSES_BY_CATEGORY, TypeAggregate.INCOMES_BY_CATEGORY);
+
+    private static final Set<TypeAggregate> SUBCATEGORY_TYPES = EnumSet.of(TypeAggregate.EXPENSES_BY_SUBCATEGORY, TypeAggregate.INCOMES_BY_SUBCATEGORY);
+
+    private final CategoryTotalRepository categoryTotalRepository;
+
+    private final BudgetRepository budgetRepository;
+
+    private final ExpenseRepository expenseRepository;
+
+    private final IncomeRepository incomeRepository;
+
+    public BigDecimal findTotal(Long budgetId, TypeAggregate typeAggregate, Long targetId) {
+        return categoryTotalRepository.findByBudgetIdAndTypeAggregateAndTargetId(budgetId, typeAggregate, targetId)
+                .map(CategoryTotal::getTotal)
+                .orElse(BigDecimal.ZERO);
+    }
+
+    @Transactional
+    @Timed(value = "category.totals.apply", extraTags = {"type", "expense"})
+    public void applyExpenseDelta(Budget budget, Long categoryId, Long subcategoryId, BigDecimal delta) {
+        applyDelta(budget, TypeAggregate.EXPENSES_BY_CATEGORY, categoryId, TypeAggregate.EXPENSES_BY_SUBCATEGORY, subcategoryId, delta);
+    }
+
+    @Transactional
+    @Timed(value = "category.totals.apply", extraTags = {"type", "income"})
+    public void applyIncomeDelta(Budget budget, Long categoryId, Long subcategoryId, BigDecimal delta) {
+        applyDelta(budget, TypeAggregate.INCOMES_BY_CATEGORY, categoryId, TypeAggregate.INCOMES_BY_SUBCATEGORY, subcategoryId, delta);
+    }
+
+    private void applyDelta(Budget budget, TypeAggregate categoryType, Long categoryId, TypeAggregate subcategoryType, Long subcategoryId, BigDecimal delta) {
+        if (!budget.isCategoryTotalsInitialized() || delta.signum() == 0 || (categoryId == null && subcategoryId == null)) {
+            return;
+        }
+        // Flush the pending budget version bump first, so concurrent writers of the same budget serialize on the
+        // budget row (and retry on conflict) before they can race on creating the same category total row.
+        categoryTotalRepository.flush();
+        applyDelta(budget.getId(), categoryType, categoryId, delta);
+        applyDelta(budget.getId(), subcategoryType, subcategoryId, delta);
+    }
+
+    private void applyDelta(Long budgetId, TypeAggregate typeAggregate, Long targetId, BigDecimal delta) {
+        if (targetId == null) {
+            return;
+        }
+        CategoryTotal categoryTotal = categoryTotalRepository.findByBudgetIdAndTypeAggregateAndTargetId(budgetId, typeAggregate, targetId)
+                .orElseGet(() -> CategoryTotal.create(budgetId, typeAggregate, targetId));
+        categoryTotal.add(delta);
+        categoryTotalRepository.save(categoryTotal);
+        log.debug("Category total {} for budget ID: {} and target ID: {} changed by {}", typeAggregate, budgetId, targetId, delta);
+    }
+
+    @Transactional
+    @RetryOnConflict
+    @Timed("category.totals.initialize")
+    public void initializeTotals(Long budgetId) {
+        // The flag is re-checked under the row lock, so a concurrent initialization that already committed is not
+        // repeated into a duplicate key on uk_category_total.
+        Budget budget = budgetRepository.findByIdForUpdate(budgetId)
+                .orElseThrow(() -> {
+                    log.warn("Budget not found for category totals initialization. Budget ID: {}", budgetId);
+                    return new BudgetNotFoundException("Budget not found for budget ID: " + budgetId);
+                });
+        if (budget.isCategoryTotalsInitialized()) {
+            log.debug("Category totals already initialized for budget ID: {}", budgetId);
+            return;
+        }
+        log.debug("Starting to initialize category totals for budget ID: {}", budgetId);
+
+        Map<TypeAggregate, Map<Long, BigDecimal>> totals = new LinkedHashMap<>();
+        for (Expense expense : expenseRepository.findByBudgetId(budgetId)) {
+            accumulate(totals, TypeAggregate.EXPENSES_BY_CATEGORY, expense.getIdCategory(), expense.getAmount());
+            accumulate(totals, TypeAggregate.EXPENSES_BY_SUBCATEGORY, expense.getIdSubCategory(), expense.getAmount());
+        }
+        for (Income income : incomeRepository.findByBudgetId(budgetId)) {
+            accumulate(totals, TypeAggregate.INCOMES_BY_CATEGORY, income.getIdCategory(), income.getAmount());
+            accumulate(totals, TypeAggregate.INCOMES_BY_SUBCATEGORY, income.getIdSubCategory(), income.getAmount());
+        }
+
+        List<CategoryTotal> categoryTotals = new ArrayList<>();
+        totals.forEach((typeAggregate, byTarget) -> byTarget.forEach((targetId, total) -> {
+            CategoryTotal categoryTotal = CategoryTotal.create(budgetId, typeAggregate, targetId);
+            categoryTotal.add(total);
+            categoryTotals.add(categoryTotal);
+        }));
+        categoryTotalRepository.saveAll(categoryTotals);
+        budget.setCategoryTotalsInitialized(true);
+        budgetRepository.save(budget);
+
+        log.info("Category totals initialized for budget ID: {}. Totals created: {}", budgetId, categoryTotals.size());
+    }
+
+    private void accumulate(Map<TypeAggregate, Map<Long, BigDecimal>> totals, TypeAggregate typeAggregate, Long targetId, BigDecimal amount) {
+        if (targetId == null || amount == null) {
+            return;
+        }
+        totals.computeIfAbsent(typeAggregate, type -> new LinkedHashMap<>()).merge(targetId, amount, BigDecimal::add);
+    }
+
+    @Transactional
+    public void deleteTotalsForCategory(Long categoryId, Collection<Long> subcategoryIds) {
+        int deleted = categoryTotalRepository.deleteByTypeAggregateInAndTargetIdIn(CATEGORY_TYPES, List.of(categoryId));
+        if (!subcategoryIds.isEmpty()) {
+            deleted += categoryTotalRepository.deleteByTypeAggregateInAndTargetIdIn(SUBCATEGORY_TYPES, subcategoryIds);
+        }
+        log.info("Category totals for category ID: {} deleted. Deleted totals: {}", categoryId, deleted);
+    }
+
+    @Transactional
+    public void deleteTotalsForSubcategory(Long subcategoryId) {
+        int deleted = categoryTotalRepository.deleteByTypeAggregateInAndTargetIdIn(SUBCATEGORY_TYPES, List.of(subcategoryId));
+        log.info("Category totals for subcategory ID: {} deleted. Deleted totals: {}", subcategoryId, deleted);
+    }
+}
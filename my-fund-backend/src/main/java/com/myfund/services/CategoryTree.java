@@ -0,0 +1,60 @@
+package com.myfund.services;
+
+import com.myfund.models.CategoryLink;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of a user's category ids and the subcategory ids of each, kept as sorted primitive arrays.
+ */
+public final class CategoryTree {
+
+    private static final long[] NO_SUBCATEGORIES = new long[0];
+
+    private final Map<Long, long[]> subcategoriesByCategory;
+
+    private CategoryTree(Map<Long, long[]> subcategoriesByCategory) {
+        this.subcategoriesByCategory = subcategoriesByCategory;
+    }
+
+    public static CategoryTree of(List<CategoryLink> links) {
+        Map<Long, long[]> subcategoriesByCategory = new HashMap<>();
+        Map<Long, Integer> sizes = new HashMap<>();
+        for (CategoryLink link : links) {
+            long[] subcategories = subcategoriesByCategory.getOrDefault(link.getCategoryId(), NO_SUBCATEGORIES);
+            if (link.getSubCategoryId() == null) {
+                subcategoriesByCategory.putIfAbsent(link.getCategoryId(), subcategories);
+                continue;
+            }
+            int size = sizes.getOrDefault(link.getCategoryId(), 0);
+            if (size == subcategories.length) {
+                subcategories = Arrays.copyOf(subcategories, Math.max(4, size * 2));
+            }
+            subcategories[size] = link.getSubCategoryId();
+            subcategoriesByCategory.put(link.getCategoryId(), subcategories);
+            sizes.put(link.getCategoryId(), size + 1);
+        }
+        subcategoriesByCategory.replaceAll((categoryId, subcategories) -> {
+            long[] trimmed = Arrays.copyOf(subcategories, sizes.getOrDefault(categoryId, 0));
+            Arrays.sort(trimmed);
+            return trimmed;
+        });
+        return new CategoryTree(subcategoriesByCategory);
+    }
+
+    public boolean containsCategory(long categoryId) {
+        return subcategoriesByCategory.containsKey(categoryId);
+    }
+
+    public boolean isSubcategoryRelatedToCategory(long subcategoryId, long categoryId) {
+        long[] subcategories = subcategoriesByCategory.get(categoryId);
+        return subcategories != null && Arrays.binarySearch(subcategories, subcategoryId) >= 0;
+    }
+
+    public int categoryCount() {
+        return subcategoriesByCategory.size();
+    }
+}
@@ -0,0 +1,70 @@
+package com.myfund.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.myfund.configs.SecondLevelCacheConfig;
+import com.myfund.repositories.CategoryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+@Slf4j
+public class CategoryTreeCache implements MeterBinder {
+
+    private final Cache<Long, CategoryTree> trees;
+
+    private final CategoryRepository categoryRepository;
+
+    @Autowired
+    public CategoryTreeCache(CategoryRepository categoryRepository) {
+        this(categoryRepository, Ticker.systemTicker());
+    }
+
+    // Evictions only reach this node, so a tree changed on another node is dropped after the same bounded expiry as
+    // the second-level cache regions, however often it is read.
+    CategoryTreeCache(CategoryRepository categoryRepository, Ticker ticker) {
+        this.categoryRepository = categoryRepository;
+        this.trees = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(SecondLevelCacheConfig.EXPIRE_AFTER_WRITE)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, trees, "categoryTree");
+    }
+
+    public CategoryTree get(Long userId) {
+        return trees.get(userId, this::load);
+    }
+
+    public void evict(Long userId) {
+        trees.invalidate(userId);
+        // A reader may reload the old tree before the mutating transaction commits, so evict again once it has.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    trees.invalidate(userId);
+                }
+            });
+        }
+        log.debug("Category tree evicted for user ID: {}", userId);
+    }
+
+    private CategoryTree load(Long userId) {
+        CategoryTree categoryTree = CategoryTree.of(categoryRepository.findLinksByUserId(userId));
+        log.debug("Category tree loaded for user ID: {}. Categories: {}", userId, categoryTree.categoryCount());
+        return categoryTree;
+    }
+}
@@ -1,8 +1,10 @@
 package com.myfund.services;
 
 import com.myfund.repositories.UserRepository;
+import com.myfund.services.encryption.BlindIndex;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -13,14 +15,18 @@ public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
 
+    private final BlindIndex blindIndex;
+
     @Autowired
-    public CustomUserDetailsService(UserRepository userRepository) {
+    public CustomUserDetailsService(UserRepository userRepository, BlindIndex blindIndex) {
         this.userRepository = userRepository;
+        this.blindIndex = blindIndex;
     }
 
     @Override
+    @Cacheable(value = "userDetails", key = "#username")
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return userRepository.findByUsername(username)
+        return userRepository.findByUsernameIndex(blindIndex.of(username))
                 .orElseThrow(() -> new UsernameNotFoundException("User does not exist"));
     }
 }
\ No newline at end of file
@@ -1,10 +1,8 @@
 package com.myfund.services;
 
-import org.springframework.security.core.context.SecurityContextHolder;
+import com.myfund.services.encryption.CipherEngine;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.Cipher;
-import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.util.Base64;
@@ -12,22 +10,18 @@ import java.util.Base64;
 @Service
 public class DataEncryptionService {
 
+    private final CipherEngine cipherEngine = new CipherEngine();
+
     public String encryptData(String data, Long userId) throws Exception {
         String encryptionKey = generateEncryptionKey(userId);
-        SecretKeySpec key = new SecretKeySpec(encryptionKey.getBytes(StandardCharsets.UTF_8), "AES");
-        Cipher cipher = Cipher.getInstance("AES");
-        cipher.init(Cipher.ENCRYPT_MODE, key);
-        byte[] encrypted = cipher.doFinal(data.getBytes(StandardCharsets.UTF_8));
+        byte[] encrypted = cipherEngine.encrypt(data.getBytes(StandardCharsets.UTF_8), encryptionKey);
         return Base64.getEncoder().encodeToString(encrypted);
     }
 
     public String decryptData(String encryptedData, Long userId) throws Exception {
         String encryptionKey = generateEncryptionKey(userId);
-        SecretKeySpec key = new SecretKeySpec(encryptionKey.getBytes(StandardCharsets.UTF_8), "AES");
-        Cipher cipher = Cipher.getInstance("AES");
-        cipher.init(Cipher.DECRYPT_MODE, key);
         byte[] decoded = Base64.getDecoder().decode(encryptedData);
-        byte[] original = cipher.doFinal(decoded);
+        byte[] original = cipherEngine.decrypt(decoded, encryptionKey);
         return new String(original, StandardCharsets.UTF_8);
     }
 
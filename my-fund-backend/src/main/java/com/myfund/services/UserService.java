@@ -12,14 +12,18 @@ import com.myfund.models.PasswordChange;
 import com.myfund.models.PasswordChangeRequest;
 import com.myfund.models.User;
 import com.myfund.repositories.UserRepository;
+import com.myfund.services.email.EmailOutboxService;
 import com.myfund.services.email.EmailSender;
 import com.myfund.services.email.TokenService;
+import com.myfund.services.encryption.BlindIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
 import java.util.Optional;
@@ -41,7 +45,12 @@ public class UserService {
 
     private final CacheManager cacheManager;
 
-    public User createUser(User user) throws IOException {
+    private final EmailOutboxService emailOutboxService;
+
+    private final BlindIndex blindIndex;
+
+    @Transactional
+    public User createUser(User user) {
         validateUniqueness(user.getUsername(), user.getEmail());
 
         User inicializedUser = User.builder()
@@ -53,7 +62,7 @@ public class UserService {
         log.info("User saved successfully. Email: {}, Pass: {}, ", user.getEmail(), maskHash(user.getPassword()));
         userRepository.save(inicializedUser);
         budgetService.createDefaultBudget(inicializedUser);
-        emailSender.sendWelcomeEmail(inicializedUser);
+        emailOutboxService.enqueueWelcomeEmail(inicializedUser);
         return user;
     }
 
@@ -64,18 +73,26 @@ public class UserService {
     }
 
     private void validateUniqueness(String username, String email) {
-        if (userRepository.existsByUsername(username)) {
+        if (userRepository.existsByUsernameIndex(blindIndex.of(username))) {
             log.info("Attempt to create a user with an existing username: {}", username);
             throw new UserAlreadyExistsException("Username is not unique");
         }
-        if (userRepository.existsByEmail(email)) {
+        if (userRepository.existsByEmailIndex(blindIndex.of(email))) {
             log.info("Attempt to create a user with an existing email: {}", email);
             throw new UserAlreadyExistsException("Email is not unique");
         }
     }
 
+    public User findCurrentUser(User principal) {
+        return userRepository.findById(principal.getId())
+                .orElseThrow(() -> {
+                    log.error("User not found for ID: {}", principal.getId());
+                    return new UserNotFoundException("User not found for ID: " + principal.getId());
+                });
+    }
+
     public void requestPasswordChange(PasswordChangeRequest passwordChangeRequest) {
-        User user = userRepository.findByEmail(passwordChangeRequest.getEmail())
+        User user = userRepository.findByEmailIndex(blindIndex.of(passwordChangeRequest.getEmail()))
                 .orElseThrow(() -> {
                     log.error("User not found for email: {}", passwordChangeRequest.getEmail());
                     return new UserNotFoundException("User not found for email: " + passwordChangeRequest.getEmail());
@@ -94,16 +111,14 @@ public class UserService {
     public void changePassword(PasswordChange passwordChange) {
 
         log.info("Attempting to reset password for email: {}", passwordChange.getEmail());
-        String cachedToken = tokenService.getPasswordResetToken(passwordChange.getEmail());
-
-        if (cachedToken == null || !cachedToken.equals(passwordChange.getToken())) {
+        if (!tokenService.consumePasswordResetToken(passwordChange.getEmail(), passwordChange.getToken())) {
             log.error("Invalid or expired token for email: {}", passwordChange.getEmail());
             throw new InvalidTokenException("Invalid token");
         }
 
         log.debug("Token validation successful for email: {}", passwordChange.getEmail());
 
-        User user = userRepository.findByEmail(passwordChange.getEmail())
+        User user = userRepository.findByEmailIndex(blindIndex.of(passwordChange.getEmail()))
                 .orElseThrow(() -> {
                     log.error("User not found for email: {}", passwordChange.getEmail());
                     return new UserNotFoundException("User not found for email: " + passwordChange.getEmail());
@@ -111,7 +126,15 @@ public class UserService {
 
         user.setPassword(passwordEncoder.encode(passwordChange.getNewPassword()));
         userRepository.save(user);
-        tokenService.invalidatePasswordResetToken(passwordChange.getEmail());
+        evictUserDetails(user.getUsername());
         log.info("Password reset successful for email: {}", passwordChange.getEmail());
     }
-}
\ No newline at end of file
+
+    private void evictUserDetails(String username) {
+        Cache userDetailsCache = cacheManager.getCache("userDetails");
+        if (userDetailsCache != null) {
+            userDetailsCache.evict(username);
+            log.debug("Cached user details evicted for username: {}", username);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.myfund.services.csv;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Inserts already encrypted CSV rows with JDBC batches. Ids are reserved from the same {@code id_generator} rows
+ * the entity table generators use, so imported rows never collide with rows saved through JPA.
+ */
+@Slf4j
+@Component
+public class CsvBatchWriter {
+
+    static final String EXPENSE_SEQUENCE = "expense";
+
+    static final String INCOME_SEQUENCE = "income";
+
+    private static final String SELECT_NEXT_ID = "SELECT next_val FROM id_generator WHERE sequence_name = ? FOR UPDATE";
+
+    private static final String UPDATE_NEXT_ID = "UPDATE id_generator SET next_val = ? WHERE sequence_name = ?";
+
+    private static final String INSERT_EXPENSE = "INSERT INTO expense (id, name, amount, local_date_time, payload, budget_id, user_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_INCOME = "INSERT INTO income (id, name, amount, local_date_time, payload, budget_id, user_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate idReservationTransaction;
+
+    @Autowired
+    public CsvBatchWriter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.idReservationTransaction = new TransactionTemplate(transactionManager);
+        this.idReservationTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Transactional
+    public void write(EncryptedCsvChunk chunk, Long budgetId, Long userId) {
+        insert(INSERT_EXPENSE, EXPENSE_SEQUENCE, chunk.getExpenses(), budgetId, userId);
+        insert(INSERT_INCOME, INCOME_SEQUENCE, chunk.getIncomes(), budgetId, userId);
+        log.debug("CSV chunk of {} expenses and {} incomes written for budget ID: {}", chunk.getExpenses().size(), chunk.getIncomes().size(), budgetId);
+    }
+
+    private void insert(String sql, String sequenceName, List<EncryptedCsvRow> rows, Long budgetId, Long userId) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        long firstId = reserveIds(sequenceName, rows.size());
+        jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                EncryptedCsvRow row = rows.get(i);
+                ps.setLong(1, firstId + i);
+                ps.setBytes(2, row.getName());
+                ps.setBytes(3, row.getAmount());
+                ps.setBytes(4, row.getLocalDateTime());
+                ps.setBytes(5, row.getPayload());
+                ps.setLong(6, budgetId);
+                ps.setLong(7, userId);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+    }
+
+    long reserveIds(String sequenceName, int count) {
+        Long firstId = idReservationTransaction.execute(status -> {
+            Long nextId = jdbcTemplate.queryForObject(SELECT_NEXT_ID, Long.class, sequenceName);
+            if (nextId == null) {
+                throw new IllegalStateException("Missing id_generator row: " + sequenceName);
+            }
+            jdbcTemplate.update(UPDATE_NEXT_ID, nextId + count, sequenceName);
+            return nextId;
+        });
+        log.debug("Reserved {} ids starting at {} for sequence: {}", count, firstId, sequenceName);
+        return firstId;
+    }
+}
@@ -0,0 +1,49 @@
+package com.myfund.services.csv;
+
+import com.myfund.models.Expense;
+import com.myfund.models.Income;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+public class CsvImportChunk {
+
+    private final List<Expense> expenses = new ArrayList<>();
+
+    private final List<Income> incomes = new ArrayList<>();
+
+    private final Map<Long, String> rejections = new LinkedHashMap<>();
+
+    public void add(Expense expense) {
+        expenses.add(expense);
+    }
+
+    public void add(Income income) {
+        incomes.add(income);
+    }
+
+    public void reject(long rowNumber, String reason) {
+        rejections.put(rowNumber, reason);
+    }
+
+    public int size() {
+        return expenses.size() + incomes.size();
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public BigDecimal getExpenseTotal() {
+        return expenses.stream().map(Expense::getAmount).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    public BigDecimal getIncomeTotal() {
+        return incomes.stream().map(Income::getAmount).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+}
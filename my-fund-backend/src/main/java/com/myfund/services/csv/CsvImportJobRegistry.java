@@ -0,0 +1,26 @@
+package com.myfund.services.csv;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.myfund.models.CsvImportJob;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class CsvImportJobRegistry {
+
+    private final Cache<String, CsvImportJob> jobs = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(24, TimeUnit.HOURS)
+            .build();
+
+    public void register(CsvImportJob csvImportJob) {
+        jobs.put(csvImportJob.getId(), csvImportJob);
+    }
+
+    public Optional<CsvImportJob> find(String jobId) {
+        return Optional.ofNullable(jobs.getIfPresent(jobId));
+    }
+}
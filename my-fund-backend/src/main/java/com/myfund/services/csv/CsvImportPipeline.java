@@ -0,0 +1,203 @@
+package com.myfund.services.csv;
+
+import com.myfund.models.Budget;
+import com.myfund.models.CsvImportJob;
+import com.myfund.models.User;
+import com.myfund.services.BudgetService;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a CSV import as three stages: the calling thread tokenizes the file into chunks, the encryption executor
+ * maps and encrypts chunks in parallel, and a single writer persists them in file order.
+ * <p>
+ * The stages are connected by a bounded queue of pending chunks, so the reader blocks once the writer falls
+ * {@code chunksInFlight} chunks behind. Because the writer consumes chunks in file order, rejected rows are
+ * reported in order and a failure stops the import after the last chunk that preceded it.
+ */
+@Slf4j
+public class CsvImportPipeline {
+
+    private static final CompletableFuture<EncryptedCsvChunk> END_OF_INPUT = CompletableFuture.completedFuture(null);
+
+    private static final long OFFER_TIMEOUT_MILLIS = 100;
+
+    private final BudgetService budgetService;
+
+    private final CsvRowEncryptor csvRowEncryptor;
+
+    private final CsvBatchWriter csvBatchWriter;
+
+    private final Executor csvEncryptionExecutor;
+
+    private final Executor csvWriterExecutor;
+
+    private final int chunkSize;
+
+    private final int chunksInFlight;
+
+    public CsvImportPipeline(BudgetService budgetService, CsvRowEncryptor csvRowEncryptor, CsvBatchWriter csvBatchWriter, Executor csvEncryptionExecutor, Executor csvWriterExecutor, int chunkSize, int chunksInFlight) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("CSV import chunk size must be positive: " + chunkSize);
+        }
+        if (chunksInFlight < 1) {
+            throw new IllegalArgumentException("CSV import chunks in flight must be positive: " + chunksInFlight);
+        }
+        this.budgetService = budgetService;
+        this.csvRowEncryptor = csvRowEncryptor;
+        this.csvBatchWriter = csvBatchWriter;
+        this.csvEncryptionExecutor = csvEncryptionExecutor;
+        this.csvWriterExecutor = csvWriterExecutor;
+        this.chunkSize = chunkSize;
+        this.chunksInFlight = chunksInFlight;
+    }
+
+    public void run(AbstractCsvParser parser, InputStream inputStream, User user, Budget budget, CsvImportJob csvImportJob) throws IOException {
+        BlockingQueue<CompletableFuture<EncryptedCsvChunk>> chunks = new ArrayBlockingQueue<>(chunksInFlight);
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> writeChunks(chunks, user, budget, csvImportJob), csvWriterExecutor);
+
+        CompletableFuture<EncryptedCsvChunk> endOfInput = END_OF_INPUT;
+        try (Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
+            readChunks(reader, parser, user, budget, csvImportJob, chunks, writer);
+        } catch (IOException | RuntimeException | Error e) {
+            endOfInput = CompletableFuture.failedFuture(e);
+        }
+        enqueue(chunks, endOfInput, writer);
+        awaitWriter(writer);
+    }
+
+    private void readChunks(Reader reader, AbstractCsvParser parser, User user, Budget budget, CsvImportJob csvImportJob, BlockingQueue<CompletableFuture<EncryptedCsvChunk>> chunks, CompletableFuture<Void> writer) throws IOException {
+        CsvTokenizer tokenizer = new CsvTokenizer(reader, parser.getDelimiter(), parser.getRequiredColumns());
+        tokenizer.skipRecord();
+        long firstRow = 1;
+        List<String[]> records = new ArrayList<>(chunkSize);
+        String[] values = new String[tokenizer.getWidth()];
+        while (tokenizer.next(values)) {
+            csvImportJob.rowParsed();
+            records.add(values);
+            values = new String[tokenizer.getWidth()];
+            if (records.size() == chunkSize) {
+                if (!enqueue(chunks, encryptAsync(parser, records, firstRow, user, budget), writer)) {
+                    return;
+                }
+                firstRow += records.size();
+                records = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!records.isEmpty()) {
+            enqueue(chunks, encryptAsync(parser, records, firstRow, user, budget), writer);
+        }
+    }
+
+    private CompletableFuture<EncryptedCsvChunk> encryptAsync(AbstractCsvParser parser, List<String[]> records, long firstRow, User user, Budget budget) {
+        return CompletableFuture.supplyAsync(() -> encryptChunk(parser, records, firstRow, user, budget), csvEncryptionExecutor);
+    }
+
+    private EncryptedCsvChunk encryptChunk(AbstractCsvParser parser, List<String[]> records, long firstRow, User user, Budget budget) {
+        CsvImportChunk chunk = new CsvImportChunk();
+        for (int i = 0; i < records.size(); i++) {
+            try {
+                parser.processRecord(records.get(i), user, budget, chunk);
+            } catch (RuntimeException e) {
+                chunk.reject(firstRow + i, e.getMessage());
+            }
+        }
+        return csvRowEncryptor.encrypt(chunk);
+    }
+
+    private void writeChunks(BlockingQueue<CompletableFuture<EncryptedCsvChunk>> chunks, User user, Budget budget, CsvImportJob csvImportJob) {
+        CsvImportTotals totals = new CsvImportTotals();
+        try {
+            CompletableFuture<EncryptedCsvChunk> next;
+            while ((next = takeChunk(chunks)) != END_OF_INPUT) {
+                EncryptedCsvChunk chunk = next.join();
+                chunk.getRejections().forEach((row, reason) -> {
+                    csvImportJob.rowRejected();
+                    log.warn("CSV row {} rejected for budget ID: {}: {}", row, budget.getId(), reason);
+                });
+                if (chunk.isEmpty()) {
+                    continue;
+                }
+                csvBatchWriter.write(chunk, budget.getId(), user.getId());
+                totals.add(chunk);
+                csvImportJob.rowsPersisted(chunk.size());
+                log.info("CSV chunk saved: {} expenses, {} incomes", chunk.getExpenses().size(), chunk.getIncomes().size());
+            }
+        } catch (RuntimeException e) {
+            cancelPending(chunks);
+            throw e;
+        } finally {
+            if (totals.hasRows()) {
+                budgetService.applyTotalsDelta(budget.getId(), totals.getIncome(), totals.getExpense());
+            }
+        }
+    }
+
+    private CompletableFuture<EncryptedCsvChunk> takeChunk(BlockingQueue<CompletableFuture<EncryptedCsvChunk>> chunks) {
+        try {
+            return chunks.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("CSV import writer interrupted", e);
+        }
+    }
+
+    private boolean enqueue(BlockingQueue<CompletableFuture<EncryptedCsvChunk>> chunks, CompletableFuture<EncryptedCsvChunk> chunk, CompletableFuture<Void> writer) {
+        try {
+            do {
+                if (writer.isDone()) {
+                    chunk.cancel(false);
+                    return false;
+                }
+            } while (!chunks.offer(chunk, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            chunk.cancel(false);
+            cancelPending(chunks);
+            chunks.offer(CompletableFuture.failedFuture(e));
+            return false;
+        }
+    }
+
+    private void cancelPending(BlockingQueue<CompletableFuture<EncryptedCsvChunk>> chunks) {
+        List<CompletableFuture<EncryptedCsvChunk>> pending = new ArrayList<>();
+        chunks.drainTo(pending);
+        pending.forEach(chunk -> chunk.cancel(false));
+    }
+
+    private void awaitWriter(CompletableFuture<Void> writer) throws IOException {
+        try {
+            writer.join();
+        } catch (CompletionException | CancellationException e) {
+            Throwable cause = e;
+            while (cause instanceof CompletionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("CSV import failed", cause);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.myfund.services.csv;
+
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+@Getter
+public class CsvImportTotals {
+
+    private BigDecimal income = BigDecimal.ZERO;
+
+    private BigDecimal expense = BigDecimal.ZERO;
+
+    private int rows;
+
+    public void add(EncryptedCsvChunk chunk) {
+        income = income.add(chunk.getIncomeTotal());
+        expense = expense.add(chunk.getExpenseTotal());
+        rows += chunk.size();
+    }
+
+    public boolean hasRows() {
+        return rows > 0;
+    }
+}
@@ -1,29 +1,142 @@
 package com.myfund.services.csv;
 
+import com.myfund.exceptions.CsvImportJobNotFoundException;
+import com.myfund.exceptions.CsvImportRejectedException;
 import com.myfund.models.BankName;
+import com.myfund.models.Budget;
+import com.myfund.models.CsvImportJob;
 import com.myfund.models.User;
+import com.myfund.services.BudgetService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
+@Slf4j
 @Service
 public class CsvReaderService {
 
     private final Map<BankName, AbstractCsvParser> parserMap;
 
+    private final BudgetService budgetService;
+
+    private final CsvImportJobRegistry csvImportJobRegistry;
+
+    private final CsvImportPipeline csvImportPipeline;
+
+    private final Executor csvImportExecutor;
+
+    private final MeterRegistry meterRegistry;
+
     @Autowired
-    public CsvReaderService(Map<BankName, AbstractCsvParser> parserMap) {
+    public CsvReaderService(Map<BankName, AbstractCsvParser> parserMap, BudgetService budgetService, CsvImportJobRegistry csvImportJobRegistry, CsvImportPipeline csvImportPipeline, @Qualifier("csvImportExecutor") Executor csvImportExecutor, MeterRegistry meterRegistry) {
         this.parserMap = parserMap;
+        this.budgetService = budgetService;
+        this.csvImportJobRegistry = csvImportJobRegistry;
+        this.csvImportPipeline = csvImportPipeline;
+        this.csvImportExecutor = csvImportExecutor;
+        this.meterRegistry = meterRegistry;
     }
 
-    public void parseFile(BankName bankName, MultipartFile file, User user, Long budgetId) {
+    public CsvImportJob submitImport(BankName bankName, MultipartFile file, User user, Long budgetId) throws IOException {
         AbstractCsvParser parser = parserMap.get(bankName);
         if (parser == null) {
             throw new IllegalArgumentException("Unsupported bank: " + bankName);
         }
-        parser.parse(file, user, budgetId);
+        Budget budget = budgetService.findBudgetByIdAndUser(budgetId, user);
+
+        Path tempFile = Files.createTempFile("csv-import-", ".csv");
+        try {
+            file.transferTo(tempFile);
+        } catch (IOException | RuntimeException e) {
+            deleteTempFile(tempFile);
+            throw e;
+        }
+
+        CsvImportJob csvImportJob = CsvImportJob.create(budgetId, user, bankName, file.getOriginalFilename());
+        csvImportJobRegistry.register(csvImportJob);
+        try {
+            csvImportExecutor.execute(() -> runImport(csvImportJob, parser, tempFile, user, budget));
+        } catch (RejectedExecutionException e) {
+            deleteTempFile(tempFile);
+            csvImportJob.markFailed("Import queue is full");
+            log.warn("CSV import rejected for budget ID: {} and user ID: {}. Import queue is full", budgetId, user.getId());
+            throw new CsvImportRejectedException("Too many CSV imports in progress, please try again later");
+        }
+        log.info("CSV import job: {} queued for budget ID: {} and user ID: {}", csvImportJob.getId(), budgetId, user.getId());
+        return csvImportJob;
     }
-}
 
+    public CsvImportJob findImport(String jobId, Long budgetId, User user) {
+        return csvImportJobRegistry.find(jobId)
+                .filter(csvImportJob -> csvImportJob.getBudgetId().equals(budgetId) && csvImportJob.getUserId().equals(user.getId()))
+                .orElseThrow(() -> {
+                    log.warn("CSV import job: {} not found for budget ID: {} and user ID: {}", jobId, budgetId, user.getId());
+                    return new CsvImportJobNotFoundException("CSV import job not found: " + jobId);
+                });
+    }
+
+    void runImport(CsvImportJob csvImportJob, AbstractCsvParser parser, Path tempFile, User user, Budget budget) {
+        csvImportJob.markRunning();
+        log.info("CSV import job: {} started", csvImportJob.getId());
+        long startNanos = System.nanoTime();
+        String outcome = "failed";
+        try (InputStream inputStream = Files.newInputStream(tempFile)) {
+            csvImportPipeline.run(parser, inputStream, user, budget, csvImportJob);
+            csvImportJob.markCompleted();
+            outcome = "completed";
+            log.info("CSV import job: {} completed. Parsed: {}, persisted: {}, rejected: {}", csvImportJob.getId(), csvImportJob.getRowsParsed(), csvImportJob.getRowsPersisted(), csvImportJob.getRowsRejected());
+        } catch (Exception e) {
+            csvImportJob.markFailed(e.getMessage());
+            log.error("CSV import job: {} failed after persisting {} rows", csvImportJob.getId(), csvImportJob.getRowsPersisted(), e);
+        } finally {
+            recordImportMetrics(csvImportJob, outcome, System.nanoTime() - startNanos);
+            deleteTempFile(tempFile);
+        }
+    }
+
+    private void recordImportMetrics(CsvImportJob csvImportJob, String outcome, long elapsedNanos) {
+        String bank = csvImportJob.getBankName().name();
+        long rowsPersisted = csvImportJob.getRowsPersisted();
+        Timer.builder("csv.import.duration")
+                .tag("bank", bank)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        Counter.builder("csv.import.rows")
+                .description("Rows persisted by CSV imports")
+                .tag("bank", bank)
+                .register(meterRegistry)
+                .increment(rowsPersisted);
+        if (elapsedNanos > 0 && rowsPersisted > 0) {
+            DistributionSummary.builder("csv.import.throughput")
+                    .description("Rows persisted per second by one CSV import")
+                    .baseUnit("rows/s")
+                    .tag("bank", bank)
+                    .register(meterRegistry)
+                    .record(rowsPersisted * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos);
+        }
+    }
+
+    private void deleteTempFile(Path tempFile) {
+        try {
+            Files.deleteIfExists(tempFile);
+        } catch (IOException e) {
+            log.warn("Could not delete temporary CSV file: {}", tempFile, e);
+        }
+    }
+}
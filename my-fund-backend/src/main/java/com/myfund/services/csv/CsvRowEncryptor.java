@@ -0,0 +1,61 @@
+package com.myfund.services.csv;
+
+import com.myfund.models.Expense;
+import com.myfund.models.Income;
+import com.myfund.services.encryption.RowPayload;
+import jakarta.persistence.AttributeConverter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Encrypts mapped CSV rows with the same converters the entities use, so the import writer can insert them
+ * without going through the persistence context.
+ */
+public class CsvRowEncryptor {
+
+    private final AttributeConverter<String, byte[]> stringEncryptor;
+
+    private final AttributeConverter<BigDecimal, byte[]> bigDecimalEncryptor;
+
+    private final AttributeConverter<LocalDateTime, byte[]> localDateTimeEncryptor;
+
+    // Null unless rows are stored as a single encrypted payload.
+    private final AttributeConverter<RowPayload, byte[]> rowPayloadEncryptor;
+
+    public CsvRowEncryptor(AttributeConverter<String, byte[]> stringEncryptor, AttributeConverter<BigDecimal, byte[]> bigDecimalEncryptor, AttributeConverter<LocalDateTime, byte[]> localDateTimeEncryptor) {
+        this(stringEncryptor, bigDecimalEncryptor, localDateTimeEncryptor, null);
+    }
+
+    public CsvRowEncryptor(AttributeConverter<String, byte[]> stringEncryptor, AttributeConverter<BigDecimal, byte[]> bigDecimalEncryptor, AttributeConverter<LocalDateTime, byte[]> localDateTimeEncryptor,
+                           AttributeConverter<RowPayload, byte[]> rowPayloadEncryptor) {
+        this.stringEncryptor = stringEncryptor;
+        this.bigDecimalEncryptor = bigDecimalEncryptor;
+        this.localDateTimeEncryptor = localDateTimeEncryptor;
+        this.rowPayloadEncryptor = rowPayloadEncryptor;
+    }
+
+    public EncryptedCsvChunk encrypt(CsvImportChunk chunk) {
+        List<EncryptedCsvRow> expenses = new ArrayList<>(chunk.getExpenses().size());
+        for (Expense expense : chunk.getExpenses()) {
+            expenses.add(encrypt(expense.getName(), expense.getAmount(), expense.getLocalDateTime()));
+        }
+        List<EncryptedCsvRow> incomes = new ArrayList<>(chunk.getIncomes().size());
+        for (Income income : chunk.getIncomes()) {
+            incomes.add(encrypt(income.getName(), income.getAmount(), income.getLocalDateTime()));
+        }
+        return new EncryptedCsvChunk(expenses, incomes, chunk.getExpenseTotal(), chunk.getIncomeTotal(), chunk.getRejections());
+    }
+
+    private EncryptedCsvRow encrypt(String name, BigDecimal amount, LocalDateTime localDateTime) {
+        if (rowPayloadEncryptor != null) {
+            return EncryptedCsvRow.ofPayload(rowPayloadEncryptor.convertToDatabaseColumn(new RowPayload(name, amount, localDateTime)));
+        }
+        return new EncryptedCsvRow(
+                stringEncryptor.convertToDatabaseColumn(name),
+                bigDecimalEncryptor.convertToDatabaseColumn(amount),
+                localDateTimeEncryptor.convertToDatabaseColumn(localDateTime));
+    }
+}
@@ -0,0 +1,196 @@
+package com.myfund.services.csv;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Streaming CSV tokenizer that scans a fixed char buffer and materializes only the requested columns.
+ * <p>
+ * Fields may be wrapped in double quotes, in which case delimiters and line breaks inside the quotes are part of
+ * the value and a doubled quote stands for a literal quote. Records end at {@code \n}, {@code \r\n} or {@code \r}.
+ * Columns that were not requested are skipped without copying; requested columns missing from a short record
+ * are returned as empty strings. Instances are not thread-safe.
+ */
+public class CsvTokenizer {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final char QUOTE = '"';
+
+    private static final int DELIMITER = 0;
+
+    private static final int END_OF_RECORD = 1;
+
+    private final Reader reader;
+
+    private final char delimiter;
+
+    private final boolean[] requiredColumns;
+
+    private final char[] buffer = new char[BUFFER_SIZE];
+
+    private final StringBuilder field = new StringBuilder();
+
+    private String fieldValue;
+
+    private int position;
+
+    private int limit;
+
+    private boolean endOfInput;
+
+    public CsvTokenizer(Reader reader, char delimiter, int... columns) {
+        if (delimiter == QUOTE || delimiter == '\n' || delimiter == '\r') {
+            throw new IllegalArgumentException("Unsupported CSV delimiter: " + delimiter);
+        }
+        int width = 0;
+        for (int column : columns) {
+            if (column < 0) {
+                throw new IllegalArgumentException("CSV column index must not be negative: " + column);
+            }
+            width = Math.max(width, column + 1);
+        }
+        this.reader = reader;
+        this.delimiter = delimiter;
+        this.requiredColumns = new boolean[width];
+        for (int column : columns) {
+            requiredColumns[column] = true;
+        }
+    }
+
+    public int getWidth() {
+        return requiredColumns.length;
+    }
+
+    public boolean next(String[] values) throws IOException {
+        if (!ensureData()) {
+            return false;
+        }
+        int column = 0;
+        int terminator;
+        do {
+            boolean required = column < requiredColumns.length && requiredColumns[column];
+            terminator = readField(required);
+            if (required) {
+                values[column] = fieldValue != null ? fieldValue : field.toString();
+            }
+            column++;
+        } while (terminator == DELIMITER);
+        for (; column < requiredColumns.length; column++) {
+            if (requiredColumns[column]) {
+                values[column] = "";
+            }
+        }
+        return true;
+    }
+
+    public boolean skipRecord() throws IOException {
+        if (!ensureData()) {
+            return false;
+        }
+        while (readField(false) == DELIMITER) {
+            // skip every field of the record
+        }
+        return true;
+    }
+
+    private int readField(boolean required) throws IOException {
+        field.setLength(0);
+        fieldValue = null;
+        if (!ensureData()) {
+            return END_OF_RECORD;
+        }
+        if (buffer[position] == QUOTE) {
+            position++;
+            return readQuoted(required);
+        }
+        return readUnquoted(required);
+    }
+
+    private int readUnquoted(boolean required) throws IOException {
+        while (ensureData()) {
+            int start = position;
+            while (position < limit) {
+                char c = buffer[position];
+                if (c == delimiter || c == '\n' || c == '\r') {
+                    if (required) {
+                        append(start, position);
+                    }
+                    position++;
+                    if (c == delimiter) {
+                        return DELIMITER;
+                    }
+                    if (c == '\r') {
+                        skipLineFeed();
+                    }
+                    return END_OF_RECORD;
+                }
+                position++;
+            }
+            if (required) {
+                field.append(buffer, start, position - start);
+            }
+        }
+        return END_OF_RECORD;
+    }
+
+    private int readQuoted(boolean required) throws IOException {
+        while (ensureData()) {
+            int start = position;
+            while (position < limit) {
+                if (buffer[position] != QUOTE) {
+                    position++;
+                    continue;
+                }
+                if (required) {
+                    field.append(buffer, start, position - start);
+                }
+                position++;
+                if (ensureData() && buffer[position] == QUOTE) {
+                    if (required) {
+                        field.append(QUOTE);
+                    }
+                    position++;
+                    start = position;
+                    continue;
+                }
+                return readUnquoted(required);
+            }
+            if (required) {
+                field.append(buffer, start, position - start);
+            }
+        }
+        return END_OF_RECORD;
+    }
+
+    private void append(int start, int end) {
+        if (field.length() == 0) {
+            fieldValue = new String(buffer, start, end - start);
+        } else {
+            field.append(buffer, start, end - start);
+        }
+    }
+
+    private void skipLineFeed() throws IOException {
+        if (ensureData() && buffer[position] == '\n') {
+            position++;
+        }
+    }
+
+    private boolean ensureData() throws IOException {
+        if (position < limit) {
+            return true;
+        }
+        while (!endOfInput) {
+            int read = reader.read(buffer, 0, buffer.length);
+            if (read < 0) {
+                endOfInput = true;
+            } else if (read > 0) {
+                position = 0;
+                limit = read;
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,31 @@
+package com.myfund.services.csv;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+public class EncryptedCsvChunk {
+
+    private final List<EncryptedCsvRow> expenses;
+
+    private final List<EncryptedCsvRow> incomes;
+
+    private final BigDecimal expenseTotal;
+
+    private final BigDecimal incomeTotal;
+
+    private final Map<Long, String> rejections;
+
+    public int size() {
+        return expenses.size() + incomes.size();
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+}
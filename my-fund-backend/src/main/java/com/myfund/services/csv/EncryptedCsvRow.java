@@ -0,0 +1,25 @@
+package com.myfund.services.csv;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class EncryptedCsvRow {
+
+    private final byte[] name;
+
+    private final byte[] amount;
+
+    private final byte[] localDateTime;
+
+    private final byte[] payload;
+
+    public EncryptedCsvRow(byte[] name, byte[] amount, byte[] localDateTime) {
+        this(name, amount, localDateTime, null);
+    }
+
+    public static EncryptedCsvRow ofPayload(byte[] payload) {
+        return new EncryptedCsvRow(null, null, null, payload);
+    }
+}
@@ -6,9 +6,7 @@ import com.myfund.models.DTOs.mappers.BudgetMapper;
 import com.myfund.models.Expense;
 import com.myfund.models.Income;
 import com.myfund.models.User;
-import com.myfund.services.BudgetService;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.BufferedReader;
@@ -25,14 +23,14 @@ public class MIlleniumCsvParser extends AbstractCsvParser {
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
-    @Autowired
-    public MIlleniumCsvParser(BudgetService budgetService) {
-        super(budgetService);
+    @Override
+    protected char getDelimiter() {
+        return ',';
     }
 
     @Override
-    protected String getDelimiter() {
-        return ",";
+    protected int[] getRequiredColumns() {
+        return new int[]{1, 6, 7, 8};
     }
 
     @Override
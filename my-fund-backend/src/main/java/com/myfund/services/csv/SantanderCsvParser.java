@@ -5,9 +5,7 @@ import com.myfund.models.DTOs.mappers.BudgetMapper;
 import com.myfund.models.Expense;
 import com.myfund.models.Income;
 import com.myfund.models.User;
-import com.myfund.services.BudgetService;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.BufferedReader;
@@ -22,14 +20,14 @@ public class SantanderCsvParser extends AbstractCsvParser {
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy");
 
-    @Autowired
-    public SantanderCsvParser(BudgetService budgetService) {
-        super(budgetService);
+    @Override
+    protected char getDelimiter() {
+        return ';';
     }
 
     @Override
-    protected String getDelimiter() {
-        return ";";
+    protected int[] getRequiredColumns() {
+        return new int[]{2, 3, 9, 10, 11};
     }
 
     @Override
@@ -44,7 +42,6 @@ public class SantanderCsvParser extends AbstractCsvParser {
 
     @Override
     protected Income mapToIncome(String[] values) {
-        System.out.println(values[3]);
         String dateColumn = values[2];
         String incomeColumn = values[11];
         String transactionNameColumn = values[3];
@@ -62,7 +59,6 @@ public class SantanderCsvParser extends AbstractCsvParser {
 
     @Override
     protected Expense mapToExpense(String[] values) {
-        System.out.println(values[3]);
         String dateColumn = values[2];
         String expenseColumn = values[10];
         String transactionNameColumn = values[3];
@@ -0,0 +1,17 @@
+package com.myfund.services.email;
+
+import com.myfund.models.EmailOutboxMessage;
+
+import java.io.IOException;
+import java.util.List;
+
+public interface EmailBatchSender {
+
+    /**
+     * Sends the messages in one request and returns one result per message, in the same order. Throws when the
+     * whole batch could not be delivered, in which case every message may be retried.
+     */
+    List<EmailDeliveryResult> sendBatch(List<EmailOutboxMessage> messages) throws IOException;
+
+    int getMaxBatchSize();
+}
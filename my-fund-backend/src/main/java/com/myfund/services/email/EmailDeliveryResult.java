@@ -0,0 +1,27 @@
+package com.myfund.services.email;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class EmailDeliveryResult {
+
+    private final boolean delivered;
+
+    private final boolean retryable;
+
+    private final String error;
+
+    public static EmailDeliveryResult success() {
+        return new EmailDeliveryResult(true, false, null);
+    }
+
+    public static EmailDeliveryResult retryableFailure(String error) {
+        return new EmailDeliveryResult(false, true, error);
+    }
+
+    public static EmailDeliveryResult permanentFailure(String error) {
+        return new EmailDeliveryResult(false, false, error);
+    }
+}
@@ -0,0 +1,155 @@
+package com.myfund.services.email;
+
+import com.myfund.models.EmailOutboxMessage;
+import com.myfund.models.EmailOutboxStatus;
+import com.myfund.repositories.EmailOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Drains the email outbox in three steps per batch: due rows are claimed in a short transaction by pushing their
+ * next attempt past a lease, the batch is sent with no transaction or connection held, and the results are recorded
+ * in a second short transaction. A node that dies mid-send leaves its rows to be picked up again once the lease ends.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "email.outbox.dispatcher.enabled", havingValue = "true", matchIfMissing = true)
+public class EmailOutboxDispatcher {
+
+    private static final int MAX_BATCHES_PER_RUN = 20;
+
+    private final EmailOutboxRepository emailOutboxRepository;
+
+    private final EmailBatchSender emailBatchSender;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+
+    private final int maxAttempts;
+
+    private final Duration initialBackoff;
+
+    private final Duration maxBackoff;
+
+    private final Duration lease;
+
+    private final Clock clock;
+
+    @Autowired
+    public EmailOutboxDispatcher(EmailOutboxRepository emailOutboxRepository,
+                                 EmailBatchSender emailBatchSender,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${email.outbox.batch-size:100}") int batchSize,
+                                 @Value("${email.outbox.max-attempts:8}") int maxAttempts,
+                                 @Value("${email.outbox.initial-backoff:PT30S}") Duration initialBackoff,
+                                 @Value("${email.outbox.max-backoff:PT1H}") Duration maxBackoff,
+                                 @Value("${email.outbox.lease:PT2M}") Duration lease) {
+        this(emailOutboxRepository, emailBatchSender, new TransactionTemplate(transactionManager), batchSize, maxAttempts, initialBackoff, maxBackoff, lease, Clock.systemDefaultZone());
+    }
+
+    EmailOutboxDispatcher(EmailOutboxRepository emailOutboxRepository, EmailBatchSender emailBatchSender, TransactionTemplate transactionTemplate,
+                          int batchSize, int maxAttempts, Duration initialBackoff, Duration maxBackoff, Duration lease, Clock clock) {
+        if (batchSize < 1 || maxAttempts < 1) {
+            throw new IllegalArgumentException("Email outbox batch size and max attempts must be positive");
+        }
+        if (lease.isNegative() || lease.isZero()) {
+            throw new IllegalArgumentException("Email outbox lease must be positive");
+        }
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.emailBatchSender = emailBatchSender;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = Math.min(batchSize, emailBatchSender.getMaxBatchSize());
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.lease = lease;
+        this.clock = clock;
+    }
+
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval-ms:5000}")
+    public void dispatchPending() {
+        for (int batch = 0; batch < MAX_BATCHES_PER_RUN; batch++) {
+            if (dispatchBatch() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    // Must run outside a transaction, so the send below holds no row locks or pooled connection.
+    int dispatchBatch() {
+        List<EmailOutboxMessage> messages = transactionTemplate.execute(status -> claimBatch(LocalDateTime.now(clock)));
+        if (messages == null || messages.isEmpty()) {
+            return 0;
+        }
+        log.debug("Dispatching {} emails from outbox", messages.size());
+
+        List<EmailDeliveryResult> results;
+        try {
+            results = emailBatchSender.sendBatch(messages);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Email batch of {} messages failed: {}", messages.size(), e.getMessage());
+            LocalDateTime now = LocalDateTime.now(clock);
+            messages.forEach(message -> recordFailure(message, EmailDeliveryResult.retryableFailure(e.getMessage()), now));
+            saveResults(messages);
+            return messages.size();
+        }
+
+        LocalDateTime now = LocalDateTime.now(clock);
+        int sent = 0;
+        for (int i = 0; i < messages.size(); i++) {
+            EmailOutboxMessage message = messages.get(i);
+            EmailDeliveryResult result = results.get(i);
+            if (result.isDelivered()) {
+                message.markSent(now);
+                sent++;
+            } else {
+                recordFailure(message, result, now);
+            }
+        }
+        saveResults(messages);
+        log.info("Email outbox batch dispatched. Sent: {}, failed: {}", sent, messages.size() - sent);
+        return messages.size();
+    }
+
+    private List<EmailOutboxMessage> claimBatch(LocalDateTime now) {
+        List<EmailOutboxMessage> messages = emailOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+                EmailOutboxStatus.PENDING, now, PageRequest.of(0, batchSize));
+        if (!messages.isEmpty()) {
+            messages.forEach(message -> message.claim(now.plus(lease)));
+            emailOutboxRepository.saveAll(messages);
+        }
+        return messages;
+    }
+
+    private void saveResults(List<EmailOutboxMessage> messages) {
+        transactionTemplate.executeWithoutResult(status -> emailOutboxRepository.saveAll(messages));
+    }
+
+    private void recordFailure(EmailOutboxMessage message, EmailDeliveryResult result, LocalDateTime now) {
+        if (!result.isRetryable() || message.getAttempts() + 1 >= maxAttempts) {
+            message.markFailed(result.getError());
+            log.error("Email {} from outbox message ID: {} permanently failed after {} attempts: {}", message.getTemplate(), message.getId(), message.getAttempts(), result.getError());
+            return;
+        }
+        message.markAttemptFailed(result.getError(), now.plus(backoff(message.getAttempts())));
+    }
+
+    Duration backoff(int previousAttempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(previousAttempts, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+}
@@ -0,0 +1,60 @@
+package com.myfund.services.email;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myfund.models.EmailOutboxMessage;
+import com.myfund.models.EmailTemplate;
+import com.myfund.models.User;
+import com.myfund.repositories.EmailOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Service
+@Slf4j
+public class EmailOutboxService {
+
+    private final EmailOutboxRepository emailOutboxRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final Clock clock;
+
+    @Autowired
+    public EmailOutboxService(EmailOutboxRepository emailOutboxRepository, ObjectMapper objectMapper) {
+        this(emailOutboxRepository, objectMapper, Clock.systemDefaultZone());
+    }
+
+    EmailOutboxService(EmailOutboxRepository emailOutboxRepository, ObjectMapper objectMapper, Clock clock) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+    }
+
+    @Transactional
+    public EmailOutboxMessage enqueueWelcomeEmail(User user) {
+        Map<String, String> templateModel = new LinkedHashMap<>();
+        templateModel.put("name", user.getUsername());
+        templateModel.put("product_name", "my fund");
+        return enqueue(EmailTemplate.WELCOME, user.getEmail(), templateModel);
+    }
+
+    @Transactional
+    public EmailOutboxMessage enqueue(EmailTemplate template, String recipient, Map<String, String> templateModel) {
+        String serializedModel;
+        try {
+            serializedModel = objectMapper.writeValueAsString(templateModel);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Template model cannot be serialized for template: " + template, e);
+        }
+        EmailOutboxMessage message = emailOutboxRepository.save(EmailOutboxMessage.create(template, recipient, serializedModel, LocalDateTime.now(clock)));
+        log.info("Email {} queued in outbox. Outbox message ID: {}", template, message.getId());
+        return message;
+    }
+}
@@ -0,0 +1,71 @@
+package com.myfund.services.email;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Deletes expired reset tokens and idle throttle logs in bounded batches, so cleanup never holds long locks on
+ * the shared tables. Running it on every node is safe; the deletes are idempotent.
+ */
+@Component
+@Slf4j
+public class EmailStoreCleanupJob {
+
+    private static final int MAX_BATCHES_PER_RUN = 50;
+
+    private final PasswordResetTokenStore passwordResetTokenStore;
+
+    private final EmailThrottleStore emailThrottleStore;
+
+    private final EmailThrottleService emailThrottleService;
+
+    private final int batchSize;
+
+    private final Clock clock;
+
+    @Autowired
+    public EmailStoreCleanupJob(PasswordResetTokenStore passwordResetTokenStore, EmailThrottleStore emailThrottleStore,
+                                EmailThrottleService emailThrottleService,
+                                @Value("${email.store.cleanup-batch-size:1000}") int batchSize) {
+        this(passwordResetTokenStore, emailThrottleStore, emailThrottleService, batchSize, Clock.systemUTC());
+    }
+
+    EmailStoreCleanupJob(PasswordResetTokenStore passwordResetTokenStore, EmailThrottleStore emailThrottleStore,
+                         EmailThrottleService emailThrottleService, int batchSize, Clock clock) {
+        this.passwordResetTokenStore = passwordResetTokenStore;
+        this.emailThrottleStore = emailThrottleStore;
+        this.emailThrottleService = emailThrottleService;
+        this.batchSize = batchSize;
+        this.clock = clock;
+    }
+
+    @Scheduled(fixedDelayString = "${email.store.cleanup-interval-ms:300000}")
+    public void deleteExpired() {
+        Instant now = clock.instant();
+        int tokens = deleteInBatches(limit -> passwordResetTokenStore.deleteExpired(now, limit));
+        Instant throttleCutoff = now.minus(emailThrottleService.getWindow());
+        int throttles = deleteInBatches(limit -> emailThrottleStore.deleteInactive(throttleCutoff, limit));
+        if (tokens > 0 || throttles > 0) {
+            log.info("Email store cleanup finished. Expired tokens deleted: {}, idle throttle logs deleted: {}", tokens, throttles);
+        }
+    }
+
+    private int deleteInBatches(IntUnaryOperator deleteBatch) {
+        int total = 0;
+        for (int batch = 0; batch < MAX_BATCHES_PER_RUN; batch++) {
+            int deleted = deleteBatch.applyAsInt(batchSize);
+            total += deleted;
+            if (deleted < batchSize) {
+                break;
+            }
+        }
+        return total;
+    }
+}
@@ -1,40 +1,101 @@
 package com.myfund.services.email;
 
+import com.myfund.exceptions.EmailThrottleException;
+import com.myfund.services.encryption.EncryptionUtil;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.CacheManager;
-import org.springframework.cache.annotation.CachePut;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.concurrent.atomic.AtomicInteger;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
 
 @Service
 @Slf4j
 public class EmailThrottleService {
 
-    private final CacheManager cacheManager;
+    private final EmailThrottleStore emailThrottleStore;
 
-    public EmailThrottleService(CacheManager cacheManager) {
-        this.cacheManager = cacheManager;
+    private final int maxEmailsPerWindow;
+
+    private final Duration window;
+
+    private final Clock clock;
+
+    @Autowired
+    public EmailThrottleService(EmailThrottleStore emailThrottleStore,
+                                @Value("${email.throttle.max-per-window:3}") int maxEmailsPerWindow,
+                                @Value("${email.throttle.window:PT60M}") Duration window) {
+        this(emailThrottleStore, maxEmailsPerWindow, window, Clock.systemUTC());
+    }
+
+    EmailThrottleService(EmailThrottleStore emailThrottleStore, int maxEmailsPerWindow, Duration window, Clock clock) {
+        if (maxEmailsPerWindow < 1 || window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("Email throttle limit and window must be positive");
+        }
+        this.emailThrottleStore = emailThrottleStore;
+        this.maxEmailsPerWindow = maxEmailsPerWindow;
+        this.window = window;
+        this.clock = clock;
+    }
+
+    /**
+     * Checks the limit and reserves a send in one atomic step. Returns false when the recipient already had
+     * the maximum number of emails within the last window.
+     */
+    public boolean tryAcquire(String email) {
+        boolean acquired = emailThrottleStore.tryAcquire(key(email), clock.instant(), window, maxEmailsPerWindow);
+        if (acquired) {
+            log.info("Email send reserved for: {}", email);
+        } else {
+            log.info("Email limit reached for: {}", email);
+        }
+        return acquired;
+    }
+
+    /**
+     * Reserves a send, runs it and gives the reservation back when nothing was delivered, so a failed provider
+     * call does not use up one of the recipient's sends.
+     */
+    public void sendWithinLimit(String email, ThrottledSend send) throws IOException {
+        Instant reservedAt = clock.instant();
+        if (!emailThrottleStore.tryAcquire(key(email), reservedAt, window, maxEmailsPerWindow)) {
+            log.error("Email limit exceeded for: {}", email);
+            throw new EmailThrottleException("Email limit exceeded");
+        }
+        log.info("Email send reserved for: {}", email);
+        boolean delivered = false;
+        try {
+            delivered = send.send();
+        } finally {
+            if (!delivered) {
+                emailThrottleStore.release(key(email), reservedAt);
+                log.info("Email send reservation released for: {}", email);
+            }
+        }
     }
 
-    @Cacheable(value = "emailThrottleCache", key = "#email")
-    public AtomicInteger getEmailCount(String email) {
-        AtomicInteger cachedCount = cacheManager.getCache("emailThrottleCache").get(email, AtomicInteger.class);
-        return cachedCount != null ? cachedCount : new AtomicInteger(0);
+    public int getEmailCount(String email) {
+        return emailThrottleStore.count(key(email), clock.instant(), window);
     }
 
-    @CachePut(value = "emailThrottleCache", key = "#email")
-    public AtomicInteger incrementEmailCount(String email) {
-        AtomicInteger emailCount = getEmailCount(email);
-        emailCount.incrementAndGet();
-        log.info("Incremented email count for {}: {}", email, emailCount.get());
-        return emailCount;
+    public Duration getWindow() {
+        return window;
     }
 
-    public boolean canSendEmail(String email) {
-        AtomicInteger emailCount = getEmailCount(email);
-        log.info("Email count for {}: {}", email, emailCount.get());
-        return emailCount.get() < 3;
+    private static String key(String email) {
+        return EncryptionUtil.sha256Hex(email.toLowerCase(Locale.ROOT));
+    }
+
+    @FunctionalInterface
+    public interface ThrottledSend {
+
+        /**
+         * Returns whether the email was delivered.
+         */
+        boolean send() throws IOException;
     }
 }
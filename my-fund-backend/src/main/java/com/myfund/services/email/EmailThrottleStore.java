@@ -0,0 +1,25 @@
+package com.myfund.services.email;
+
+import java.time.Duration;
+import java.time.Instant;
+
+public interface EmailThrottleStore {
+
+    /**
+     * Checks the limit and records a send in one atomic step, so concurrent callers on any node can never
+     * exceed {@code limit} sends per recipient within the window.
+     */
+    boolean tryAcquire(String recipientKey, Instant now, Duration window, int limit);
+
+    /**
+     * Gives back a send reserved by {@link #tryAcquire} at {@code reservedAt} that was never delivered.
+     */
+    void release(String recipientKey, Instant reservedAt);
+
+    int count(String recipientKey, Instant now, Duration window);
+
+    /**
+     * Removes at most {@code limit} recipients whose last send is at or before the cutoff.
+     */
+    int deleteInactive(Instant cutoff, int limit);
+}
@@ -0,0 +1,110 @@
+package com.myfund.services.email;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Cluster-wide throttle store. The recipient row is locked for the check-and-append, so every node sees the same
+ * log. Recipients found over the limit are remembered in a node-local near-cache until their oldest send leaves
+ * the window, so repeated requests skip the database. A send released on another node can free a slot earlier;
+ * the near-cache entry expires after {@link #BLOCKED_CACHE_TTL}, which bounds how long this node keeps rejecting.
+ */
+@Component
+@ConditionalOnProperty(name = "email.store", havingValue = "jdbc", matchIfMissing = true)
+public class JdbcEmailThrottleStore implements EmailThrottleStore, MeterBinder {
+
+    // A no-op ON DUPLICATE KEY UPDATE takes an exclusive lock on an existing row. INSERT IGNORE would take a shared one,
+    // and two concurrent requests upgrading it for the FOR UPDATE read below deadlock each other.
+    private static final String INSERT_IF_ABSENT = "INSERT INTO email_throttle (recipient_hash, send_log, last_sent_epoch_ms) VALUES (?, '', 0) "
+            + "ON DUPLICATE KEY UPDATE recipient_hash = recipient_hash";
+
+    private static final String SELECT_FOR_UPDATE = "SELECT send_log FROM email_throttle WHERE recipient_hash = ? FOR UPDATE";
+
+    private static final String SELECT_LOG = "SELECT send_log FROM email_throttle WHERE recipient_hash = ?";
+
+    private static final String UPDATE_LOG = "UPDATE email_throttle SET send_log = ?, last_sent_epoch_ms = ? WHERE recipient_hash = ?";
+
+    private static final String DELETE_INACTIVE = "DELETE FROM email_throttle WHERE last_sent_epoch_ms <= ? LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate reservationTransaction;
+
+    static final Duration BLOCKED_CACHE_TTL = Duration.ofMinutes(1);
+
+    private final Cache<String, Long> blockedUntil = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(BLOCKED_CACHE_TTL)
+            .recordStats()
+            .build();
+
+    public JdbcEmailThrottleStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.reservationTransaction = new TransactionTemplate(transactionManager);
+        this.reservationTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, blockedUntil, "emailThrottleBlocked");
+    }
+
+    @Override
+    public boolean tryAcquire(String recipientKey, Instant now, Duration window, int limit) {
+        long nowMillis = now.toEpochMilli();
+        Long blockedUntilMillis = blockedUntil.getIfPresent(recipientKey);
+        if (blockedUntilMillis != null && blockedUntilMillis > nowMillis) {
+            return false;
+        }
+        Boolean acquired = reservationTransaction.execute(status -> {
+            jdbcTemplate.update(INSERT_IF_ABSENT, recipientKey);
+            SendLog live = SendLog.parse(jdbcTemplate.queryForObject(SELECT_FOR_UPDATE, String.class, recipientKey))
+                    .after(nowMillis - window.toMillis());
+            if (live.size() >= limit) {
+                blockedUntil.put(recipientKey, live.oldest() + window.toMillis());
+                return false;
+            }
+            SendLog next = live.append(nowMillis);
+            jdbcTemplate.update(UPDATE_LOG, next.format(), next.newest(), recipientKey);
+            return true;
+        });
+        return Boolean.TRUE.equals(acquired);
+    }
+
+    @Override
+    public void release(String recipientKey, Instant reservedAt) {
+        reservationTransaction.executeWithoutResult(status -> {
+            List<String> sendLog = jdbcTemplate.queryForList(SELECT_FOR_UPDATE, String.class, recipientKey);
+            if (sendLog.isEmpty()) {
+                return;
+            }
+            SendLog next = SendLog.parse(sendLog.get(0)).remove(reservedAt.toEpochMilli());
+            jdbcTemplate.update(UPDATE_LOG, next.format(), next.size() == 0 ? 0 : next.newest(), recipientKey);
+        });
+        blockedUntil.invalidate(recipientKey);
+    }
+
+    @Override
+    public int count(String recipientKey, Instant now, Duration window) {
+        List<String> sendLog = jdbcTemplate.queryForList(SELECT_LOG, String.class, recipientKey);
+        return sendLog.isEmpty() ? 0 : SendLog.parse(sendLog.get(0)).after(now.toEpochMilli() - window.toMillis()).size();
+    }
+
+    @Override
+    public int deleteInactive(Instant cutoff, int limit) {
+        return jdbcTemplate.update(DELETE_INACTIVE, cutoff.toEpochMilli(), limit);
+    }
+}
@@ -0,0 +1,45 @@
+package com.myfund.services.email;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+/**
+ * Cluster-wide token store. There is deliberately no near-cache here: a reset token is single use, so the
+ * conditional delete in {@link #consume} has to hit the shared table to stop a replay on another node.
+ */
+@Component
+@ConditionalOnProperty(name = "email.store", havingValue = "jdbc", matchIfMissing = true)
+public class JdbcPasswordResetTokenStore implements PasswordResetTokenStore {
+
+    private static final String UPSERT_TOKEN = "INSERT INTO password_reset_token (email_hash, token_hash, expires_at) VALUES (?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE token_hash = VALUES(token_hash), expires_at = VALUES(expires_at)";
+
+    private static final String CONSUME_TOKEN = "DELETE FROM password_reset_token WHERE email_hash = ? AND token_hash = ? AND expires_at > ?";
+
+    private static final String DELETE_EXPIRED = "DELETE FROM password_reset_token WHERE expires_at <= ? LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcPasswordResetTokenStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void save(String emailKey, String tokenHash, Instant expiresAt) {
+        jdbcTemplate.update(UPSERT_TOKEN, emailKey, tokenHash, Timestamp.from(expiresAt));
+    }
+
+    @Override
+    public boolean consume(String emailKey, String tokenHash, Instant now) {
+        return jdbcTemplate.update(CONSUME_TOKEN, emailKey, tokenHash, Timestamp.from(now)) == 1;
+    }
+
+    @Override
+    public int deleteExpired(Instant now, int limit) {
+        return jdbcTemplate.update(DELETE_EXPIRED, Timestamp.from(now), limit);
+    }
+}
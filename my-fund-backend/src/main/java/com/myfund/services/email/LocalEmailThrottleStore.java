@@ -0,0 +1,81 @@
+package com.myfund.services.email;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Node-local throttle store for single-instance deployments and tests. Each recipient's log is swapped with a CAS
+ * loop; cleanup retires a log before unmapping it, so a send can never be recorded on an unmapped log.
+ */
+@Component
+@ConditionalOnProperty(name = "email.store", havingValue = "local")
+public class LocalEmailThrottleStore implements EmailThrottleStore {
+
+    private static final SendLog RETIRED = SendLog.parse("0");
+
+    private final Map<String, AtomicReference<SendLog>> sendLogs = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean tryAcquire(String recipientKey, Instant now, Duration window, int limit) {
+        long nowMillis = now.toEpochMilli();
+        long cutoff = nowMillis - window.toMillis();
+        while (true) {
+            AtomicReference<SendLog> sendLog = sendLogs.computeIfAbsent(recipientKey, key -> new AtomicReference<>(SendLog.EMPTY));
+            SendLog current = sendLog.get();
+            if (current == RETIRED) {
+                sendLogs.remove(recipientKey, sendLog);
+                continue;
+            }
+            SendLog live = current.after(cutoff);
+            if (live.size() >= limit) {
+                return false;
+            }
+            if (sendLog.compareAndSet(current, live.append(nowMillis))) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public void release(String recipientKey, Instant reservedAt) {
+        AtomicReference<SendLog> sendLog = sendLogs.get(recipientKey);
+        if (sendLog == null) {
+            return;
+        }
+        SendLog current;
+        do {
+            current = sendLog.get();
+        } while (current != RETIRED && !sendLog.compareAndSet(current, current.remove(reservedAt.toEpochMilli())));
+    }
+
+    @Override
+    public int count(String recipientKey, Instant now, Duration window) {
+        AtomicReference<SendLog> sendLog = sendLogs.get(recipientKey);
+        SendLog current = sendLog == null ? RETIRED : sendLog.get();
+        return current == RETIRED ? 0 : current.after(now.toEpochMilli() - window.toMillis()).size();
+    }
+
+    @Override
+    public int deleteInactive(Instant cutoff, int limit) {
+        long cutoffMillis = cutoff.toEpochMilli();
+        int deleted = 0;
+        Iterator<Map.Entry<String, AtomicReference<SendLog>>> iterator = sendLogs.entrySet().iterator();
+        while (iterator.hasNext() && deleted < limit) {
+            Map.Entry<String, AtomicReference<SendLog>> entry = iterator.next();
+            SendLog current = entry.getValue().get();
+            boolean inactive = current == RETIRED || current.size() == 0 || current.newest() <= cutoffMillis;
+            if (inactive && (current == RETIRED || entry.getValue().compareAndSet(current, RETIRED))) {
+                sendLogs.remove(entry.getKey(), entry.getValue());
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+}
@@ -0,0 +1,53 @@
+package com.myfund.services.email;
+
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Node-local token store for single-instance deployments and tests.
+ */
+@Component
+@ConditionalOnProperty(name = "email.store", havingValue = "local")
+public class LocalPasswordResetTokenStore implements PasswordResetTokenStore {
+
+    private final Map<String, StoredToken> tokens = new ConcurrentHashMap<>();
+
+    @Override
+    public void save(String emailKey, String tokenHash, Instant expiresAt) {
+        tokens.put(emailKey, new StoredToken(tokenHash, expiresAt));
+    }
+
+    @Override
+    public boolean consume(String emailKey, String tokenHash, Instant now) {
+        StoredToken stored = tokens.get(emailKey);
+        // StoredToken has identity equality, so only one caller can remove this exact token.
+        return stored != null && stored.tokenHash.equals(tokenHash) && stored.expiresAt.isAfter(now) && tokens.remove(emailKey, stored);
+    }
+
+    @Override
+    public int deleteExpired(Instant now, int limit) {
+        int deleted = 0;
+        Iterator<Map.Entry<String, StoredToken>> iterator = tokens.entrySet().iterator();
+        while (iterator.hasNext() && deleted < limit) {
+            Map.Entry<String, StoredToken> entry = iterator.next();
+            if (!entry.getValue().expiresAt.isAfter(now) && tokens.remove(entry.getKey(), entry.getValue())) {
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    @AllArgsConstructor
+    private static final class StoredToken {
+
+        private final String tokenHash;
+
+        private final Instant expiresAt;
+    }
+}
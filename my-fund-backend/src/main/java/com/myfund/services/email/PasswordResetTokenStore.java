@@ -0,0 +1,18 @@
+package com.myfund.services.email;
+
+import java.time.Instant;
+
+public interface PasswordResetTokenStore {
+
+    /**
+     * Stores the token for the email, replacing any token issued before.
+     */
+    void save(String emailKey, String tokenHash, Instant expiresAt);
+
+    /**
+     * Removes the token if it matches and has not expired. Returns true only for the one caller that removed it.
+     */
+    boolean consume(String emailKey, String tokenHash, Instant now);
+
+    int deleteExpired(Instant now, int limit);
+}
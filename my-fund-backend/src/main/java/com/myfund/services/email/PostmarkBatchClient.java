@@ -0,0 +1,110 @@
+package com.myfund.services.email;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.myfund.models.EmailOutboxMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.util.EntityUtils;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@Slf4j
+public class PostmarkBatchClient implements EmailBatchSender {
+
+    // Postmark accepts at most 500 messages per batch call.
+    static final int POSTMARK_MAX_BATCH_SIZE = 500;
+
+    // Invalid address and inactive recipient will fail the same way on every retry.
+    private static final Set<Integer> PERMANENT_ERROR_CODES = Set.of(300, 406);
+
+    private final CloseableHttpClient postmarkHttpClient;
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${postmark.apikey}")
+    private String apiKey;
+
+    @Value("${postmark.api.batch-url:https://api.postmarkapp.com/email/batchWithTemplates}")
+    private String batchUrl;
+
+    @Value("${email.sender}")
+    private String emailSender;
+
+    public PostmarkBatchClient(@Qualifier("postmarkHttpClient") CloseableHttpClient postmarkHttpClient, ObjectMapper objectMapper) {
+        this.postmarkHttpClient = postmarkHttpClient;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public int getMaxBatchSize() {
+        return POSTMARK_MAX_BATCH_SIZE;
+    }
+
+    @Override
+    public List<EmailDeliveryResult> sendBatch(List<EmailOutboxMessage> messages) throws IOException {
+        if (messages.size() > POSTMARK_MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Postmark batch size exceeded: " + messages.size());
+        }
+        log.debug("Starting to send batch of {} emails", messages.size());
+
+        ObjectNode body = objectMapper.createObjectNode();
+        ArrayNode batch = body.putArray("Messages");
+        for (EmailOutboxMessage message : messages) {
+            ObjectNode node = batch.addObject();
+            node.put("From", emailSender);
+            node.put("To", message.getRecipient());
+            node.put("TemplateId", message.getTemplate().getTemplateId());
+            node.set("TemplateModel", objectMapper.readTree(message.getTemplateModel()));
+        }
+
+        HttpPost post = new HttpPost(batchUrl);
+        post.setHeader("Accept", "application/json");
+        post.setHeader("X-Postmark-Server-Token", apiKey);
+        post.setEntity(new StringEntity(objectMapper.writeValueAsString(body), ContentType.APPLICATION_JSON));
+
+        try (CloseableHttpResponse response = postmarkHttpClient.execute(post)) {
+            int statusCode = response.getStatusLine().getStatusCode();
+            String responseString = response.getEntity() == null ? "" : EntityUtils.toString(response.getEntity(), StandardCharsets.UTF_8);
+            if (statusCode != HttpStatus.SC_OK) {
+                log.error("Failed to send email batch. Status: {}, server response: {}", statusCode, responseString);
+                throw new IOException("Postmark batch request failed with status " + statusCode);
+            }
+            return toResults(messages.size(), objectMapper.readTree(responseString));
+        }
+    }
+
+    private List<EmailDeliveryResult> toResults(int expected, JsonNode response) throws IOException {
+        if (!response.isArray() || response.size() != expected) {
+            throw new IOException("Unexpected Postmark batch response for " + expected + " messages");
+        }
+        List<EmailDeliveryResult> results = new ArrayList<>(expected);
+        for (JsonNode result : response) {
+            int errorCode = result.path("ErrorCode").asInt(-1);
+            if (errorCode == 0) {
+                results.add(EmailDeliveryResult.success());
+            } else {
+                String error = errorCode + ": " + result.path("Message").asText();
+                results.add(PERMANENT_ERROR_CODES.contains(errorCode)
+                        ? EmailDeliveryResult.permanentFailure(error)
+                        : EmailDeliveryResult.retryableFailure(error));
+            }
+        }
+        return results;
+    }
+}
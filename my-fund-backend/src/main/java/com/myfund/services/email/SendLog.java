@@ -0,0 +1,81 @@
+package com.myfund.services.email;
+
+import java.util.Arrays;
+import java.util.StringJoiner;
+
+/**
+ * Immutable, ordered log of send times in epoch millis for one recipient. Throttle stores replace it as a whole,
+ * so it stays tiny: expired entries are dropped before every append.
+ */
+final class SendLog {
+
+    static final SendLog EMPTY = new SendLog(new long[0]);
+
+    private final long[] sentAt;
+
+    private SendLog(long[] sentAt) {
+        this.sentAt = sentAt;
+    }
+
+    static SendLog parse(String value) {
+        if (value == null || value.isEmpty()) {
+            return EMPTY;
+        }
+        return new SendLog(Arrays.stream(value.split(",")).mapToLong(Long::parseLong).toArray());
+    }
+
+    String format() {
+        StringJoiner joiner = new StringJoiner(",");
+        for (long timestamp : sentAt) {
+            joiner.add(Long.toString(timestamp));
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * Drops sends at or before the cutoff.
+     */
+    SendLog after(long cutoff) {
+        int first = 0;
+        while (first < sentAt.length && sentAt[first] <= cutoff) {
+            first++;
+        }
+        return first == 0 ? this : new SendLog(Arrays.copyOfRange(sentAt, first, sentAt.length));
+    }
+
+    SendLog append(long timestamp) {
+        long[] next = Arrays.copyOf(sentAt, sentAt.length + 1);
+        // Keep the log ordered even if a caller with a slightly older clock reading appends last.
+        next[sentAt.length] = sentAt.length == 0 ? timestamp : Math.max(timestamp, newest());
+        return new SendLog(next);
+    }
+
+    /**
+     * Drops the earliest send at or after the given time, i.e. the one recorded by a reservation made then.
+     */
+    SendLog remove(long reservedAt) {
+        int index = 0;
+        while (index < sentAt.length && sentAt[index] < reservedAt) {
+            index++;
+        }
+        if (index == sentAt.length) {
+            return this;
+        }
+        long[] next = new long[sentAt.length - 1];
+        System.arraycopy(sentAt, 0, next, 0, index);
+        System.arraycopy(sentAt, index + 1, next, index, next.length - index);
+        return new SendLog(next);
+    }
+
+    int size() {
+        return sentAt.length;
+    }
+
+    long oldest() {
+        return sentAt[0];
+    }
+
+    long newest() {
+        return sentAt[sentAt.length - 1];
+    }
+}
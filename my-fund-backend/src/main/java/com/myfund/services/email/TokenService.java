@@ -1,34 +1,62 @@
 package com.myfund.services.email;
 
+import com.myfund.services.encryption.EncryptionUtil;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.CachePut;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.UUID;
+
 @Service
 @Slf4j
 public class TokenService {
 
-    @CachePut(value = "passwordResetTokens", key = "#email")
+    private final PasswordResetTokenStore passwordResetTokenStore;
+
+    private final Duration tokenValidity;
+
+    private final Clock clock;
+
+    @Autowired
+    public TokenService(PasswordResetTokenStore passwordResetTokenStore,
+                        @Value("${password.reset.token.validity:PT10M}") Duration tokenValidity) {
+        this(passwordResetTokenStore, tokenValidity, Clock.systemUTC());
+    }
+
+    TokenService(PasswordResetTokenStore passwordResetTokenStore, Duration tokenValidity, Clock clock) {
+        this.passwordResetTokenStore = passwordResetTokenStore;
+        this.tokenValidity = tokenValidity;
+        this.clock = clock;
+    }
+
     public String createPasswordResetToken(String email) {
         String token = generateToken();
+        passwordResetTokenStore.save(emailKey(email), EncryptionUtil.sha256Hex(token), clock.instant().plus(tokenValidity));
         log.info("Creating password reset token for email: {}", email);
         return token;
     }
 
-    @Cacheable(value = "passwordResetTokens", key = "#email")
-    public String getPasswordResetToken(String email) {
-        log.info("Retrieving password reset token for email: {}", email);
-        return null;
+    /**
+     * Validates and invalidates the token in one step, so a token can be used once even across instances.
+     */
+    public boolean consumePasswordResetToken(String email, String token) {
+        if (token == null) {
+            return false;
+        }
+        boolean consumed = passwordResetTokenStore.consume(emailKey(email), EncryptionUtil.sha256Hex(token), clock.instant());
+        log.info("Password reset token for email {} consumed: {}", email, consumed);
+        return consumed;
     }
 
-    @CacheEvict(value = "passwordResetTokens", key = "#email")
-    public void invalidatePasswordResetToken(String email) {
-        log.info("Token for email {} has been invalidated", email);
+    private static String emailKey(String email) {
+        return EncryptionUtil.sha256Hex(email.toLowerCase(Locale.ROOT));
     }
 
     private String generateToken() {
-        return java.util.UUID.randomUUID().toString();
+        return UUID.randomUUID().toString();
     }
 }
@@ -1,38 +1,76 @@
 package com.myfund.services.encryption;
 
+import io.micrometer.core.instrument.Timer;
 import jakarta.persistence.AttributeConverter;
 import jakarta.persistence.Converter;
 import org.springframework.beans.factory.annotation.Value;
 
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 
+/**
+ * Stores amounts as scale and unscaled long in {@link EncryptionUtil#DECIMAL_FORMAT}, so reads skip string
+ * parsing. Amounts whose unscaled value does not fit in a long, and values written before, use text.
+ */
 @Converter
-public class BigDecimalEncryptor implements AttributeConverter<BigDecimal, String> {
+public class BigDecimalEncryptor implements AttributeConverter<BigDecimal, byte[]> {
+
+    private static final Timer ENCRYPT_TIMER = ConverterMetrics.encryptTimer("bigdecimal");
+
+    private static final Timer DECRYPT_TIMER = ConverterMetrics.decryptTimer("bigdecimal");
+
+    private static final int DECIMAL_LENGTH = Integer.BYTES + Long.BYTES;
 
     @Value("${encryption.key}")
     private String encryptionKey;
 
     @Override
-    public String convertToDatabaseColumn(BigDecimal attribute) {
+    public byte[] convertToDatabaseColumn(BigDecimal attribute) {
         if (attribute == null) {
             return null;
         }
         try {
-            return EncryptionUtil.encrypt(attribute.toString(), encryptionKey);
+            return ENCRYPT_TIMER.recordCallable(() -> encrypt(attribute));
         } catch (Exception e) {
             throw new RuntimeException("Error encrypting BigDecimal", e);
         }
     }
 
     @Override
-    public BigDecimal convertToEntityAttribute(String dbData) {
+    public BigDecimal convertToEntityAttribute(byte[] dbData) {
         if (dbData == null) {
             return null;
         }
         try {
-            return new BigDecimal(EncryptionUtil.decrypt(dbData, encryptionKey));
+            return DECRYPT_TIMER.recordCallable(() -> decrypt(dbData));
         } catch (Exception e) {
             throw new RuntimeException("Error decrypting BigDecimal", e);
         }
     }
-}
\ No newline at end of file
+
+    private byte[] encrypt(BigDecimal attribute) throws Exception {
+        if (attribute.unscaledValue().bitLength() >= Long.SIZE) {
+            return EncryptionUtil.encryptText(attribute.toString(), encryptionKey);
+        }
+        byte[] data = ByteBuffer.allocate(DECIMAL_LENGTH)
+                .putInt(attribute.scale())
+                .putLong(attribute.unscaledValue().longValue())
+                .array();
+        return EncryptionUtil.encryptColumn(EncryptionUtil.DECIMAL_FORMAT, data, encryptionKey);
+    }
+
+    private BigDecimal decrypt(byte[] dbData) throws Exception {
+        byte format = EncryptionUtil.format(dbData);
+        byte[] data = EncryptionUtil.decryptColumn(dbData, encryptionKey);
+        if (format == EncryptionUtil.DECIMAL_FORMAT) {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            int scale = buffer.getInt();
+            return BigDecimal.valueOf(buffer.getLong(), scale);
+        }
+        if (format == EncryptionUtil.TEXT_FORMAT) {
+            return new BigDecimal(new String(data, StandardCharsets.UTF_8));
+        }
+        throw new IllegalArgumentException("Unsupported BigDecimal column format: " + format);
+    }
+}
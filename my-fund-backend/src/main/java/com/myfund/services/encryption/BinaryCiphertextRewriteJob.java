@@ -0,0 +1,103 @@
+package com.myfund.services.encryption;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Rewrites encrypted column values still stored as Base64 text into raw ciphertext behind a format byte. The
+ * rewrite runs in the database without decrypting: each statement covers a bounded id range and only touches
+ * values that still start with a Base64 character, so it is idempotent and never clobbers a value written by
+ * the application in the meantime.
+ */
+@Component
+@ConditionalOnProperty(name = "encryption.binary-rewrite.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class BinaryCiphertextRewriteJob {
+
+    static final Map<String, List<String>> ENCRYPTED_COLUMNS = encryptedColumns();
+
+    private static final int MAX_BATCHES_PER_RUN = 50;
+
+    private static final String TEXT_FORMAT_LITERAL = String.format("X'%02X'", EncryptionUtil.TEXT_FORMAT);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final int batchSize;
+
+    private final Map<String, Long> lastIds = new HashMap<>();
+
+    private final Set<String> finishedTables = new HashSet<>();
+
+    @Autowired
+    public BinaryCiphertextRewriteJob(JdbcTemplate jdbcTemplate, @Value("${encryption.binary-rewrite.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${encryption.binary-rewrite.interval-ms:10000}")
+    public void rewriteColumns() {
+        ENCRYPTED_COLUMNS.forEach((table, columns) -> {
+            if (!finishedTables.contains(table)) {
+                rewrite(table, columns);
+            }
+        });
+    }
+
+    int rewrite(String table, List<String> columns) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        String update = updateStatement(table, columns);
+        long lastId = lastIds.getOrDefault(table, 0L);
+        int rewritten = 0;
+        for (int batch = 0; batch < MAX_BATCHES_PER_RUN && maxId != null && lastId < maxId; batch++) {
+            rewritten += jdbcTemplate.update(update, lastId, lastId + batchSize);
+            lastId += batchSize;
+        }
+        lastIds.put(table, lastId);
+        if (maxId == null || lastId >= maxId) {
+            finishedTables.add(table);
+            log.info("Binary ciphertext rewrite finished. Table: {}", table);
+        }
+        if (rewritten > 0) {
+            log.info("Binary ciphertext rewrite batch run done. Table: {}, rows rewritten: {}, resume after ID: {}", table, rewritten, lastId);
+        }
+        return rewritten;
+    }
+
+    static String updateStatement(String table, List<String> columns) {
+        String assignments = columns.stream()
+                .map(column -> column + " = IF(" + isBase64(column) + ", CONCAT(" + TEXT_FORMAT_LITERAL + ", FROM_BASE64(" + column + ")), " + column + ")")
+                .collect(Collectors.joining(", "));
+        String anyBase64 = columns.stream().map(BinaryCiphertextRewriteJob::isBase64).collect(Collectors.joining(" OR "));
+        return "UPDATE " + table + " SET " + assignments + " WHERE id > ? AND id <= ? AND (" + anyBase64 + ")";
+    }
+
+    private static String isBase64(String column) {
+        return "ASCII(" + column + ") >= " + EncryptionUtil.BASE64_MIN_CHARACTER;
+    }
+
+    private static Map<String, List<String>> encryptedColumns() {
+        Map<String, List<String>> columns = new LinkedHashMap<>();
+        columns.put("users", List.of("email", "username", "role"));
+        columns.put("budget", List.of("name", "local_date_time", "balance", "total_income", "total_expense"));
+        columns.put("expense", List.of("name", "amount", "local_date_time"));
+        columns.put("income", List.of("name", "amount", "local_date_time"));
+        columns.put("category", List.of("name"));
+        columns.put("subcategory", List.of("name"));
+        columns.put("category_total", List.of("total"));
+        columns.put("email_outbox", List.of("recipient", "template_model"));
+        return columns;
+    }
+}
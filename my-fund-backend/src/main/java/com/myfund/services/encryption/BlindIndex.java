@@ -0,0 +1,68 @@
+package com.myfund.services.encryption;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.HexFormat;
+
+/**
+ * Keyed HMAC-SHA256 digest of a plaintext value, stored next to its encrypted column so equality lookups
+ * can use a B-tree index instead of comparing ciphertext. Without the key the digest cannot be brute-forced
+ * from a dictionary of likely e-mails or names.
+ * <p>
+ * The key comes from {@code encryption.blind-index-key}; when it is not set, one is derived from
+ * {@code encryption.key}, so existing deployments need no new secret. Changing either key requires
+ * re-running the blind index backfill.
+ */
+@Component
+public class BlindIndex {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private static final String DERIVATION_LABEL = "myfund-blind-index";
+
+    private final SecretKeySpec key;
+
+    private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(this::newMac);
+
+    @Autowired
+    public BlindIndex(@Value("${encryption.blind-index-key:}") String blindIndexKey, @Value("${encryption.key}") String encryptionKey) {
+        this(blindIndexKey.isEmpty() ? hmacHex(encryptionKey.getBytes(StandardCharsets.UTF_8), DERIVATION_LABEL) : blindIndexKey);
+    }
+
+    public BlindIndex(String key) {
+        this.key = new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+    }
+
+    public String of(String value) {
+        if (value == null) {
+            return null;
+        }
+        return HexFormat.of().formatHex(macs.get().doFinal(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Blind index HMAC is not available", e);
+        }
+    }
+
+    private static String hmacHex(byte[] key, String data) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(key, ALGORITHM));
+            return HexFormat.of().formatHex(mac.doFinal(data.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Blind index HMAC is not available", e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.myfund.services.encryption;
+
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+
+public class BlindIndexListener {
+
+    private final BlindIndex blindIndex;
+
+    @Autowired
+    public BlindIndexListener(BlindIndex blindIndex) {
+        this.blindIndex = blindIndex;
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void updateBlindIndexes(BlindIndexed entity) {
+        entity.updateBlindIndexes(blindIndex);
+    }
+}
@@ -0,0 +1,9 @@
+package com.myfund.services.encryption;
+
+/**
+ * Entity with {@link BlindIndex} columns, refreshed by {@link BlindIndexListener} before every insert and update.
+ */
+public interface BlindIndexed {
+
+    void updateBlindIndexes(BlindIndex blindIndex);
+}
@@ -0,0 +1,90 @@
+package com.myfund.services.encryption;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * AES cipher engine that keeps initialized {@link Cipher} instances per thread and per key.
+ * <p>
+ * {@code Cipher.getInstance} walks the JCA provider list and {@code Cipher.init} expands the key schedule,
+ * so doing both for every column of every row dominates converter CPU. A cipher in ECB/PKCS5 mode resets
+ * to its initialized state after {@code doFinal}, which lets the same instance serve every call on a thread.
+ * <p>
+ * Thread-safety: instances of this class are safe to share between threads. Cached {@code Cipher} objects
+ * are never shared - each thread owns its own per-key ciphers through a {@link ThreadLocal}, so no locking
+ * is needed on the hot path. A cipher that failed mid-operation is dropped from the cache and re-created
+ * on the next call. Each thread keeps at most {@value #MAX_KEYS_PER_THREAD} keys per mode, least recently
+ * used first out.
+ */
+public final class CipherEngine {
+
+    static final int MAX_KEYS_PER_THREAD = 16;
+
+    private static final String ALGORITHM = "AES";
+
+    private static final String TRANSFORMATION = "AES";
+
+    private final ThreadLocal<Map<String, Cipher>> encryptCiphers = ThreadLocal.withInitial(CipherEngine::newKeyCache);
+
+    private final ThreadLocal<Map<String, Cipher>> decryptCiphers = ThreadLocal.withInitial(CipherEngine::newKeyCache);
+
+    public byte[] encrypt(byte[] data, String key) throws GeneralSecurityException {
+        return doFinal(encryptCiphers, Cipher.ENCRYPT_MODE, key, cipher -> cipher.doFinal(data));
+    }
+
+    /**
+     * Encrypts {@code data} into an array whose first byte is {@code header}, so a format byte can be stored
+     * in front of the ciphertext without copying it.
+     */
+    public byte[] encrypt(byte header, byte[] data, String key) throws GeneralSecurityException {
+        return doFinal(encryptCiphers, Cipher.ENCRYPT_MODE, key, cipher -> {
+            byte[] output = new byte[1 + cipher.getOutputSize(data.length)];
+            output[0] = header;
+            int length = 1 + cipher.doFinal(data, 0, data.length, output, 1);
+            return length == output.length ? output : Arrays.copyOf(output, length);
+        });
+    }
+
+    public byte[] decrypt(byte[] data, String key) throws GeneralSecurityException {
+        return decrypt(data, 0, key);
+    }
+
+    public byte[] decrypt(byte[] data, int offset, String key) throws GeneralSecurityException {
+        return doFinal(decryptCiphers, Cipher.DECRYPT_MODE, key, cipher -> cipher.doFinal(data, offset, data.length - offset));
+    }
+
+    private byte[] doFinal(ThreadLocal<Map<String, Cipher>> ciphers, int mode, String key, CipherOperation operation) throws GeneralSecurityException {
+        Map<String, Cipher> keyCache = ciphers.get();
+        Cipher cipher = keyCache.get(key);
+        if (cipher == null) {
+            cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(mode, new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+            keyCache.put(key, cipher);
+        }
+        try {
+            return operation.apply(cipher);
+        } catch (GeneralSecurityException | RuntimeException e) {
+            keyCache.remove(key);
+            throw e;
+        }
+    }
+
+    private interface CipherOperation {
+
+        byte[] apply(Cipher cipher) throws GeneralSecurityException;
+    }
+
+    private static Map<String, Cipher> newKeyCache() {
+        return new LinkedHashMap<>(4, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Cipher> eldest) {
+                return size() > MAX_KEYS_PER_THREAD;
+            }
+        };
+    }
+}
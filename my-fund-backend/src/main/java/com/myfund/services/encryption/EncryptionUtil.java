@@ -1,33 +1,91 @@
 package com.myfund.services.encryption;
 
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.stereotype.Component;
-
-import javax.crypto.Cipher;
-import javax.crypto.SecretKey;
-import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
+import java.util.HexFormat;
 
 public class EncryptionUtil {
 
-    private static final String ALGORITHM = "AES";
-    private static final String TRANSFORMATION = "AES";
+    /**
+     * Format byte in front of ciphertext stored in a binary column: the plaintext is UTF-8 text. Format bytes
+     * are control characters, so values written as Base64 text before the columns became binary are told apart
+     * by their first byte.
+     */
+    public static final byte TEXT_FORMAT = 1;
+
+    /** The plaintext is a big-endian long of UTC epoch seconds. */
+    public static final byte EPOCH_SECOND_FORMAT = 2;
+
+    /** The plaintext is a big-endian int scale followed by a long unscaled value. */
+    public static final byte DECIMAL_FORMAT = 3;
+
+    // '+' is the lowest character of the Base64 alphabet.
+    static final int BASE64_MIN_CHARACTER = '+';
+
+    private static final CipherEngine CIPHER_ENGINE = new CipherEngine();
 
     public static String encrypt(String data, String key) throws Exception {
-        Cipher cipher = Cipher.getInstance(TRANSFORMATION);
-        SecretKeySpec secretKey = new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), ALGORITHM);
-        cipher.init(Cipher.ENCRYPT_MODE, secretKey);
-        byte[] encryptedBytes = cipher.doFinal(data.getBytes(StandardCharsets.UTF_8));
+        byte[] encryptedBytes = CIPHER_ENGINE.encrypt(data.getBytes(StandardCharsets.UTF_8), key);
         return Base64.getEncoder().encodeToString(encryptedBytes);
     }
 
     public static String decrypt(String encryptedData, String key) throws Exception {
-        Cipher cipher = Cipher.getInstance(TRANSFORMATION);
-        SecretKeySpec secretKey = new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), ALGORITHM);
-        cipher.init(Cipher.DECRYPT_MODE, secretKey);
         byte[] decodedBytes = Base64.getDecoder().decode(encryptedData);
-        byte[] decryptedBytes = cipher.doFinal(decodedBytes);
+        byte[] decryptedBytes = CIPHER_ENGINE.decrypt(decodedBytes, key);
         return new String(decryptedBytes, StandardCharsets.UTF_8);
     }
-}
\ No newline at end of file
+
+    public static byte[] encryptBytes(byte[] data, String key) throws Exception {
+        return CIPHER_ENGINE.encrypt(data, key);
+    }
+
+    public static byte[] decryptBytes(byte[] encryptedData, String key) throws Exception {
+        return CIPHER_ENGINE.decrypt(encryptedData, key);
+    }
+
+    public static byte[] encryptText(String data, String key) throws Exception {
+        return encryptColumn(TEXT_FORMAT, data.getBytes(StandardCharsets.UTF_8), key);
+    }
+
+    public static String decryptText(byte[] column, String key) throws Exception {
+        return new String(decryptColumn(column, key), StandardCharsets.UTF_8);
+    }
+
+    public static byte[] encryptColumn(byte format, byte[] data, String key) throws Exception {
+        return CIPHER_ENGINE.encrypt(format, data, key);
+    }
+
+    /**
+     * Decrypts a binary column value written by {@link #encryptColumn}, or a Base64 value written before the
+     * column was binary, and returns the plaintext bytes.
+     */
+    public static byte[] decryptColumn(byte[] column, String key) throws Exception {
+        if (isLegacyBase64(column)) {
+            return CIPHER_ENGINE.decrypt(Base64.getDecoder().decode(column), key);
+        }
+        return CIPHER_ENGINE.decrypt(column, 1, key);
+    }
+
+    /**
+     * Returns the format byte of a column value, treating Base64 values written before the columns were
+     * binary as {@link #TEXT_FORMAT}.
+     */
+    public static byte format(byte[] column) {
+        return isLegacyBase64(column) ? TEXT_FORMAT : column[0];
+    }
+
+    public static boolean isLegacyBase64(byte[] column) {
+        return column.length > 0 && column[0] >= BASE64_MIN_CHARACTER;
+    }
+
+    public static String sha256Hex(String data) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(data.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
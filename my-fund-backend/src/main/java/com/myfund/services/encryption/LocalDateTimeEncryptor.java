@@ -1,14 +1,26 @@
 package com.myfund.services.encryption;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 
+import io.micrometer.core.instrument.Timer;
 import jakarta.persistence.AttributeConverter;
 import jakarta.persistence.Converter;
 import org.springframework.beans.factory.annotation.Value;
 
+/**
+ * Stores date-times as UTC epoch seconds in {@link EncryptionUtil#EPOCH_SECOND_FORMAT}, so reads skip string
+ * parsing. Values written before as ISO text still read. Both keep second precision.
+ */
 @Converter
-public class LocalDateTimeEncryptor implements AttributeConverter<LocalDateTime, String> {
+public class LocalDateTimeEncryptor implements AttributeConverter<LocalDateTime, byte[]> {
+
+    private static final Timer ENCRYPT_TIMER = ConverterMetrics.encryptTimer("localdatetime");
+
+    private static final Timer DECRYPT_TIMER = ConverterMetrics.decryptTimer("localdatetime");
 
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
 
@@ -16,28 +28,39 @@ public class LocalDateTimeEncryptor implements AttributeConverter<LocalDateTime,
     private String encryptionKey;
 
     @Override
-    public String convertToDatabaseColumn(LocalDateTime attribute) {
+    public byte[] convertToDatabaseColumn(LocalDateTime attribute) {
         if (attribute == null) {
             return null;
         }
         try {
-            String formattedDateTime = attribute.format(FORMATTER);
-            return EncryptionUtil.encrypt(formattedDateTime, encryptionKey);
+            return ENCRYPT_TIMER.recordCallable(() -> EncryptionUtil.encryptColumn(EncryptionUtil.EPOCH_SECOND_FORMAT,
+                    ByteBuffer.allocate(Long.BYTES).putLong(attribute.toEpochSecond(ZoneOffset.UTC)).array(), encryptionKey));
         } catch (Exception e) {
             throw new RuntimeException("Error encrypting LocalDateTime", e);
         }
     }
 
     @Override
-    public LocalDateTime convertToEntityAttribute(String dbData) {
+    public LocalDateTime convertToEntityAttribute(byte[] dbData) {
         if (dbData == null) {
             return null;
         }
         try {
-            String decryptedData = EncryptionUtil.decrypt(dbData, encryptionKey);
-            return LocalDateTime.parse(decryptedData, FORMATTER);
+            return DECRYPT_TIMER.recordCallable(() -> decrypt(dbData));
         } catch (Exception e) {
             throw new RuntimeException("Error decrypting LocalDateTime", e);
         }
     }
-}
\ No newline at end of file
+
+    private LocalDateTime decrypt(byte[] dbData) throws Exception {
+        byte format = EncryptionUtil.format(dbData);
+        byte[] data = EncryptionUtil.decryptColumn(dbData, encryptionKey);
+        if (format == EncryptionUtil.EPOCH_SECOND_FORMAT) {
+            return LocalDateTime.ofEpochSecond(ByteBuffer.wrap(data).getLong(), 0, ZoneOffset.UTC);
+        }
+        if (format == EncryptionUtil.TEXT_FORMAT) {
+            return LocalDateTime.parse(new String(data, StandardCharsets.UTF_8), FORMATTER);
+        }
+        throw new IllegalArgumentException("Unsupported LocalDateTime column format: " + format);
+    }
+}
@@ -0,0 +1,22 @@
+package com.myfund.services.encryption;
+
+import lombok.Value;
+import lombok.With;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * The sensitive fields of an expense or income row, stored together as one encrypted {@code payload} column
+ * when row payload encryption is enabled. Immutable, so Hibernate can compare snapshots without re-encrypting.
+ */
+@Value
+@With
+public class RowPayload {
+
+    String name;
+
+    BigDecimal amount;
+
+    LocalDateTime localDateTime;
+}
@@ -0,0 +1,116 @@
+package com.myfund.services.encryption;
+
+import jakarta.persistence.AttributeConverter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rewrites expense and income rows still stored as three encrypted columns into a single encrypted payload,
+ * in bounded batches so it can run while the application serves traffic. Each update only applies if the row
+ * still holds the values that were read, so a concurrent write through JPA is never overwritten; such rows
+ * are picked up again on a later pass.
+ */
+@Component
+@ConditionalOnProperty(name = "encryption.row-payload.enabled", havingValue = "true")
+@Slf4j
+public class RowPayloadConversionJob {
+
+    static final List<String> TABLES = List.of("expense", "income");
+
+    private static final int MAX_BATCHES_PER_RUN = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final AttributeConverter<String, byte[]> stringEncryptor;
+
+    private final AttributeConverter<BigDecimal, byte[]> bigDecimalEncryptor;
+
+    private final AttributeConverter<LocalDateTime, byte[]> localDateTimeEncryptor;
+
+    private final AttributeConverter<RowPayload, byte[]> rowPayloadEncryptor;
+
+    private final int batchSize;
+
+    // Where the previous run stopped, so finished rows are not scanned again on every run.
+    private final Map<String, Long> lastIds = new HashMap<>();
+
+    @Autowired
+    public RowPayloadConversionJob(JdbcTemplate jdbcTemplate, AutowireCapableBeanFactory beanFactory,
+                                   @Value("${encryption.row-payload.conversion-batch-size:500}") int batchSize) {
+        this(jdbcTemplate, beanFactory.createBean(StringEncryptor.class), beanFactory.createBean(BigDecimalEncryptor.class),
+                beanFactory.createBean(LocalDateTimeEncryptor.class), beanFactory.createBean(RowPayloadEncryptor.class), batchSize);
+    }
+
+    RowPayloadConversionJob(JdbcTemplate jdbcTemplate, AttributeConverter<String, byte[]> stringEncryptor,
+                            AttributeConverter<BigDecimal, byte[]> bigDecimalEncryptor, AttributeConverter<LocalDateTime, byte[]> localDateTimeEncryptor,
+                            AttributeConverter<RowPayload, byte[]> rowPayloadEncryptor, int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.stringEncryptor = stringEncryptor;
+        this.bigDecimalEncryptor = bigDecimalEncryptor;
+        this.localDateTimeEncryptor = localDateTimeEncryptor;
+        this.rowPayloadEncryptor = rowPayloadEncryptor;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${encryption.row-payload.conversion-interval-ms:60000}")
+    public void convertRows() {
+        for (String table : TABLES) {
+            int converted = convert(table);
+            if (converted > 0) {
+                log.info("Row payload conversion finished a pass. Table: {}, rows converted: {}", table, converted);
+            }
+        }
+    }
+
+    int convert(String table) {
+        String select = "SELECT id, name, amount, local_date_time FROM " + table + " WHERE id > ? AND payload IS NULL ORDER BY id LIMIT ?";
+        String update = "UPDATE " + table + " SET payload = ?, name = NULL, amount = NULL, local_date_time = NULL"
+                + " WHERE id = ? AND payload IS NULL AND name <=> ? AND amount <=> ? AND local_date_time <=> ?";
+        long lastId = lastIds.getOrDefault(table, 0L);
+        int converted = 0;
+        for (int batch = 0; batch < MAX_BATCHES_PER_RUN; batch++) {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(select, lastId, batchSize);
+            List<Object[]> updates = new ArrayList<>(rows.size());
+            for (Map<String, Object> row : rows) {
+                byte[] name = (byte[]) row.get("name");
+                byte[] amount = (byte[]) row.get("amount");
+                byte[] localDateTime = (byte[]) row.get("local_date_time");
+                RowPayload payload = new RowPayload(
+                        stringEncryptor.convertToEntityAttribute(name),
+                        bigDecimalEncryptor.convertToEntityAttribute(amount),
+                        localDateTimeEncryptor.convertToEntityAttribute(localDateTime));
+                lastId = ((Number) row.get("id")).longValue();
+                updates.add(new Object[]{rowPayloadEncryptor.convertToDatabaseColumn(payload), lastId, name, amount, localDateTime});
+            }
+            if (!updates.isEmpty()) {
+                for (int count : jdbcTemplate.batchUpdate(update, updates)) {
+                    // The driver may report a successful batch statement without a row count.
+                    if (count != 0) {
+                        converted++;
+                    }
+                }
+            }
+            if (rows.size() < batchSize) {
+                // Reached the end; start over next run to pick up rows written by nodes not storing payloads yet.
+                lastId = 0;
+                break;
+            }
+        }
+        lastIds.put(table, lastId);
+        log.debug("Row payload conversion batch run done. Table: {}, rows converted: {}, resume after ID: {}", table, converted, lastId);
+        return converted;
+    }
+}
@@ -0,0 +1,136 @@
+package com.myfund.services.encryption;
+
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.hibernate.annotations.Immutable;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Serializes a {@link RowPayload} into one compact binary record and encrypts it with a single cipher call.
+ * <p>
+ * Record layout: a version byte, a flags byte marking which fields are present, then the name as an unsigned
+ * short length followed by UTF-8 bytes, the amount as an int scale, an unsigned short length and the unscaled
+ * two's-complement bytes, and the date-time as UTC epoch seconds followed by nanos.
+ */
+@Converter
+@Immutable
+public class RowPayloadEncryptor implements AttributeConverter<RowPayload, byte[]> {
+
+    static final byte VERSION = 1;
+
+    private static final int NAME = 1;
+
+    private static final int AMOUNT = 2;
+
+    private static final int LOCAL_DATE_TIME = 4;
+
+    private static final int MAX_FIELD_LENGTH = 0xFFFF;
+
+    private static final Timer ENCRYPT_TIMER = ConverterMetrics.encryptTimer("row-payload");
+
+    private static final Timer DECRYPT_TIMER = ConverterMetrics.decryptTimer("row-payload");
+
+    @Value("${encryption.key}")
+    private String encryptionKey;
+
+    @Override
+    public byte[] convertToDatabaseColumn(RowPayload attribute) {
+        if (attribute == null) {
+            return null;
+        }
+        try {
+            return ENCRYPT_TIMER.recordCallable(() -> EncryptionUtil.encryptBytes(serialize(attribute), encryptionKey));
+        } catch (Exception e) {
+            throw new RuntimeException("Error encrypting row payload", e);
+        }
+    }
+
+    @Override
+    public RowPayload convertToEntityAttribute(byte[] dbData) {
+        if (dbData == null) {
+            return null;
+        }
+        try {
+            return DECRYPT_TIMER.recordCallable(() -> deserialize(EncryptionUtil.decryptBytes(dbData, encryptionKey)));
+        } catch (Exception e) {
+            throw new RuntimeException("Error decrypting row payload", e);
+        }
+    }
+
+    static byte[] serialize(RowPayload payload) {
+        byte[] name = payload.getName() == null ? null : payload.getName().getBytes(StandardCharsets.UTF_8);
+        byte[] unscaled = payload.getAmount() == null ? null : payload.getAmount().unscaledValue().toByteArray();
+        LocalDateTime localDateTime = payload.getLocalDateTime();
+        int flags = 0;
+        int size = 2;
+        if (name != null) {
+            checkLength(name, "name");
+            flags |= NAME;
+            size += 2 + name.length;
+        }
+        if (unscaled != null) {
+            checkLength(unscaled, "amount");
+            flags |= AMOUNT;
+            size += 4 + 2 + unscaled.length;
+        }
+        if (localDateTime != null) {
+            flags |= LOCAL_DATE_TIME;
+            size += 8 + 4;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size).put(VERSION).put((byte) flags);
+        if (name != null) {
+            buffer.putShort((short) name.length).put(name);
+        }
+        if (unscaled != null) {
+            buffer.putInt(payload.getAmount().scale()).putShort((short) unscaled.length).put(unscaled);
+        }
+        if (localDateTime != null) {
+            buffer.putLong(localDateTime.toEpochSecond(ZoneOffset.UTC)).putInt(localDateTime.getNano());
+        }
+        return buffer.array();
+    }
+
+    static RowPayload deserialize(byte[] data) {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported row payload version: " + version);
+        }
+        int flags = buffer.get();
+        String name = null;
+        BigDecimal amount = null;
+        LocalDateTime localDateTime = null;
+        if ((flags & NAME) != 0) {
+            name = new String(readBytes(buffer), StandardCharsets.UTF_8);
+        }
+        if ((flags & AMOUNT) != 0) {
+            int scale = buffer.getInt();
+            amount = new BigDecimal(new BigInteger(readBytes(buffer)), scale);
+        }
+        if ((flags & LOCAL_DATE_TIME) != 0) {
+            long epochSecond = buffer.getLong();
+            localDateTime = LocalDateTime.ofEpochSecond(epochSecond, buffer.getInt(), ZoneOffset.UTC);
+        }
+        return new RowPayload(name, amount, localDateTime);
+    }
+
+    private static byte[] readBytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private static void checkLength(byte[] field, String fieldName) {
+        if (field.length > MAX_FIELD_LENGTH) {
+            throw new IllegalArgumentException("Row payload " + fieldName + " is too long: " + field.length + " bytes");
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.myfund.services.encryption;
+
+public interface RowPayloadEntity {
+
+    void storeAsRowPayload(boolean rowPayload);
+}
@@ -0,0 +1,27 @@
+package com.myfund.services.encryption;
+
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+/**
+ * Moves the sensitive fields of a row being written into the storage mode selected by
+ * {@code encryption.row-payload.enabled}. Rows are only rewritten when something else about them changes;
+ * {@code RowPayloadConversionJob} converts the rest.
+ */
+public class RowPayloadListener {
+
+    private final boolean rowPayload;
+
+    @Autowired
+    public RowPayloadListener(@Value("${encryption.row-payload.enabled:false}") boolean rowPayload) {
+        this.rowPayload = rowPayload;
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void storeAsRowPayload(RowPayloadEntity entity) {
+        entity.storeAsRowPayload(rowPayload);
+    }
+}
@@ -1,5 +1,6 @@
 package com.myfund.services.encryption;
 
+import io.micrometer.core.instrument.Timer;
 import jakarta.persistence.AttributeConverter;
 import jakarta.persistence.Converter;
 import org.springframework.beans.factory.annotation.Value;
@@ -8,30 +9,34 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Converter
-public class StringEncryptor implements AttributeConverter<String, String> {
+public class StringEncryptor implements AttributeConverter<String, byte[]> {
+
+    private static final Timer ENCRYPT_TIMER = ConverterMetrics.encryptTimer("string");
+
+    private static final Timer DECRYPT_TIMER = ConverterMetrics.decryptTimer("string");
 
     @Value("${encryption.key}")
     private String encryptionKey;
 
     @Override
-    public String convertToDatabaseColumn(String attribute) {
+    public byte[] convertToDatabaseColumn(String attribute) {
         if (attribute == null) {
             return null;
         }
         try {
-            return EncryptionUtil.encrypt(attribute, encryptionKey);
+            return ENCRYPT_TIMER.recordCallable(() -> EncryptionUtil.encryptText(attribute, encryptionKey));
         } catch (Exception e) {
             throw new RuntimeException("Error encrypting string", e);
         }
     }
 
     @Override
-    public String convertToEntityAttribute(String dbData) {
+    public String convertToEntityAttribute(byte[] dbData) {
         if (dbData == null) {
             return null;
         }
         try {
-            return EncryptionUtil.decrypt(dbData, encryptionKey);
+            return DECRYPT_TIMER.recordCallable(() -> EncryptionUtil.decryptText(dbData, encryptionKey));
         } catch (Exception e) {
             throw new RuntimeException("Error decrypting string", e);
         }
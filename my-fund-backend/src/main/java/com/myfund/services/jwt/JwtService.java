@@ -0,0 +1,103 @@
+package com.myfund.services.jwt;
+
+import com.myfund.models.AccessToken;
+import com.myfund.models.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Optional;
+
+@Service
+@Slf4j
+public class JwtService {
+
+    static final String USER_ID_CLAIM = "uid";
+
+    static final String ROLE_CLAIM = "role";
+
+    private final SecretKey signingKey;
+
+    private final Duration expiration;
+
+    private final Clock clock;
+
+    public JwtService(@Value("${jwt.secret:}") String secret,
+                      @Value("${encryption.key}") String encryptionKey,
+                      @Value("${jwt.expiration:PT1H}") Duration expiration) {
+        this(secret.isBlank() ? deriveKey(encryptionKey) : Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)), expiration, Clock.systemUTC());
+    }
+
+    JwtService(SecretKey signingKey, Duration expiration, Clock clock) {
+        this.signingKey = signingKey;
+        this.expiration = expiration;
+        this.clock = clock;
+    }
+
+    public AccessToken issue(User user) {
+        Instant issuedAt = clock.instant();
+        Instant expiresAt = issuedAt.plus(expiration);
+        String token = Jwts.builder()
+                .setSubject(user.getUsername())
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(ROLE_CLAIM, user.getRole())
+                .setIssuedAt(Date.from(issuedAt))
+                .setExpiration(Date.from(expiresAt))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
+                .compact();
+        log.debug("Access token issued for user ID: {}. Expires at: {}", user.getId(), expiresAt);
+        return new AccessToken(token, expiresAt);
+    }
+
+    /**
+     * Rebuilds the authenticated principal from the token claims alone, without a database lookup. The returned user
+     * only carries the id, username and role.
+     */
+    public Optional<User> parse(String token) {
+        try {
+            Claims claims = Jwts.parserBuilder()
+                    .setSigningKey(signingKey)
+                    .setClock(() -> Date.from(clock.instant()))
+                    .build()
+                    .parseClaimsJws(token)
+                    .getBody();
+            Number userId = claims.get(USER_ID_CLAIM, Number.class);
+            String role = claims.get(ROLE_CLAIM, String.class);
+            if (userId == null || role == null || claims.getSubject() == null) {
+                log.warn("Access token is missing required claims");
+                return Optional.empty();
+            }
+            return Optional.of(User.builder()
+                    .id(userId.longValue())
+                    .username(claims.getSubject())
+                    .role(role)
+                    .build());
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Access token rejected: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static SecretKey deriveKey(String encryptionKey) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update("jwt-signing-key:".getBytes(StandardCharsets.UTF_8));
+            return Keys.hmacShaKeyFor(digest.digest(encryptionKey.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
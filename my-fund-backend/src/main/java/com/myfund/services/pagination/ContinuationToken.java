@@ -0,0 +1,33 @@
+package com.myfund.services.pagination;
+
+import com.myfund.exceptions.InvalidInputException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public final class ContinuationToken {
+
+    private static final String PREFIX = "id:";
+
+    private ContinuationToken() {
+    }
+
+    public static String encode(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString((PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Long decode(String token) throws InvalidInputException {
+        if (token == null || token.isBlank()) {
+            return 0L;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(PREFIX)) {
+                throw new InvalidInputException("Invalid continuation token");
+            }
+            return Long.parseLong(decoded.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidInputException("Invalid continuation token");
+        }
+    }
+}
@@ -0,0 +1,36 @@
+-- Existing Base64 values are kept byte for byte and stay readable; BinaryCiphertextRewriteJob rewrites them
+-- to raw ciphertext in the background.
+ALTER TABLE users
+    MODIFY email VARBINARY(1024) NOT NULL,
+    MODIFY username VARBINARY(1024) NOT NULL,
+    MODIFY role VARBINARY(64) NOT NULL;
+
+ALTER TABLE budget
+    MODIFY name VARBINARY(1024) NOT NULL,
+    MODIFY local_date_time VARBINARY(255),
+    MODIFY balance VARBINARY(255),
+    MODIFY total_income VARBINARY(255),
+    MODIFY total_expense VARBINARY(255);
+
+ALTER TABLE expense
+    MODIFY name VARBINARY(1024) NULL,
+    MODIFY amount VARBINARY(255) NULL,
+    MODIFY local_date_time VARBINARY(255);
+
+ALTER TABLE income
+    MODIFY name VARBINARY(1024) NULL,
+    MODIFY amount VARBINARY(255) NULL,
+    MODIFY local_date_time VARBINARY(255);
+
+ALTER TABLE category
+    MODIFY name VARBINARY(1024) NOT NULL;
+
+ALTER TABLE subcategory
+    MODIFY name VARBINARY(1024);
+
+ALTER TABLE category_total
+    MODIFY total VARBINARY(255) NOT NULL;
+
+ALTER TABLE email_outbox
+    MODIFY recipient VARBINARY(1024) NOT NULL,
+    MODIFY template_model BLOB NOT NULL;
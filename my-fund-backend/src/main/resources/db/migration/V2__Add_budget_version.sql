@@ -0,0 +1 @@
+ALTER TABLE budget ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,12 @@
+CREATE TABLE category_total (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    budget_id BIGINT NOT NULL,
+    type_aggregate VARCHAR(32) NOT NULL,
+    target_id BIGINT NOT NULL,
+    total VARCHAR(255) NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT uk_category_total UNIQUE (budget_id, type_aggregate, target_id),
+    FOREIGN KEY (budget_id) REFERENCES budget(id) ON DELETE CASCADE
+);
+
+ALTER TABLE budget ADD COLUMN category_totals_initialized BOOLEAN NOT NULL DEFAULT FALSE;
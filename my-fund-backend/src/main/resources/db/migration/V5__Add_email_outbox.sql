@@ -0,0 +1,13 @@
+CREATE TABLE email_outbox (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    template VARCHAR(32) NOT NULL,
+    recipient VARCHAR(255) NOT NULL,
+    template_model TEXT NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME(6) NOT NULL,
+    last_error VARCHAR(1024),
+    created_at DATETIME(6) NOT NULL,
+    sent_at DATETIME(6),
+    INDEX idx_email_outbox_pending (status, next_attempt_at)
+);
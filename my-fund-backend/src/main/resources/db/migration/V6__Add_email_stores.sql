@@ -0,0 +1,13 @@
+CREATE TABLE password_reset_token (
+    email_hash CHAR(64) NOT NULL PRIMARY KEY,
+    token_hash CHAR(64) NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    INDEX idx_password_reset_token_expires_at (expires_at)
+);
+
+CREATE TABLE email_throttle (
+    recipient_hash CHAR(64) NOT NULL PRIMARY KEY,
+    send_log VARCHAR(1024) NOT NULL,
+    last_sent_epoch_ms BIGINT NOT NULL,
+    INDEX idx_email_throttle_last_sent (last_sent_epoch_ms)
+);
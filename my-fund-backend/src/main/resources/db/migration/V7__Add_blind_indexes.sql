@@ -0,0 +1,13 @@
+ALTER TABLE users
+    ADD COLUMN email_index CHAR(64),
+    ADD COLUMN username_index CHAR(64),
+    ADD INDEX idx_users_email_index (email_index),
+    ADD INDEX idx_users_username_index (username_index);
+
+ALTER TABLE budget
+    ADD COLUMN name_index CHAR(64),
+    ADD INDEX idx_budget_user_name_index (user_id, name_index);
+
+ALTER TABLE category
+    ADD COLUMN name_index CHAR(64),
+    ADD INDEX idx_category_user_name_index (user_id, name_index);
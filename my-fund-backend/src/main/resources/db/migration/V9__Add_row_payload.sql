@@ -0,0 +1,9 @@
+ALTER TABLE expense
+    ADD COLUMN payload VARBINARY(1024),
+    MODIFY name VARCHAR(255) NULL,
+    MODIFY amount VARCHAR(255) NULL;
+
+ALTER TABLE income
+    ADD COLUMN payload VARBINARY(1024),
+    MODIFY name VARCHAR(255) NULL,
+    MODIFY amount VARCHAR(255) NULL;
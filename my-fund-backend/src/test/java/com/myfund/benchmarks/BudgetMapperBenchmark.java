@@ -0,0 +1,60 @@
+package com.myfund.benchmarks;
+
+import com.myfund.models.Budget;
+import com.myfund.models.DTOs.BudgetDTO;
+import com.myfund.models.DTOs.mappers.BudgetMapper;
+import com.myfund.models.Expense;
+import com.myfund.models.Income;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code BudgetMapper.toDTO} reads only the stored totals, so the score should not grow with {@code entries}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BudgetMapperBenchmark {
+
+    @Param({"0", "1000", "100000"})
+    private int entries;
+
+    private Budget budget;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Expense> expenses = new ArrayList<>(entries);
+        List<Income> incomes = new ArrayList<>(entries);
+        BigDecimal totalExpense = BigDecimal.ZERO;
+        BigDecimal totalIncome = BigDecimal.ZERO;
+        for (int i = 0; i < entries; i++) {
+            BigDecimal amount = BigDecimal.valueOf(i % 1000, 2);
+            expenses.add(Expense.builder().id((long) i).name("Expense " + i).amount(amount).localDateTime(LocalDateTime.now()).build());
+            incomes.add(Income.builder().id((long) i).name("Income " + i).amount(amount).localDateTime(LocalDateTime.now()).build());
+            totalExpense = totalExpense.add(amount);
+            totalIncome = totalIncome.add(amount);
+        }
+        budget = Budget.builder()
+                .id(1L)
+                .name("Large budget")
+                .expenses(expenses)
+                .incomes(incomes)
+                .totalExpense(totalExpense)
+                .totalIncome(totalIncome)
+                .balance(totalIncome.subtract(totalExpense))
+                .build();
+    }
+
+    @Benchmark
+    public BudgetDTO toDTO() {
+        return BudgetMapper.toDTO(budget);
+    }
+}
@@ -0,0 +1,85 @@
+package com.myfund.benchmarks;
+
+import com.myfund.services.encryption.BigDecimalEncryptor;
+import com.myfund.services.encryption.LocalDateTimeEncryptor;
+import com.myfund.services.encryption.StringEncryptor;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one column conversion through each entity converter, including the converter timer.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConverterBenchmark {
+
+    private static final String KEY = "1234567890123456";
+
+    private final StringEncryptor stringEncryptor = withKey(new StringEncryptor());
+
+    private final BigDecimalEncryptor bigDecimalEncryptor = withKey(new BigDecimalEncryptor());
+
+    private final LocalDateTimeEncryptor localDateTimeEncryptor = withKey(new LocalDateTimeEncryptor());
+
+    private final String name = "Grocery shopping - weekly";
+
+    private final BigDecimal amount = new BigDecimal("1234.56");
+
+    private final LocalDateTime localDateTime = LocalDateTime.of(2024, 5, 1, 10, 30, 15);
+
+    private byte[] encryptedName;
+
+    private byte[] encryptedAmount;
+
+    private byte[] encryptedLocalDateTime;
+
+    @Setup
+    public void setUp() {
+        encryptedName = stringEncryptor.convertToDatabaseColumn(name);
+        encryptedAmount = bigDecimalEncryptor.convertToDatabaseColumn(amount);
+        encryptedLocalDateTime = localDateTimeEncryptor.convertToDatabaseColumn(localDateTime);
+    }
+
+    @Benchmark
+    public byte[] encryptString() {
+        return stringEncryptor.convertToDatabaseColumn(name);
+    }
+
+    @Benchmark
+    public String decryptString() {
+        return stringEncryptor.convertToEntityAttribute(encryptedName);
+    }
+
+    @Benchmark
+    public byte[] encryptBigDecimal() {
+        return bigDecimalEncryptor.convertToDatabaseColumn(amount);
+    }
+
+    @Benchmark
+    public BigDecimal decryptBigDecimal() {
+        return bigDecimalEncryptor.convertToEntityAttribute(encryptedAmount);
+    }
+
+    @Benchmark
+    public byte[] encryptLocalDateTime() {
+        return localDateTimeEncryptor.convertToDatabaseColumn(localDateTime);
+    }
+
+    @Benchmark
+    public LocalDateTime decryptLocalDateTime() {
+        return localDateTimeEncryptor.convertToEntityAttribute(encryptedLocalDateTime);
+    }
+
+    private static <T> T withKey(T converter) {
+        ReflectionTestUtils.setField(converter, "encryptionKey", KEY);
+        return converter;
+    }
+}
@@ -0,0 +1,102 @@
+package com.myfund.benchmarks;
+
+import com.myfund.models.BankName;
+import com.myfund.models.Budget;
+import com.myfund.models.CsvImportJob;
+import com.myfund.models.User;
+import com.myfund.services.BudgetService;
+import com.myfund.services.csv.AbstractCsvParser;
+import com.myfund.services.csv.CsvBatchWriter;
+import com.myfund.services.csv.CsvImportPipeline;
+import com.myfund.services.csv.CsvRowEncryptor;
+import com.myfund.services.csv.SantanderCsvParser;
+import com.myfund.services.encryption.BigDecimalEncryptor;
+import com.myfund.services.encryption.LocalDateTimeEncryptor;
+import com.myfund.services.encryption.StringEncryptor;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures import throughput with a no-op writer, i.e. the ceiling the pipeline reaches before the database
+ * becomes the limit. Compare scores across {@code encryptionThreads}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CsvImportPipelineBenchmark {
+
+    private static final String KEY = "1234567890123456";
+
+    @Param({"1", "2", "4", "8"})
+    private int encryptionThreads;
+
+    @Param("200000")
+    private int lines;
+
+    private Path file;
+
+    private ExecutorService encryptionExecutor;
+
+    private ExecutorService writerExecutor;
+
+    private CsvImportPipeline pipeline;
+
+    private final AbstractCsvParser parser = new SantanderCsvParser();
+
+    private final User user = User.builder().id(1L).build();
+
+    private final Budget budget = Budget.builder().id(1L).build();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("santander-pipeline-benchmark", ".csv");
+        StringBuilder content = new StringBuilder("header;;;;;;;;;;;\n");
+        for (int i = 0; i < lines; i++) {
+            boolean income = i % 3 == 0;
+            content.append("12345;PL00000000000000000000000000;01-10-2023;Payment ").append(i).append(";ref;;;;;")
+                    .append(income ? "" : "-" + (i % 500) + ",25").append(";;")
+                    .append(income ? (i % 1000) + ",50" : "").append('\n');
+        }
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+
+        encryptionExecutor = Executors.newFixedThreadPool(encryptionThreads);
+        writerExecutor = Executors.newSingleThreadExecutor();
+        CsvRowEncryptor csvRowEncryptor = new CsvRowEncryptor(withKey(new StringEncryptor()), withKey(new BigDecimalEncryptor()), withKey(new LocalDateTimeEncryptor()));
+        pipeline = new CsvImportPipeline(Mockito.mock(BudgetService.class), csvRowEncryptor, Mockito.mock(CsvBatchWriter.class),
+                encryptionExecutor, writerExecutor, 500, 2 * encryptionThreads);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        encryptionExecutor.shutdownNow();
+        writerExecutor.shutdownNow();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public long importFile() throws IOException {
+        CsvImportJob csvImportJob = CsvImportJob.create(budget.getId(), user, BankName.SANTANDER, "benchmark.csv");
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            pipeline.run(parser, inputStream, user, budget, csvImportJob);
+        }
+        return csvImportJob.getRowsPersisted();
+    }
+
+    private static <T> T withKey(T converter) {
+        ReflectionTestUtils.setField(converter, "encryptionKey", KEY);
+        return converter;
+    }
+}
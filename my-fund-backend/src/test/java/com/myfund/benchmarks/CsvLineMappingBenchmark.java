@@ -0,0 +1,83 @@
+package com.myfund.benchmarks;
+
+import com.myfund.models.Budget;
+import com.myfund.models.User;
+import com.myfund.services.csv.CsvImportChunk;
+import com.myfund.services.csv.MIlleniumCsvParser;
+import com.myfund.services.csv.SantanderCsvParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps already tokenized records to entities, i.e. the per-line work of each bank parser without file reading.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@OperationsPerInvocation(CsvLineMappingBenchmark.RECORDS)
+public class CsvLineMappingBenchmark {
+
+    static final int RECORDS = 10_000;
+
+    private final User user = User.builder().id(1L).build();
+
+    private final Budget budget = Budget.builder().id(1L).build();
+
+    private final SantanderLineMapper santander = new SantanderLineMapper();
+
+    private final MilleniumLineMapper millenium = new MilleniumLineMapper();
+
+    private String[][] santanderRecords;
+
+    private String[][] milleniumRecords;
+
+    @Setup
+    public void setUp() {
+        santanderRecords = new String[RECORDS][];
+        milleniumRecords = new String[RECORDS][];
+        for (int i = 0; i < RECORDS; i++) {
+            boolean income = i % 3 == 0;
+            String amount = (i % 1000) + ",50";
+            santanderRecords[i] = new String[]{"12345", "PL00000000000000000000000000", "01-10-2023", "Payment " + i, "ref" + i,
+                    "", "", "", "", "", income ? "" : "-" + amount, income ? amount : ""};
+            milleniumRecords[i] = new String[]{"PL00000000000000000000000000", "2023-10-01", "2023-10-01", "TRANSFER", "", "",
+                    "Payment " + i, income ? "" : "-" + amount, income ? amount : ""};
+        }
+    }
+
+    @Benchmark
+    public CsvImportChunk mapSantanderLines() {
+        CsvImportChunk chunk = new CsvImportChunk();
+        for (String[] values : santanderRecords) {
+            santander.map(values, user, budget, chunk);
+        }
+        return chunk;
+    }
+
+    @Benchmark
+    public CsvImportChunk mapMilleniumLines() {
+        CsvImportChunk chunk = new CsvImportChunk();
+        for (String[] values : milleniumRecords) {
+            millenium.map(values, user, budget, chunk);
+        }
+        return chunk;
+    }
+
+    private static final class SantanderLineMapper extends SantanderCsvParser {
+
+        void map(String[] values, User user, Budget budget, CsvImportChunk chunk) {
+            processRecord(values, user, budget, chunk);
+        }
+    }
+
+    private static final class MilleniumLineMapper extends MIlleniumCsvParser {
+
+        void map(String[] values, User user, Budget budget, CsvImportChunk chunk) {
+            processRecord(values, user, budget, chunk);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.myfund.benchmarks;
+
+import com.myfund.services.csv.CsvTokenizer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CsvParsingBenchmark {
+
+    private static final int[] SANTANDER_COLUMNS = {2, 3, 9, 10, 11};
+
+    @Param("1000000")
+    private int lines;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("santander-benchmark", ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("header;;;;;;;;;;;\n");
+            for (int i = 0; i < lines; i++) {
+                boolean income = i % 3 == 0;
+                writer.write("12345;PL00000000000000000000000000;01-10-2023;\"Payment " + i + "; card\";"
+                        + "ref" + i + ";;;;;" + (income ? "" : "-" + (i % 500) + ",25") + ";;"
+                        + (income ? (i % 1000) + ",50" : "") + "\n");
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public void splitLines(Blackhole blackhole) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            reader.readLine();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] values = line.split(";");
+                for (int column : SANTANDER_COLUMNS) {
+                    blackhole.consume(column < values.length ? values[column] : null);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void tokenizeRequiredColumns(Blackhole blackhole) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            CsvTokenizer tokenizer = new CsvTokenizer(reader, ';', SANTANDER_COLUMNS);
+            String[] values = new String[tokenizer.getWidth()];
+            tokenizer.skipRecord();
+            while (tokenizer.next(values)) {
+                for (int column : SANTANDER_COLUMNS) {
+                    blackhole.consume(values[column]);
+                }
+            }
+        }
+    }
+}
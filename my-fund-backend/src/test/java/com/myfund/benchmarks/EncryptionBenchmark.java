@@ -0,0 +1,55 @@
+package com.myfund.benchmarks;
+
+import com.myfund.services.encryption.EncryptionUtil;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EncryptionBenchmark {
+
+    private static final String KEY = "1234567890123456";
+
+    private String plainText;
+
+    private String cipherText;
+
+    @Setup
+    public void setUp() throws Exception {
+        plainText = "Grocery shopping - weekly";
+        cipherText = EncryptionUtil.encrypt(plainText, KEY);
+    }
+
+    @Benchmark
+    public String encryptPerCallCipher() throws Exception {
+        Cipher cipher = Cipher.getInstance("AES");
+        cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(KEY.getBytes(StandardCharsets.UTF_8), "AES"));
+        return Base64.getEncoder().encodeToString(cipher.doFinal(plainText.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Benchmark
+    public String decryptPerCallCipher() throws Exception {
+        Cipher cipher = Cipher.getInstance("AES");
+        cipher.init(Cipher.DECRYPT_MODE, new SecretKeySpec(KEY.getBytes(StandardCharsets.UTF_8), "AES"));
+        return new String(cipher.doFinal(Base64.getDecoder().decode(cipherText)), StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public String encryptCachedCipher() throws Exception {
+        return EncryptionUtil.encrypt(plainText, KEY);
+    }
+
+    @Benchmark
+    public String decryptCachedCipher() throws Exception {
+        return EncryptionUtil.decrypt(cipherText, KEY);
+    }
+}
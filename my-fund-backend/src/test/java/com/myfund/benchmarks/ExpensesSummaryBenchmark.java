@@ -0,0 +1,68 @@
+package com.myfund.benchmarks;
+
+import com.myfund.models.ExpensesSummary;
+import com.myfund.models.Expense;
+import com.myfund.models.User;
+import com.myfund.repositories.BudgetRepository;
+import com.myfund.repositories.ExpenseRepository;
+import com.myfund.repositories.IncomeRepository;
+import com.myfund.services.BudgetService;
+import com.myfund.services.CategoryService;
+import com.myfund.services.CategoryTotalService;
+import com.myfund.services.encryption.BlindIndex;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory part of {@code BudgetService.calculateExpensesSummary}: the repository returns pre-built expenses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpensesSummaryBenchmark {
+
+    @Param({"1000", "100000"})
+    private int expenses;
+
+    @Param("20")
+    private int categories;
+
+    private final User user = User.builder().id(1L).build();
+
+    private BudgetService budgetService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Without a logging config on the benchmark classpath logback defaults to DEBUG, which would be measured too.
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(BudgetService.class)).setLevel(ch.qos.logback.classic.Level.INFO);
+
+        List<Expense> synthetic = new ArrayList<>(expenses);
+        for (int i = 0; i < expenses; i++) {
+            long categoryId = i % categories;
+            synthetic.add(Expense.builder()
+                    .id((long) i)
+                    .amount(BigDecimal.valueOf(100 + i % 5000, 2))
+                    .idCategory(categoryId)
+                    .idSubCategory(categoryId * 10 + i % 5)
+                    .build());
+        }
+        ExpenseRepository expenseRepository = Mockito.mock(ExpenseRepository.class);
+        Mockito.when(expenseRepository.findByBudgetIdAndUser(1L, user)).thenReturn(synthetic);
+        budgetService = new BudgetService(Mockito.mock(BudgetRepository.class), expenseRepository, Mockito.mock(IncomeRepository.class),
+                Mockito.mock(CategoryService.class), Mockito.mock(CategoryTotalService.class), new BlindIndex("benchmark-blind-index-key"));
+    }
+
+    @Benchmark
+    public ExpensesSummary calculateExpensesSummary() {
+        return budgetService.calculateExpensesSummary(user, 1L);
+    }
+}
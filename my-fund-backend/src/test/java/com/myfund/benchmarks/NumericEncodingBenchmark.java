@@ -0,0 +1,67 @@
+package com.myfund.benchmarks;
+
+import com.myfund.services.encryption.BigDecimalEncryptor;
+import com.myfund.services.encryption.EncryptionUtil;
+import com.myfund.services.encryption.LocalDateTimeEncryptor;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading encrypted amounts and date-times stored as text (the format written before binary encodings, still
+ * read for old rows) against the binary epoch-second and scale/unscaled-long encodings.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NumericEncodingBenchmark {
+
+    private static final String KEY = "1234567890123456";
+
+    @Param({"text", "binary"})
+    private String encoding;
+
+    private final BigDecimalEncryptor bigDecimalEncryptor = withKey(new BigDecimalEncryptor());
+
+    private final LocalDateTimeEncryptor localDateTimeEncryptor = withKey(new LocalDateTimeEncryptor());
+
+    private final BigDecimal amount = new BigDecimal("1234.56");
+
+    private final LocalDateTime localDateTime = LocalDateTime.of(2024, 5, 1, 10, 30, 15);
+
+    private byte[] encryptedAmount;
+
+    private byte[] encryptedLocalDateTime;
+
+    @Setup
+    public void setUp() throws Exception {
+        if ("text".equals(encoding)) {
+            encryptedAmount = EncryptionUtil.encryptText(amount.toString(), KEY);
+            encryptedLocalDateTime = EncryptionUtil.encryptText(localDateTime.toString(), KEY);
+        } else {
+            encryptedAmount = bigDecimalEncryptor.convertToDatabaseColumn(amount);
+            encryptedLocalDateTime = localDateTimeEncryptor.convertToDatabaseColumn(localDateTime);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal decryptBigDecimal() {
+        return bigDecimalEncryptor.convertToEntityAttribute(encryptedAmount);
+    }
+
+    @Benchmark
+    public LocalDateTime decryptLocalDateTime() {
+        return localDateTimeEncryptor.convertToEntityAttribute(encryptedLocalDateTime);
+    }
+
+    private static <T> T withKey(T converter) {
+        ReflectionTestUtils.setField(converter, "encryptionKey", KEY);
+        return converter;
+    }
+}
@@ -0,0 +1,57 @@
+package com.myfund.configs;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsConfigTest {
+
+    private final MeterFilter histogramMeterFilter = new MetricsConfig().histogramMeterFilter();
+
+    @Test
+    void histogramMeterFilter_EnablesHistogramsForHotPathMeters() {
+        for (String name : new String[]{"http.server.requests", "hikaricp.connections.acquire", "encryption.converter", "csv.import.duration", "budget.totals.apply", "category.totals.initialize"}) {
+            assertTrue(configure(name, Meter.Type.TIMER).isPercentileHistogram(), name);
+        }
+    }
+
+    @Test
+    void histogramMeterFilter_BoundsBucketsToExpectedRange() {
+        DistributionStatisticConfig unbounded = DistributionStatisticConfig.builder().percentilesHistogram(true).build()
+                .merge(DistributionStatisticConfig.DEFAULT);
+        DistributionStatisticConfig converter = configure("encryption.converter", Meter.Type.TIMER);
+
+        assertEquals(Duration.ofNanos(1_000).toNanos(), converter.getMinimumExpectedValueAsDouble());
+        assertEquals(Duration.ofMillis(10).toNanos(), converter.getMaximumExpectedValueAsDouble());
+        assertTrue(converter.getHistogramBuckets(true).size() < unbounded.getHistogramBuckets(true).size() / 2);
+    }
+
+    @Test
+    void histogramMeterFilter_UsesRowsPerSecondForImportThroughput() {
+        DistributionStatisticConfig throughput = configure("csv.import.throughput", Meter.Type.DISTRIBUTION_SUMMARY);
+
+        assertTrue(throughput.isPercentileHistogram());
+        assertEquals(1.0, throughput.getMinimumExpectedValueAsDouble());
+        assertEquals(1_000_000.0, throughput.getMaximumExpectedValueAsDouble());
+        assertEquals(Duration.ofMinutes(10).toNanos(), configure("csv.import.duration", Meter.Type.TIMER).getMaximumExpectedValueAsDouble());
+    }
+
+    @Test
+    void histogramMeterFilter_LeavesOtherMetersUnchanged() {
+        assertSame(DistributionStatisticConfig.NONE, histogramMeterFilter.configure(id("jvm.gc.pause", Meter.Type.TIMER), DistributionStatisticConfig.NONE));
+    }
+
+    private DistributionStatisticConfig configure(String name, Meter.Type type) {
+        return histogramMeterFilter.configure(id(name, type), DistributionStatisticConfig.NONE);
+    }
+
+    private static Meter.Id id(String name, Meter.Type type) {
+        return new Meter.Id(name, Tags.empty(), null, null, type);
+    }
+}
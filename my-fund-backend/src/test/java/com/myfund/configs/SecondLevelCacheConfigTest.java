@@ -0,0 +1,108 @@
+package com.myfund.configs;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.core.convert.support.ConfigurableConversionService;
+import org.springframework.mock.env.MockEnvironment;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecondLevelCacheConfigTest {
+
+    private final SecondLevelCacheConfig secondLevelCacheConfig = new SecondLevelCacheConfig();
+
+    private MockEnvironment environment;
+
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        environment = new MockEnvironment();
+        environment.setConversionService((ConfigurableConversionService) ApplicationConversionService.getSharedInstance());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (cacheManager != null) {
+            cacheManager.close();
+        }
+    }
+
+    @Test
+    void hibernateCacheManager_CreatesEveryRegionWithDefaults() {
+        cacheManager = secondLevelCacheConfig.hibernateCacheManager(environment);
+
+        Set<String> regions = StreamSupport.stream(cacheManager.getCacheNames().spliterator(), false).collect(Collectors.toSet());
+        assertEquals(SecondLevelCacheConfig.DEFAULT_REGIONS.keySet(), regions);
+        CaffeineConfiguration<?, ?> budget = configuration(SecondLevelCacheConfig.BUDGET_REGION);
+        assertEquals(10_000, budget.getMaximumSize().getAsLong());
+        assertEquals(Duration.ofMinutes(1).toNanos(), budget.getExpireAfterWrite().getAsLong());
+        assertFalse(budget.isStoreByValue());
+        assertTrue(budget.isStatisticsEnabled());
+        for (String region : SecondLevelCacheConfig.DEFAULT_REGIONS.keySet()) {
+            assertEquals(SecondLevelCacheConfig.EXPIRE_AFTER_WRITE.toNanos(), configuration(region).getExpireAfterWrite().getAsLong(), region);
+        }
+    }
+
+    @Test
+    void hibernateCacheManager_AppliesRegionOverrides() {
+        environment.setProperty("hibernate.cache.regions.category.maximum-size", "500");
+        environment.setProperty("hibernate.cache.regions.category.expire-after-write", "5m");
+
+        cacheManager = secondLevelCacheConfig.hibernateCacheManager(environment);
+
+        CaffeineConfiguration<?, ?> category = configuration(SecondLevelCacheConfig.CATEGORY_REGION);
+        assertEquals(500, category.getMaximumSize().getAsLong());
+        assertEquals(Duration.ofMinutes(5).toNanos(), category.getExpireAfterWrite().getAsLong());
+        assertEquals(100_000, configuration(SecondLevelCacheConfig.SUBCATEGORY_REGION).getMaximumSize().getAsLong());
+    }
+
+    @Test
+    void secondLevelCacheHibernatePropertiesCustomizer_EnablesJCacheWithSharedManager() {
+        cacheManager = secondLevelCacheConfig.hibernateCacheManager(environment);
+        Map<String, Object> properties = new HashMap<>();
+
+        secondLevelCacheConfig.secondLevelCacheHibernatePropertiesCustomizer(cacheManager).customize(properties);
+
+        assertEquals(true, properties.get(AvailableSettings.USE_SECOND_LEVEL_CACHE));
+        assertEquals("jcache", properties.get(AvailableSettings.CACHE_REGION_FACTORY));
+        assertSame(cacheManager, properties.get(ConfigSettings.CACHE_MANAGER));
+        assertEquals("fail", properties.get(ConfigSettings.MISSING_CACHE_STRATEGY));
+    }
+
+    @Test
+    void secondLevelCacheMetrics_ExportsRegionHitsAndMisses() {
+        cacheManager = secondLevelCacheConfig.hibernateCacheManager(environment);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        secondLevelCacheConfig.secondLevelCacheMetrics(cacheManager).bindTo(registry);
+        Cache<Object, Object> budget = cacheManager.getCache(SecondLevelCacheConfig.BUDGET_REGION);
+
+        budget.put(1L, "entry");
+        budget.get(1L);
+        budget.get(1L);
+        budget.get(2L);
+
+        assertEquals(2.0, registry.get("cache.gets").tags("cache", "budget", "cacheType", "hibernate", "result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tags("cache", "budget", "cacheType", "hibernate", "result", "miss").functionCounter().count());
+    }
+
+    @SuppressWarnings("unchecked")
+    private CaffeineConfiguration<?, ?> configuration(String region) {
+        return cacheManager.getCache(region).getConfiguration(CaffeineConfiguration.class);
+    }
+}
@@ -1,13 +1,17 @@
 package com.myfund.integration;
 
+import com.myfund.models.DTOs.AccessTokenDTO;
 import com.myfund.models.DTOs.CreateUserDTO;
 import com.myfund.models.DTOs.PasswordChangeDTO;
 import com.myfund.models.DTOs.PasswordChangeRequestDTO;
+import com.myfund.models.DTOs.SignInDTO;
 import com.myfund.models.DTOs.UserDTO;
 import com.myfund.models.User;
 import com.myfund.services.UserService;
+import com.myfund.services.email.EmailBatchSender;
 import com.myfund.services.email.EmailSender;
 import com.myfund.services.email.TokenService;
+import jakarta.persistence.EntityManagerFactory;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -48,9 +52,15 @@ class AuthControlerE2ETest {
     @MockBean
     private EmailSender emailSender;
 
+    @MockBean
+    private EmailBatchSender emailBatchSender;
+
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @Autowired
     private TokenService tokenService;
 
@@ -63,7 +73,7 @@ class AuthControlerE2ETest {
     @BeforeAll
     public void setUp() throws IOException {
         mysqlContainer.start();
-        Mockito.doNothing().when(emailSender).sendWelcomeEmail(Mockito.any());
+        Mockito.when(emailBatchSender.getMaxBatchSize()).thenReturn(500);
     }
 
     @AfterEach
@@ -75,7 +85,11 @@ class AuthControlerE2ETest {
         jdbcTemplate.execute("TRUNCATE TABLE income");
         jdbcTemplate.execute("TRUNCATE TABLE category");
         jdbcTemplate.execute("TRUNCATE TABLE subcategory");
+        jdbcTemplate.execute("TRUNCATE TABLE email_outbox");
+        jdbcTemplate.execute("TRUNCATE TABLE password_reset_token");
+        jdbcTemplate.execute("TRUNCATE TABLE email_throttle");
         jdbcTemplate.execute("SET FOREIGN_KEY_CHECKS = 1");
+        entityManagerFactory.getCache().evictAll();
     }
 
     @Test
@@ -93,12 +107,63 @@ class AuthControlerE2ETest {
 
         ResponseEntity<UserDTO> response = restTemplate.postForEntity("http://localhost:" + port + "/v1/register", request, UserDTO.class);
         Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Integer.class);
+        Integer queuedWelcomeEmails = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM email_outbox WHERE template = 'WELCOME'", Integer.class);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
         assertThat(response.getBody()).isNotNull();
         assertThat(response.getBody().getUsername()).isEqualTo("testuser");
         assertThat(response.getBody().getEmail()).isEqualTo("test@test.com");
         assertThat(count).isEqualTo(1);
+        assertThat(queuedWelcomeEmails).isEqualTo(1);
+    }
+
+    @Test
+    public void testSignIn_IssuesTokenAcceptedByApi() throws IOException {
+        User user = User.builder().username("testuser").email("test@example.com").password("password").build();
+        userService.createUser(user);
+
+        SignInDTO signInDTO = new SignInDTO();
+        signInDTO.setUsername("testuser");
+        signInDTO.setPassword("password");
+
+        ResponseEntity<AccessTokenDTO> response = restTemplate.postForEntity("http://localhost:" + port + "/v1/signin", signInDTO, AccessTokenDTO.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getTokenType()).isEqualTo("Bearer");
+        assertThat(response.getHeaders().get(HttpHeaders.SET_COOKIE)).isNull();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(response.getBody().getAccessToken());
+        ResponseEntity<UserDTO> currentUser = restTemplate.exchange("http://localhost:" + port + "/api/v1/users/current-user", HttpMethod.GET, new HttpEntity<>(headers), UserDTO.class);
+
+        assertThat(currentUser.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(currentUser.getBody().getUsername()).isEqualTo("testuser");
+        assertThat(currentUser.getBody().getEmail()).isEqualTo("test@example.com");
+    }
+
+    @Test
+    public void testSignIn_WrongPassword() throws IOException {
+        User user = User.builder().username("testuser").email("test@example.com").password("password").build();
+        userService.createUser(user);
+
+        SignInDTO signInDTO = new SignInDTO();
+        signInDTO.setUsername("testuser");
+        signInDTO.setPassword("wrong-password");
+
+        ResponseEntity<String> response = restTemplate.postForEntity("http://localhost:" + port + "/v1/signin", signInDTO, String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    public void testApi_RejectsTamperedToken() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth("eyJhbGciOiJIUzI1NiJ9.eyJzdWIiOiJ0ZXN0dXNlciIsInVpZCI6MSwicm9sZSI6IlVTRVIifQ.invalid");
+
+        ResponseEntity<String> response = restTemplate.exchange("http://localhost:" + port + "/api/v1/users/current-user", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
     }
 
     @Test
@@ -4,6 +4,7 @@ import com.myfund.exceptions.InvalidInputException;
 import com.myfund.models.*;
 import com.myfund.repositories.*;
 import com.myfund.services.BudgetService;
+import jakarta.persistence.EntityManagerFactory;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -47,6 +48,9 @@ public class BudgetControllerE2ETest {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @Autowired
     private SubCategoryRepository subCategoryRepository;
 
@@ -95,6 +99,7 @@ public class BudgetControllerE2ETest {
         jdbcTemplate.execute("TRUNCATE TABLE category");
         jdbcTemplate.execute("TRUNCATE TABLE subcategory");
         jdbcTemplate.execute("SET FOREIGN_KEY_CHECKS = 1");
+        entityManagerFactory.getCache().evictAll();
     }
 
     @Test
@@ -258,6 +263,60 @@ public class BudgetControllerE2ETest {
         Assertions.assertEquals(1, count);
     }
 
+    @Test
+    public void getExpenses_ShouldPageWithContinuationToken() throws Exception {
+        User user = userRepository.findById(1L).get();
+
+        Budget savedBudget = budgetRepository.save(Budget.builder()
+                .name("Test Budget")
+                .user(user)
+                .build());
+
+        for (int i = 1; i <= 3; i++) {
+            expenseRepository.save(Expense.builder()
+                    .name("Expense " + i)
+                    .amount(BigDecimal.valueOf(i))
+                    .budget(savedBudget)
+                    .user(user)
+                    .build());
+        }
+
+        String firstPage = mockMvc.perform(get("/api/v1/budgets/" + savedBudget.getId() + "/expenses")
+                        .param("size", "2")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].name").value("Expense 1"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andReturn().getResponse().getContentAsString();
+
+        String continuationToken = com.jayway.jsonpath.JsonPath.read(firstPage, "$.continuationToken");
+
+        mockMvc.perform(get("/api/v1/budgets/" + savedBudget.getId() + "/expenses")
+                        .param("size", "2")
+                        .param("continuationToken", continuationToken)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].name").value("Expense 3"))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    public void getIncomes_InvalidPageSize_ShouldReturnBadRequest() throws Exception {
+        User user = userRepository.findById(1L).get();
+
+        Budget savedBudget = budgetRepository.save(Budget.builder()
+                .name("Test Budget")
+                .user(user)
+                .build());
+
+        mockMvc.perform(get("/api/v1/budgets/" + savedBudget.getId() + "/incomes")
+                        .param("size", "1000")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     public void createExpense_InvalidAmount_ShouldThrowException() throws Exception {
         String createExpenseJson = "{\"amount\": \"-100.0\", \"name\": \"Test Expense\"}";
@@ -922,6 +981,23 @@ public class BudgetControllerE2ETest {
         Assertions.assertEquals(0, count);
     }
 
+    @Test
+    public void deleteBudget_EvictsCachedBudget() throws Exception {
+        User user = userRepository.findById(1L).get();
+        Budget savedBudget = budgetRepository.save(Budget.builder().name("Cached Budget").user(user).build());
+        entityManagerFactory.getCache().evictAll();
+
+        budgetService.findBudgetByIdAndUser(savedBudget.getId(), user);
+        Assertions.assertTrue(entityManagerFactory.getCache().contains(Budget.class, savedBudget.getId()));
+
+        mockMvc.perform(delete("/api/v1/budgets/" + savedBudget.getId())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isAccepted());
+
+        Assertions.assertFalse(entityManagerFactory.getCache().contains(Budget.class, savedBudget.getId()));
+        Assertions.assertTrue(budgetRepository.findByIdAndUser(savedBudget.getId(), user).isEmpty());
+    }
+
     @Test
     public void deleteBudget_NotFound() throws Exception {
         Long nonExistentBudgetId = 999L;
@@ -1096,15 +1172,27 @@ public class BudgetControllerE2ETest {
         String csvContent = "header\nPL11 1111 1111 1111 1111 1111 1111,2024-05-09,2024-05-09,ZAKUP - FIZ. UŻYCIE KARTY,,,TEST,-9.07,,,PLN\nPL11 1111 1111 1111 1111 1111 1111,2024-05-08,2024-05-08,PRZELEW PRZYCHODZĄCY,11 11 1111 1111 1111 1111 1111 11,TEST USER,TEST TITLE,,1000,,PLN";
         MockMultipartFile mockFile = new MockMultipartFile("file", "test.csv", "text/csv", csvContent.getBytes());
 
-        mockMvc.perform(multipart("/api/v1/budgets/" + savedBudget.getId() + "/upload-csv/MILLENIUM")
+        String response = mockMvc.perform(multipart("/api/v1/budgets/" + savedBudget.getId() + "/upload-csv/MILLENIUM")
                         .file(mockFile)
                         .with(request -> {
                             request.setMethod("POST");
                             return request;
                         })
                         .contentType(MediaType.MULTIPART_FORM_DATA))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.fileName").value("test.csv"))
+                .andExpect(jsonPath("$.bankName").value("MILLENIUM"))
+                .andReturn().getResponse().getContentAsString();
+
+        String jobId = com.jayway.jsonpath.JsonPath.read(response, "$.jobId");
+        awaitImport(savedBudget.getId(), jobId);
+
+        mockMvc.perform(get("/api/v1/budgets/" + savedBudget.getId() + "/imports/" + jobId))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.message").value("Successfully uploaded 'test.csv' for MILLENIUM"));
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.rowsParsed").value(2))
+                .andExpect(jsonPath("$.rowsPersisted").value(2))
+                .andExpect(jsonPath("$.rowsRejected").value(0));
 
         List<Expense> expenses = expenseRepository.findAll();
         Assertions.assertFalse(expenses.isEmpty());
@@ -1145,15 +1233,27 @@ public class BudgetControllerE2ETest {
         String csvContent = "header\n2023/005;19-08-2023;17-08-2023;TEST TITLE EXPENSE;;;;;TRANSAKCJA KARTĄ;;71,15;;114,16;12;T\n2023/005;11-08-2023;11-08-2023;TEST TITLE INCOME;;;;;WPŁATA GOTÓWKI - WPŁATOMAT;;;200,00;185,31;11;T";
         MockMultipartFile mockFile = new MockMultipartFile("file", "test.csv", "text/csv", csvContent.getBytes());
 
-        mockMvc.perform(multipart("/api/v1/budgets/" + savedBudget.getId() + "/upload-csv/SANTANDER")
+        String response = mockMvc.perform(multipart("/api/v1/budgets/" + savedBudget.getId() + "/upload-csv/SANTANDER")
                         .file(mockFile)
                         .with(request -> {
                             request.setMethod("POST");
                             return request;
                         })
                         .contentType(MediaType.MULTIPART_FORM_DATA))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.fileName").value("test.csv"))
+                .andExpect(jsonPath("$.bankName").value("SANTANDER"))
+                .andReturn().getResponse().getContentAsString();
+
+        String jobId = com.jayway.jsonpath.JsonPath.read(response, "$.jobId");
+        awaitImport(savedBudget.getId(), jobId);
+
+        mockMvc.perform(get("/api/v1/budgets/" + savedBudget.getId() + "/imports/" + jobId))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.message").value("Successfully uploaded 'test.csv' for SANTANDER"));
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.rowsParsed").value(2))
+                .andExpect(jsonPath("$.rowsPersisted").value(2))
+                .andExpect(jsonPath("$.rowsRejected").value(0));
 
         List<Expense> expenses = expenseRepository.findAll();
         Assertions.assertFalse(expenses.isEmpty());
@@ -1242,4 +1342,29 @@ public class BudgetControllerE2ETest {
         Assertions.assertTrue(incomes.isEmpty());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void getImport_NotFound() throws Exception {
+        User user = userRepository.findById(1L).get();
+
+        Budget savedBudget = budgetRepository.save(Budget.builder()
+                .name("Test Budget")
+                .user(user)
+                .build());
+
+        mockMvc.perform(get("/api/v1/budgets/" + savedBudget.getId() + "/imports/unknown-job")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isConflict());
+    }
+
+    private void awaitImport(Long budgetId, String jobId) throws Exception {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            String status = com.jayway.jsonpath.JsonPath.read(mockMvc.perform(get("/api/v1/budgets/" + budgetId + "/imports/" + jobId))
+                    .andReturn().getResponse().getContentAsString(), "$.status");
+            if ("COMPLETED".equals(status) || "FAILED".equals(status)) {
+                return;
+            }
+            Thread.sleep(100);
+        }
+        Assertions.fail("CSV import " + jobId + " did not finish in time");
+    }
+}
@@ -7,6 +7,10 @@ import com.myfund.repositories.CategoryRepository;
 import com.myfund.repositories.SubCategoryRepository;
 import com.myfund.repositories.UserRepository;
 
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -58,6 +62,9 @@ public class CategoryControllerE2ETest {
     @Autowired
     private SubCategoryRepository subCategoryRepository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @BeforeEach
     public void setUp() {
         mysqlContainer.start();
@@ -88,6 +95,7 @@ public class CategoryControllerE2ETest {
         jdbcTemplate.execute("TRUNCATE TABLE category");
         jdbcTemplate.execute("TRUNCATE TABLE subcategory");
         jdbcTemplate.execute("SET FOREIGN_KEY_CHECKS = 1");
+        entityManagerFactory.getCache().evictAll();
     }
 
     @Test
@@ -120,6 +128,47 @@ public class CategoryControllerE2ETest {
                 .andExpect(jsonPath("$[1].name").value("Test Category 2"));
     }
 
+    @Test
+    public void testGetAllCategories_StatementCountDoesNotGrowWithCategories() throws Exception {
+        User user = userRepository.findById(1L).orElseThrow(() -> new RuntimeException("User not found"));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        saveCategoriesWithSubCategories(user, 2);
+        statistics.clear();
+        mockMvc.perform(get("/api/v1/categories")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+        long statementsForTwoCategories = statistics.getPrepareStatementCount();
+
+        saveCategoriesWithSubCategories(user, 18);
+        statistics.clear();
+        mockMvc.perform(get("/api/v1/categories")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(20))
+                .andExpect(jsonPath("$[19].subCategories.length()").value(3));
+        long statementsForTwentyCategories = statistics.getPrepareStatementCount();
+
+        statistics.setStatisticsEnabled(false);
+        assertEquals(statementsForTwoCategories, statementsForTwentyCategories);
+    }
+
+    private void saveCategoriesWithSubCategories(User user, int count) {
+        for (int i = 0; i < count; i++) {
+            Category category = Category.builder()
+                    .name("Category " + i)
+                    .user(user)
+                    .subCategories(new ArrayList<>())
+                    .build();
+            for (int j = 0; j < 3; j++) {
+                category.getSubCategories().add(SubCategory.builder().name("SubCategory " + j).category(category).build());
+            }
+            categoryRepository.save(category);
+        }
+    }
+
     @Test
     public void testGetAllCategories_Unauthorized() throws Exception {
         // Clear the security context to simulate an unauthorized request
@@ -0,0 +1,153 @@
+package com.myfund.integration;
+
+import com.myfund.services.email.EmailBatchSender;
+import com.myfund.services.email.JdbcEmailThrottleStore;
+import com.myfund.services.email.JdbcPasswordResetTokenStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two store instances over one database stand in for two application nodes.
+ */
+@ActiveProfiles("test")
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class JdbcEmailStoresE2ETest {
+
+    @Container
+    public static MySQLContainer<?> mysqlContainer = new MySQLContainer<>("mysql:8.0.26").withDatabaseName("testdb").withUsername("testuser").withPassword("testpass");
+
+    private static final Duration WINDOW = Duration.ofMinutes(60);
+
+    @MockBean
+    private EmailBatchSender emailBatchSender;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeAll
+    public void setUp() {
+        mysqlContainer.start();
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        jdbcTemplate.execute("TRUNCATE TABLE password_reset_token");
+        jdbcTemplate.execute("TRUNCATE TABLE email_throttle");
+    }
+
+    @Test
+    public void testTokenIssuedOnOneNodeIsConsumedOnceOnAnother() {
+        JdbcPasswordResetTokenStore nodeA = new JdbcPasswordResetTokenStore(jdbcTemplate);
+        JdbcPasswordResetTokenStore nodeB = new JdbcPasswordResetTokenStore(jdbcTemplate);
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+        nodeA.save("email-hash", "token-hash", now.plus(Duration.ofMinutes(10)));
+
+        assertThat(nodeB.consume("email-hash", "token-hash", now)).isTrue();
+        assertThat(nodeA.consume("email-hash", "token-hash", now)).isFalse();
+    }
+
+    @Test
+    public void testExpiredTokensAreDeletedInBatches() {
+        JdbcPasswordResetTokenStore store = new JdbcPasswordResetTokenStore(jdbcTemplate);
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        for (int i = 0; i < 5; i++) {
+            store.save("expired-" + i, "token-hash", now.minusSeconds(1));
+        }
+        store.save("valid", "token-hash", now.plus(Duration.ofMinutes(10)));
+
+        assertThat(store.deleteExpired(now, 3)).isEqualTo(3);
+        assertThat(store.deleteExpired(now, 3)).isEqualTo(2);
+        assertThat(store.consume("valid", "token-hash", now)).isTrue();
+    }
+
+    @Test
+    public void testReleasedReservationFreesSlotOnAnotherNode() {
+        JdbcEmailThrottleStore nodeA = new JdbcEmailThrottleStore(jdbcTemplate, transactionManager);
+        JdbcEmailThrottleStore nodeB = new JdbcEmailThrottleStore(jdbcTemplate, transactionManager);
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        for (int i = 0; i < 3; i++) {
+            assertThat(nodeA.tryAcquire("released-hash", now.plusMillis(i), WINDOW, 3)).isTrue();
+        }
+        assertThat(nodeA.tryAcquire("released-hash", now.plusMillis(3), WINDOW, 3)).isFalse();
+
+        nodeA.release("released-hash", now.plusMillis(1));
+
+        assertThat(nodeB.count("released-hash", now.plusMillis(3), WINDOW)).isEqualTo(2);
+        assertThat(nodeB.tryAcquire("released-hash", now.plusMillis(4), WINDOW, 3)).isTrue();
+    }
+
+    @Test
+    public void testThrottleLimitHoldsAcrossNodesUnderConcurrency() throws Exception {
+        List<JdbcEmailThrottleStore> nodes = List.of(new JdbcEmailThrottleStore(jdbcTemplate, transactionManager), new JdbcEmailThrottleStore(jdbcTemplate, transactionManager));
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger acquired = new AtomicInteger();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                JdbcEmailThrottleStore node = nodes.get(t % nodes.size());
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 10; i++) {
+                        if (node.tryAcquire("recipient-hash", Instant.now(), WINDOW, 3)) {
+                            acquired.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(acquired.get()).isEqualTo(3);
+        assertThat(nodes.get(0).count("recipient-hash", Instant.now(), WINDOW)).isEqualTo(3);
+    }
+
+    @Test
+    public void testIdleThrottleLogsAreDeleted() {
+        JdbcEmailThrottleStore store = new JdbcEmailThrottleStore(jdbcTemplate, transactionManager);
+        Instant sentAt = Instant.now().minus(Duration.ofHours(2));
+        store.tryAcquire("idle-hash", sentAt, WINDOW, 3);
+        store.tryAcquire("active-hash", Instant.now(), WINDOW, 3);
+
+        assertThat(store.deleteInactive(Instant.now().minus(WINDOW), 100)).isEqualTo(1);
+        assertThat(store.count("active-hash", Instant.now(), WINDOW)).isEqualTo(1);
+    }
+}
@@ -2,6 +2,7 @@ package com.myfund.integration;
 
 import com.myfund.models.User;
 import com.myfund.repositories.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -44,6 +45,9 @@ class UserControllerE2ETest {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @AfterEach
     public void cleanUp() {
         jdbcTemplate.execute("SET FOREIGN_KEY_CHECKS = 0");
@@ -54,6 +58,7 @@ class UserControllerE2ETest {
         jdbcTemplate.execute("TRUNCATE TABLE category");
         jdbcTemplate.execute("TRUNCATE TABLE subcategory");
         jdbcTemplate.execute("SET FOREIGN_KEY_CHECKS = 1");
+        entityManagerFactory.getCache().evictAll();
     }
 
     @BeforeEach
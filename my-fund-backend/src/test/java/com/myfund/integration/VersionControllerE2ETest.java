@@ -2,6 +2,7 @@ package com.myfund.integration;
 
 import com.myfund.models.DTOs.ApplicationDetailsDTO;
 import com.myfund.services.ApplicationDetailsService;
+import jakarta.persistence.EntityManagerFactory;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -40,6 +41,9 @@ class VersionControllerE2ETest {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @BeforeEach
     public void setUp() {
         mysqlContainer.start();
@@ -55,6 +59,7 @@ class VersionControllerE2ETest {
         jdbcTemplate.execute("TRUNCATE TABLE category");
         jdbcTemplate.execute("TRUNCATE TABLE subcategory");
         jdbcTemplate.execute("SET FOREIGN_KEY_CHECKS = 1");
+        entityManagerFactory.getCache().evictAll();
     }
 
     @Test
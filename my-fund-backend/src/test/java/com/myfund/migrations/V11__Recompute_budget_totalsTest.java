@@ -0,0 +1,99 @@
+package com.myfund.migrations;
+
+import com.myfund.services.encryption.BigDecimalEncryptor;
+import com.myfund.services.encryption.RowPayload;
+import com.myfund.services.encryption.RowPayloadEncryptor;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class V11__Recompute_budget_totalsTest {
+
+    private static final String ENCRYPTION_KEY = "1234567890123456";
+
+    private final BigDecimalEncryptor bigDecimalEncryptor = withKey(new BigDecimalEncryptor());
+
+    private final RowPayloadEncryptor rowPayloadEncryptor = withKey(new RowPayloadEncryptor());
+
+    private final V11__Recompute_budget_totals migration = new V11__Recompute_budget_totals(bigDecimalEncryptor, rowPayloadEncryptor);
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+    @Test
+    void sumAmounts_AddsColumnAndPayloadAmountsPerBudget() {
+        RowPayload payload = new RowPayload("Rent", new BigDecimal("1500.00"), LocalDateTime.of(2024, 5, 1, 0, 0));
+        when(jdbcTemplate.queryForList(anyString(), eq(0L))).thenReturn(List.of(
+                row(1L, 10L, bigDecimalEncryptor.convertToDatabaseColumn(new BigDecimal("20.50")), null),
+                row(2L, 10L, null, rowPayloadEncryptor.convertToDatabaseColumn(payload)),
+                row(3L, 11L, bigDecimalEncryptor.convertToDatabaseColumn(new BigDecimal("7")), null),
+                row(4L, null, bigDecimalEncryptor.convertToDatabaseColumn(new BigDecimal("99")), null)));
+
+        Map<Long, BigDecimal> totals = migration.sumAmounts(jdbcTemplate, "expense");
+
+        assertEquals(Map.of(10L, new BigDecimal("1520.50"), 11L, new BigDecimal("7")), totals);
+        verify(jdbcTemplate).queryForList("SELECT id, budget_id, amount, payload FROM expense WHERE id > ? ORDER BY id LIMIT " + V11__Recompute_budget_totals.BATCH_SIZE, 0L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void writeTotals_WritesEncryptedTotalsForEveryBudget() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(0L))).thenReturn(List.of(10L, 12L));
+
+        int updated = migration.writeTotals(jdbcTemplate, Map.of(10L, new BigDecimal("100")), Map.of(10L, new BigDecimal("30.25")));
+
+        assertEquals(2, updated);
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq("UPDATE budget SET balance = ?, total_income = ?, total_expense = ? WHERE id = ?"), batch.capture());
+        Object[] first = batch.getValue().get(0);
+        assertEquals(new BigDecimal("69.75"), bigDecimalEncryptor.convertToEntityAttribute((byte[]) first[0]));
+        assertEquals(new BigDecimal("100"), bigDecimalEncryptor.convertToEntityAttribute((byte[]) first[1]));
+        assertEquals(new BigDecimal("30.25"), bigDecimalEncryptor.convertToEntityAttribute((byte[]) first[2]));
+        assertEquals(10L, first[3]);
+        Object[] empty = batch.getValue().get(1);
+        assertEquals(BigDecimal.ZERO, bigDecimalEncryptor.convertToEntityAttribute((byte[]) empty[0]));
+        assertEquals(12L, empty[3]);
+    }
+
+    @Test
+    void writeTotals_PagesByLastId() {
+        List<Long> fullPage = new ArrayList<>();
+        for (long id = 1; id <= V11__Recompute_budget_totals.BATCH_SIZE; id++) {
+            fullPage.add(id);
+        }
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(0L))).thenReturn(fullPage);
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq((long) V11__Recompute_budget_totals.BATCH_SIZE))).thenReturn(List.of());
+
+        int updated = migration.writeTotals(jdbcTemplate, Map.of(), Map.of());
+
+        assertEquals(V11__Recompute_budget_totals.BATCH_SIZE, updated);
+        verify(jdbcTemplate, times(2)).queryForList(anyString(), eq(Long.class), anyLong());
+    }
+
+    private static Map<String, Object> row(Long id, Long budgetId, byte[] amount, byte[] payload) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", id);
+        row.put("budget_id", budgetId);
+        row.put("amount", amount);
+        row.put("payload", payload);
+        return row;
+    }
+
+    private static <T> T withKey(T converter) {
+        ReflectionTestUtils.setField(converter, "encryptionKey", ENCRYPTION_KEY);
+        return converter;
+    }
+}
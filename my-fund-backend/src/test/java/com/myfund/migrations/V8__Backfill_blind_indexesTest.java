@@ -0,0 +1,67 @@
+package com.myfund.migrations;
+
+import com.myfund.services.encryption.BlindIndex;
+import com.myfund.services.encryption.EncryptionUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class V8__Backfill_blind_indexesTest {
+
+    private static final String ENCRYPTION_KEY = "1234567890123456";
+
+    private final BlindIndex blindIndex = new BlindIndex("test-blind-index-key");
+
+    private final V8__Backfill_blind_indexes migration = new V8__Backfill_blind_indexes(blindIndex, ENCRYPTION_KEY);
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+    @Test
+    void backfill_WritesIndexOfDecryptedValues() throws Exception {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", 7L);
+        row.put("email", EncryptionUtil.encrypt("test@example.com", ENCRYPTION_KEY));
+        row.put("username", null);
+        when(jdbcTemplate.queryForList(anyString(), eq(0L))).thenReturn(List.of(row));
+
+        int updated = migration.backfill(jdbcTemplate, "users", List.of("email", "username"));
+
+        assertEquals(1, updated);
+        verify(jdbcTemplate).queryForList("SELECT id, email, username FROM users WHERE id > ? ORDER BY id LIMIT " + V8__Backfill_blind_indexes.BATCH_SIZE, 0L);
+        verify(jdbcTemplate).batchUpdate(eq("UPDATE users SET email_index = ?, username_index = ? WHERE id = ?"),
+                argThat((List<Object[]> batch) -> batch.size() == 1
+                        && blindIndex.of("test@example.com").equals(batch.get(0)[0])
+                        && batch.get(0)[1] == null
+                        && Long.valueOf(7L).equals(batch.get(0)[2])));
+    }
+
+    @Test
+    void backfill_PagesByLastId() throws Exception {
+        List<Map<String, Object>> fullPage = new ArrayList<>();
+        for (long id = 1; id <= V8__Backfill_blind_indexes.BATCH_SIZE; id++) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("id", id);
+            row.put("name", EncryptionUtil.encrypt("Budget " + id, ENCRYPTION_KEY));
+            fullPage.add(row);
+        }
+        when(jdbcTemplate.queryForList(anyString(), eq(0L))).thenReturn(fullPage);
+        when(jdbcTemplate.queryForList(anyString(), eq((long) V8__Backfill_blind_indexes.BATCH_SIZE))).thenReturn(List.of());
+
+        int updated = migration.backfill(jdbcTemplate, "budget", List.of("name"));
+
+        assertEquals(V8__Backfill_blind_indexes.BATCH_SIZE, updated);
+        verify(jdbcTemplate, times(1)).batchUpdate(eq("UPDATE budget SET name_index = ? WHERE id = ?"), anyList());
+        verify(jdbcTemplate, times(2)).queryForList(anyString(), anyLong());
+    }
+}
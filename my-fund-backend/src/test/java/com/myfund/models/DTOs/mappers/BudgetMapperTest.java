@@ -3,6 +3,7 @@ package com.myfund.models.DTOs.mappers;
 import static org.junit.jupiter.api.Assertions.*;
 
 import com.myfund.models.Budget;
+import com.myfund.models.BudgetSummary;
 import com.myfund.models.DTOs.BudgetDTO;
 import com.myfund.models.DTOs.BudgetSummaryDTO;
 import com.myfund.models.DTOs.CreateBudgetDTO;
@@ -84,6 +85,23 @@ public class BudgetMapperTest {
         assertEquals(new BigDecimal("3000.0"), summaryDTO2.getTotalIncome(), "BudgetSummaryDTO total income should match");
     }
 
+    @Test
+    void testBudgetSummariesMapToBudgetSummaryDTOList() {
+        List<BudgetSummary> budgetSummaries = Arrays.asList(
+                new BudgetSummary(1L, "Budget 1", new BigDecimal("1000.0"), new BigDecimal("1500.0"), new BigDecimal("500.0")),
+                new BudgetSummary(2L, "Budget 2", new BigDecimal("2000.0"), new BigDecimal("3000.0"), new BigDecimal("1000.0")));
+
+        List<BudgetSummaryDTO> budgetSummaryDTOs = BudgetSummaryMapper.toListDTOFromSummaries(budgetSummaries);
+
+        assertEquals(2, budgetSummaryDTOs.size(), "BudgetSummaryDTO list size should match");
+        BudgetSummaryDTO summaryDTO = budgetSummaryDTOs.get(1);
+        assertEquals(2L, summaryDTO.getId(), "BudgetSummaryDTO ID should match");
+        assertEquals("Budget 2", summaryDTO.getName(), "BudgetSummaryDTO name should match");
+        assertEquals(new BigDecimal("2000.0"), summaryDTO.getBalance(), "BudgetSummaryDTO balance should match");
+        assertEquals(new BigDecimal("1000.0"), summaryDTO.getTotalExpense(), "BudgetSummaryDTO total expense should match");
+        assertEquals(new BigDecimal("3000.0"), summaryDTO.getTotalIncome(), "BudgetSummaryDTO total income should match");
+    }
+
     @Test
     void testBudgetMapToBudgetSummaryDTO() {
         Budget budget = Budget.builder()
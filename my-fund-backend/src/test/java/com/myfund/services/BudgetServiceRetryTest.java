@@ -0,0 +1,107 @@
+package com.myfund.services;
+
+import com.myfund.models.Budget;
+import com.myfund.models.CategoryTotal;
+import com.myfund.models.Expense;
+import com.myfund.models.Income;
+import com.myfund.models.User;
+import com.myfund.repositories.BudgetRepository;
+import com.myfund.repositories.ExpenseRepository;
+import com.myfund.repositories.IncomeRepository;
+import com.myfund.services.encryption.BlindIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.retry.annotation.EnableRetry;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig(classes = {BudgetServiceRetryTest.RetryConfig.class, BudgetService.class})
+class BudgetServiceRetryTest {
+
+    @Configuration
+    @EnableRetry
+    static class RetryConfig {
+    }
+
+    @MockBean
+    private BudgetRepository budgetRepository;
+
+    @MockBean
+    private ExpenseRepository expenseRepository;
+
+    @MockBean
+    private IncomeRepository incomeRepository;
+
+    @MockBean
+    private CategoryService categoryService;
+
+    @MockBean
+    private CategoryTotalService categoryTotalService;
+
+    @MockBean
+    private BlindIndex blindIndex;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    private final User user = User.builder().id(1L).build();
+
+    @Test
+    void deleteExpenseByIdAndUser_ConcurrentVersionBump_RetriesInsteadOfNotFound() {
+        Expense expense = Expense.builder().amount(new BigDecimal("100")).idCategory(4L).build();
+        when(expenseRepository.findByIdAndUserIdAndBudgetId(1L, user.getId(), 2L)).thenReturn(Optional.of(expense));
+        when(budgetRepository.findById(2L)).thenAnswer(invocation -> Optional.of(budget()));
+        doThrow(new ObjectOptimisticLockingFailureException(CategoryTotal.class, 7L))
+                .doNothing()
+                .when(categoryTotalService).applyExpenseDelta(any(Budget.class), eq(4L), isNull(), eq(new BigDecimal("-100")));
+
+        assertDoesNotThrow(() -> budgetService.deleteExpenseByIdAndUser(1L, user, 2L));
+
+        verify(expenseRepository, times(2)).deleteExpenseByIdAndUserAndBudgetId(1L, user, 2L);
+        verify(categoryTotalService, times(2)).applyExpenseDelta(any(Budget.class), eq(4L), isNull(), eq(new BigDecimal("-100")));
+    }
+
+    @Test
+    void deleteIncomeByIdAndUser_ConcurrentVersionBump_RetriesInsteadOfNotFound() {
+        Income income = Income.builder().amount(new BigDecimal("200")).idCategory(5L).build();
+        when(incomeRepository.findByIdAndUserIdAndBudgetId(1L, user.getId(), 2L)).thenReturn(Optional.of(income));
+        when(budgetRepository.findById(2L)).thenAnswer(invocation -> Optional.of(budget()));
+        doThrow(new ObjectOptimisticLockingFailureException(CategoryTotal.class, 7L))
+                .doNothing()
+                .when(categoryTotalService).applyIncomeDelta(any(Budget.class), eq(5L), isNull(), eq(new BigDecimal("-200")));
+
+        assertDoesNotThrow(() -> budgetService.deleteIncomeByIdAndUser(1L, user, 2L));
+
+        verify(incomeRepository, times(2)).deleteExpenseByIdAndUserAndBudgetId(1L, user, 2L);
+    }
+
+    @Test
+    void deleteExpenseByIdAndUser_ConflictPersists_PropagatesOptimisticLockFailure() {
+        Expense expense = Expense.builder().amount(new BigDecimal("100")).idCategory(4L).build();
+        when(expenseRepository.findByIdAndUserIdAndBudgetId(1L, user.getId(), 2L)).thenReturn(Optional.of(expense));
+        when(budgetRepository.findById(2L)).thenAnswer(invocation -> Optional.of(budget()));
+        doThrow(new ObjectOptimisticLockingFailureException(CategoryTotal.class, 7L))
+                .when(categoryTotalService).applyExpenseDelta(any(Budget.class), any(), any(), any());
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> budgetService.deleteExpenseByIdAndUser(1L, user, 2L));
+
+        verify(categoryTotalService, times(4)).applyExpenseDelta(any(Budget.class), any(), any(), any());
+    }
+
+    private Budget budget() {
+        return Budget.builder()
+                .id(2L)
+                .totalIncome(new BigDecimal("500"))
+                .totalExpense(new BigDecimal("150"))
+                .build();
+    }
+}
@@ -7,9 +7,15 @@ import com.myfund.models.DTOs.mappers.BudgetMapper;
 import com.myfund.repositories.BudgetRepository;
 import com.myfund.repositories.ExpenseRepository;
 import com.myfund.repositories.IncomeRepository;
+import com.myfund.services.encryption.BlindIndex;
+import com.myfund.services.pagination.ContinuationToken;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -20,7 +26,6 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 class BudgetServiceTest {
@@ -40,6 +45,12 @@ class BudgetServiceTest {
     @Mock
     private IncomeRepository incomeRepository;
 
+    @Mock
+    private CategoryTotalService categoryTotalService;
+
+    @Spy
+    private BlindIndex blindIndex = new BlindIndex("test-blind-index-key");
+
     @Captor
     private ArgumentCaptor<Budget> budgetArgumentCaptor;
 
@@ -74,7 +85,7 @@ class BudgetServiceTest {
                 .build();
         User user = User.builder().email("test@example.com").build();
 
-        when(budgetRepository.findByNameAndUser(anyString(), any(User.class))).thenReturn(Optional.empty());
+        when(budgetRepository.findByNameIndexAndUser(blindIndex.of("Test Budget"), user)).thenReturn(Optional.empty());
         when(budgetRepository.save(any(Budget.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         Budget result = budgetService.createBudget(budget, user);
@@ -100,7 +111,7 @@ class BudgetServiceTest {
                 .localDateTime(LocalDateTime.now())
                 .build();
 
-        when(budgetRepository.findByNameAndUser(anyString(), any(User.class))).thenReturn(Optional.of(existingBudget));
+        when(budgetRepository.findByNameIndexAndUser(blindIndex.of("Test Budget"), user)).thenReturn(Optional.of(existingBudget));
 
         assertThrows(BudgetNotUniqueException.class, () -> budgetService.createBudget(budget, user));
         verify(budgetRepository, never()).save(any(Budget.class));
@@ -111,20 +122,78 @@ class BudgetServiceTest {
 
         User user = User.builder().id(1L).build();
 
-        Budget budget1 = Budget.builder().build();
-        Budget budget2 = Budget.builder().build();
-        List<Budget> budgets = Arrays.asList(budget1, budget2);
+        BudgetSummary budget1 = new BudgetSummary(1L, "Budget 1", BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+        BudgetSummary budget2 = new BudgetSummary(2L, "Budget 2", BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+        List<BudgetSummary> budgets = Arrays.asList(budget1, budget2);
 
-        when(budgetRepository.findAllByUser(user)).thenReturn(budgets);
+        when(budgetRepository.findSummariesByUser(user)).thenReturn(budgets);
 
-        List<Budget> allBudgetsByUser = budgetService.findAllBudgetsByUser(user);
+        List<BudgetSummary> allBudgetsByUser = budgetService.findAllBudgetsByUser(user);
 
         assertNotNull(allBudgetsByUser, "The result should not be null");
         assertEquals(2, allBudgetsByUser.size(), "The result list should contain two budget summaries");
-        verify(budgetRepository).findAllByUser(user);
+        verify(budgetRepository).findSummariesByUser(user);
         verifyNoMoreInteractions(budgetRepository);
     }
 
+    @Test
+    void findExpensesPage_StartsFromBeginningWithoutToken() throws InvalidInputException {
+
+        User user = User.builder().id(1L).build();
+        Slice<Expense> slice = new SliceImpl<>(List.of(Expense.builder().id(1L).build()), PageRequest.ofSize(10), false);
+        when(budgetRepository.existsByIdAndUserId(1L, 1L)).thenReturn(true);
+        when(expenseRepository.findByBudgetIdAndUserIdAndIdGreaterThanOrderByIdAsc(1L, 1L, 0L, PageRequest.ofSize(10))).thenReturn(slice);
+
+        Slice<Expense> result = budgetService.findExpensesPage(1L, user, null, 10);
+
+        assertEquals(slice, result);
+    }
+
+    @Test
+    void findIncomesPage_ContinuesAfterTokenId() throws InvalidInputException {
+
+        User user = User.builder().id(1L).build();
+        Slice<Income> slice = new SliceImpl<>(List.of(Income.builder().id(43L).build()), PageRequest.ofSize(1), true);
+        when(budgetRepository.existsByIdAndUserId(1L, 1L)).thenReturn(true);
+        when(incomeRepository.findByBudgetIdAndUserIdAndIdGreaterThanOrderByIdAsc(1L, 1L, 42L, PageRequest.ofSize(1))).thenReturn(slice);
+
+        Slice<Income> result = budgetService.findIncomesPage(1L, user, ContinuationToken.encode(42L), 1);
+
+        assertEquals(slice, result);
+    }
+
+    @Test
+    void findExpensesPage_InvalidPageSize_ThrowsException() {
+
+        User user = User.builder().id(1L).build();
+
+        assertThrows(InvalidInputException.class, () -> budgetService.findExpensesPage(1L, user, null, 0));
+        assertThrows(InvalidInputException.class, () -> budgetService.findExpensesPage(1L, user, null, BudgetService.MAX_PAGE_SIZE + 1));
+
+        verifyNoInteractions(expenseRepository);
+    }
+
+    @Test
+    void findExpensesPage_InvalidToken_ThrowsException() {
+
+        User user = User.builder().id(1L).build();
+
+        assertThrows(InvalidInputException.class, () -> budgetService.findExpensesPage(1L, user, "not-a-token", 10));
+
+        verifyNoInteractions(expenseRepository);
+    }
+
+    @Test
+    void findIncomesPage_BudgetNotFound_ThrowsException() {
+
+        User user = User.builder().id(1L).build();
+        when(budgetRepository.existsByIdAndUserId(1L, 1L)).thenReturn(false);
+
+        assertThrows(BudgetNotFoundException.class, () -> budgetService.findIncomesPage(1L, user, null, 10));
+
+        verifyNoInteractions(incomeRepository);
+    }
+
     @Test
     void findBudgetByIdAndUser_WhenBudgetExists() {
 
@@ -174,6 +243,11 @@ class BudgetServiceTest {
         assertNotNull(result);
         verify(expenseRepository).save(any(Expense.class));
         verify(budgetRepository).findByIdAndUser(anyLong(), any(User.class));
+        assertEquals(new BigDecimal("100"), budget.getTotalExpense());
+        assertEquals(BigDecimal.ZERO, budget.getBalance());
+        verify(budgetRepository).save(budget);
+        verify(expenseRepository, never()).findByBudget(any(Budget.class));
+        verify(categoryTotalService).applyExpenseDelta(budget, 1L, 2L, new BigDecimal("100"));
     }
 
     @Test
@@ -273,8 +347,17 @@ class BudgetServiceTest {
 
         User user = User.builder().id(1L).build();
 
+        Budget budget = Budget.builder()
+                .id(1L)
+                .totalIncome(new BigDecimal("500"))
+                .totalExpense(new BigDecimal("150"))
+                .balance(new BigDecimal("350"))
+                .build();
+
         Expense expense = Expense.builder()
                 .id(1L)
+                .amount(new BigDecimal("150"))
+                .budget(budget)
                 .user(user)
                 .build();
 
@@ -294,6 +377,12 @@ class BudgetServiceTest {
         assertNotNull(result);
         assertEquals(newExpense.getAmount(), result.getAmount());
         assertEquals(newExpense.getName(), result.getName());
+        assertEquals(new BigDecimal("200"), budget.getTotalExpense());
+        assertEquals(new BigDecimal("300"), budget.getBalance());
+        verify(budgetRepository).save(budget);
+        verify(expenseRepository, never()).findByBudget(any(Budget.class));
+        verify(categoryTotalService).applyExpenseDelta(budget, null, null, new BigDecimal("-150"));
+        verify(categoryTotalService).applyExpenseDelta(budget, 1L, 2L, new BigDecimal("200"));
     }
 
     @Test
@@ -347,8 +436,17 @@ class BudgetServiceTest {
                 .name("Test Expense")
                 .build();
 
+        Budget budget = Budget.builder()
+                .id(1L)
+                .totalIncome(new BigDecimal("500"))
+                .totalExpense(new BigDecimal("150"))
+                .balance(new BigDecimal("350"))
+                .build();
+
         Income income = Income.builder()
                 .id(1L)
+                .amount(new BigDecimal("500"))
+                .budget(budget)
                 .user(user)
                 .build();
 
@@ -361,6 +459,10 @@ class BudgetServiceTest {
         assertNotNull(result);
         assertEquals(newIncome.getAmount(), result.getAmount());
         assertEquals(newIncome.getName(), result.getName());
+        assertEquals(new BigDecimal("200"), budget.getTotalIncome());
+        assertEquals(new BigDecimal("50"), budget.getBalance());
+        verify(budgetRepository).save(budget);
+        verify(incomeRepository, never()).findByBudget(any(Budget.class));
     }
 
     @Test
@@ -432,280 +534,293 @@ class BudgetServiceTest {
     @Test
     void updateExpensesCategoryIdToNull() {
 
-        Long categoryId = 1L;
-        List<Expense> expenses = Arrays.asList(
-                Expense.builder().build(),
-                Expense.builder().build()
-        );
-        when(expenseRepository.findByIdCategory(categoryId)).thenReturn(expenses);
+        Long id = 1L;
+        User user = User.builder().id(2L).build();
+        when(expenseRepository.clearCategoryByIdCategoryAndUserId(id, user.getId())).thenReturn(3);
 
-        budgetService.updateExpensesCategoryIdToNull(categoryId);
+        budgetService.updateExpensesCategoryIdToNull(id, user);
 
-        verify(expenseRepository, times(1)).findByIdCategory(categoryId);
-        for (Expense expense : expenses) {
-            assertNull(expense.getIdCategory(), "Category ID should be null");
-            assertNull(expense.getIdSubCategory(), "Subcategory ID should be null");
-        }
-        verify(expenseRepository, times(1)).saveAll(expenses);
+        verify(expenseRepository, times(1)).clearCategoryByIdCategoryAndUserId(id, user.getId());
+        verify(expenseRepository, never()).saveAll(any());
     }
 
     @Test
     void updateIncomesCategoryIdToNull() {
 
-        Long idCategory = 1L;
-        List<Income> incomes = Arrays.asList(
-                Income.builder().build(),
-                Income.builder().build()
-        );
-        when(incomeRepository.findByIdCategory(idCategory)).thenReturn(incomes);
+        Long id = 1L;
+        User user = User.builder().id(2L).build();
+        when(incomeRepository.clearCategoryByIdCategoryAndUserId(id, user.getId())).thenReturn(3);
 
-        budgetService.updateIncomesCategoryIdToNull(idCategory);
+        budgetService.updateIncomesCategoryIdToNull(id, user);
 
-        verify(incomeRepository, times(1)).findByIdCategory(idCategory);
-        for (Income income : incomes) {
-            assertNull(income.getIdCategory(), "Category ID should be null");
-            assertNull(income.getIdSubCategory(), "Subcategory ID should be null");
-        }
+        verify(incomeRepository, times(1)).clearCategoryByIdCategoryAndUserId(id, user.getId());
+        verify(incomeRepository, never()).saveAll(any());
     }
 
     @Test
     void updateExpensesSubcategoryIdToNull() {
 
-        Long subcategoryId = 1L;
-        List<Expense> expenses = Arrays.asList(
-                Expense.builder().build(),
-                Expense.builder().build()
-        );
-        when(expenseRepository.findByIdSubCategory(subcategoryId)).thenReturn(expenses);
+        Long id = 1L;
+        User user = User.builder().id(2L).build();
+        when(expenseRepository.clearSubcategoryByIdSubCategoryAndUserId(id, user.getId())).thenReturn(3);
 
-        budgetService.updateExpensesSubcategoryIdToNull(subcategoryId);
+        budgetService.updateExpensesSubcategoryIdToNull(id, user);
 
-        verify(expenseRepository, times(1)).findByIdSubCategory(subcategoryId);
-        expenses.forEach(expense -> assertNull(expense.getIdSubCategory()));
+        verify(expenseRepository, times(1)).clearSubcategoryByIdSubCategoryAndUserId(id, user.getId());
+        verify(expenseRepository, never()).saveAll(any());
     }
 
     @Test
     void updateIncomesSubcategoryIdToNull() {
 
-        Long subcategoryId = 1L;
-        List<Income> incomes = Arrays.asList(
-                Income.builder().build(),
-                Income.builder().build()
-        );
-        incomes.forEach(income -> income.setIdSubCategory(subcategoryId));
-
-        when(incomeRepository.findByIdSubCategory(subcategoryId)).thenReturn(incomes);
+        Long id = 1L;
+        User user = User.builder().id(2L).build();
+        when(incomeRepository.clearSubcategoryByIdSubCategoryAndUserId(id, user.getId())).thenReturn(3);
 
-        budgetService.updateIncomesSubcategoryIdToNull(subcategoryId);
-
-        verify(incomeRepository, times(1)).findByIdSubCategory(subcategoryId);
-        incomes.forEach(income -> assertNull(income.getIdSubCategory()));
+        budgetService.updateIncomesSubcategoryIdToNull(id, user);
 
+        verify(incomeRepository, times(1)).clearSubcategoryByIdSubCategoryAndUserId(id, user.getId());
+        verify(incomeRepository, never()).saveAll(any());
     }
 
     @Test
-    void getTotalExpensesByCategory_ReturnsCorrectValue() {
-
+    void getTotalExpensesByCategory_ReturnsStoredTotal() {
         Long budgetId = 1L;
-        Long categoryId = 1L;
+        Long categoryId = 2L;
         User user = User.builder().id(1L).build();
-        BigDecimal expectedTotalExpenses = new BigDecimal("100.00");
+        Budget budget = Budget.builder().id(budgetId).categoryTotalsInitialized(true).build();
+        when(budgetRepository.findByIdAndUser(budgetId, user)).thenReturn(Optional.of(budget));
+        when(categoryTotalService.findTotal(budgetId, TypeAggregate.EXPENSES_BY_CATEGORY, categoryId)).thenReturn(new BigDecimal("150.00"));
 
-        Expense expense = Expense.builder()
-                .amount(expectedTotalExpenses)
-                .build();
-        List<Expense> expenses = Arrays.asList(expense);
+        FinancialAggregate result = budgetService.getTotalExpensesByCategory(budgetId, categoryId, user);
+
+        assertEquals(new BigDecimal("150.00"), result.getValue());
+        assertEquals(categoryId, result.getCategoryId());
+        assertEquals(TypeAggregate.EXPENSES_BY_CATEGORY, result.getTypeAggregate());
+        verify(categoryTotalService, never()).initializeTotals(anyLong());
+        verify(expenseRepository, never()).findByIdCategoryAndUserIdAndBudgetId(anyLong(), anyLong(), anyLong());
+    }
 
-        when(expenseRepository.findByIdCategoryAndUserIdAndBudgetId(budgetId, categoryId, user.getId())).thenReturn(expenses);
+    @Test
+    void getTotalExpensesByCategory_InitializesTotalsOnFirstRead() {
+        Long budgetId = 1L;
+        Long categoryId = 2L;
+        User user = User.builder().id(1L).build();
+        Budget budget = Budget.builder().id(budgetId).build();
+        when(budgetRepository.findByIdAndUser(budgetId, user)).thenReturn(Optional.of(budget));
+        when(categoryTotalService.findTotal(budgetId, TypeAggregate.EXPENSES_BY_CATEGORY, categoryId)).thenReturn(new BigDecimal("30"));
 
         FinancialAggregate result = budgetService.getTotalExpensesByCategory(budgetId, categoryId, user);
 
-        assertNotNull(result);
-        verify(expenseRepository, times(1)).findByIdCategoryAndUserIdAndBudgetId(budgetId, categoryId, user.getId());
-        assertEquals(expectedTotalExpenses, result.getValue());
-
+        assertEquals(new BigDecimal("30"), result.getValue());
+        verify(categoryTotalService, times(1)).initializeTotals(budgetId);
     }
 
     @Test
-    void getTotalExpensesByCategory_NoExpensesFound() {
+    void getTotalExpensesByCategory_ReturnsZeroWhenBudgetNotOwned() {
         Long budgetId = 1L;
-        Long categoryId = 1L;
+        Long categoryId = 2L;
         User user = User.builder().id(1L).build();
-        when(expenseRepository.findByIdCategoryAndUserIdAndBudgetId(budgetId, categoryId, user.getId())).thenReturn(null);
+        when(budgetRepository.findByIdAndUser(budgetId, user)).thenReturn(Optional.empty());
 
         FinancialAggregate result = budgetService.getTotalExpensesByCategory(budgetId, categoryId, user);
 
-        assertNotNull(result);
         assertEquals(BigDecimal.ZERO, result.getValue());
+        verifyNoInteractions(categoryTotalService);
     }
 
     @Test
-    void getTotalExpensesByCategory_ExceptionThrown() {
+    void getTotalExpensesByCategory_ThrowsRetrievalException() {
         Long budgetId = 1L;
-        Long categoryId = 1L;
+        Long categoryId = 2L;
         User user = User.builder().id(1L).build();
-        when(expenseRepository.findByIdCategoryAndUserIdAndBudgetId(budgetId, categoryId, user.getId())).thenThrow(new RuntimeException("Database error"));
-
-        Exception exception = assertThrows(TotalExpensesRetrievalException.class, () -> {
-            budgetService.getTotalExpensesByCategory(budgetId, categoryId, user);
-        });
+        Budget budget = Budget.builder().id(budgetId).categoryTotalsInitialized(true).build();
+        when(budgetRepository.findByIdAndUser(budgetId, user)).thenReturn(Optional.of(budget));
+        when(categoryTotalService.findTotal(budgetId, TypeAggregate.EXPENSES_BY_CATEGORY, categoryId)).thenThrow(new RuntimeException("Database error"));
 
-        String expectedMessage = "Error retrieving total expenses for budget ID: " + budgetId + ", category ID: " + categoryId + ", and user ID: " + user.getId();
-        String actualMessage = exception.getMessage();
+        Exception exception = assertThrows(TotalExpensesRetrievalException.class, () -> budgetService.getTotalExpensesByCategory(budgetId, categoryId, user));
 
-        assertTrue(actualMessage.contains(expectedMessage));
+        assertTrue(exception.getMessage().contains("budget ID: " + budgetId + ", category ID: " + categoryId));
     }
 
     @Test
-    void getTotalExpensesBySubcategory_ExpensesFound() {
-
+    void getTotalExpensesBySubcategory_ReturnsStoredTotal() {
         Long budgetId = 1L;
-        Long subcategoryId = 1L;
+        Long subcategoryId = 2L;
         User user = User.builder().id(1L).build();
-        BigDecimal expectedTotalExpenses = new BigDecimal("100.00");
+        Budget budget = Budget.builder().id(budgetId).categoryTotalsInitialized(true).build();
+        when(budgetRepository.findByIdAndUser(budgetId, user)).thenReturn(Optional.of(budget));
+        when(categoryTotalService.findTotal(budgetId, TypeAggregate.EXPENSES_BY_SUBCATEGORY, subcategoryId)).thenReturn(new BigDecimal("150.00"));
 
-        Expense expense = Expense.builder()
-                .amount(expectedTotalExpenses)
-                .build();
-        List<Expense> expenses = Arrays.asList(expense);
-
-        when(expenseRepository.findByIdSubCategoryAndUserIdAndBudgetId(budgetId, subcategoryId, user.getId())).thenReturn(expenses);
         FinancialAggregate result = budgetService.getTotalExpensesBySubcategory(budgetId, subcategoryId, user);
 
-        assertNotNull(result);
-        assertEquals(expectedTotalExpenses, result.getValue());
+        assertEquals(new BigDecimal("150.00"), result.getValue());
+        assertEquals(subcategoryId, result.getSubcategoryId());
+        assertEquals(TypeAggregate.EXPENSES_BY_SUBCATEGORY, result.getTypeAggregate());
+        verify(categoryTotalService, never()).initializeTotals(anyLong());
+        verify(expenseRepository, never()).findByIdSubCategoryAndUserIdAndBudgetId(anyLong(), anyLong(), anyLong());
     }
 
     @Test
-    void getTotalExpensesBySubcategory_NoExpensesFound() {
-
+    void getTotalExpensesBySubcategory_InitializesTotalsOnFirstRead() {
         Long budgetId = 1L;
-        Long subcategoryId = 1L;
+        Long subcategoryId = 2L;
         User user = User.builder().id(1L).build();
+        Budget budget = Budget.builder().id(budgetId).build();
+        when(budgetRepository.findByIdAndUser(budgetId, user)).thenReturn(Optional.of(budget));
+        when(categoryTotalService.findTotal(budgetId, TypeAggregate.EXPENSES_BY_SUBCATEGORY, subcategoryId)).thenReturn(new BigDecimal("30"));
 
-        when(expenseRepository.findByIdSubCategoryAndUserIdAndBudgetId(budgetId, subcategoryId, user.getId())).thenReturn(null);
+        FinancialAggregate result = budgetService.getTotalExpensesBySubcategory(budgetId, subcategoryId, user);
+
+        assertEquals(new BigDecimal("30"), result.getValue());
+        verify(categoryTotalService, times(1)).initializeTotals(budgetId);
+    }
+
+    @Test
+    void getTotalExpensesBySubcategory_ReturnsZeroWhenBudgetNotOwned() {
+        Long budgetId = 1L;
+        Long subcategoryId = 2L;
+        User user = User.builder().id(1L).build();
+        when(budgetRepository.findByIdAndUser(budgetId, user)).thenReturn(Optional.empty());
 
         FinancialAggregate result = budgetService.getTotalExpensesBySubcategory(budgetId, subcategoryId, user);
 
-        assertNotNull(result);
         assertEquals(BigDecimal.ZERO, result.getValue());
+        verifyNoInteractions(categoryTotalService);
     }
 
     @Test
-    void getTotalExpensesBySubcategory_ThrowsException() {
-
+    void getTotalExpensesBySubcategory_ThrowsRetrievalException() {
         Long budgetId = 1L;
-        Long subcategoryId = 1L;
+        Long subcategoryId = 2L;
         User user = User.builder().id(1L).build();
+        Budget budget = Budget.builder().id(budgetId).categoryTotalsInitialized(true).build();
+        when(budgetRepository.findByIdAndUser(budgetId, user)).thenReturn(Optional.of(budget));
+        when(categoryTotalService.findTotal(budgetId, TypeAggregate.EXPENSES_BY_SUBCATEGORY, subcategoryId)).thenThrow(new RuntimeException("Database error"));
 
-        when(expenseRepository.findByIdSubCategoryAndUserIdAndBudgetId(budgetId, subcategoryId, user.getId())).thenThrow(new RuntimeException("Database error"));
-
+        Exception exception = assertThrows(TotalExpensesRetrievalException.class, () -> budgetService.getTotalExpensesBySubcategory(budgetId, subcategoryId, user));
 
-        assertThrows(TotalExpensesRetrievalException.class, () -> budgetService.getTotalExpensesBySubcategory(budgetId, subcategoryId, user));
+        assertTrue(exception.getMessage().contains("budget ID: " + budgetId + ", subcategory ID: " + subcategoryId));
     }
 
     @Test
-    void getTotalIncomesByCategory_WithIncomes() {
-
+    void getTotalIncomesByCategory_ReturnsStoredTotal() {
         Long budgetId = 1L;
-        Long categoryId = 1L;
+        Long categoryId = 2L;
         User user = User.builder().id(1L).build();
-        BigDecimal expectedTotalIncomes = new BigDecimal("1000");
-        Income income1 = Income.builder()
-                .amount(new BigDecimal("500"))
-                .build();
-        Income income2 = Income.builder()
-                .amount(new BigDecimal("500"))
-                .build();
-        List<Income> incomes = Arrays.asList(income1, income2);
+        Budget budget = Budget.builder().id(budgetId).categoryTotalsInitialized(true).build();
+        when(budgetRepository.findByIdAndUser(budgetId, user)).thenReturn(Optional.of(budget));
+        when(categoryTotalService.findTotal(budgetId, TypeAggregate.INCOMES_BY_CATEGORY, categoryId)).thenReturn(new BigDecimal("150.00"));
 
-        when(incomeRepository.findByIdCategoryAndUserIdAndBudgetId(budgetId, categoryId, user.getId())).thenReturn(incomes);
+        FinancialAggregate result = budgetService.getTotalIncomesByCategory(budgetId, categoryId, user);
 
+        assertEquals(new BigDecimal("150.00"), result.getValue());
+        assertEquals(categoryId, result.getCategoryId());
+        assertEquals(TypeAggregate.INCOMES_BY_CATEGORY, result.getTypeAggregate());
+        verify(categoryTotalService, never()).initializeTotals(anyLong());
+        verify(incomeRepository, never()).findByIdCategoryAndUserIdAndBudgetId(anyLong(), anyLong(), anyLong());
+    }
 
-        FinancialAggregate result = budgetService.getTotalIncomesByCategory(budgetId, categoryId, user);
+    @Test
+    void getTotalIncomesByCategory_InitializesTotalsOnFirstRead() {
+        Long budgetId = 1L;
+        Long categoryId = 2L;
+        User user = User.builder().id(1L).build();
+        Budget budget = Budget.builder().id(budgetId).build();
+        when(budgetRepository.findByIdAndUser(budgetId, user)).thenReturn(Optional.of(budget));
+        when(categoryTotalService.findTotal(budgetId, TypeAggregate.INCOMES_BY_CATEGORY, categoryId)).thenReturn(new BigDecimal("30"));
 
+        FinancialAggregate result = budgetService.getTotalIncomesByCategory(budgetId, categoryId, user);
 
-        assertNotNull(result);
-        assertEquals(expectedTotalIncomes, result.getValue());
-        verify(incomeRepository, times(1)).findByIdCategoryAndUserIdAndBudgetId(budgetId, categoryId, user.getId());
+        assertEquals(new BigDecimal("30"), result.getValue());
+        verify(categoryTotalService, times(1)).initializeTotals(budgetId);
     }
 
     @Test
-    void getTotalIncomesByCategory_WithNoIncomes() {
-
+    void getTotalIncomesByCategory_ReturnsZeroWhenBudgetNotOwned() {
         Long budgetId = 1L;
-        Long categoryId = 1L;
+        Long categoryId = 2L;
         User user = User.builder().id(1L).build();
-        when(incomeRepository.findByIdCategoryAndUserIdAndBudgetId(budgetId, categoryId, user.getId())).thenReturn(null);
-
+        when(budgetRepository.findByIdAndUser(budgetId, user)).thenReturn(Optional.empty());
 
         FinancialAggregate result = budgetService.getTotalIncomesByCategory(budgetId, categoryId, user);
 
-
-        assertNotNull(result);
         assertEquals(BigDecimal.ZERO, result.getValue());
-        verify(incomeRepository, times(1)).findByIdCategoryAndUserIdAndBudgetId(budgetId, categoryId, user.getId());
+        verifyNoInteractions(categoryTotalService);
     }
 
     @Test
-    void getTotalIncomesByCategory_ThrowsException() {
-
+    void getTotalIncomesByCategory_ThrowsRetrievalException() {
         Long budgetId = 1L;
-        Long categoryId = 1L;
+        Long categoryId = 2L;
         User user = User.builder().id(1L).build();
-        when(incomeRepository.findByIdCategoryAndUserIdAndBudgetId(anyLong(), anyLong(), anyLong())).thenThrow(new RuntimeException("Database error"));
+        Budget budget = Budget.builder().id(budgetId).categoryTotalsInitialized(true).build();
+        when(budgetRepository.findByIdAndUser(budgetId, user)).thenReturn(Optional.of(budget));
+        when(categoryTotalService.findTotal(budgetId, TypeAggregate.INCOMES_BY_CATEGORY, categoryId)).thenThrow(new RuntimeException("Database error"));
 
-        assertThrows(TotalIncomesRetrievalException.class, () -> budgetService.getTotalIncomesByCategory(budgetId, categoryId, user));
-        verify(incomeRepository, times(1)).findByIdCategoryAndUserIdAndBudgetId(budgetId, categoryId, user.getId());
+        Exception exception = assertThrows(TotalIncomesRetrievalException.class, () -> budgetService.getTotalIncomesByCategory(budgetId, categoryId, user));
+
+        assertTrue(exception.getMessage().contains("budget ID: " + budgetId + ", category ID: " + categoryId));
     }
 
     @Test
-    void getTotalIncomesBySubcategoryReturnsCorrectValue() {
-
+    void getTotalIncomesBySubcategory_ReturnsStoredTotal() {
         Long budgetId = 1L;
-        Long subcategoryId = 1L;
+        Long subcategoryId = 2L;
         User user = User.builder().id(1L).build();
-        BigDecimal expectedTotalIncomes = new BigDecimal("1000");
+        Budget budget = Budget.builder().id(budgetId).categoryTotalsInitialized(true).build();
+        when(budgetRepository.findByIdAndUser(budgetId, user)).thenReturn(Optional.of(budget));
+        when(categoryTotalService.findTotal(budgetId, TypeAggregate.INCOMES_BY_SUBCATEGORY, subcategoryId)).thenReturn(new BigDecimal("150.00"));
 
-        Income income1 = Income.builder()
-                .amount(new BigDecimal("500"))
-                .build();
-        Income income2 = Income.builder()
-                .amount(new BigDecimal("500"))
-                .build();
-        List<Income> incomes = Arrays.asList(income1, income2);
+        FinancialAggregate result = budgetService.getTotalIncomesBySubcategory(budgetId, subcategoryId, user);
 
-        when(incomeRepository.findByIdSubCategoryAndUserIdAndBudgetId(budgetId, subcategoryId, user.getId())).thenReturn(incomes);
+        assertEquals(new BigDecimal("150.00"), result.getValue());
+        assertEquals(subcategoryId, result.getSubcategoryId());
+        assertEquals(TypeAggregate.INCOMES_BY_SUBCATEGORY, result.getTypeAggregate());
+        verify(categoryTotalService, never()).initializeTotals(anyLong());
+        verify(incomeRepository, never()).findByIdSubCategoryAndUserIdAndBudgetId(anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    void getTotalIncomesBySubcategory_InitializesTotalsOnFirstRead() {
+        Long budgetId = 1L;
+        Long subcategoryId = 2L;
+        User user = User.builder().id(1L).build();
+        Budget budget = Budget.builder().id(budgetId).build();
+        when(budgetRepository.findByIdAndUser(budgetId, user)).thenReturn(Optional.of(budget));
+        when(categoryTotalService.findTotal(budgetId, TypeAggregate.INCOMES_BY_SUBCATEGORY, subcategoryId)).thenReturn(new BigDecimal("30"));
 
         FinancialAggregate result = budgetService.getTotalIncomesBySubcategory(budgetId, subcategoryId, user);
 
-        assertNotNull(result);
-        assertEquals(expectedTotalIncomes, result.getValue());
+        assertEquals(new BigDecimal("30"), result.getValue());
+        verify(categoryTotalService, times(1)).initializeTotals(budgetId);
     }
 
     @Test
-    void getTotalIncomesBySubcategoryReturnsZeroWhenNoIncomesFound() {
-
+    void getTotalIncomesBySubcategory_ReturnsZeroWhenBudgetNotOwned() {
         Long budgetId = 1L;
-        Long subcategoryId = 1L;
+        Long subcategoryId = 2L;
         User user = User.builder().id(1L).build();
-        when(incomeRepository.findByIdSubCategoryAndUserIdAndBudgetId(budgetId, subcategoryId, user.getId())).thenReturn(null);
+        when(budgetRepository.findByIdAndUser(budgetId, user)).thenReturn(Optional.empty());
 
         FinancialAggregate result = budgetService.getTotalIncomesBySubcategory(budgetId, subcategoryId, user);
 
-        assertNotNull(result);
         assertEquals(BigDecimal.ZERO, result.getValue());
+        verifyNoInteractions(categoryTotalService);
     }
 
     @Test
-    void getTotalIncomesBySubcategoryThrowsExceptionOnFailure() {
-
+    void getTotalIncomesBySubcategory_ThrowsRetrievalException() {
         Long budgetId = 1L;
-        Long subcategoryId = 1L;
+        Long subcategoryId = 2L;
         User user = User.builder().id(1L).build();
-        when(incomeRepository.findByIdSubCategoryAndUserIdAndBudgetId(anyLong(), anyLong(), anyLong())).thenThrow(new RuntimeException("Database error"));
+        Budget budget = Budget.builder().id(budgetId).categoryTotalsInitialized(true).build();
+        when(budgetRepository.findByIdAndUser(budgetId, user)).thenReturn(Optional.of(budget));
+        when(categoryTotalService.findTotal(budgetId, TypeAggregate.INCOMES_BY_SUBCATEGORY, subcategoryId)).thenThrow(new RuntimeException("Database error"));
 
-        assertThrows(TotalIncomesRetrievalException.class, () -> budgetService.getTotalIncomesBySubcategory(budgetId, subcategoryId, user));
+        Exception exception = assertThrows(TotalIncomesRetrievalException.class, () -> budgetService.getTotalIncomesBySubcategory(budgetId, subcategoryId, user));
+
+        assertTrue(exception.getMessage().contains("budget ID: " + budgetId + ", subcategory ID: " + subcategoryId));
     }
 
     @Test
@@ -713,23 +828,42 @@ class BudgetServiceTest {
 
         User testUser = User.builder().id(1L).build();
         Long testBudgetId = 2L;
-        when(budgetRepository.existsByIdAndUserId(testBudgetId, testUser.getId())).thenReturn(true);
+        when(expenseRepository.deleteByBudgetIdAndUserId(testBudgetId, testUser.getId())).thenReturn(120_000);
+        when(incomeRepository.deleteByBudgetIdAndUserId(testBudgetId, testUser.getId())).thenReturn(300);
+        when(budgetRepository.deleteByIdAndUserId(testBudgetId, testUser.getId())).thenReturn(1);
+
+        BudgetDeletion result = budgetService.deleteBudgetByIdAndUser(testBudgetId, testUser);
+
+        assertEquals(testBudgetId, result.getBudgetId());
+        assertEquals(120_000, result.getExpensesDeleted());
+        assertEquals(300, result.getIncomesDeleted());
+        InOrder inOrder = inOrder(expenseRepository, incomeRepository, budgetRepository);
+        inOrder.verify(expenseRepository).deleteByBudgetIdAndUserId(testBudgetId, testUser.getId());
+        inOrder.verify(incomeRepository).deleteByBudgetIdAndUserId(testBudgetId, testUser.getId());
+        inOrder.verify(budgetRepository).deleteByIdAndUserId(testBudgetId, testUser.getId());
+        verify(expenseRepository, never()).findByBudgetId(anyLong());
+        verify(incomeRepository, never()).findByBudgetId(anyLong());
+    }
+
+    @Test
+    void deleteBudgetByIdAndUser_WhenBudgetDoesNotExist() {
 
-        budgetService.deleteBudgetByIdAndUser(testBudgetId, testUser);
+        User testUser = User.builder().id(1L).build();
+        Long testBudgetId = 2L;
+        when(budgetRepository.deleteByIdAndUserId(testBudgetId, testUser.getId())).thenReturn(0);
 
-        verify(budgetRepository).deleteBudgetByIdAndUser(testBudgetId, testUser);
-        verify(expenseRepository).findByBudgetId(testBudgetId);
-        verify(incomeRepository).findByBudgetId(testBudgetId);
+        assertThrows(BudgetNotFoundException.class, () -> budgetService.deleteBudgetByIdAndUser(testBudgetId, testUser));
     }
 
     @Test
-    void deleteBudgetByIdAndUser_WhenBudgetDoesNotExist() {
+    void deleteBudgetByIdAndUser_WhenDeleteFails() {
 
         User testUser = User.builder().id(1L).build();
         Long testBudgetId = 2L;
-        when(budgetRepository.existsByIdAndUserId(testBudgetId, testUser.getId())).thenReturn(false);
+        when(incomeRepository.deleteByBudgetIdAndUserId(testBudgetId, testUser.getId())).thenThrow(new RuntimeException("Database error"));
 
         assertThrows(BudgetNotFoundException.class, () -> budgetService.deleteBudgetByIdAndUser(testBudgetId, testUser));
+        verify(budgetRepository, never()).deleteByIdAndUserId(anyLong(), anyLong());
     }
 
     @Test
@@ -739,14 +873,27 @@ class BudgetServiceTest {
         Long budgetId = 1L;
         User user = User.builder().id(1L).build();
 
+        Budget budget = Budget.builder()
+                .id(budgetId)
+                .totalIncome(new BigDecimal("500"))
+                .totalExpense(new BigDecimal("150"))
+                .build();
+
         Expense expense = Expense.builder()
+                .amount(new BigDecimal("100"))
+                .idCategory(4L)
                 .build();
 
         when(expenseRepository.findByIdAndUserIdAndBudgetId(expenseId, user.getId(), budgetId)).thenReturn(Optional.of(expense));
+        when(budgetRepository.findById(budgetId)).thenReturn(Optional.of(budget));
 
         budgetService.deleteExpenseByIdAndUser(expenseId, user, budgetId);
 
         verify(expenseRepository, times(1)).deleteExpenseByIdAndUserAndBudgetId(expenseId, user, budgetId);
+        assertEquals(new BigDecimal("50"), budget.getTotalExpense());
+        assertEquals(new BigDecimal("450"), budget.getBalance());
+        verify(budgetRepository).save(budget);
+        verify(categoryTotalService).applyExpenseDelta(budget, 4L, null, new BigDecimal("-100"));
     }
 
     @Test
@@ -770,12 +917,50 @@ class BudgetServiceTest {
         Long incomeId = 2L;
         Long budgetId = 3L;
 
-        Income income = Income.builder().build();
+        Budget budget = Budget.builder()
+                .id(budgetId)
+                .totalIncome(new BigDecimal("500"))
+                .totalExpense(new BigDecimal("150"))
+                .build();
+
+        Income income = Income.builder().amount(new BigDecimal("200")).build();
         when(incomeRepository.findByIdAndUserIdAndBudgetId(incomeId, user.getId(), budgetId)).thenReturn(Optional.of(income));
+        when(budgetRepository.findById(budgetId)).thenReturn(Optional.of(budget));
 
         budgetService.deleteIncomeByIdAndUser(incomeId, user, budgetId);
 
         verify(incomeRepository).deleteExpenseByIdAndUserAndBudgetId(incomeId, user, budgetId);
+        assertEquals(new BigDecimal("300"), budget.getTotalIncome());
+        assertEquals(new BigDecimal("150"), budget.getBalance());
+        verify(budgetRepository).save(budget);
+    }
+
+    @Test
+    void applyTotalsDelta_WhenBudgetExists() {
+
+        Budget budget = Budget.builder()
+                .id(1L)
+                .totalIncome(new BigDecimal("100"))
+                .totalExpense(new BigDecimal("40"))
+                .build();
+        when(budgetRepository.findById(1L)).thenReturn(Optional.of(budget));
+
+        budgetService.applyTotalsDelta(1L, new BigDecimal("900"), new BigDecimal("60"));
+
+        assertEquals(new BigDecimal("1000"), budget.getTotalIncome());
+        assertEquals(new BigDecimal("100"), budget.getTotalExpense());
+        assertEquals(new BigDecimal("900"), budget.getBalance());
+        verify(budgetRepository).save(budget);
+    }
+
+    @Test
+    void applyTotalsDelta_WhenBudgetDoesNotExist() {
+
+        when(budgetRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(BudgetNotFoundException.class, () -> budgetService.applyTotalsDelta(1L, BigDecimal.ONE, BigDecimal.ONE));
+
+        verify(budgetRepository, never()).save(any(Budget.class));
     }
 
     @Test
@@ -902,17 +1087,4 @@ class BudgetServiceTest {
         verify(expenseRepository).findByBudgetIdAndUser(budget.getId(), user);
     }
 
-    @Test
-    void saveExpenseFromCsv_ShouldCallRepositorySaveMethod() {
-        Expense expense = mock(Expense.class);
-        budgetService.saveExpenseFromCsv(expense);
-        verify(expenseRepository).save(expense);
-    }
-
-    @Test
-    void saveIncomeFromCsv_ShouldCallRepositorySaveMethod() {
-        Income income = mock(Income.class);
-        budgetService.saveIncomeFromCsv(income);
-        verify(incomeRepository).save(income);
-    }
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ import com.myfund.exceptions.CategoryNotUniqueException;
 import com.myfund.exceptions.InvalidInputException;
 import com.myfund.exceptions.SubcategoryNotFoundException;
 import com.myfund.models.Category;
+import com.myfund.models.CategoryLink;
 import com.myfund.models.DTOs.CategoryDTO;
 import com.myfund.models.DTOs.CreateCategoryDTO;
 import com.myfund.models.DTOs.CreateSubCategoryDTO;
@@ -13,11 +14,13 @@ import com.myfund.models.SubCategory;
 import com.myfund.models.User;
 import com.myfund.repositories.CategoryRepository;
 import com.myfund.repositories.SubCategoryRepository;
+import com.myfund.services.encryption.BlindIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -38,6 +41,15 @@ class CategoryServiceTest {
     @Mock
     private BudgetService budgetService;
 
+    @Mock
+    private CategoryTotalService categoryTotalService;
+
+    @Mock
+    private CategoryTreeCache categoryTreeCache;
+
+    @Spy
+    private BlindIndex blindIndex = new BlindIndex("test-blind-index-key");
+
     @InjectMocks
     private CategoryService categoryService;
 
@@ -73,7 +85,7 @@ class CategoryServiceTest {
         category2.setSubCategories(Arrays.asList(subCategory2));
 
         List<Category> categories = Arrays.asList(category1, category2);
-        when(categoryRepository.findAllCategoriesByUser(mockUser)).thenReturn(categories);
+        when(categoryRepository.findAllWithSubCategoriesByUser(mockUser)).thenReturn(categories);
         List<Category> result = categoryService.findAllCategoriesByUser(mockUser);
 
         assertNotNull(result, "The result should not be null");
@@ -83,7 +95,7 @@ class CategoryServiceTest {
         assertEquals(category2.getId(), result.get(1).getId(), "The ID of the second category does not match");
         assertEquals(category2.getName(), result.get(1).getName(), "The name of the second category does not match");
 
-        verify(categoryRepository, times(1)).findAllCategoriesByUser(mockUser);
+        verify(categoryRepository, times(1)).findAllWithSubCategoriesByUser(mockUser);
     }
 
     @Test
@@ -138,7 +150,7 @@ class CategoryServiceTest {
                 .subCategories(new ArrayList<>())
                 .build();
 
-        when(categoryRepository.findByNameAndUser(category.getName(), user)).thenReturn(Optional.empty());
+        when(categoryRepository.findByNameIndexAndUser(blindIndex.of(category.getName()), user)).thenReturn(Optional.empty());
         when(categoryRepository.save(any(Category.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         Category result = categoryService.createCategory(category, user);
@@ -146,8 +158,9 @@ class CategoryServiceTest {
         assertNotNull(result, "The result should not be null");
         assertEquals(category.getName(), result.getName(), "The name of the category does not match");
 
-        verify(categoryRepository, times(1)).findByNameAndUser(category.getName(), user);
+        verify(categoryRepository, times(1)).findByNameIndexAndUser(blindIndex.of(category.getName()), user);
         verify(categoryRepository, times(1)).save(any(Category.class));
+        verify(categoryTreeCache, times(1)).evict(user.getId());
     }
 
     @Test
@@ -168,12 +181,12 @@ class CategoryServiceTest {
                 .subCategories(Arrays.asList(SubCategory.builder().build()))
                 .build();
 
-        when(categoryRepository.findByNameAndUser(category.getName(), user)).thenReturn(Optional.of(existingCategory));
+        when(categoryRepository.findByNameIndexAndUser(blindIndex.of(category.getName()), user)).thenReturn(Optional.of(existingCategory));
 
         assertThrows(CategoryNotUniqueException.class, () -> categoryService.createCategory(category, user),
                 "Category already exists for this user");
 
-        verify(categoryRepository, times(1)).findByNameAndUser(category.getName(), user);
+        verify(categoryRepository, times(1)).findByNameIndexAndUser(blindIndex.of(category.getName()), user);
         verify(categoryRepository, never()).save(any(Category.class));
     }
 
@@ -206,6 +219,7 @@ class CategoryServiceTest {
         assertEquals("Updated Category", updatedCategory.getName(), "Category name should be updated");
         verify(categoryRepository, times(1)).findByIdAndUser(categoryId, user);
         verify(categoryRepository, times(1)).save(any(Category.class));
+        verify(categoryTreeCache, times(1)).evict(user.getId());
     }
 
     @Test
@@ -236,14 +250,17 @@ class CategoryServiceTest {
 
         Category category = Category.builder()
                 .id(categoryId)
+                .subCategories(List.of(SubCategory.builder().id(5L).build()))
                 .build();
 
         when(categoryRepository.findByIdAndUser(categoryId, user)).thenReturn(Optional.of(category));
         categoryService.deleteCategoryByIdAndUser(categoryId, user);
 
         verify(categoryRepository, times(1)).delete(category);
-        verify(budgetService, times(1)).updateExpensesCategoryIdToNull(categoryId);
-        verify(budgetService, times(1)).updateIncomesCategoryIdToNull(categoryId);
+        verify(budgetService, times(1)).updateExpensesCategoryIdToNull(categoryId, user);
+        verify(budgetService, times(1)).updateIncomesCategoryIdToNull(categoryId, user);
+        verify(categoryTotalService, times(1)).deleteTotalsForCategory(categoryId, List.of(5L));
+        verify(categoryTreeCache, times(1)).evict(user.getId());
     }
 
     @Test
@@ -266,19 +283,14 @@ class CategoryServiceTest {
         Long subcategoryId = 1L;
         User user = User.builder().id(1L).build();
 
-        Category category = Category.builder()
-                .id(categoryId)
-                .build();
-
-        SubCategory subCategory = SubCategory.builder().id(subcategoryId).name("Test Subcategory").build();
-        category.setSubCategories(List.of(subCategory));
-
-        when(categoryRepository.findByIdAndUser(categoryId, user)).thenReturn(Optional.of(category));
+        when(categoryTreeCache.get(user.getId())).thenReturn(CategoryTree.of(List.of(
+                new CategoryLink(categoryId, subcategoryId), new CategoryLink(categoryId, 3L), new CategoryLink(2L, 4L))));
 
         boolean result = categoryService.isSubcategoryRelatedToCategory(subcategoryId, categoryId, user);
 
         assertTrue(result, "Subcategory should be related to the category");
-        verify(categoryRepository, times(1)).findByIdAndUser(categoryId, user);
+        verify(categoryTreeCache, times(1)).get(user.getId());
+        verifyNoInteractions(categoryRepository);
     }
 
     @Test
@@ -287,19 +299,13 @@ class CategoryServiceTest {
         Long subcategoryId = 2L;
         User user = User.builder().id(1L).build();
 
-        Category category = Category.builder()
-                .id(categoryId)
-                .build();
-
-        SubCategory subCategory = SubCategory.builder().id(1L).name("Test Subcategory").build();
-        category.setSubCategories(List.of(subCategory));
-
-        when(categoryRepository.findByIdAndUser(categoryId, user)).thenReturn(Optional.of(category));
+        when(categoryTreeCache.get(user.getId())).thenReturn(CategoryTree.of(List.of(
+                new CategoryLink(categoryId, 1L), new CategoryLink(3L, subcategoryId))));
 
         boolean result = categoryService.isSubcategoryRelatedToCategory(subcategoryId, categoryId, user);
 
         assertFalse(result, "Subcategory should not be related to the category");
-        verify(categoryRepository, times(1)).findByIdAndUser(categoryId, user);
+        verifyNoInteractions(categoryRepository);
     }
 
     @Test
@@ -308,18 +314,20 @@ class CategoryServiceTest {
         Long subcategoryId = 1L;
         User user = User.builder().id(1L).build();
 
-        Category category = Category.builder()
-                .id(categoryId)
-                .user(user)
-                .subCategories(new ArrayList<>())
-                .build();
-
-        when(categoryRepository.findByIdAndUser(categoryId, user)).thenReturn(Optional.of(category));
+        when(categoryTreeCache.get(user.getId())).thenReturn(CategoryTree.of(List.of(new CategoryLink(categoryId, null))));
 
         boolean result = categoryService.isSubcategoryRelatedToCategory(subcategoryId, categoryId, user);
 
         assertFalse(result, "Subcategory relation cannot be established if subcategory list is empty");
-        verify(categoryRepository, times(1)).findByIdAndUser(categoryId, user);
+    }
+
+    @Test
+    void isSubcategoryRelatedToCategory_WhenCategoryNotFound() {
+        User user = User.builder().id(1L).build();
+
+        when(categoryTreeCache.get(user.getId())).thenReturn(CategoryTree.of(List.of()));
+
+        assertThrows(CategoryNotFoundException.class, () -> categoryService.isSubcategoryRelatedToCategory(1L, 1L, user));
     }
 
     @Test
@@ -341,9 +349,11 @@ class CategoryServiceTest {
 
         categoryService.deleteSubcategoryByIdsAndUser(categoryId, subcategoryId, user);
 
-        verify(budgetService, times(1)).updateExpensesSubcategoryIdToNull(subcategoryId);
-        verify(budgetService, times(1)).updateIncomesSubcategoryIdToNull(subcategoryId);
+        verify(budgetService, times(1)).updateExpensesSubcategoryIdToNull(subcategoryId, user);
+        verify(budgetService, times(1)).updateIncomesSubcategoryIdToNull(subcategoryId, user);
+        verify(categoryTotalService, times(1)).deleteTotalsForSubcategory(subcategoryId);
         verify(subCategoryRepository, times(1)).delete(subCategory);
+        verify(categoryTreeCache, times(1)).evict(user.getId());
         verify(categoryRepository, times(1)).findByIdAndUser(categoryId, user);
     }
 
@@ -405,8 +415,8 @@ class CategoryServiceTest {
 
         categoryService.deleteSubcategoryByIdsAndUser(categoryId, subcategoryId, user);
 
-        verify(budgetService, times(1)).updateExpensesSubcategoryIdToNull(subcategoryId);
-        verify(budgetService, times(1)).updateIncomesSubcategoryIdToNull(subcategoryId);
+        verify(budgetService, times(1)).updateExpensesSubcategoryIdToNull(subcategoryId, user);
+        verify(budgetService, times(1)).updateIncomesSubcategoryIdToNull(subcategoryId, user);
         verify(subCategoryRepository, times(1)).delete(subCategory1);
         verify(categoryRepository, times(1)).findByIdAndUser(categoryId, user);
     }
@@ -0,0 +1,57 @@
+package com.myfund.services;
+
+import com.myfund.models.Budget;
+import com.myfund.repositories.BudgetRepository;
+import com.myfund.repositories.CategoryTotalRepository;
+import com.myfund.repositories.ExpenseRepository;
+import com.myfund.repositories.IncomeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.retry.annotation.EnableRetry;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig(classes = {CategoryTotalServiceRetryTest.RetryConfig.class, CategoryTotalService.class})
+class CategoryTotalServiceRetryTest {
+
+    @Configuration
+    @EnableRetry
+    static class RetryConfig {
+    }
+
+    @MockBean
+    private CategoryTotalRepository categoryTotalRepository;
+
+    @MockBean
+    private BudgetRepository budgetRepository;
+
+    @MockBean
+    private ExpenseRepository expenseRepository;
+
+    @MockBean
+    private IncomeRepository incomeRepository;
+
+    @Autowired
+    private CategoryTotalService categoryTotalService;
+
+    @Test
+    void initializeTotals_ConcurrentInitializationCommitted_RetriesAndSkips() {
+        when(budgetRepository.findByIdForUpdate(1L))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Budget.class, 1L))
+                .thenReturn(Optional.of(Budget.builder().id(1L).categoryTotalsInitialized(true).build()));
+
+        assertDoesNotThrow(() -> categoryTotalService.initializeTotals(1L));
+
+        verify(budgetRepository, times(2)).findByIdForUpdate(1L);
+        verify(categoryTotalRepository, never()).saveAll(any());
+        verify(budgetRepository, never()).save(any(Budget.class));
+    }
+}
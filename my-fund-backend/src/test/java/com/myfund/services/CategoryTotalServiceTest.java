@@ -0,0 +1,174 @@
+package com.myfund.services;
+
+import com.myfund.exceptions.BudgetNotFoundException;
+import com.myfund.models.*;
+import com.myfund.repositories.BudgetRepository;
+import com.myfund.repositories.CategoryTotalRepository;
+import com.myfund.repositories.ExpenseRepository;
+import com.myfund.repositories.IncomeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class CategoryTotalServiceTest {
+
+    @InjectMocks
+    private CategoryTotalService categoryTotalService;
+
+    @Mock
+    private CategoryTotalRepository categoryTotalRepository;
+
+    @Mock
+    private BudgetRepository budgetRepository;
+
+    @Mock
+    private ExpenseRepository expenseRepository;
+
+    @Mock
+    private IncomeRepository incomeRepository;
+
+    @Captor
+    private ArgumentCaptor<CategoryTotal> categoryTotalCaptor;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void findTotal_ReturnsZeroWhenNoTotalStored() {
+        when(categoryTotalRepository.findByBudgetIdAndTypeAggregateAndTargetId(1L, TypeAggregate.EXPENSES_BY_CATEGORY, 2L)).thenReturn(Optional.empty());
+
+        assertEquals(BigDecimal.ZERO, categoryTotalService.findTotal(1L, TypeAggregate.EXPENSES_BY_CATEGORY, 2L));
+    }
+
+    @Test
+    void applyExpenseDelta_CreatesAndUpdatesTotals() {
+        Budget budget = Budget.builder().id(1L).categoryTotalsInitialized(true).build();
+        CategoryTotal existing = CategoryTotal.create(1L, TypeAggregate.EXPENSES_BY_CATEGORY, 2L);
+        existing.add(new BigDecimal("40"));
+        when(categoryTotalRepository.findByBudgetIdAndTypeAggregateAndTargetId(1L, TypeAggregate.EXPENSES_BY_CATEGORY, 2L)).thenReturn(Optional.of(existing));
+        when(categoryTotalRepository.findByBudgetIdAndTypeAggregateAndTargetId(1L, TypeAggregate.EXPENSES_BY_SUBCATEGORY, 3L)).thenReturn(Optional.empty());
+
+        categoryTotalService.applyExpenseDelta(budget, 2L, 3L, new BigDecimal("10"));
+
+        verify(categoryTotalRepository).flush();
+        verify(categoryTotalRepository, times(2)).save(categoryTotalCaptor.capture());
+        List<CategoryTotal> saved = categoryTotalCaptor.getAllValues();
+        assertSame(existing, saved.get(0));
+        assertEquals(new BigDecimal("50"), saved.get(0).getTotal());
+        assertEquals(TypeAggregate.EXPENSES_BY_SUBCATEGORY, saved.get(1).getTypeAggregate());
+        assertEquals(3L, saved.get(1).getTargetId());
+        assertEquals(new BigDecimal("10"), saved.get(1).getTotal());
+    }
+
+    @Test
+    void applyIncomeDelta_SkipsMissingSubcategory() {
+        Budget budget = Budget.builder().id(1L).categoryTotalsInitialized(true).build();
+        when(categoryTotalRepository.findByBudgetIdAndTypeAggregateAndTargetId(1L, TypeAggregate.INCOMES_BY_CATEGORY, 2L)).thenReturn(Optional.empty());
+
+        categoryTotalService.applyIncomeDelta(budget, 2L, null, new BigDecimal("-5"));
+
+        verify(categoryTotalRepository).save(categoryTotalCaptor.capture());
+        assertEquals(TypeAggregate.INCOMES_BY_CATEGORY, categoryTotalCaptor.getValue().getTypeAggregate());
+        assertEquals(new BigDecimal("-5"), categoryTotalCaptor.getValue().getTotal());
+    }
+
+    @Test
+    void applyExpenseDelta_SkippedWhenBudgetNotInitialized() {
+        Budget budget = Budget.builder().id(1L).build();
+
+        categoryTotalService.applyExpenseDelta(budget, 2L, 3L, new BigDecimal("10"));
+
+        verifyNoInteractions(categoryTotalRepository);
+    }
+
+    @Test
+    void applyExpenseDelta_SkippedForZeroDelta() {
+        Budget budget = Budget.builder().id(1L).categoryTotalsInitialized(true).build();
+
+        categoryTotalService.applyExpenseDelta(budget, 2L, 3L, BigDecimal.ZERO);
+
+        verifyNoInteractions(categoryTotalRepository);
+    }
+
+    @Test
+    void initializeTotals_SumsExistingRowsAndMarksBudget() {
+        Budget budget = Budget.builder().id(1L).build();
+        when(budgetRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(budget));
+        when(expenseRepository.findByBudgetId(1L)).thenReturn(List.of(
+                Expense.builder().idCategory(2L).idSubCategory(3L).amount(new BigDecimal("10")).build(),
+                Expense.builder().idCategory(2L).amount(new BigDecimal("15")).build(),
+                Expense.builder().amount(new BigDecimal("99")).build()));
+        when(incomeRepository.findByBudgetId(1L)).thenReturn(List.of(
+                Income.builder().idCategory(4L).amount(new BigDecimal("100")).build()));
+        List<CategoryTotal> saved = new ArrayList<>();
+        when(categoryTotalRepository.saveAll(any())).thenAnswer(invocation -> {
+            Collection<CategoryTotal> totals = invocation.getArgument(0);
+            saved.addAll(totals);
+            return new ArrayList<>(totals);
+        });
+
+        categoryTotalService.initializeTotals(1L);
+
+        Map<TypeAggregate, CategoryTotal> byType = saved.stream().collect(Collectors.toMap(CategoryTotal::getTypeAggregate, Function.identity()));
+        assertEquals(3, saved.size());
+        assertEquals(new BigDecimal("25"), byType.get(TypeAggregate.EXPENSES_BY_CATEGORY).getTotal());
+        assertEquals(new BigDecimal("10"), byType.get(TypeAggregate.EXPENSES_BY_SUBCATEGORY).getTotal());
+        assertEquals(3L, byType.get(TypeAggregate.EXPENSES_BY_SUBCATEGORY).getTargetId());
+        assertEquals(new BigDecimal("100"), byType.get(TypeAggregate.INCOMES_BY_CATEGORY).getTotal());
+        assertTrue(budget.isCategoryTotalsInitialized());
+        verify(budgetRepository).save(budget);
+    }
+
+    @Test
+    void initializeTotals_SkippedWhenAlreadyInitialized() {
+        Budget budget = Budget.builder().id(1L).categoryTotalsInitialized(true).build();
+        when(budgetRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(budget));
+
+        categoryTotalService.initializeTotals(1L);
+
+        verifyNoInteractions(expenseRepository, incomeRepository, categoryTotalRepository);
+        verify(budgetRepository, never()).save(any(Budget.class));
+    }
+
+    @Test
+    void initializeTotals_BudgetNotFound() {
+        when(budgetRepository.findByIdForUpdate(1L)).thenReturn(Optional.empty());
+
+        assertThrows(BudgetNotFoundException.class, () -> categoryTotalService.initializeTotals(1L));
+    }
+
+    @Test
+    void deleteTotalsForCategory_DeletesCategoryAndSubcategoryTotals() {
+        categoryTotalService.deleteTotalsForCategory(2L, List.of(3L, 4L));
+
+        verify(categoryTotalRepository).deleteByTypeAggregateInAndTargetIdIn(
+                Set.of(TypeAggregate.EXPENSES_BY_CATEGORY, TypeAggregate.INCOMES_BY_CATEGORY), List.of(2L));
+        verify(categoryTotalRepository).deleteByTypeAggregateInAndTargetIdIn(
+                Set.of(TypeAggregate.EXPENSES_BY_SUBCATEGORY, TypeAggregate.INCOMES_BY_SUBCATEGORY), List.of(3L, 4L));
+    }
+
+    @Test
+    void deleteTotalsForSubcategory_DeletesSubcategoryTotals() {
+        categoryTotalService.deleteTotalsForSubcategory(3L);
+
+        verify(categoryTotalRepository).deleteByTypeAggregateInAndTargetIdIn(
+                Set.of(TypeAggregate.EXPENSES_BY_SUBCATEGORY, TypeAggregate.INCOMES_BY_SUBCATEGORY), List.of(3L));
+        verifyNoMoreInteractions(categoryTotalRepository);
+    }
+}
@@ -0,0 +1,117 @@
+package com.myfund.services;
+
+import com.myfund.configs.SecondLevelCacheConfig;
+import com.myfund.models.CategoryLink;
+import com.myfund.repositories.CategoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CategoryTreeCacheTest {
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    private CategoryTreeCache categoryTreeCache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        categoryTreeCache = new CategoryTreeCache(categoryRepository);
+    }
+
+    @Test
+    void get_LoadsTreeOncePerUser() {
+        when(categoryRepository.findLinksByUserId(1L)).thenReturn(List.of(
+                new CategoryLink(10L, 102L), new CategoryLink(10L, 101L), new CategoryLink(11L, null)));
+
+        CategoryTree first = categoryTreeCache.get(1L);
+        CategoryTree second = categoryTreeCache.get(1L);
+
+        assertSame(first, second);
+        assertEquals(2, first.categoryCount());
+        assertTrue(first.isSubcategoryRelatedToCategory(101L, 10L));
+        assertTrue(first.isSubcategoryRelatedToCategory(102L, 10L));
+        assertFalse(first.isSubcategoryRelatedToCategory(101L, 11L));
+        assertTrue(first.containsCategory(11L));
+        assertFalse(first.containsCategory(12L));
+        verify(categoryRepository, times(1)).findLinksByUserId(1L);
+    }
+
+    @Test
+    void get_ReloadsTreeAfterExpiryEvenWhileRead() {
+        AtomicLong nanos = new AtomicLong();
+        categoryTreeCache = new CategoryTreeCache(categoryRepository, nanos::get);
+        when(categoryRepository.findLinksByUserId(1L))
+                .thenReturn(List.of(new CategoryLink(10L, 101L)))
+                .thenReturn(List.of(new CategoryLink(10L, null)));
+
+        CategoryTree first = categoryTreeCache.get(1L);
+        for (int read = 0; read < 4; read++) {
+            nanos.addAndGet(SecondLevelCacheConfig.EXPIRE_AFTER_WRITE.toNanos() / 4 - 1);
+            assertSame(first, categoryTreeCache.get(1L));
+        }
+        nanos.addAndGet(4);
+        CategoryTree reloaded = categoryTreeCache.get(1L);
+
+        assertNotSame(first, reloaded);
+        assertFalse(reloaded.isSubcategoryRelatedToCategory(101L, 10L));
+        verify(categoryRepository, times(2)).findLinksByUserId(1L);
+    }
+
+    @Test
+    void get_GrowsSubcategoryArrays() {
+        List<CategoryLink> links = new ArrayList<>();
+        for (long subcategoryId = 20; subcategoryId > 0; subcategoryId--) {
+            links.add(new CategoryLink(1L, subcategoryId));
+        }
+        when(categoryRepository.findLinksByUserId(1L)).thenReturn(links);
+
+        CategoryTree categoryTree = categoryTreeCache.get(1L);
+
+        for (long subcategoryId = 1; subcategoryId <= 20; subcategoryId++) {
+            assertTrue(categoryTree.isSubcategoryRelatedToCategory(subcategoryId, 1L));
+        }
+        assertFalse(categoryTree.isSubcategoryRelatedToCategory(21L, 1L));
+    }
+
+    @Test
+    void evict_ReloadsTreeOnNextGet() {
+        when(categoryRepository.findLinksByUserId(1L)).thenReturn(List.of(new CategoryLink(10L, null)));
+        categoryTreeCache.get(1L);
+
+        categoryTreeCache.evict(1L);
+        categoryTreeCache.get(1L);
+
+        verify(categoryRepository, times(2)).findLinksByUserId(1L);
+    }
+
+    @Test
+    void evict_EvictsAgainAfterTransactionCompletes() {
+        when(categoryRepository.findLinksByUserId(1L)).thenReturn(List.of(new CategoryLink(10L, null)));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            categoryTreeCache.evict(1L);
+            categoryTreeCache.get(1L);
+
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            assertEquals(1, synchronizations.size());
+            synchronizations.get(0).afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        categoryTreeCache.get(1L);
+
+        verify(categoryRepository, times(2)).findLinksByUserId(1L);
+    }
+}
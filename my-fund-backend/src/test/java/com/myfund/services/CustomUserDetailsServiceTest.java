@@ -0,0 +1,85 @@
+package com.myfund.services;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.myfund.configs.CacheConfig;
+import com.myfund.models.User;
+import com.myfund.repositories.UserRepository;
+import com.myfund.services.encryption.BlindIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig(classes = {CacheConfig.class, CustomUserDetailsService.class, BlindIndex.class})
+@TestPropertySource(properties = "encryption.key=1234567890123456")
+class CustomUserDetailsServiceTest {
+
+    @MockBean
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserDetailsService customUserDetailsService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private BlindIndex blindIndex;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache("userDetails").clear();
+    }
+
+    @Test
+    void loadUserByUsername_CachesUserDetails() {
+        User user = User.builder().id(1L).username("testuser").password("hash").role("USER").build();
+        when(userRepository.findByUsernameIndex(blindIndex.of("testuser"))).thenReturn(Optional.of(user));
+
+        CacheStats before = nativeCache().stats();
+        assertSame(user, customUserDetailsService.loadUserByUsername("testuser"));
+        assertSame(user, customUserDetailsService.loadUserByUsername("testuser"));
+        CacheStats stats = nativeCache().stats().minus(before);
+
+        verify(userRepository, times(1)).findByUsernameIndex(blindIndex.of("testuser"));
+        assertEquals(1, stats.hitCount());
+        assertEquals(1, stats.missCount());
+    }
+
+    @Test
+    void loadUserByUsername_ReloadsAfterEviction() {
+        User user = User.builder().id(1L).username("evicted").password("hash").role("USER").build();
+        when(userRepository.findByUsernameIndex(blindIndex.of("evicted"))).thenReturn(Optional.of(user));
+
+        customUserDetailsService.loadUserByUsername("evicted");
+        cacheManager.getCache("userDetails").evict("evicted");
+        customUserDetailsService.loadUserByUsername("evicted");
+
+        verify(userRepository, times(2)).findByUsernameIndex(blindIndex.of("evicted"));
+    }
+
+    @Test
+    void loadUserByUsername_DoesNotCacheMissingUser() {
+        when(userRepository.findByUsernameIndex(blindIndex.of("missing"))).thenReturn(Optional.empty());
+
+        assertThrows(UsernameNotFoundException.class, () -> customUserDetailsService.loadUserByUsername("missing"));
+        assertThrows(UsernameNotFoundException.class, () -> customUserDetailsService.loadUserByUsername("missing"));
+
+        verify(userRepository, times(2)).findByUsernameIndex(blindIndex.of("missing"));
+    }
+
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache() {
+        return ((CaffeineCache) cacheManager.getCache("userDetails")).getNativeCache();
+    }
+}
@@ -12,13 +12,16 @@ import com.myfund.models.PasswordChange;
 import com.myfund.models.PasswordChangeRequest;
 import com.myfund.models.User;
 import com.myfund.repositories.UserRepository;
+import com.myfund.services.email.EmailOutboxService;
 import com.myfund.services.email.EmailSender;
 import com.myfund.services.email.TokenService;
+import com.myfund.services.encryption.BlindIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
@@ -48,12 +51,17 @@ class UserServiceTest {
     @Mock
     private CacheManager cacheManager;
 
+    @Mock
+    private EmailOutboxService emailOutboxService;
+
+    private final BlindIndex blindIndex = new BlindIndex("test-blind-index-key");
+
     private UserService userService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        userService = new UserService(userRepository, budgetService, passwordEncoder, emailSender, tokenService, cacheManager);
+        userService = new UserService(userRepository, budgetService, passwordEncoder, emailSender, tokenService, cacheManager, emailOutboxService, blindIndex);
     }
 
     @Test
@@ -64,8 +72,8 @@ class UserServiceTest {
                 .password("password")
                 .build();
 
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.empty());
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.empty());
+        when(userRepository.existsByUsernameIndex(blindIndex.of("testuser"))).thenReturn(false);
+        when(userRepository.existsByEmailIndex(blindIndex.of("test@example.com"))).thenReturn(false);
         when(passwordEncoder.encode("password")).thenReturn("encodedPassword");
 
         User userCreated = userService.createUser(user);
@@ -73,7 +81,8 @@ class UserServiceTest {
         assertNotNull(userCreated);
         verify(userRepository, times(1)).save(any(User.class));
         verify(budgetService, times(1)).createDefaultBudget(any(User.class));
-        verify(emailSender, times(1)).sendWelcomeEmail(any(User.class));
+        verify(emailOutboxService, times(1)).enqueueWelcomeEmail(any(User.class));
+        verifyNoInteractions(emailSender);
     }
 
     @Test
@@ -84,7 +93,7 @@ class UserServiceTest {
                 .password("password")
                 .build();
 
-        when(userRepository.existsByUsername("testuser")).thenReturn(true);
+        when(userRepository.existsByUsernameIndex(blindIndex.of("testuser"))).thenReturn(true);
 
         assertThrows(UserAlreadyExistsException.class, () -> userService.createUser(user));
     }
@@ -98,7 +107,7 @@ class UserServiceTest {
                 .email("test@example.com")
                 .build();
 
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(userRepository.findByEmailIndex(blindIndex.of("test@example.com"))).thenReturn(Optional.of(user));
         when(tokenService.createPasswordResetToken("test@example.com")).thenReturn("resetToken");
 
         userService.requestPasswordChange(passwordChangeRequest);
@@ -115,16 +124,20 @@ class UserServiceTest {
 
         User user = User.builder()
                 .email("test@example.com")
+                .username("testuser")
                 .build();
+        Cache userDetailsCache = mock(Cache.class);
 
-        when(tokenService.getPasswordResetToken("test@example.com")).thenReturn("validToken");
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(tokenService.consumePasswordResetToken("test@example.com", "validToken")).thenReturn(true);
+        when(userRepository.findByEmailIndex(blindIndex.of("test@example.com"))).thenReturn(Optional.of(user));
         when(passwordEncoder.encode("newPassword")).thenReturn("encodedNewPassword");
+        when(cacheManager.getCache("userDetails")).thenReturn(userDetailsCache);
 
         userService.changePassword(passwordChange);
 
         verify(userRepository, times(1)).save(user);
-        verify(tokenService, times(1)).invalidatePasswordResetToken("test@example.com");
+        verify(tokenService, times(1)).consumePasswordResetToken("test@example.com", "validToken");
+        verify(userDetailsCache, times(1)).evict("testuser");
     }
 
     @Test
@@ -134,8 +147,26 @@ class UserServiceTest {
         passwordChange.setToken("invalidToken");
         passwordChange.setNewPassword("newPassword");
 
-        when(tokenService.getPasswordResetToken("test@example.com")).thenReturn("validToken");
+        when(tokenService.consumePasswordResetToken("test@example.com", "invalidToken")).thenReturn(false);
 
         assertThrows(InvalidTokenException.class, () -> userService.changePassword(passwordChange));
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void findCurrentUser_LoadsUserForTokenPrincipal() {
+        User principal = User.builder().id(1L).username("testuser").role("USER").build();
+        User storedUser = User.builder().id(1L).username("testuser").email("test@example.com").build();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(storedUser));
+
+        assertSame(storedUser, userService.findCurrentUser(principal));
+    }
+
+    @Test
+    void findCurrentUser_ThrowsWhenUserRemoved() {
+        User principal = User.builder().id(1L).build();
+        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(UserNotFoundException.class, () -> userService.findCurrentUser(principal));
     }
-}
\ No newline at end of file
+}
@@ -7,39 +7,28 @@ import com.myfund.models.DTOs.mappers.BudgetMapper;
 import com.myfund.models.Expense;
 import com.myfund.models.Income;
 import com.myfund.models.User;
-import com.myfund.services.BudgetService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.ArgumentCaptor;
-import org.mockito.Mock;
-import org.mockito.MockitoAnnotations;
-import org.springframework.web.multipart.MultipartFile;
 
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
 import java.math.BigDecimal;
-import java.nio.charset.StandardCharsets;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.*;
 
 class AbstractCsvParserTest {
 
-    @Mock
-    private BudgetService budgetService;
-
-    @Mock
-    private MultipartFile file;
-
     private AbstractCsvParser parser;
 
     @BeforeEach
     void setUp() {
-        MockitoAnnotations.openMocks(this);
-        parser = new AbstractCsvParser(budgetService) {
+        parser = new AbstractCsvParser() {
+            @Override
+            protected char getDelimiter() {
+                return ',';
+            }
+
             @Override
-            protected String getDelimiter() {
-                return ",";
+            protected int[] getRequiredColumns() {
+                return new int[]{0, 1};
             }
 
             @Override
@@ -73,164 +62,67 @@ class AbstractCsvParserTest {
 }
 
 @Test
-void parse_ShouldProcessIncome() throws IOException {
+void processRecord_ShouldProcessIncome() throws InvalidInputException {
 
     User user = User.builder().build();
-    Long budgetId = 1L;
     Budget budget = Budget.builder()
-            .id(budgetId)
             .build();
-    when(budgetService.findBudgetByIdAndUser(budgetId, user)).thenReturn(budget);
-    when(file.getInputStream()).thenReturn(new ByteArrayInputStream("header\nincome,1000".getBytes(StandardCharsets.UTF_8)));
-
-    parser.parse(file, user, budgetId);
-
-    ArgumentCaptor<Income> incomeCaptor = ArgumentCaptor.forClass(Income.class);
-    verify(budgetService, times(1)).saveIncomeFromCsv(incomeCaptor.capture());
-    Income savedIncome = incomeCaptor.getValue();
-    assertEquals(new BigDecimal("1000"), savedIncome.getAmount());
-    assertEquals(user, savedIncome.getUser());
-    assertEquals(budget.getId(), savedIncome.getBudget().getId());
-}
-
-@Test
-void parse_ShouldProcessExpense() throws IOException {
-
-    User user = User.builder().build();
-    Long budgetId = 1L;
-    Budget budget = Budget.builder()
-            .id(budgetId)
-            .build();
-    when(budgetService.findBudgetByIdAndUser(budgetId, user)).thenReturn(budget);
-    when(file.getInputStream()).thenReturn(new ByteArrayInputStream("header\nexpense,500".getBytes(StandardCharsets.UTF_8)));
-
-    parser.parse(file, user, budgetId);
-
-    ArgumentCaptor<Expense> expenseCaptor = ArgumentCaptor.forClass(Expense.class);
-    verify(budgetService, times(1)).saveExpenseFromCsv(expenseCaptor.capture());
-    Expense savedExpense = expenseCaptor.getValue();
-    assertEquals(new BigDecimal("500"), savedExpense.getAmount());
-    assertEquals(user, savedExpense.getUser());
-    assertEquals(budget.getId(), savedExpense.getBudget().getId());
-}
-
-@Test
-void parse_ShouldHandleEmptyFile() throws IOException {
-
-    User user = User.builder().build();
-    Long budgetId = 1L;
-    Budget budget = Budget.builder()
-            .id(budgetId)
-            .build();
-    when(budgetService.findBudgetByIdAndUser(budgetId, user)).thenReturn(budget);
-    when(file.getInputStream()).thenReturn(new ByteArrayInputStream("header\n".getBytes(StandardCharsets.UTF_8)));
-
-    parser.parse(file, user, budgetId);
-
-    verify(budgetService, never()).saveIncomeFromCsv(any(Income.class));
-    verify(budgetService, never()).saveExpenseFromCsv(any(Expense.class));
-}
-
-@Test
-void parse_ShouldLogErrorOnException() throws IOException {
-
-    User user = User.builder().build();
-    Long budgetId = 1L;
-    Budget budget = Budget.builder()
-            .id(budgetId)
-            .build();
-    when(budgetService.findBudgetByIdAndUser(budgetId, user)).thenReturn(budget);
-    when(file.getInputStream()).thenThrow(new IOException("Test Exception"));
-
-    parser.parse(file, user, budgetId);
-
-    verify(budgetService, never()).saveIncomeFromCsv(any(Income.class));
-    verify(budgetService, never()).saveExpenseFromCsv(any(Expense.class));
-}
-
-@Test
-void parse_ShouldSkipInvalidLines() throws IOException {
-
-    User user = User.builder().build();
-    Long budgetId = 1L;
-    Budget budget = Budget.builder()
-            .id(budgetId)
-            .build();
-    when(budgetService.findBudgetByIdAndUser(budgetId, user)).thenReturn(budget);
-    when(file.getInputStream()).thenReturn(new ByteArrayInputStream("header\ninvalid,line\nincome,1000".getBytes(StandardCharsets.UTF_8)));
-
-    parser.parse(file, user, budgetId);
-
-    ArgumentCaptor<Income> incomeCaptor = ArgumentCaptor.forClass(Income.class);
-    verify(budgetService, times(1)).saveIncomeFromCsv(incomeCaptor.capture());
-    Income savedIncome = incomeCaptor.getValue();
-    assertEquals(new BigDecimal("1000"), savedIncome.getAmount());
-    assertEquals(user, savedIncome.getUser());
-    assertEquals(budget.getId(), savedIncome.getBudget().getId());
-}
-
-@Test
-void processLine_ShouldProcessIncome() throws InvalidInputException {
-
-    User user = User.builder().build();
-    Budget budget = Budget.builder()
-            .build();
-    String line = "income,1000";
+    String[] values = {"income", "1000"};
+    CsvImportChunk chunk = new CsvImportChunk();
 
-    parser.processLine(line, user, budget);
+    parser.processRecord(values, user, budget, chunk);
 
-    ArgumentCaptor<Income> incomeCaptor = ArgumentCaptor.forClass(Income.class);
-    verify(budgetService, times(1)).saveIncomeFromCsv(incomeCaptor.capture());
-    Income savedIncome = incomeCaptor.getValue();
+    assertEquals(1, chunk.getIncomes().size());
+    Income savedIncome = chunk.getIncomes().get(0);
     assertEquals(new BigDecimal("1000"), savedIncome.getAmount());
     assertEquals(user, savedIncome.getUser());
     assertEquals(budget.getId(), savedIncome.getBudget().getId());
 }
 
 @Test
-void processLine_ShouldProcessExpense() throws InvalidInputException {
+void processRecord_ShouldProcessExpense() throws InvalidInputException {
 
     User user = User.builder().build();
     Budget budget = Budget.builder()
             .build();
-    String line = "expense,500";
+    String[] values = {"expense", "500"};
+    CsvImportChunk chunk = new CsvImportChunk();
 
-    parser.processLine(line, user, budget);
+    parser.processRecord(values, user, budget, chunk);
 
-    ArgumentCaptor<Expense> expenseCaptor = ArgumentCaptor.forClass(Expense.class);
-    verify(budgetService, times(1)).saveExpenseFromCsv(expenseCaptor.capture());
-    Expense savedExpense = expenseCaptor.getValue();
+    assertEquals(1, chunk.getExpenses().size());
+    Expense savedExpense = chunk.getExpenses().get(0);
     assertEquals(new BigDecimal("500"), savedExpense.getAmount());
     assertEquals(user, savedExpense.getUser());
     assertEquals(budget.getId(), savedExpense.getBudget().getId());
 }
 
 @Test
-void processLine_ShouldNotProcessInvalidLine() throws InvalidInputException {
+void processRecord_ShouldNotProcessInvalidRecord() throws InvalidInputException {
 
     User user = User.builder().build();
     Budget budget = Budget.builder()
             .build();
-    String line = "invalid,line";
+    String[] values = {"invalid", "line"};
+    CsvImportChunk chunk = new CsvImportChunk();
 
-    parser.processLine(line, user, budget);
+    parser.processRecord(values, user, budget, chunk);
 
-    verify(budgetService, never()).saveIncomeFromCsv(any(Income.class));
-    verify(budgetService, never()).saveExpenseFromCsv(any(Expense.class));
+    assertTrue(chunk.isEmpty());
 }
 
 @Test
-void processLine_ShouldHandleEmptyLine() throws InvalidInputException {
+void processRecord_ShouldHandleEmptyRecord() throws InvalidInputException {
 
     User user = User.builder().build();
     Budget budget = Budget.builder()
             .build();
-    String line = "";
+    String[] values = {"", ""};
+    CsvImportChunk chunk = new CsvImportChunk();
 
-    parser.processLine(line, user, budget);
+    parser.processRecord(values, user, budget, chunk);
 
-    verify(budgetService, never()).saveIncomeFromCsv(any(Income.class));
-    verify(budgetService, never()).saveExpenseFromCsv(any(Expense.class));
+    assertTrue(chunk.isEmpty());
 }
 
 @Test
@@ -242,29 +134,13 @@ void processIncome_ShouldMapValuesCorrectly() throws InvalidInputException {
     Budget budget = Budget.builder()
             .build();
 
-    parser.processIncome(values, user, budget);
+    Income savedIncome = parser.processIncome(values, user, budget);
 
-    ArgumentCaptor<Income> incomeCaptor = ArgumentCaptor.forClass(Income.class);
-    verify(budgetService, times(1)).saveIncomeFromCsv(incomeCaptor.capture());
-    Income savedIncome = incomeCaptor.getValue();
     assertEquals(new BigDecimal("1000"), savedIncome.getAmount());
     assertEquals(user, savedIncome.getUser());
     assertEquals(budget.getId(), savedIncome.getBudget().getId());
 }
 
-@Test
-void processIncome_ShouldCallSaveIncomeFromCsv() throws InvalidInputException {
-
-    String[] values = {"income", "2000"};
-    User user = User.builder().build();
-    Budget budget = Budget.builder()
-            .build();
-
-    parser.processIncome(values, user, budget);
-
-    verify(budgetService, times(1)).saveIncomeFromCsv(any(Income.class));
-}
-
 @Test
 void processIncome_ShouldSetUserCorrectly() throws InvalidInputException {
 
@@ -273,11 +149,8 @@ void processIncome_ShouldSetUserCorrectly() throws InvalidInputException {
     Budget budget = Budget.builder()
             .build();
 
-    parser.processIncome(values, user, budget);
+    Income savedIncome = parser.processIncome(values, user, budget);
 
-    ArgumentCaptor<Income> incomeCaptor = ArgumentCaptor.forClass(Income.class);
-    verify(budgetService).saveIncomeFromCsv(incomeCaptor.capture());
-    Income savedIncome = incomeCaptor.getValue();
     assertEquals(user, savedIncome.getUser());
 }
 
@@ -289,11 +162,8 @@ void processIncome_ShouldSetBudgetCorrectly() throws InvalidInputException {
     Budget budget = Budget.builder()
             .build();
 
-    parser.processIncome(values, user, budget);
+    Income savedIncome = parser.processIncome(values, user, budget);
 
-    ArgumentCaptor<Income> incomeCaptor = ArgumentCaptor.forClass(Income.class);
-    verify(budgetService).saveIncomeFromCsv(incomeCaptor.capture());
-    Income savedIncome = incomeCaptor.getValue();
     assertEquals(budget.getId(), savedIncome.getBudget().getId());
 }
 
@@ -305,11 +175,7 @@ void processExpense_ShouldMapValuesToExpense() throws InvalidInputException {
     Budget budget = Budget.builder()
             .build();
 
-    parser.processExpense(values, user, budget);
-
-    ArgumentCaptor<Expense> expenseCaptor = ArgumentCaptor.forClass(Expense.class);
-    verify(budgetService).saveExpenseFromCsv(expenseCaptor.capture());
-    Expense capturedExpense = expenseCaptor.getValue();
+    Expense capturedExpense = parser.processExpense(values, user, budget);
 
     assertEquals(new BigDecimal("100.00"), capturedExpense.getAmount());
     assertEquals(user, capturedExpense.getUser());
@@ -325,11 +191,7 @@ void processExpense_ShouldSetUser() throws InvalidInputException {
     Budget budget = Budget.builder()
             .build();
 
-    parser.processExpense(values, user, budget);
-
-    ArgumentCaptor<Expense> expenseCaptor = ArgumentCaptor.forClass(Expense.class);
-    verify(budgetService).saveExpenseFromCsv(expenseCaptor.capture());
-    Expense capturedExpense = expenseCaptor.getValue();
+    Expense capturedExpense = parser.processExpense(values, user, budget);
 
     assertEquals(user, capturedExpense.getUser());
 }
@@ -343,25 +205,8 @@ void processExpense_ShouldSetBudget() throws InvalidInputException {
     Budget budget = Budget.builder()
             .build();
 
-    parser.processExpense(values, user, budget);
-
-    ArgumentCaptor<Expense> expenseCaptor = ArgumentCaptor.forClass(Expense.class);
-    verify(budgetService).saveExpenseFromCsv(expenseCaptor.capture());
-    Expense capturedExpense = expenseCaptor.getValue();
+    Expense capturedExpense = parser.processExpense(values, user, budget);
 
     assertNotNull(capturedExpense.getBudget());
 }
-
-@Test
-void processExpense_ShouldCallSaveExpenseFromCsv() throws InvalidInputException {
-    String[] values = {"Expense", "100.00"};
-    User user = User.builder().build();
-
-    Budget budget = Budget.builder()
-            .build();
-
-    parser.processExpense(values, user, budget);
-
-    verify(budgetService, times(1)).saveExpenseFromCsv(any(Expense.class));
 }
-}
\ No newline at end of file
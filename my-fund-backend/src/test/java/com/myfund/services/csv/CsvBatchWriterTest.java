@@ -0,0 +1,113 @@
+package com.myfund.services.csv;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class CsvBatchWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private PreparedStatement preparedStatement;
+
+    private CsvBatchWriter csvBatchWriter;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        csvBatchWriter = new CsvBatchWriter(jdbcTemplate, transactionManager);
+    }
+
+    @Test
+    void write_ShouldInsertRowsWithReservedIds() throws Exception {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq(CsvBatchWriter.EXPENSE_SEQUENCE))).thenReturn(100L);
+        EncryptedCsvChunk chunk = new EncryptedCsvChunk(
+                List.of(row("n1", "a1", "d1"), row("n2", "a2", "d2")),
+                List.of(), new BigDecimal("3"), BigDecimal.ZERO, Map.of());
+
+        csvBatchWriter.write(chunk, 1L, 3L);
+
+        verify(jdbcTemplate).update(contains("UPDATE id_generator"), eq(102L), eq(CsvBatchWriter.EXPENSE_SEQUENCE));
+        ArgumentCaptor<BatchPreparedStatementSetter> setterCaptor = ArgumentCaptor.forClass(BatchPreparedStatementSetter.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO expense"), setterCaptor.capture());
+        BatchPreparedStatementSetter setter = setterCaptor.getValue();
+        assertEquals(2, setter.getBatchSize());
+
+        setter.setValues(preparedStatement, 1);
+
+        verify(preparedStatement).setLong(1, 101L);
+        verify(preparedStatement).setBytes(2, bytes("n2"));
+        verify(preparedStatement).setBytes(3, bytes("a2"));
+        verify(preparedStatement).setBytes(4, bytes("d2"));
+        verify(preparedStatement).setBytes(5, null);
+        verify(preparedStatement).setLong(6, 1L);
+        verify(preparedStatement).setLong(7, 3L);
+    }
+
+    @Test
+    void write_ShouldInsertRowPayloadInsteadOfSeparateColumns() throws Exception {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq(CsvBatchWriter.INCOME_SEQUENCE))).thenReturn(7L);
+        byte[] payload = {1, 2, 3};
+        EncryptedCsvChunk chunk = new EncryptedCsvChunk(
+                List.of(), List.of(EncryptedCsvRow.ofPayload(payload)), BigDecimal.ZERO, BigDecimal.ONE, Map.of());
+
+        csvBatchWriter.write(chunk, 1L, 3L);
+
+        ArgumentCaptor<BatchPreparedStatementSetter> setterCaptor = ArgumentCaptor.forClass(BatchPreparedStatementSetter.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO income"), setterCaptor.capture());
+        setterCaptor.getValue().setValues(preparedStatement, 0);
+
+        verify(preparedStatement).setLong(1, 7L);
+        verify(preparedStatement).setBytes(2, null);
+        verify(preparedStatement).setBytes(3, null);
+        verify(preparedStatement).setBytes(4, null);
+        verify(preparedStatement).setBytes(5, payload);
+    }
+
+    @Test
+    void write_ShouldNotReserveIdsForEmptyRows() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq(CsvBatchWriter.INCOME_SEQUENCE))).thenReturn(7L);
+        EncryptedCsvChunk chunk = new EncryptedCsvChunk(
+                List.of(), List.of(row("n1", "a1", "d1")), BigDecimal.ZERO, BigDecimal.ONE, Map.of());
+
+        csvBatchWriter.write(chunk, 1L, 3L);
+
+        verify(jdbcTemplate, never()).queryForObject(anyString(), eq(Long.class), eq(CsvBatchWriter.EXPENSE_SEQUENCE));
+        verify(jdbcTemplate).update(contains("UPDATE id_generator"), eq(8L), eq(CsvBatchWriter.INCOME_SEQUENCE));
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO income"), any(BatchPreparedStatementSetter.class));
+        verify(jdbcTemplate, never()).batchUpdate(startsWith("INSERT INTO expense"), any(BatchPreparedStatementSetter.class));
+    }
+
+    @Test
+    void reserveIds_ShouldFailWhenSequenceIsMissing() {
+        assertThrows(IllegalStateException.class, () -> csvBatchWriter.reserveIds(CsvBatchWriter.EXPENSE_SEQUENCE, 5));
+    }
+
+    private static EncryptedCsvRow row(String name, String amount, String localDateTime) {
+        return new EncryptedCsvRow(bytes(name), bytes(amount), bytes(localDateTime));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,269 @@
+package com.myfund.services.csv;
+
+import com.myfund.models.BankName;
+import com.myfund.models.Budget;
+import com.myfund.models.CsvImportJob;
+import com.myfund.models.Expense;
+import com.myfund.models.Income;
+import com.myfund.models.User;
+import com.myfund.services.BudgetService;
+import com.myfund.services.encryption.BigDecimalEncryptor;
+import com.myfund.services.encryption.EncryptionUtil;
+import com.myfund.services.encryption.LocalDateTimeEncryptor;
+import com.myfund.services.encryption.StringEncryptor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CsvImportPipelineTest {
+
+    private static final String SECRET_KEY = "1234567890123456";
+
+    @Mock
+    private BudgetService budgetService;
+
+    @Mock
+    private CsvBatchWriter csvBatchWriter;
+
+    private final List<EncryptedCsvChunk> writtenChunks = Collections.synchronizedList(new ArrayList<>());
+
+    private ExecutorService encryptionExecutor;
+
+    private ExecutorService writerExecutor;
+
+    private CsvRowEncryptor csvRowEncryptor;
+
+    private AbstractCsvParser parser;
+
+    private CsvImportJob csvImportJob;
+
+    private User user;
+
+    private Budget budget;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        encryptionExecutor = Executors.newFixedThreadPool(4);
+        writerExecutor = Executors.newSingleThreadExecutor();
+        csvRowEncryptor = new CsvRowEncryptor(withKey(new StringEncryptor()), withKey(new BigDecimalEncryptor()), withKey(new LocalDateTimeEncryptor()));
+        user = User.builder().id(3L).build();
+        budget = Budget.builder().id(1L).build();
+        csvImportJob = CsvImportJob.create(budget.getId(), user, BankName.MILLENIUM, "test.csv");
+        doAnswer(invocation -> {
+            writtenChunks.add(invocation.getArgument(0));
+            return null;
+        }).when(csvBatchWriter).write(any(EncryptedCsvChunk.class), eq(1L), eq(3L));
+        parser = new AbstractCsvParser() {
+            @Override
+            protected char getDelimiter() {
+                return ',';
+            }
+
+            @Override
+            protected int[] getRequiredColumns() {
+                return new int[]{0, 1};
+            }
+
+            @Override
+            protected boolean isIncome(String[] values) {
+                return "income".equalsIgnoreCase(values[0]);
+            }
+
+            @Override
+            protected boolean isExpense(String[] values) {
+                return "expense".equalsIgnoreCase(values[0]);
+            }
+
+            @Override
+            protected Income mapToIncome(String[] values) {
+                return Income.builder().name("income").amount(new BigDecimal(values[1])).build();
+            }
+
+            @Override
+            protected Expense mapToExpense(String[] values) {
+                return Expense.builder().name("expense").amount(new BigDecimal(values[1])).build();
+            }
+        };
+    }
+
+    @AfterEach
+    void tearDown() {
+        encryptionExecutor.shutdownNow();
+        writerExecutor.shutdownNow();
+    }
+
+    @Test
+    void run_ShouldWriteEncryptedIncome() throws Exception {
+        pipeline(500, 4).run(parser, csv("header\nincome,1000"), user, budget, csvImportJob);
+
+        assertEquals(1, writtenChunks.size());
+        EncryptedCsvChunk chunk = writtenChunks.get(0);
+        assertTrue(chunk.getExpenses().isEmpty());
+        assertEquals(1, chunk.getIncomes().size());
+        assertEquals(new BigDecimal("1000"), withKey(new BigDecimalEncryptor()).convertToEntityAttribute(chunk.getIncomes().get(0).getAmount()));
+        assertEquals("income", EncryptionUtil.decryptText(chunk.getIncomes().get(0).getName(), SECRET_KEY));
+        assertEquals(1, csvImportJob.getRowsPersisted());
+    }
+
+    @Test
+    void run_ShouldApplyTotalsOnceForWholeFile() throws IOException {
+        pipeline(2, 4).run(parser, csv("header\nincome,1000\nexpense,200\nexpense,50\nincome,25"), user, budget, csvImportJob);
+
+        verify(budgetService, times(1)).applyTotalsDelta(1L, new BigDecimal("1025"), new BigDecimal("250"));
+    }
+
+    @Test
+    void run_ShouldWriteChunksInFileOrder() throws Exception {
+        StringBuilder content = new StringBuilder("header\n");
+        for (int i = 1; i <= 1_000; i++) {
+            content.append(i % 2 == 0 ? "expense," : "income,").append(i).append('\n');
+        }
+
+        pipeline(7, 3).run(parser, csv(content.toString()), user, budget, csvImportJob);
+
+        List<Integer> chunkSizes = new ArrayList<>();
+        List<Integer> amounts = new ArrayList<>();
+        BigDecimalEncryptor bigDecimalEncryptor = withKey(new BigDecimalEncryptor());
+        for (EncryptedCsvChunk chunk : writtenChunks) {
+            chunkSizes.add(chunk.size());
+            for (EncryptedCsvRow row : chunk.getIncomes()) {
+                amounts.add(bigDecimalEncryptor.convertToEntityAttribute(row.getAmount()).intValueExact());
+            }
+        }
+        assertEquals(143, chunkSizes.size());
+        assertEquals(6, chunkSizes.get(chunkSizes.size() - 1));
+        for (int i = 1; i < amounts.size(); i++) {
+            assertEquals(amounts.get(i - 1) + 2, amounts.get(i), "Incomes should be written in file order");
+        }
+        assertEquals(1_000, csvImportJob.getRowsPersisted());
+    }
+
+    @Test
+    void run_ShouldApplyTotalsOnlyForWrittenChunksWhenWriteFails() {
+        reset(csvBatchWriter);
+        doNothing().doThrow(new RuntimeException("Test Exception")).when(csvBatchWriter).write(any(EncryptedCsvChunk.class), anyLong(), anyLong());
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> pipeline(2, 4).run(parser, csv("header\nincome,1\nexpense,2\nincome,4\nexpense,5\nincome,6\nexpense,7"), user, budget, csvImportJob));
+
+        assertEquals("Test Exception", exception.getMessage());
+        assertEquals(2, csvImportJob.getRowsPersisted());
+        verify(csvBatchWriter, times(2)).write(any(EncryptedCsvChunk.class), anyLong(), anyLong());
+        verify(budgetService, times(1)).applyTotalsDelta(1L, new BigDecimal("1"), new BigDecimal("2"));
+    }
+
+    @Test
+    void run_ShouldHandleEmptyFile() throws IOException {
+        pipeline(500, 4).run(parser, csv("header\n"), user, budget, csvImportJob);
+
+        verify(csvBatchWriter, never()).write(any(), anyLong(), anyLong());
+        verify(budgetService, never()).applyTotalsDelta(anyLong(), any(BigDecimal.class), any(BigDecimal.class));
+    }
+
+    @Test
+    void run_ShouldPropagateReadErrors() throws IOException {
+        InputStream inputStream = mock(InputStream.class);
+        when(inputStream.read(any(byte[].class), anyInt(), anyInt())).thenThrow(new IOException("Test Exception"));
+
+        assertThrows(IOException.class, () -> pipeline(500, 4).run(parser, inputStream, user, budget, csvImportJob));
+
+        verify(csvBatchWriter, never()).write(any(), anyLong(), anyLong());
+    }
+
+    @Test
+    void run_ShouldWritePrecedingChunksBeforeReportingReadError() throws IOException {
+        InputStream failingStream = mock(InputStream.class);
+        when(failingStream.read(any(byte[].class), anyInt(), anyInt())).thenThrow(new IOException("Connection reset"));
+        InputStream inputStream = new SequenceInputStream(csv("header\nincome,1\nincome,2\nincome,3"), failingStream);
+
+        IOException exception = assertThrows(IOException.class, () -> pipeline(2, 4).run(parser, inputStream, user, budget, csvImportJob));
+
+        assertEquals("Connection reset", exception.getMessage());
+        assertEquals(1, writtenChunks.size());
+        assertEquals(2, csvImportJob.getRowsPersisted());
+        verify(budgetService, times(1)).applyTotalsDelta(1L, new BigDecimal("3"), BigDecimal.ZERO);
+    }
+
+    @Test
+    void run_ShouldRejectRowsThatCannotBeMapped() throws IOException {
+        pipeline(500, 4).run(parser, csv("header\nincome,abc\nexpense,20\ninvalid,line"), user, budget, csvImportJob);
+
+        assertEquals(3, csvImportJob.getRowsParsed());
+        assertEquals(1, csvImportJob.getRowsPersisted());
+        assertEquals(1, csvImportJob.getRowsRejected());
+        verify(budgetService, times(1)).applyTotalsDelta(1L, BigDecimal.ZERO, new BigDecimal("20"));
+    }
+
+    @Test
+    void run_ShouldStopReadingWhileWriterIsBehind() throws Exception {
+        CountDownLatch writerReleased = new CountDownLatch(1);
+        reset(csvBatchWriter);
+        doAnswer(invocation -> {
+            writerReleased.await(10, TimeUnit.SECONDS);
+            return null;
+        }).when(csvBatchWriter).write(any(EncryptedCsvChunk.class), anyLong(), anyLong());
+        StringBuilder content = new StringBuilder("header\n");
+        for (int i = 0; i < 10_000; i++) {
+            content.append("income,").append(i).append('\n');
+        }
+        CsvImportPipeline pipeline = pipeline(10, 2);
+
+        ExecutorService readerExecutor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> import_ = readerExecutor.submit(() -> {
+                pipeline.run(parser, csv(content.toString()), user, budget, csvImportJob);
+                return null;
+            });
+            Thread.sleep(300);
+
+            assertTrue(csvImportJob.getRowsParsed() <= 40, "Reader should block once the writer falls behind, parsed: " + csvImportJob.getRowsParsed());
+
+            writerReleased.countDown();
+            import_.get(10, TimeUnit.SECONDS);
+            assertEquals(10_000, csvImportJob.getRowsPersisted());
+        } finally {
+            readerExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    void constructor_ShouldRejectNonPositiveChunkSize() {
+        assertThrows(IllegalArgumentException.class, () -> pipeline(0, 4));
+        assertThrows(IllegalArgumentException.class, () -> pipeline(500, 0));
+    }
+
+    private CsvImportPipeline pipeline(int chunkSize, int chunksInFlight) {
+        return new CsvImportPipeline(budgetService, csvRowEncryptor, csvBatchWriter, encryptionExecutor, writerExecutor, chunkSize, chunksInFlight);
+    }
+
+    private static InputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static <T> T withKey(T converter) {
+        ReflectionTestUtils.setField(converter, "encryptionKey", SECRET_KEY);
+        return converter;
+    }
+}
@@ -1,17 +1,35 @@
 package com.myfund.services.csv;
 
+import com.myfund.exceptions.BudgetNotFoundException;
+import com.myfund.exceptions.CsvImportJobNotFoundException;
+import com.myfund.exceptions.CsvImportRejectedException;
 import com.myfund.models.BankName;
+import com.myfund.models.Budget;
+import com.myfund.models.CsvImportJob;
+import com.myfund.models.CsvImportStatus;
 import com.myfund.models.User;
+import com.myfund.services.BudgetService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.mock.web.MockMultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class CsvReaderServiceTest  {
@@ -20,68 +38,149 @@ class CsvReaderServiceTest  {
     private AbstractCsvParser mockParser;
 
     @Mock
-    private MultipartFile mockFile;
+    private BudgetService budgetService;
+
+    @Mock
+    private CsvImportPipeline csvImportPipeline;
+
+    private final MockMultipartFile file = new MockMultipartFile("file", "test.csv", "text/csv", "header\nincome,100".getBytes(StandardCharsets.UTF_8));
+
+    private final List<Runnable> queuedTasks = new ArrayList<>();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private CsvImportJobRegistry csvImportJobRegistry;
 
     private CsvReaderService csvReaderService;
-    private Map<BankName, AbstractCsvParser> parserMap;
+
+    private User user;
+
+    private Budget budget;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        parserMap = new HashMap<>();
+        Map<BankName, AbstractCsvParser> parserMap = new HashMap<>();
         parserMap.put(BankName.MILLENIUM, mockParser);
-        csvReaderService = new CsvReaderService(parserMap);
+        csvImportJobRegistry = new CsvImportJobRegistry();
+        Executor executor = queuedTasks::add;
+        csvReaderService = new CsvReaderService(parserMap, budgetService, csvImportJobRegistry, csvImportPipeline, executor, meterRegistry);
+        user = User.builder().id(1L).build();
+        budget = Budget.builder().id(2L).user(user).build();
+        when(budgetService.findBudgetByIdAndUser(2L, user)).thenReturn(budget);
+    }
+
+    @AfterEach
+    void runRemainingTasks() {
+        List<Runnable> remainingTasks = new ArrayList<>(queuedTasks);
+        queuedTasks.clear();
+        remainingTasks.forEach(Runnable::run);
+    }
+
+    @Test
+    void submitImport_ShouldQueueJobWithoutParsingOnCallerThread() throws IOException {
+        CsvImportJob csvImportJob = csvReaderService.submitImport(BankName.MILLENIUM, file, user, 2L);
+
+        assertEquals(CsvImportStatus.QUEUED, csvImportJob.getStatus());
+        assertEquals(1, queuedTasks.size());
+        verify(csvImportPipeline, never()).run(any(), any(), any(), any(), any());
+        assertSame(csvImportJob, csvImportJobRegistry.find(csvImportJob.getId()).orElseThrow());
+    }
+
+    @Test
+    void submitImport_ShouldParseUploadedContentAndComplete() throws IOException {
+        List<String> parsedContent = new ArrayList<>();
+        doAnswer(invocation -> {
+            InputStream inputStream = invocation.getArgument(1);
+            parsedContent.add(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+            return null;
+        }).when(csvImportPipeline).run(eq(mockParser), any(InputStream.class), eq(user), eq(budget), any(CsvImportJob.class));
+
+        CsvImportJob csvImportJob = csvReaderService.submitImport(BankName.MILLENIUM, file, user, 2L);
+        runRemainingTasks();
+
+        assertEquals(CsvImportStatus.COMPLETED, csvImportJob.getStatus());
+        assertEquals(List.of("header\nincome,100"), parsedContent);
+        assertNotNull(csvImportJob.getFinishedAt());
     }
 
     @Test
-    void parseFile_WithValidBankNameAndNullBudgetId() {
-        User user = User.builder().build();
-        BankName bankName = BankName.MILLENIUM;
+    void submitImport_ShouldMarkJobFailedWhenParserThrows() throws IOException {
+        doThrow(new IOException("Broken file")).when(csvImportPipeline).run(any(), any(InputStream.class), any(), any(), any());
+
+        CsvImportJob csvImportJob = csvReaderService.submitImport(BankName.MILLENIUM, file, user, 2L);
+        runRemainingTasks();
 
-        csvReaderService.parseFile(bankName, mockFile, user, null);
+        assertEquals(CsvImportStatus.FAILED, csvImportJob.getStatus());
+        assertEquals("Broken file", csvImportJob.getErrorMessage());
+    }
 
-        verify(mockParser, times(1)).parse(mockFile, user, null);
+    @Test
+    void submitImport_ShouldRecordRowsAndDurationPerBank() throws IOException {
+        doAnswer(invocation -> {
+            CsvImportJob job = invocation.getArgument(4);
+            job.rowsPersisted(120);
+            return null;
+        }).when(csvImportPipeline).run(eq(mockParser), any(InputStream.class), eq(user), eq(budget), any(CsvImportJob.class));
+
+        csvReaderService.submitImport(BankName.MILLENIUM, file, user, 2L);
+        runRemainingTasks();
+
+        assertEquals(120.0, meterRegistry.get("csv.import.rows").tag("bank", "MILLENIUM").counter().count());
+        assertEquals(1, meterRegistry.get("csv.import.duration").tags("bank", "MILLENIUM", "outcome", "completed").timer().count());
+        assertEquals(1, meterRegistry.get("csv.import.throughput").tag("bank", "MILLENIUM").summary().count());
     }
 
     @Test
-    void parseFile_WithUnsupportedBankNameAndNullBudgetId() {
-        User user = User.builder().build();
+    void submitImport_WithUnsupportedBankName() {
         BankName unsupportedBankName = BankName.SANTANDER;
 
         Exception exception = assertThrows(IllegalArgumentException.class, () -> {
-            csvReaderService.parseFile(unsupportedBankName, mockFile, user, null);
+            csvReaderService.submitImport(unsupportedBankName, file, user, 2L);
         });
 
         assertEquals("Unsupported bank: " + unsupportedBankName, exception.getMessage());
-        verify(mockParser, never()).parse(any(), any(), any());
+        assertTrue(queuedTasks.isEmpty());
     }
 
     @Test
-    void parseFile_WithValidBankNameNullBudgetIdAndNullFile() {
-        User user = User.builder().build();
-        BankName bankName = BankName.MILLENIUM;
+    void submitImport_WhenBudgetDoesNotExist() {
+        when(budgetService.findBudgetByIdAndUser(3L, user)).thenThrow(new BudgetNotFoundException("Budget not found"));
 
-        csvReaderService.parseFile(bankName, null, user, null);
+        assertThrows(BudgetNotFoundException.class, () -> csvReaderService.submitImport(BankName.MILLENIUM, file, user, 3L));
 
-        verify(mockParser, times(1)).parse(null, user, null);
+        assertTrue(queuedTasks.isEmpty());
     }
 
     @Test
-    void parseFile_WithValidBankNameNullBudgetIdAndNullUser() {
-        BankName bankName = BankName.MILLENIUM;
+    void submitImport_WhenExecutorIsSaturated() {
+        Executor rejectingExecutor = task -> {
+            throw new RejectedExecutionException("full");
+        };
+        Map<BankName, AbstractCsvParser> parserMap = Map.of(BankName.MILLENIUM, mockParser);
+        CsvReaderService saturatedService = new CsvReaderService(parserMap, budgetService, csvImportJobRegistry, csvImportPipeline, rejectingExecutor, meterRegistry);
+
+        assertThrows(CsvImportRejectedException.class, () -> saturatedService.submitImport(BankName.MILLENIUM, file, user, 2L));
+    }
 
-        csvReaderService.parseFile(bankName, mockFile, null, null);
+    @Test
+    void findImport_ShouldReturnJobOfUserAndBudget() throws IOException {
+        CsvImportJob csvImportJob = csvReaderService.submitImport(BankName.MILLENIUM, file, user, 2L);
 
-        verify(mockParser, times(1)).parse(mockFile, null, null);
+        assertSame(csvImportJob, csvReaderService.findImport(csvImportJob.getId(), 2L, user));
     }
 
     @Test
-    void parseFile_WithValidBankNameNullBudgetIdAndValidFileAndUser() {
-        User user = User.builder().build();
-        BankName bankName = BankName.MILLENIUM;
+    void findImport_ShouldNotExposeJobOfAnotherUser() throws IOException {
+        CsvImportJob csvImportJob = csvReaderService.submitImport(BankName.MILLENIUM, file, user, 2L);
+        User otherUser = User.builder().id(99L).build();
 
-        csvReaderService.parseFile(bankName, mockFile, user, null);
+        assertThrows(CsvImportJobNotFoundException.class, () -> csvReaderService.findImport(csvImportJob.getId(), 2L, otherUser));
+        assertThrows(CsvImportJobNotFoundException.class, () -> csvReaderService.findImport(csvImportJob.getId(), 5L, user));
+    }
 
-        verify(mockParser, times(1)).parse(mockFile, user, null);
+    @Test
+    void findImport_UnknownJob() {
+        assertThrows(CsvImportJobNotFoundException.class, () -> csvReaderService.findImport("unknown", 2L, user));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,114 @@
+package com.myfund.services.csv;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvTokenizerTest {
+
+    @Test
+    void next_ShouldReadRequestedColumnsOnly() throws IOException {
+        CsvTokenizer tokenizer = new CsvTokenizer(new StringReader("a;b;c;d\n"), ';', 1, 3);
+        String[] values = new String[tokenizer.getWidth()];
+
+        assertTrue(tokenizer.next(values));
+
+        assertEquals(4, tokenizer.getWidth());
+        assertNull(values[0]);
+        assertEquals("b", values[1]);
+        assertNull(values[2]);
+        assertEquals("d", values[3]);
+        assertFalse(tokenizer.next(values));
+    }
+
+    @Test
+    void next_ShouldKeepDelimitersAndQuotesInsideQuotedField() throws IOException {
+        CsvTokenizer tokenizer = new CsvTokenizer(new StringReader("\"Shop; \"\"Main\"\"\";\"12,50\"\n"), ';', 0, 1);
+        String[] values = new String[tokenizer.getWidth()];
+
+        assertTrue(tokenizer.next(values));
+
+        assertEquals("Shop; \"Main\"", values[0]);
+        assertEquals("12,50", values[1]);
+    }
+
+    @Test
+    void next_ShouldKeepLineBreakInsideQuotedField() throws IOException {
+        CsvTokenizer tokenizer = new CsvTokenizer(new StringReader("\"first\nsecond\",1\nnext,2\n"), ',', 0, 1);
+        String[] values = new String[tokenizer.getWidth()];
+
+        assertTrue(tokenizer.next(values));
+        assertEquals("first\nsecond", values[0]);
+        assertEquals("1", values[1]);
+
+        assertTrue(tokenizer.next(values));
+        assertEquals("next", values[0]);
+        assertEquals("2", values[1]);
+    }
+
+    @Test
+    void next_ShouldHandleWindowsAndOldMacLineEndings() throws IOException {
+        CsvTokenizer tokenizer = new CsvTokenizer(new StringReader("a,1\r\nb,2\rc,3"), ',', 0, 1);
+        String[] values = new String[tokenizer.getWidth()];
+
+        assertTrue(tokenizer.next(values));
+        assertEquals("a", values[0]);
+        assertEquals("1", values[1]);
+        assertTrue(tokenizer.next(values));
+        assertEquals("b", values[0]);
+        assertEquals("2", values[1]);
+        assertTrue(tokenizer.next(values));
+        assertEquals("c", values[0]);
+        assertEquals("3", values[1]);
+        assertFalse(tokenizer.next(values));
+    }
+
+    @Test
+    void next_ShouldReturnEmptyStringsForMissingAndTrailingEmptyColumns() throws IOException {
+        CsvTokenizer tokenizer = new CsvTokenizer(new StringReader("a,,\nb\n"), ',', 0, 1, 2);
+        String[] values = new String[tokenizer.getWidth()];
+
+        assertTrue(tokenizer.next(values));
+        assertArrayEquals(new String[]{"a", "", ""}, values);
+
+        assertTrue(tokenizer.next(values));
+        assertArrayEquals(new String[]{"b", "", ""}, values);
+    }
+
+    @Test
+    void next_ShouldReadFieldsSpanningBufferBoundary() throws IOException {
+        String longValue = "x".repeat(20_000);
+        String quotedValue = "y\"".repeat(5_000);
+        String csv = longValue + ",\"" + quotedValue.replace("\"", "\"\"") + "\"\n";
+        CsvTokenizer tokenizer = new CsvTokenizer(new StringReader(csv), ',', 0, 1);
+        String[] values = new String[tokenizer.getWidth()];
+
+        assertTrue(tokenizer.next(values));
+
+        assertEquals(longValue, values[0]);
+        assertEquals(quotedValue, values[1]);
+        assertFalse(tokenizer.next(values));
+    }
+
+    @Test
+    void skipRecord_ShouldSkipHeaderWithQuotedLineBreak() throws IOException {
+        CsvTokenizer tokenizer = new CsvTokenizer(new StringReader("\"multi\nline header\",h2\nvalue,1\n"), ',', 0);
+        String[] values = new String[tokenizer.getWidth()];
+
+        assertTrue(tokenizer.skipRecord());
+        assertTrue(tokenizer.next(values));
+
+        assertEquals("value", values[0]);
+        assertFalse(tokenizer.skipRecord());
+    }
+
+    @Test
+    void constructor_ShouldRejectUnsupportedArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new CsvTokenizer(new StringReader(""), '"', 0));
+        assertThrows(IllegalArgumentException.class, () -> new CsvTokenizer(new StringReader(""), '\n', 0));
+        assertThrows(IllegalArgumentException.class, () -> new CsvTokenizer(new StringReader(""), ',', -1));
+    }
+}
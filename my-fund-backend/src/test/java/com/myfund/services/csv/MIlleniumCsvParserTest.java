@@ -3,11 +3,9 @@ package com.myfund.services.csv;
 import com.myfund.exceptions.InvalidInputException;
 import com.myfund.models.Expense;
 import com.myfund.models.Income;
-import com.myfund.services.BudgetService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
-import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.math.BigDecimal;
@@ -17,9 +15,6 @@ import static org.junit.jupiter.api.Assertions.*;
 
 class MIlleniumCsvParserTest {
 
-    @Mock
-    private BudgetService budgetService;
-
     @InjectMocks
     private MIlleniumCsvParser parser;
 
@@ -30,7 +25,7 @@ class MIlleniumCsvParserTest {
 
     @Test
     void testGetDelimiter() {
-        assertEquals(",", parser.getDelimiter(), "Delimiter should be a comma");
+        assertEquals(',', parser.getDelimiter(), "Delimiter should be a comma");
     }
 
     @Test
@@ -2,11 +2,9 @@ package com.myfund.services.csv;
 
 import com.myfund.models.Expense;
 import com.myfund.models.Income;
-import com.myfund.services.BudgetService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
-import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.math.BigDecimal;
@@ -17,9 +15,6 @@ import static org.junit.jupiter.api.Assertions.*;
 
 class SantanderCsvParserTest {
 
-    @Mock
-    private BudgetService budgetService;
-
     @InjectMocks
     private SantanderCsvParser santanderCsvParser;
 
@@ -30,8 +25,8 @@ class SantanderCsvParserTest {
 
     @Test
     void testGetDelimiter() {
-        String delimiter = santanderCsvParser.getDelimiter();
-        assertEquals(";", delimiter, "Delimiter should be ';'");
+        char delimiter = santanderCsvParser.getDelimiter();
+        assertEquals(';', delimiter, "Delimiter should be ';'");
     }
 
     @Test
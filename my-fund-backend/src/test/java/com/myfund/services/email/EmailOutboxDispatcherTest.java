@@ -0,0 +1,156 @@
+package com.myfund.services.email;
+
+import com.myfund.models.EmailOutboxMessage;
+import com.myfund.models.EmailOutboxStatus;
+import com.myfund.models.EmailTemplate;
+import com.myfund.repositories.EmailOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class EmailOutboxDispatcherTest {
+
+    private static final Instant NOW = Instant.parse("2024-05-01T10:00:00Z");
+
+    private static final LocalDateTime NOW_LOCAL = LocalDateTime.ofInstant(NOW, ZoneOffset.UTC);
+
+    @Mock
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Mock
+    private EmailBatchSender emailBatchSender;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private EmailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(emailBatchSender.getMaxBatchSize()).thenReturn(500);
+        dispatcher = new EmailOutboxDispatcher(emailOutboxRepository, emailBatchSender, new TransactionTemplate(transactionManager),
+                2, 3, Duration.ofSeconds(30), Duration.ofMinutes(5), Duration.ofMinutes(2), Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void dispatchBatch_MarksDeliveredRetryableAndPermanentFailures() throws IOException {
+        EmailOutboxMessage delivered = message(1L, 0);
+        EmailOutboxMessage retryable = message(2L, 1);
+        EmailOutboxMessage permanent = message(3L, 0);
+        when(emailOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(EmailOutboxStatus.PENDING, NOW_LOCAL, PageRequest.of(0, 2)))
+                .thenReturn(List.of(delivered, retryable, permanent));
+        when(emailBatchSender.sendBatch(anyList())).thenReturn(List.of(
+                EmailDeliveryResult.success(),
+                EmailDeliveryResult.retryableFailure("429: Rate limited"),
+                EmailDeliveryResult.permanentFailure("406: Inactive recipient")));
+
+        assertEquals(3, dispatcher.dispatchBatch());
+
+        assertEquals(EmailOutboxStatus.SENT, delivered.getStatus());
+        assertEquals(NOW_LOCAL, delivered.getSentAt());
+        assertEquals(EmailOutboxStatus.PENDING, retryable.getStatus());
+        assertEquals(2, retryable.getAttempts());
+        assertEquals(NOW_LOCAL.plusMinutes(1), retryable.getNextAttemptAt());
+        assertEquals("429: Rate limited", retryable.getLastError());
+        assertEquals(EmailOutboxStatus.FAILED, permanent.getStatus());
+        verify(emailOutboxRepository, times(2)).saveAll(List.of(delivered, retryable, permanent));
+    }
+
+    @Test
+    void dispatchBatch_SendsBetweenClaimAndResultTransactions() throws IOException {
+        EmailOutboxMessage message = message(1L, 0);
+        when(emailOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(any(), any(), any())).thenReturn(List.of(message));
+        when(emailBatchSender.sendBatch(anyList())).thenAnswer(invocation -> {
+            assertEquals(NOW_LOCAL.plusMinutes(2), message.getNextAttemptAt());
+            return List.of(EmailDeliveryResult.success());
+        });
+
+        dispatcher.dispatchBatch();
+
+        InOrder inOrder = inOrder(transactionManager, emailOutboxRepository, emailBatchSender);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(emailOutboxRepository).saveAll(List.of(message));
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(emailBatchSender).sendBatch(List.of(message));
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(emailOutboxRepository).saveAll(List.of(message));
+        inOrder.verify(transactionManager).commit(any());
+        assertEquals(EmailOutboxStatus.SENT, message.getStatus());
+    }
+
+    @Test
+    void dispatchBatch_RetriesWholeBatchWhenRequestFails() throws IOException {
+        EmailOutboxMessage first = message(1L, 0);
+        EmailOutboxMessage last = message(2L, 2);
+        when(emailOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(any(), any(), any())).thenReturn(List.of(first, last));
+        when(emailBatchSender.sendBatch(anyList())).thenThrow(new IOException("Connection reset"));
+
+        dispatcher.dispatchBatch();
+
+        assertEquals(EmailOutboxStatus.PENDING, first.getStatus());
+        assertEquals(NOW_LOCAL.plusSeconds(30), first.getNextAttemptAt());
+        assertEquals("Connection reset", first.getLastError());
+        assertEquals(EmailOutboxStatus.FAILED, last.getStatus());
+        assertEquals(3, last.getAttempts());
+    }
+
+    @Test
+    void dispatchPending_StopsWhenBatchIsNotFull() throws IOException {
+        when(emailOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(any(), any(), any()))
+                .thenReturn(List.of(message(1L, 0), message(2L, 0)))
+                .thenReturn(List.of(message(3L, 0)));
+        when(emailBatchSender.sendBatch(anyList())).thenAnswer(invocation -> {
+            List<EmailOutboxMessage> messages = invocation.getArgument(0);
+            return messages.stream().map(message -> EmailDeliveryResult.success()).toList();
+        });
+
+        dispatcher.dispatchPending();
+
+        verify(emailBatchSender, times(2)).sendBatch(anyList());
+        verify(transactionManager, times(4)).commit(any());
+    }
+
+    @Test
+    void dispatchBatch_DoesNothingWhenOutboxEmpty() throws IOException {
+        when(emailOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(any(), any(), any())).thenReturn(List.of());
+
+        assertEquals(0, dispatcher.dispatchBatch());
+
+        verify(emailBatchSender, never()).sendBatch(anyList());
+        verify(emailOutboxRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void backoff_DoublesUntilCapped() {
+        assertEquals(Duration.ofSeconds(30), dispatcher.backoff(0));
+        assertEquals(Duration.ofMinutes(4), dispatcher.backoff(3));
+        assertEquals(Duration.ofMinutes(5), dispatcher.backoff(4));
+        assertEquals(Duration.ofMinutes(5), dispatcher.backoff(40));
+    }
+
+    private static EmailOutboxMessage message(Long id, int attempts) {
+        EmailOutboxMessage message = EmailOutboxMessage.create(EmailTemplate.WELCOME, "user" + id + "@example.com", "{}", NOW_LOCAL);
+        message.setId(id);
+        message.setAttempts(attempts);
+        return message;
+    }
+}
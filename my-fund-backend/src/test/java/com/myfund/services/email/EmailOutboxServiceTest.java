@@ -0,0 +1,52 @@
+package com.myfund.services.email;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myfund.models.EmailOutboxMessage;
+import com.myfund.models.EmailOutboxStatus;
+import com.myfund.models.EmailTemplate;
+import com.myfund.models.User;
+import com.myfund.repositories.EmailOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+class EmailOutboxServiceTest {
+
+    private static final Instant NOW = Instant.parse("2024-05-01T10:00:00Z");
+
+    @Mock
+    private EmailOutboxRepository emailOutboxRepository;
+
+    private EmailOutboxService emailOutboxService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(emailOutboxRepository.save(any(EmailOutboxMessage.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        emailOutboxService = new EmailOutboxService(emailOutboxRepository, new ObjectMapper(), Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void enqueueWelcomeEmail_StoresPendingMessageDueNow() {
+        User user = User.builder().username("testuser").email("test@example.com").build();
+
+        EmailOutboxMessage message = emailOutboxService.enqueueWelcomeEmail(user);
+
+        assertEquals(EmailTemplate.WELCOME, message.getTemplate());
+        assertEquals("test@example.com", message.getRecipient());
+        assertEquals("{\"name\":\"testuser\",\"product_name\":\"my fund\"}", message.getTemplateModel());
+        assertEquals(EmailOutboxStatus.PENDING, message.getStatus());
+        assertEquals(0, message.getAttempts());
+        assertEquals(LocalDateTime.ofInstant(NOW, ZoneOffset.UTC), message.getNextAttemptAt());
+    }
+}
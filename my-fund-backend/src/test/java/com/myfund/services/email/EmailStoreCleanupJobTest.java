@@ -0,0 +1,56 @@
+package com.myfund.services.email;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.mockito.Mockito.*;
+
+class EmailStoreCleanupJobTest {
+
+    private static final Instant NOW = Instant.parse("2024-05-01T10:00:00Z");
+
+    @Mock
+    private PasswordResetTokenStore passwordResetTokenStore;
+
+    @Mock
+    private EmailThrottleStore emailThrottleStore;
+
+    @Mock
+    private EmailThrottleService emailThrottleService;
+
+    private EmailStoreCleanupJob emailStoreCleanupJob;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(emailThrottleService.getWindow()).thenReturn(Duration.ofMinutes(60));
+        emailStoreCleanupJob = new EmailStoreCleanupJob(passwordResetTokenStore, emailThrottleStore, emailThrottleService, 100, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void deleteExpired_RepeatsFullBatchesUntilStoreIsDrained() {
+        when(passwordResetTokenStore.deleteExpired(NOW, 100)).thenReturn(100, 100, 7);
+        when(emailThrottleStore.deleteInactive(NOW.minus(Duration.ofMinutes(60)), 100)).thenReturn(0);
+
+        emailStoreCleanupJob.deleteExpired();
+
+        verify(passwordResetTokenStore, times(3)).deleteExpired(NOW, 100);
+        verify(emailThrottleStore, times(1)).deleteInactive(NOW.minus(Duration.ofMinutes(60)), 100);
+    }
+
+    @Test
+    void deleteExpired_StopsAfterBatchLimitPerRun() {
+        when(passwordResetTokenStore.deleteExpired(NOW, 100)).thenReturn(100);
+
+        emailStoreCleanupJob.deleteExpired();
+
+        verify(passwordResetTokenStore, times(50)).deleteExpired(NOW, 100);
+    }
+}
@@ -1,153 +1,181 @@
 package com.myfund.services.email;
 
+import com.myfund.exceptions.EmailThrottleException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.Mock;
-import org.mockito.MockitoAnnotations;
-import org.springframework.cache.Cache;
-import org.springframework.cache.CacheManager;
 
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 class EmailThrottleServiceTest {
 
-    @Mock
-    private CacheManager mockCacheManager;
+    private static final long START = 1_700_000_000_000L;
 
-    @Mock
-    private Cache mockCache;
+    private Clock clock;
 
     private EmailThrottleService emailThrottleService;
 
     @BeforeEach
     void setUp() {
-        MockitoAnnotations.openMocks(this);
-        when(mockCacheManager.getCache("emailThrottleCache")).thenReturn(mockCache);
-        emailThrottleService = new EmailThrottleService(mockCacheManager);
+        clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(Instant.ofEpochMilli(START));
+        emailThrottleService = new EmailThrottleService(new LocalEmailThrottleStore(), 3, Duration.ofMinutes(60), clock);
     }
 
     @Test
-    void getEmailCount_ShouldReturnCachedCount_WhenCountExistsInCache() {
-        String email = "test@example.com";
-        AtomicInteger cachedCount = new AtomicInteger(5);
-        when(mockCache.get(email, AtomicInteger.class)).thenReturn(cachedCount);
-
-        AtomicInteger result = emailThrottleService.getEmailCount(email);
-
-        assertEquals(5, result.get(), "Email count should be 5");
+    void getEmailCount_ShouldReturnZero_WhenNothingSent() {
+        assertEquals(0, emailThrottleService.getEmailCount("test@example.com"), "Email count should be 0");
     }
 
     @Test
-    void getEmailCount_ShouldReturnZero_WhenCountDoesNotExistInCache() {
+    void tryAcquire_ShouldAllowThreeEmailsAndRejectFourth() {
         String email = "test@example.com";
-        when(mockCache.get(email, AtomicInteger.class)).thenReturn(null);
 
-        AtomicInteger result = emailThrottleService.getEmailCount(email);
-
-        assertEquals(0, result.get(), "Email count should be 0");
+        assertTrue(emailThrottleService.tryAcquire(email));
+        assertTrue(emailThrottleService.tryAcquire(email));
+        assertTrue(emailThrottleService.tryAcquire(email));
+        assertFalse(emailThrottleService.tryAcquire(email), "Fourth email within the window should be rejected");
+        assertEquals(3, emailThrottleService.getEmailCount(email));
     }
 
     @Test
-    void getEmailCount_ShouldReturnNewAtomicInteger_WhenCacheIsEmpty() {
+    void tryAcquire_ShouldNotCountRejectedAttempts() {
         String email = "test@example.com";
-        when(mockCache.get(email, AtomicInteger.class)).thenReturn(null);
-
-        AtomicInteger result = emailThrottleService.getEmailCount(email);
+        for (int i = 0; i < 10; i++) {
+            emailThrottleService.tryAcquire(email);
+        }
 
-        assertNotNull(result, "Result should not be null");
-        assertEquals(0, result.get(), "Email count should be 0");
+        assertEquals(3, emailThrottleService.getEmailCount(email));
     }
 
     @Test
-    void getEmailCount_ShouldReturnCachedCount_WhenCacheIsNotEmpty() {
-        String email = "test@example.com";
-        AtomicInteger cachedCount = new AtomicInteger(3);
-        when(mockCache.get(email, AtomicInteger.class)).thenReturn(cachedCount);
+    void tryAcquire_ShouldTreatEmailCaseInsensitively() {
+        emailThrottleService.tryAcquire("test@example.com");
+        emailThrottleService.tryAcquire("Test@Example.com");
+        emailThrottleService.tryAcquire("TEST@EXAMPLE.COM");
 
-        AtomicInteger result = emailThrottleService.getEmailCount(email);
-
-        assertNotNull(result, "Result should not be null");
-        assertEquals(3, result.get(), "Email count should be 3");
+        assertFalse(emailThrottleService.tryAcquire("test@example.com"));
     }
 
     @Test
-    void incrementEmailCount_ShouldReturnNewAtomicInteger_WhenCacheIsEmpty() {
-        String email = "test@example.com";
-        when(mockCache.get(email, AtomicInteger.class)).thenReturn(null);
-
-        AtomicInteger result = emailThrottleService.incrementEmailCount(email);
+    void tryAcquire_ShouldTrackRecipientsIndependently() {
+        for (int i = 0; i < 3; i++) {
+            emailThrottleService.tryAcquire("first@example.com");
+        }
 
-        assertNotNull(result, "Result should not be null");
-        assertEquals(1, result.get(), "Email count should be initialized to 1");
+        assertTrue(emailThrottleService.tryAcquire("second@example.com"));
     }
 
     @Test
-    void incrementEmailCount_ShouldReturnIncrementedCount_WhenCacheIsNotEmpty() {
+    void tryAcquire_ShouldSlideWindowInsteadOfResettingIt() {
         String email = "test@example.com";
-        AtomicInteger cachedCount = new AtomicInteger(3);
-        when(mockCache.get(email, AtomicInteger.class)).thenReturn(cachedCount);
-
-        AtomicInteger result = emailThrottleService.incrementEmailCount(email);
-
-        assertNotNull(result, "Result should not be null");
-        assertEquals(4, result.get(), "Email count should be incremented to 4");
+        emailThrottleService.tryAcquire(email);
+        when(clock.instant()).thenReturn(Instant.ofEpochMilli(START + TimeUnit.MINUTES.toMillis(20)));
+        emailThrottleService.tryAcquire(email);
+        when(clock.instant()).thenReturn(Instant.ofEpochMilli(START + TimeUnit.MINUTES.toMillis(40)));
+        emailThrottleService.tryAcquire(email);
+
+        when(clock.instant()).thenReturn(Instant.ofEpochMilli(START + TimeUnit.MINUTES.toMillis(59)));
+        assertFalse(emailThrottleService.tryAcquire(email));
+
+        when(clock.instant()).thenReturn(Instant.ofEpochMilli(START + TimeUnit.MINUTES.toMillis(61)));
+        assertTrue(emailThrottleService.tryAcquire(email), "Oldest send left the window, so one slot is free");
+        assertFalse(emailThrottleService.tryAcquire(email), "The sends at 20 and 40 minutes are still in the window");
+        assertEquals(3, emailThrottleService.getEmailCount(email));
     }
 
     @Test
-    void canSendEmail_ShouldReturnTrue_WhenEmailCountIsZero() {
-        String email = "test@example.com";
-        AtomicInteger cachedCount = new AtomicInteger(0);
-        when(mockCache.get(email, AtomicInteger.class)).thenReturn(cachedCount);
-
-        boolean result = emailThrottleService.canSendEmail(email);
-
-        assertTrue(result, "Should be able to send email when count is zero");
+    void tryAcquire_ShouldNeverExceedLimitUnderConcurrentRequests() throws Exception {
+        int threads = 16;
+        int attemptsPerThread = 200;
+        int recipients = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger acquired = new AtomicInteger();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < attemptsPerThread; i++) {
+                        if (emailThrottleService.tryAcquire("user" + (i % recipients) + "@example.com")) {
+                            acquired.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(recipients * 3, acquired.get());
+        for (int r = 0; r < recipients; r++) {
+            assertEquals(3, emailThrottleService.getEmailCount("user" + r + "@example.com"));
+        }
     }
 
     @Test
-    void canSendEmail_ShouldReturnTrue_WhenEmailCountIsOne() {
-        String email = "test@example.com";
-        AtomicInteger cachedCount = new AtomicInteger(1);
-        when(mockCache.get(email, AtomicInteger.class)).thenReturn(cachedCount);
-
-        boolean result = emailThrottleService.canSendEmail(email);
+    void sendWithinLimit_ShouldKeepReservationWhenDelivered() throws IOException {
+        emailThrottleService.sendWithinLimit("test@example.com", () -> true);
 
-        assertTrue(result, "Should be able to send email when count is one");
+        assertEquals(1, emailThrottleService.getEmailCount("test@example.com"));
     }
 
     @Test
-    void canSendEmail_ShouldReturnTrue_WhenEmailCountIsTwo() {
+    void sendWithinLimit_ShouldReleaseReservationWhenSendThrows() {
         String email = "test@example.com";
-        AtomicInteger cachedCount = new AtomicInteger(2);
-        when(mockCache.get(email, AtomicInteger.class)).thenReturn(cachedCount);
+        for (int i = 0; i < 3; i++) {
+            assertThrows(IOException.class, () -> emailThrottleService.sendWithinLimit(email, () -> {
+                throw new IOException("Connection reset");
+            }));
+        }
+
+        assertEquals(0, emailThrottleService.getEmailCount(email));
+        assertTrue(emailThrottleService.tryAcquire(email));
+    }
 
-        boolean result = emailThrottleService.canSendEmail(email);
+    @Test
+    void sendWithinLimit_ShouldReleaseReservationWhenNotDelivered() throws IOException {
+        emailThrottleService.sendWithinLimit("test@example.com", () -> false);
 
-        assertTrue(result, "Should be able to send email when count is two");
+        assertEquals(0, emailThrottleService.getEmailCount("test@example.com"));
     }
 
     @Test
-    void canSendEmail_ShouldReturnFalse_WhenEmailCountIsThree() {
+    void sendWithinLimit_ShouldRejectWithoutSendingWhenLimitReached() {
         String email = "test@example.com";
-        AtomicInteger cachedCount = new AtomicInteger(3);
-        when(mockCache.get(email, AtomicInteger.class)).thenReturn(cachedCount);
+        for (int i = 0; i < 3; i++) {
+            emailThrottleService.tryAcquire(email);
+        }
+        AtomicInteger sends = new AtomicInteger();
 
-        boolean result = emailThrottleService.canSendEmail(email);
+        assertThrows(EmailThrottleException.class, () -> emailThrottleService.sendWithinLimit(email, () -> sends.incrementAndGet() > 0));
 
-        assertFalse(result, "Should not be able to send email when count is three");
+        assertEquals(0, sends.get());
+        assertEquals(3, emailThrottleService.getEmailCount(email));
     }
 
     @Test
-    void canSendEmail_ShouldReturnFalse_WhenEmailCountIsGreaterThanThree() {
-        String email = "test@example.com";
-        AtomicInteger cachedCount = new AtomicInteger(4);
-        when(mockCache.get(email, AtomicInteger.class)).thenReturn(cachedCount);
-
-        boolean result = emailThrottleService.canSendEmail(email);
-
-        assertFalse(result, "Should not be able to send email when count is greater than three");
+    void constructor_ShouldRejectNonPositiveLimit() {
+        assertThrows(IllegalArgumentException.class, () -> new EmailThrottleService(new LocalEmailThrottleStore(), 0, Duration.ofMinutes(60), clock));
     }
-}
\ No newline at end of file
+}
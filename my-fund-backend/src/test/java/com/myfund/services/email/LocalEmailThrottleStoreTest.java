@@ -0,0 +1,72 @@
+package com.myfund.services.email;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalEmailThrottleStoreTest {
+
+    private static final Instant NOW = Instant.parse("2024-05-01T10:00:00Z");
+
+    private static final Duration WINDOW = Duration.ofMinutes(60);
+
+    private final LocalEmailThrottleStore store = new LocalEmailThrottleStore();
+
+    @Test
+    void deleteInactive_RemovesOnlyRecipientsIdleForWholeWindow() {
+        store.tryAcquire("idle", NOW, WINDOW, 3);
+        store.tryAcquire("active", NOW.plus(Duration.ofMinutes(30)), WINDOW, 3);
+        Instant later = NOW.plus(Duration.ofMinutes(70));
+
+        assertEquals(1, store.deleteInactive(later.minus(WINDOW), 10));
+
+        assertEquals(0, store.count("idle", later, WINDOW));
+        assertEquals(1, store.count("active", later, WINDOW));
+    }
+
+    @Test
+    void tryAcquire_StartsFreshLogAfterCleanup() {
+        for (int i = 0; i < 3; i++) {
+            store.tryAcquire("recipient", NOW, WINDOW, 3);
+        }
+        Instant later = NOW.plus(WINDOW).plusSeconds(1);
+        store.deleteInactive(later.minus(WINDOW), 10);
+
+        assertTrue(store.tryAcquire("recipient", later, WINDOW, 3));
+        assertEquals(1, store.count("recipient", later, WINDOW));
+    }
+
+    @Test
+    void release_GivesBackTheReservedSendOnly() {
+        store.tryAcquire("recipient", NOW, WINDOW, 3);
+        Instant reservedAt = NOW.plus(Duration.ofMinutes(10));
+        store.tryAcquire("recipient", reservedAt, WINDOW, 3);
+        store.tryAcquire("recipient", NOW.plus(Duration.ofMinutes(20)), WINDOW, 3);
+
+        store.release("recipient", reservedAt);
+
+        Instant later = NOW.plus(Duration.ofMinutes(65));
+        assertEquals(1, store.count("recipient", later, WINDOW), "Only the send at 20 minutes is left in the window");
+        assertTrue(store.tryAcquire("recipient", NOW.plus(Duration.ofMinutes(30)), WINDOW, 3));
+    }
+
+    @Test
+    void release_IgnoresUnknownRecipient() {
+        store.release("unknown", NOW);
+
+        assertEquals(0, store.count("unknown", NOW, WINDOW));
+    }
+
+    @Test
+    void deleteInactive_RespectsLimit() {
+        for (int i = 0; i < 5; i++) {
+            store.tryAcquire("recipient" + i, NOW, WINDOW, 3);
+        }
+
+        assertEquals(2, store.deleteInactive(NOW, 2));
+        assertEquals(3, store.deleteInactive(NOW, 10));
+    }
+}
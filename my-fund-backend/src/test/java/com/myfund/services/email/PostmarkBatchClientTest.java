@@ -0,0 +1,128 @@
+package com.myfund.services.email;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myfund.configs.EmailConfig;
+import com.myfund.models.EmailOutboxMessage;
+import com.myfund.models.EmailTemplate;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostmarkBatchClientTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final List<String> requestBodies = new CopyOnWriteArrayList<>();
+
+    private final List<String> serverTokens = new CopyOnWriteArrayList<>();
+
+    private final AtomicInteger responseStatus = new AtomicInteger(200);
+
+    private final AtomicReference<String> responseBody = new AtomicReference<>("[]");
+
+    private HttpServer server;
+
+    private CloseableHttpClient httpClient;
+
+    private PostmarkBatchClient postmarkBatchClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/email/batchWithTemplates", exchange -> {
+            requestBodies.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            serverTokens.add(exchange.getRequestHeaders().getFirst("X-Postmark-Server-Token"));
+            byte[] response = responseBody.get().getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(responseStatus.get(), response.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(response);
+            }
+        });
+        server.start();
+
+        EmailConfig emailConfig = new EmailConfig();
+        ReflectionTestUtils.setField(emailConfig, "maxConnections", 2);
+        ReflectionTestUtils.setField(emailConfig, "connectTimeoutMs", 1000);
+        ReflectionTestUtils.setField(emailConfig, "socketTimeoutMs", 1000);
+        httpClient = emailConfig.postmarkHttpClient();
+
+        postmarkBatchClient = new PostmarkBatchClient(httpClient, objectMapper);
+        ReflectionTestUtils.setField(postmarkBatchClient, "apiKey", "server-token");
+        ReflectionTestUtils.setField(postmarkBatchClient, "batchUrl", "http://localhost:" + server.getAddress().getPort() + "/email/batchWithTemplates");
+        ReflectionTestUtils.setField(postmarkBatchClient, "emailSender", "noreply@myfund.com");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        httpClient.close();
+        server.stop(0);
+    }
+
+    @Test
+    void sendBatch_PostsAllMessagesAndMapsPerMessageResults() throws IOException {
+        responseBody.set("[{\"ErrorCode\":0,\"Message\":\"OK\"},{\"ErrorCode\":406,\"Message\":\"Inactive recipient\"},{\"ErrorCode\":429,\"Message\":\"Rate limited\"}]");
+
+        List<EmailDeliveryResult> results = postmarkBatchClient.sendBatch(List.of(message("a@example.com"), message("b@example.com"), message("c@example.com")));
+
+        assertTrue(results.get(0).isDelivered());
+        assertFalse(results.get(1).isDelivered());
+        assertFalse(results.get(1).isRetryable());
+        assertEquals("406: Inactive recipient", results.get(1).getError());
+        assertTrue(results.get(2).isRetryable());
+
+        JsonNode request = objectMapper.readTree(requestBodies.get(0));
+        assertEquals(3, request.get("Messages").size());
+        JsonNode first = request.get("Messages").get(0);
+        assertEquals("noreply@myfund.com", first.get("From").asText());
+        assertEquals("a@example.com", first.get("To").asText());
+        assertEquals(EmailTemplate.WELCOME.getTemplateId(), first.get("TemplateId").asLong());
+        assertEquals("testuser", first.get("TemplateModel").get("name").asText());
+        assertEquals("server-token", serverTokens.get(0));
+    }
+
+    @Test
+    void sendBatch_SendsConsecutiveBatchesOnSharedClient() throws IOException {
+        responseBody.set("[{\"ErrorCode\":0,\"Message\":\"OK\"}]");
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(postmarkBatchClient.sendBatch(List.of(message("a@example.com"))).get(0).isDelivered());
+        }
+
+        assertEquals(5, requestBodies.size());
+    }
+
+    @Test
+    void sendBatch_ThrowsWhenServerRejectsRequest() {
+        responseStatus.set(500);
+        responseBody.set("{\"ErrorCode\":500,\"Message\":\"Internal error\"}");
+
+        assertThrows(IOException.class, () -> postmarkBatchClient.sendBatch(List.of(message("a@example.com"))));
+    }
+
+    @Test
+    void sendBatch_ThrowsWhenResponseDoesNotMatchBatch() {
+        responseBody.set("[]");
+
+        assertThrows(IOException.class, () -> postmarkBatchClient.sendBatch(List.of(message("a@example.com"))));
+    }
+
+    private static EmailOutboxMessage message(String recipient) {
+        return EmailOutboxMessage.create(EmailTemplate.WELCOME, recipient, "{\"name\":\"testuser\",\"product_name\":\"my fund\"}", LocalDateTime.now());
+    }
+}
@@ -1,22 +1,30 @@
 package com.myfund.services.email;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
-import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.cache.CacheManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
-@ExtendWith(MockitoExtension.class)
 public class TokenServiceTest {
 
-    @InjectMocks
+    private static final Instant NOW = Instant.parse("2024-05-01T10:00:00Z");
+
+    private Clock clock;
+
     private TokenService tokenService;
 
-    @Mock
-    private CacheManager cacheManager;
+    @BeforeEach
+    void setUp() {
+        clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(NOW);
+        tokenService = new TokenService(new LocalPasswordResetTokenStore(), Duration.ofMinutes(10), clock);
+    }
 
     @Test
     void createPasswordResetToken_WithValidEmail_ShouldReturnToken() {
@@ -25,4 +33,38 @@ public class TokenServiceTest {
         assertNotNull(token, "Token should not be null");
         assertEquals(36, token.length(), "Token should be 36 characters long");
     }
-}
\ No newline at end of file
+
+    @Test
+    void consumePasswordResetToken_ShouldAcceptTokenOnlyOnce() {
+        String token = tokenService.createPasswordResetToken("test@example.com");
+
+        assertTrue(tokenService.consumePasswordResetToken("test@example.com", token));
+        assertFalse(tokenService.consumePasswordResetToken("test@example.com", token), "Token should be single use");
+    }
+
+    @Test
+    void consumePasswordResetToken_ShouldRejectWrongOrMissingToken() {
+        tokenService.createPasswordResetToken("test@example.com");
+
+        assertFalse(tokenService.consumePasswordResetToken("test@example.com", "wrong"));
+        assertFalse(tokenService.consumePasswordResetToken("test@example.com", null));
+        assertFalse(tokenService.consumePasswordResetToken("other@example.com", "wrong"));
+    }
+
+    @Test
+    void consumePasswordResetToken_ShouldRejectExpiredToken() {
+        String token = tokenService.createPasswordResetToken("test@example.com");
+        when(clock.instant()).thenReturn(NOW.plus(Duration.ofMinutes(10)));
+
+        assertFalse(tokenService.consumePasswordResetToken("test@example.com", token));
+    }
+
+    @Test
+    void createPasswordResetToken_ShouldReplacePreviousToken() {
+        String first = tokenService.createPasswordResetToken("test@example.com");
+        String second = tokenService.createPasswordResetToken("Test@Example.com");
+
+        assertFalse(tokenService.consumePasswordResetToken("test@example.com", first));
+        assertTrue(tokenService.consumePasswordResetToken("test@example.com", second));
+    }
+}
@@ -1,84 +1,108 @@
 package com.myfund.services.encryption;
 
-import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
-import org.mockito.Mockito;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyByte;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mockStatic;
 
 class BigDecimalEncryptorTest {
 
+    private static final String ENCRYPTION_KEY = "1234567890123456";
+
     private BigDecimalEncryptor bigDecimalEncryptor;
-    private MockedStatic<EncryptionUtil> encryptionUtilMock;
 
     @BeforeEach
     void setUp() {
         bigDecimalEncryptor = new BigDecimalEncryptor();
-        ReflectionTestUtils.setField(bigDecimalEncryptor, "encryptionKey", "testKey");
-        encryptionUtilMock = mockStatic(EncryptionUtil.class);
+        ReflectionTestUtils.setField(bigDecimalEncryptor, "encryptionKey", ENCRYPTION_KEY);
     }
 
-    @AfterEach
-    void tearDown() {
-        encryptionUtilMock.close();
+    @Test
+    void convertToDatabaseColumn_ShouldEncryptScaleAndUnscaledValue() {
+        byte[] encryptedValue = bigDecimalEncryptor.convertToDatabaseColumn(new BigDecimal("-123.45"));
+
+        assertEquals(EncryptionUtil.DECIMAL_FORMAT, encryptedValue[0]);
+        assertEquals(17, encryptedValue.length);
+        assertEquals(new BigDecimal("-123.45"), bigDecimalEncryptor.convertToEntityAttribute(encryptedValue));
     }
 
     @Test
-    void convertToDatabaseColumn_ShouldEncryptBigDecimal() {
-        BigDecimal attribute = new BigDecimal("123.45");
-        encryptionUtilMock.when(() -> EncryptionUtil.encrypt(anyString(), anyString())).thenReturn("encryptedValue");
+    void convertToDatabaseColumn_ShouldKeepScale() {
+        BigDecimal attribute = new BigDecimal("1.2E+5");
 
-        String encryptedValue = bigDecimalEncryptor.convertToDatabaseColumn(attribute);
+        BigDecimal decryptedValue = bigDecimalEncryptor.convertToEntityAttribute(bigDecimalEncryptor.convertToDatabaseColumn(attribute));
 
-        assertEquals("encryptedValue", encryptedValue);
-        encryptionUtilMock.verify(() -> EncryptionUtil.encrypt("123.45", "testKey"), Mockito.times(1));
+        assertEquals(attribute.scale(), decryptedValue.scale());
+        assertEquals(attribute, decryptedValue);
     }
 
     @Test
-    void convertToDatabaseColumn_ShouldThrowRuntimeExceptionOnEncryptionError() {
-        BigDecimal attribute = new BigDecimal("123.45");
-        encryptionUtilMock.when(() -> EncryptionUtil.encrypt(anyString(), anyString())).thenThrow(new RuntimeException("Encryption error"));
+    void convertToDatabaseColumn_ShouldFallBackToTextForLargeUnscaledValues() {
+        BigDecimal attribute = new BigDecimal("123456789012345678901234567890.12");
+
+        byte[] encryptedValue = bigDecimalEncryptor.convertToDatabaseColumn(attribute);
+
+        assertEquals(EncryptionUtil.TEXT_FORMAT, encryptedValue[0]);
+        assertEquals(attribute, bigDecimalEncryptor.convertToEntityAttribute(encryptedValue));
+    }
+
+    @Test
+    void convertToEntityAttribute_ShouldDecryptTextAndBase64Values() throws Exception {
+        byte[] textValue = EncryptionUtil.encryptText("123.45", ENCRYPTION_KEY);
+        byte[] base64Value = EncryptionUtil.encrypt("123.45", ENCRYPTION_KEY).getBytes(StandardCharsets.US_ASCII);
+
+        assertEquals(new BigDecimal("123.45"), bigDecimalEncryptor.convertToEntityAttribute(textValue));
+        assertEquals(new BigDecimal("123.45"), bigDecimalEncryptor.convertToEntityAttribute(base64Value));
+    }
+
+    @Test
+    void convertToEntityAttribute_ShouldRejectUnknownFormat() throws Exception {
+        byte[] dbData = EncryptionUtil.encryptColumn((byte) 9, new byte[12], ENCRYPTION_KEY);
 
-        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
-            bigDecimalEncryptor.convertToDatabaseColumn(attribute);
-        });
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> bigDecimalEncryptor.convertToEntityAttribute(dbData));
 
-        assertEquals("Error encrypting BigDecimal", exception.getMessage());
+        assertEquals("Error decrypting BigDecimal", exception.getMessage());
+        assertInstanceOf(IllegalArgumentException.class, exception.getCause());
     }
 
     @Test
-    void convertToEntityAttribute_ShouldDecryptString() {
-        String dbData = "encryptedValue";
-        encryptionUtilMock.when(() -> EncryptionUtil.decrypt(anyString(), anyString())).thenReturn("123.45");
+    void convertToDatabaseColumn_ShouldThrowRuntimeExceptionOnEncryptionError() {
+        try (MockedStatic<EncryptionUtil> encryptionUtilMock = mockStatic(EncryptionUtil.class)) {
+            encryptionUtilMock.when(() -> EncryptionUtil.encryptColumn(anyByte(), any(byte[].class), anyString())).thenThrow(new RuntimeException("Encryption error"));
 
-        BigDecimal decryptedValue = bigDecimalEncryptor.convertToEntityAttribute(dbData);
+            RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+                bigDecimalEncryptor.convertToDatabaseColumn(new BigDecimal("123.45"));
+            });
 
-        assertEquals(new BigDecimal("123.45"), decryptedValue);
-        encryptionUtilMock.verify(() -> EncryptionUtil.decrypt("encryptedValue", "testKey"), Mockito.times(1));
+            assertEquals("Error encrypting BigDecimal", exception.getMessage());
+        }
     }
 
     @Test
     void convertToEntityAttribute_ShouldThrowRuntimeExceptionOnDecryptionError() {
-        String dbData = "encryptedValue";
-        encryptionUtilMock.when(() -> EncryptionUtil.decrypt(anyString(), anyString())).thenThrow(new RuntimeException("Decryption error"));
+        try (MockedStatic<EncryptionUtil> encryptionUtilMock = mockStatic(EncryptionUtil.class)) {
+            encryptionUtilMock.when(() -> EncryptionUtil.decryptColumn(any(byte[].class), anyString())).thenThrow(new RuntimeException("Decryption error"));
 
-        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
-            bigDecimalEncryptor.convertToEntityAttribute(dbData);
-        });
+            RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+                bigDecimalEncryptor.convertToEntityAttribute(new byte[]{EncryptionUtil.DECIMAL_FORMAT, 1, 2, 3});
+            });
 
-        assertEquals("Error decrypting BigDecimal", exception.getMessage());
+            assertEquals("Error decrypting BigDecimal", exception.getMessage());
+        }
     }
 
     @Test
     void convertToDatabaseColumn_ShouldHandleNullAttribute() {
-        String encryptedValue = bigDecimalEncryptor.convertToDatabaseColumn(null);
+        byte[] encryptedValue = bigDecimalEncryptor.convertToDatabaseColumn(null);
 
         assertNull(encryptedValue);
     }
@@ -89,4 +113,4 @@ class BigDecimalEncryptorTest {
 
         assertNull(decryptedValue);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,71 @@
+package com.myfund.services.encryption;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BinaryCiphertextRewriteJobTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private BinaryCiphertextRewriteJob binaryCiphertextRewriteJob;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        binaryCiphertextRewriteJob = new BinaryCiphertextRewriteJob(jdbcTemplate, 100);
+    }
+
+    @Test
+    void updateStatement_ShouldOnlyRewriteBase64ValuesInIdRange() {
+        String update = BinaryCiphertextRewriteJob.updateStatement("expense", List.of("name", "amount"));
+
+        assertEquals("UPDATE expense SET name = IF(ASCII(name) >= 43, CONCAT(X'01', FROM_BASE64(name)), name), "
+                + "amount = IF(ASCII(amount) >= 43, CONCAT(X'01', FROM_BASE64(amount)), amount) "
+                + "WHERE id > ? AND id <= ? AND (ASCII(name) >= 43 OR ASCII(amount) >= 43)", update);
+    }
+
+    @Test
+    void rewrite_ShouldWalkIdRangesUpToMaxId() {
+        when(jdbcTemplate.queryForObject("SELECT MAX(id) FROM category", Long.class)).thenReturn(250L);
+        when(jdbcTemplate.update(anyString(), anyLong(), anyLong())).thenReturn(100, 100, 50);
+
+        int rewritten = binaryCiphertextRewriteJob.rewrite("category", List.of("name"));
+
+        assertEquals(250, rewritten);
+        verify(jdbcTemplate).update(startsWith("UPDATE category"), eq(0L), eq(100L));
+        verify(jdbcTemplate).update(startsWith("UPDATE category"), eq(100L), eq(200L));
+        verify(jdbcTemplate).update(startsWith("UPDATE category"), eq(200L), eq(300L));
+    }
+
+    @Test
+    void rewriteColumns_ShouldSkipTablesThatAreFinished() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(null);
+
+        binaryCiphertextRewriteJob.rewriteColumns();
+        binaryCiphertextRewriteJob.rewriteColumns();
+
+        verify(jdbcTemplate, times(BinaryCiphertextRewriteJob.ENCRYPTED_COLUMNS.size())).queryForObject(anyString(), eq(Long.class));
+        verify(jdbcTemplate, never()).update(anyString(), anyLong(), anyLong());
+    }
+
+    @Test
+    void rewrite_ShouldResumeWhereThePreviousRunStopped() {
+        when(jdbcTemplate.queryForObject("SELECT MAX(id) FROM users", Long.class)).thenReturn(100_000L);
+
+        binaryCiphertextRewriteJob.rewrite("users", List.of("email"));
+        binaryCiphertextRewriteJob.rewrite("users", List.of("email"));
+
+        verify(jdbcTemplate, times(100)).update(anyString(), anyLong(), anyLong());
+        verify(jdbcTemplate).update(anyString(), eq(5_000L), eq(5_100L));
+    }
+}
@@ -0,0 +1,40 @@
+package com.myfund.services.encryption;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlindIndexTest {
+
+    private static final String ENCRYPTION_KEY = "1234567890123456";
+
+    @Test
+    void of_IsDeterministicHexDigest() {
+        BlindIndex blindIndex = new BlindIndex("blind-index-key");
+
+        String index = blindIndex.of("test@example.com");
+
+        assertEquals(index, blindIndex.of("test@example.com"));
+        assertTrue(index.matches("[0-9a-f]{64}"));
+        assertNotEquals(index, blindIndex.of("Test@example.com"));
+    }
+
+    @Test
+    void of_DependsOnKey() {
+        assertNotEquals(new BlindIndex("key-a").of("test@example.com"), new BlindIndex("key-b").of("test@example.com"));
+    }
+
+    @Test
+    void of_ReturnsNullForNull() {
+        assertNull(new BlindIndex("blind-index-key").of(null));
+    }
+
+    @Test
+    void constructor_DerivesKeyFromEncryptionKeyWhenNotConfigured() {
+        BlindIndex derived = new BlindIndex("", ENCRYPTION_KEY);
+
+        assertEquals(derived.of("test@example.com"), new BlindIndex("", ENCRYPTION_KEY).of("test@example.com"));
+        assertNotEquals(new BlindIndex(ENCRYPTION_KEY).of("test@example.com"), derived.of("test@example.com"));
+        assertEquals(new BlindIndex("configured").of("test@example.com"), new BlindIndex("configured", ENCRYPTION_KEY).of("test@example.com"));
+    }
+}
@@ -0,0 +1,100 @@
+package com.myfund.services.encryption;
+
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Cipher;
+import javax.crypto.IllegalBlockSizeException;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CipherEngineTest {
+
+    private static final String SECRET_KEY = "1234567890123456";
+    private static final String OTHER_KEY = "6543210987654321";
+
+    private final CipherEngine cipherEngine = new CipherEngine();
+
+    @Test
+    void encrypt_ShouldProduceSameCiphertextAsFreshCipher() throws Exception {
+        byte[] data = "Hello, World!".getBytes(StandardCharsets.UTF_8);
+        Cipher cipher = Cipher.getInstance("AES");
+        cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(SECRET_KEY.getBytes(StandardCharsets.UTF_8), "AES"));
+
+        assertArrayEquals(cipher.doFinal(data), cipherEngine.encrypt(data, SECRET_KEY));
+    }
+
+    @Test
+    void encryptWithHeader_ShouldPrefixCiphertextAndDecryptFromOffset() throws Exception {
+        byte[] data = "Hello, World!".getBytes(StandardCharsets.UTF_8);
+
+        byte[] encrypted = cipherEngine.encrypt((byte) 7, data, SECRET_KEY);
+
+        assertEquals(7, encrypted[0]);
+        assertArrayEquals(cipherEngine.encrypt(data, SECRET_KEY), Arrays.copyOfRange(encrypted, 1, encrypted.length));
+        assertArrayEquals(data, cipherEngine.decrypt(encrypted, 1, SECRET_KEY));
+    }
+
+    @Test
+    void encryptAndDecrypt_ShouldReuseCipherAcrossCalls() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            byte[] data = ("value-" + i).getBytes(StandardCharsets.UTF_8);
+            assertArrayEquals(data, cipherEngine.decrypt(cipherEngine.encrypt(data, SECRET_KEY), SECRET_KEY));
+        }
+    }
+
+    @Test
+    void encryptAndDecrypt_ShouldKeepKeysSeparate() throws Exception {
+        byte[] data = "Hello, World!".getBytes(StandardCharsets.UTF_8);
+
+        byte[] encryptedWithFirstKey = cipherEngine.encrypt(data, SECRET_KEY);
+        byte[] encryptedWithSecondKey = cipherEngine.encrypt(data, OTHER_KEY);
+
+        assertFalse(Arrays.equals(encryptedWithFirstKey, encryptedWithSecondKey));
+        assertArrayEquals(data, cipherEngine.decrypt(encryptedWithFirstKey, SECRET_KEY));
+        assertArrayEquals(data, cipherEngine.decrypt(encryptedWithSecondKey, OTHER_KEY));
+    }
+
+    @Test
+    void decrypt_ShouldRecoverAfterFailedOperation() throws Exception {
+        byte[] data = "Hello, World!".getBytes(StandardCharsets.UTF_8);
+        byte[] encrypted = cipherEngine.encrypt(data, SECRET_KEY);
+        byte[] truncated = Arrays.copyOf(encrypted, encrypted.length - 1);
+
+        assertThrows(IllegalBlockSizeException.class, () -> cipherEngine.decrypt(truncated, SECRET_KEY));
+        assertArrayEquals(data, cipherEngine.decrypt(encrypted, SECRET_KEY));
+    }
+
+    @Test
+    void encryptAndDecrypt_ShouldBeSafeAcrossThreads() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                int threadId = thread;
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < 1_000; i++) {
+                        byte[] data = ("thread-" + threadId + "-" + i).getBytes(StandardCharsets.UTF_8);
+                        String key = i % 2 == 0 ? SECRET_KEY : OTHER_KEY;
+                        if (!Arrays.equals(data, cipherEngine.decrypt(cipherEngine.encrypt(data, key), key))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get(), "Every thread should round-trip its values");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
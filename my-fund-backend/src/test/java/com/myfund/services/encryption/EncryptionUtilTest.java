@@ -1,6 +1,9 @@
 package com.myfund.services.encryption;
 
 import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class EncryptionUtilTest {
@@ -28,4 +31,22 @@ class EncryptionUtilTest {
         String decryptedText = EncryptionUtil.decrypt(encryptedText, SECRET_KEY);
         assertEquals("", decryptedText, "Decrypted text should be an empty string");
     }
-}
\ No newline at end of file
+
+    @Test
+    void encryptText_ShouldStoreRawCiphertextBehindFormatByte() throws Exception {
+        byte[] column = EncryptionUtil.encryptText(ORIGINAL_TEXT, SECRET_KEY);
+
+        assertEquals(EncryptionUtil.TEXT_FORMAT, column[0]);
+        assertEquals(17, column.length);
+        assertFalse(EncryptionUtil.isLegacyBase64(column));
+        assertEquals(ORIGINAL_TEXT, EncryptionUtil.decryptText(column, SECRET_KEY));
+    }
+
+    @Test
+    void decryptText_ShouldReadBase64ValuesWrittenBeforeBinaryColumns() throws Exception {
+        byte[] legacyColumn = EncryptionUtil.encrypt(ORIGINAL_TEXT, SECRET_KEY).getBytes(StandardCharsets.US_ASCII);
+
+        assertTrue(EncryptionUtil.isLegacyBase64(legacyColumn));
+        assertEquals(ORIGINAL_TEXT, EncryptionUtil.decryptText(legacyColumn, SECRET_KEY));
+    }
+}
@@ -6,16 +6,19 @@ import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyByte;
+import static org.mockito.ArgumentMatchers.anyString;
 
 class LocalDateTimeEncryptorTest {
 
     private LocalDateTimeEncryptor encryptor;
-    private static final String ENCRYPTION_KEY = "testEncryptionKey";
-    private static final String ENCRYPTED_DATA = "encryptedData";
+    private static final String ENCRYPTION_KEY = "1234567890123456";
     private static final String DECRYPTED_DATA = "2023-10-01T12:00:00";
     private static final LocalDateTime LOCAL_DATE_TIME = LocalDateTime.of(2023, 10, 1, 12, 0, 0);
 
@@ -27,18 +30,24 @@ class LocalDateTimeEncryptorTest {
 
     @Test
     void testConvertToDatabaseColumn_Success() {
-        try (MockedStatic<EncryptionUtil> mockedEncryptionUtil = Mockito.mockStatic(EncryptionUtil.class)) {
-            mockedEncryptionUtil.when(() -> EncryptionUtil.encrypt(DECRYPTED_DATA, ENCRYPTION_KEY)).thenReturn(ENCRYPTED_DATA);
+        byte[] result = encryptor.convertToDatabaseColumn(LOCAL_DATE_TIME);
 
-            String result = encryptor.convertToDatabaseColumn(LOCAL_DATE_TIME);
-            assertEquals(ENCRYPTED_DATA, result);
-        }
+        assertEquals(EncryptionUtil.EPOCH_SECOND_FORMAT, result[0]);
+        assertEquals(17, result.length);
+        assertEquals(LOCAL_DATE_TIME, encryptor.convertToEntityAttribute(result));
+    }
+
+    @Test
+    void testConvertToDatabaseColumn_TruncatesToSeconds() {
+        byte[] result = encryptor.convertToDatabaseColumn(LOCAL_DATE_TIME.withNano(123_456_789));
+
+        assertEquals(LOCAL_DATE_TIME, encryptor.convertToEntityAttribute(result));
     }
 
     @Test
     void testConvertToDatabaseColumn_Exception() {
         try (MockedStatic<EncryptionUtil> mockedEncryptionUtil = Mockito.mockStatic(EncryptionUtil.class)) {
-            mockedEncryptionUtil.when(() -> EncryptionUtil.encrypt(DECRYPTED_DATA, ENCRYPTION_KEY)).thenThrow(new RuntimeException("Encryption error"));
+            mockedEncryptionUtil.when(() -> EncryptionUtil.encryptColumn(anyByte(), any(byte[].class), anyString())).thenThrow(new RuntimeException("Encryption error"));
 
             RuntimeException exception = assertThrows(RuntimeException.class, () -> encryptor.convertToDatabaseColumn(LOCAL_DATE_TIME));
             assertEquals("Error encrypting LocalDateTime", exception.getMessage());
@@ -46,28 +55,27 @@ class LocalDateTimeEncryptorTest {
     }
 
     @Test
-    void testConvertToEntityAttribute_Success() {
-        try (MockedStatic<EncryptionUtil> mockedEncryptionUtil = Mockito.mockStatic(EncryptionUtil.class)) {
-            mockedEncryptionUtil.when(() -> EncryptionUtil.decrypt(ENCRYPTED_DATA, ENCRYPTION_KEY)).thenReturn(DECRYPTED_DATA);
+    void testConvertToEntityAttribute_TextAndBase64() throws Exception {
+        byte[] textData = EncryptionUtil.encryptText(DECRYPTED_DATA, ENCRYPTION_KEY);
+        byte[] base64Data = EncryptionUtil.encrypt(DECRYPTED_DATA, ENCRYPTION_KEY).getBytes(StandardCharsets.US_ASCII);
 
-            LocalDateTime result = encryptor.convertToEntityAttribute(ENCRYPTED_DATA);
-            assertEquals(LOCAL_DATE_TIME, result);
-        }
+        assertEquals(LOCAL_DATE_TIME, encryptor.convertToEntityAttribute(textData));
+        assertEquals(LOCAL_DATE_TIME, encryptor.convertToEntityAttribute(base64Data));
     }
 
     @Test
     void testConvertToEntityAttribute_Exception() {
         try (MockedStatic<EncryptionUtil> mockedEncryptionUtil = Mockito.mockStatic(EncryptionUtil.class)) {
-            mockedEncryptionUtil.when(() -> EncryptionUtil.decrypt(ENCRYPTED_DATA, ENCRYPTION_KEY)).thenThrow(new RuntimeException("Decryption error"));
+            mockedEncryptionUtil.when(() -> EncryptionUtil.decryptColumn(any(byte[].class), anyString())).thenThrow(new RuntimeException("Decryption error"));
 
-            RuntimeException exception = assertThrows(RuntimeException.class, () -> encryptor.convertToEntityAttribute(ENCRYPTED_DATA));
+            RuntimeException exception = assertThrows(RuntimeException.class, () -> encryptor.convertToEntityAttribute(new byte[]{EncryptionUtil.EPOCH_SECOND_FORMAT, 1, 2, 3}));
             assertEquals("Error decrypting LocalDateTime", exception.getMessage());
         }
     }
 
     @Test
     void testConvertToDatabaseColumn_NullAttribute() {
-        String result = encryptor.convertToDatabaseColumn(null);
+        byte[] result = encryptor.convertToDatabaseColumn(null);
         assertEquals(null, result);
     }
 
@@ -76,4 +84,4 @@ class LocalDateTimeEncryptorTest {
         LocalDateTime result = encryptor.convertToEntityAttribute(null);
         assertEquals(null, result);
     }
-}
\ No newline at end of file
+}
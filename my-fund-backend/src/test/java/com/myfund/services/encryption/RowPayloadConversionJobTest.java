@@ -0,0 +1,120 @@
+package com.myfund.services.encryption;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RowPayloadConversionJobTest {
+
+    private static final String SECRET_KEY = "1234567890123456";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private StringEncryptor stringEncryptor;
+
+    private BigDecimalEncryptor bigDecimalEncryptor;
+
+    private LocalDateTimeEncryptor localDateTimeEncryptor;
+
+    private RowPayloadEncryptor rowPayloadEncryptor;
+
+    private RowPayloadConversionJob rowPayloadConversionJob;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        stringEncryptor = withKey(new StringEncryptor());
+        bigDecimalEncryptor = withKey(new BigDecimalEncryptor());
+        localDateTimeEncryptor = withKey(new LocalDateTimeEncryptor());
+        rowPayloadEncryptor = withKey(new RowPayloadEncryptor());
+        rowPayloadConversionJob = new RowPayloadConversionJob(jdbcTemplate, stringEncryptor, bigDecimalEncryptor, localDateTimeEncryptor, rowPayloadEncryptor, 2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void convert_ShouldWriteDecryptedColumnsAsPayloadGuardedByOldValues() {
+        LocalDateTime date = LocalDateTime.of(2024, 5, 17, 0, 0);
+        Map<String, Object> row = row(5L, "Rent", new BigDecimal("1500.00"), date);
+        when(jdbcTemplate.queryForList(anyString(), eq(0L), eq(2))).thenReturn(List.of(row));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1});
+
+        int converted = rowPayloadConversionJob.convert("expense");
+
+        assertEquals(1, converted);
+        ArgumentCaptor<List<Object[]>> updates = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("UPDATE expense SET payload = ?"), updates.capture());
+        Object[] update = updates.getValue().get(0);
+        assertEquals(new RowPayload("Rent", new BigDecimal("1500.00"), date), rowPayloadEncryptor.convertToEntityAttribute((byte[]) update[0]));
+        assertEquals(5L, update[1]);
+        assertEquals(row.get("name"), update[2]);
+        assertEquals(row.get("amount"), update[3]);
+        assertEquals(row.get("local_date_time"), update[4]);
+    }
+
+    @Test
+    void convert_ShouldResumeAfterLastIdUntilTableIsExhausted() {
+        when(jdbcTemplate.queryForList(anyString(), eq(0L), eq(2))).thenReturn(List.of(row(1L, "a", BigDecimal.ONE, null), row(2L, "b", BigDecimal.ONE, null)));
+        when(jdbcTemplate.queryForList(anyString(), eq(2L), eq(2))).thenReturn(List.of(row(3L, "c", BigDecimal.ONE, null)));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1, 0}, new int[]{1});
+
+        int converted = rowPayloadConversionJob.convert("income");
+
+        assertEquals(2, converted);
+        verify(jdbcTemplate).queryForList(contains("FROM income WHERE id > ? AND payload IS NULL"), eq(0L), eq(2));
+        verify(jdbcTemplate).queryForList(anyString(), eq(2L), eq(2));
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void convert_ShouldKeepCursorBetweenRunsWhenBatchLimitIsReached() {
+        when(jdbcTemplate.queryForList(anyString(), anyLong(), eq(2))).thenAnswer(invocation -> {
+            long after = invocation.getArgument(1);
+            return List.of(row(after + 1, "a", BigDecimal.ONE, null), row(after + 2, "b", BigDecimal.ONE, null));
+        });
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1, 1});
+
+        rowPayloadConversionJob.convert("expense");
+        rowPayloadConversionJob.convert("expense");
+
+        verify(jdbcTemplate, times(1)).queryForList(anyString(), eq(0L), eq(2));
+        verify(jdbcTemplate).queryForList(anyString(), eq(100L), eq(2));
+    }
+
+    @Test
+    void convert_ShouldNotUpdateWhenNothingIsLeft() {
+        when(jdbcTemplate.queryForList(anyString(), anyLong(), anyInt())).thenReturn(List.of());
+
+        rowPayloadConversionJob.convertRows();
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    private Map<String, Object> row(Long id, String name, BigDecimal amount, LocalDateTime localDateTime) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", id);
+        row.put("name", stringEncryptor.convertToDatabaseColumn(name));
+        row.put("amount", bigDecimalEncryptor.convertToDatabaseColumn(amount));
+        row.put("local_date_time", localDateTimeEncryptor.convertToDatabaseColumn(localDateTime));
+        return row;
+    }
+
+    private static <T> T withKey(T converter) {
+        ReflectionTestUtils.setField(converter, "encryptionKey", SECRET_KEY);
+        return converter;
+    }
+}
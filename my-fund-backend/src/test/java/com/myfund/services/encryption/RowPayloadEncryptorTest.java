@@ -0,0 +1,80 @@
+package com.myfund.services.encryption;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RowPayloadEncryptorTest {
+
+    private static final String SECRET_KEY = "1234567890123456";
+
+    private RowPayloadEncryptor rowPayloadEncryptor;
+
+    @BeforeEach
+    void setUp() {
+        rowPayloadEncryptor = new RowPayloadEncryptor();
+        ReflectionTestUtils.setField(rowPayloadEncryptor, "encryptionKey", SECRET_KEY);
+    }
+
+    @Test
+    void convertToEntityAttribute_ShouldReadBackEncryptedPayload() {
+        RowPayload payload = new RowPayload("Groceries - żabka", new BigDecimal("-1234.50"), LocalDateTime.of(2024, 5, 17, 13, 45, 10, 123_000_000));
+
+        byte[] encrypted = rowPayloadEncryptor.convertToDatabaseColumn(payload);
+
+        assertEquals(payload, rowPayloadEncryptor.convertToEntityAttribute(encrypted));
+    }
+
+    @Test
+    void convertToEntityAttribute_ShouldKeepMissingFieldsNull() {
+        RowPayload payload = new RowPayload("Salary", null, null);
+
+        assertEquals(payload, rowPayloadEncryptor.convertToEntityAttribute(rowPayloadEncryptor.convertToDatabaseColumn(payload)));
+    }
+
+    @Test
+    void convertToDatabaseColumn_ShouldBeSmallerThanSeparateColumns() throws Exception {
+        RowPayload payload = new RowPayload("Card payment SHOP 1234", new BigDecimal("49.99"), LocalDateTime.of(2024, 5, 17, 0, 0));
+        int separateColumns = EncryptionUtil.encrypt(payload.getName(), SECRET_KEY).length()
+                + EncryptionUtil.encrypt(payload.getAmount().toString(), SECRET_KEY).length()
+                + EncryptionUtil.encrypt(payload.getLocalDateTime().toString(), SECRET_KEY).length();
+
+        byte[] encrypted = rowPayloadEncryptor.convertToDatabaseColumn(payload);
+
+        assertTrue(encrypted.length * 2 <= separateColumns, encrypted.length + " bytes vs " + separateColumns);
+    }
+
+    @Test
+    void convertToEntityAttribute_ShouldRejectUnknownVersion() throws Exception {
+        byte[] serialized = RowPayloadEncryptor.serialize(new RowPayload("name", BigDecimal.ONE, null));
+        serialized[0] = 42;
+        byte[] encrypted = EncryptionUtil.encryptBytes(serialized, SECRET_KEY);
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> rowPayloadEncryptor.convertToEntityAttribute(encrypted));
+
+        assertEquals("Error decrypting row payload", exception.getMessage());
+        assertInstanceOf(IllegalArgumentException.class, exception.getCause());
+    }
+
+    @Test
+    void serialize_ShouldRejectTooLongName() {
+        RowPayload payload = new RowPayload("x".repeat(70_000), BigDecimal.ONE, null);
+
+        assertThrows(IllegalArgumentException.class, () -> RowPayloadEncryptor.serialize(payload));
+    }
+
+    @Test
+    void convertToDatabaseColumn_ShouldHandleNullAttribute() {
+        assertNull(rowPayloadEncryptor.convertToDatabaseColumn(null));
+    }
+
+    @Test
+    void convertToEntityAttribute_ShouldHandleNullDbData() {
+        assertNull(rowPayloadEncryptor.convertToEntityAttribute(null));
+    }
+}
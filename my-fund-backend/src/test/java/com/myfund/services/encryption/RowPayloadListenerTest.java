@@ -0,0 +1,55 @@
+package com.myfund.services.encryption;
+
+import com.myfund.models.Expense;
+import com.myfund.models.Income;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RowPayloadListenerTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2024, 5, 17, 0, 0);
+
+    @Test
+    void storeAsRowPayload_ShouldMoveFieldsIntoPayloadWhenEnabled() {
+        Expense expense = Expense.builder().name("Rent").amount(new BigDecimal("1500.00")).localDateTime(DATE).build();
+
+        new RowPayloadListener(true).storeAsRowPayload(expense);
+
+        assertEquals(new RowPayload("Rent", new BigDecimal("1500.00"), DATE), ReflectionTestUtils.getField(expense, "payload"));
+        assertNull(ReflectionTestUtils.getField(expense, "name"));
+        assertNull(ReflectionTestUtils.getField(expense, "amount"));
+        assertNull(ReflectionTestUtils.getField(expense, "localDateTime"));
+        assertEquals("Rent", expense.getName());
+        assertEquals(new BigDecimal("1500.00"), expense.getAmount());
+        assertEquals(DATE, expense.getLocalDateTime());
+    }
+
+    @Test
+    void storeAsRowPayload_ShouldMoveFieldsBackToColumnsWhenDisabled() {
+        Income income = Income.builder().payload(new RowPayload("Salary", BigDecimal.TEN, DATE)).build();
+
+        new RowPayloadListener(false).storeAsRowPayload(income);
+
+        assertNull(ReflectionTestUtils.getField(income, "payload"));
+        assertEquals("Salary", ReflectionTestUtils.getField(income, "name"));
+        assertEquals(BigDecimal.TEN, ReflectionTestUtils.getField(income, "amount"));
+        assertEquals(DATE, ReflectionTestUtils.getField(income, "localDateTime"));
+    }
+
+    @Test
+    void setters_ShouldUpdatePayloadOfPayloadRows() {
+        Expense expense = Expense.builder().payload(new RowPayload("Rent", BigDecimal.ONE, DATE)).build();
+
+        expense.setName("Rent June");
+        expense.setAmount(BigDecimal.TEN);
+
+        assertEquals(new RowPayload("Rent June", BigDecimal.TEN, DATE), ReflectionTestUtils.getField(expense, "payload"));
+        assertNull(ReflectionTestUtils.getField(expense, "name"));
+        assertEquals(Expense.builder().name("Rent June").amount(BigDecimal.TEN).localDateTime(DATE).build(), expense);
+    }
+}
@@ -1,5 +1,7 @@
 package com.myfund.services.encryption;
 
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
@@ -7,6 +9,7 @@ import org.mockito.Mockito;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -14,6 +17,7 @@ class StringEncryptorTest {
 
     private StringEncryptor stringEncryptor;
     private static final String ENCRYPTION_KEY = "testKey";
+    private static final byte[] ENCRYPTED_STRING = {EncryptionUtil.TEXT_FORMAT, 1, 2, 3};
 
     @BeforeEach
     void setUp() {
@@ -24,19 +28,19 @@ class StringEncryptorTest {
     @Test
     void convertToDatabaseColumn_ShouldEncryptString() {
         try (MockedStatic<EncryptionUtil> mockedEncryptionUtil = Mockito.mockStatic(EncryptionUtil.class)) {
-            mockedEncryptionUtil.when(() -> EncryptionUtil.encrypt(anyString(), anyString())).thenReturn("encryptedString");
+            mockedEncryptionUtil.when(() -> EncryptionUtil.encryptText(anyString(), anyString())).thenReturn(ENCRYPTED_STRING);
 
-            String result = stringEncryptor.convertToDatabaseColumn("testString");
+            byte[] result = stringEncryptor.convertToDatabaseColumn("testString");
 
-            assertEquals("encryptedString", result);
-            mockedEncryptionUtil.verify(() -> EncryptionUtil.encrypt("testString", ENCRYPTION_KEY), times(1));
+            assertSame(ENCRYPTED_STRING, result);
+            mockedEncryptionUtil.verify(() -> EncryptionUtil.encryptText("testString", ENCRYPTION_KEY), times(1));
         }
     }
 
     @Test
     void convertToDatabaseColumn_ShouldThrowRuntimeExceptionOnEncryptionError() {
         try (MockedStatic<EncryptionUtil> mockedEncryptionUtil = Mockito.mockStatic(EncryptionUtil.class)) {
-            mockedEncryptionUtil.when(() -> EncryptionUtil.encrypt(anyString(), anyString())).thenThrow(new RuntimeException("Encryption error"));
+            mockedEncryptionUtil.when(() -> EncryptionUtil.encryptText(anyString(), anyString())).thenThrow(new RuntimeException("Encryption error"));
 
             RuntimeException exception = assertThrows(RuntimeException.class, () -> {
                 stringEncryptor.convertToDatabaseColumn("testString");
@@ -49,22 +53,22 @@ class StringEncryptorTest {
     @Test
     void convertToEntityAttribute_ShouldDecryptString() {
         try (MockedStatic<EncryptionUtil> mockedEncryptionUtil = Mockito.mockStatic(EncryptionUtil.class)) {
-            mockedEncryptionUtil.when(() -> EncryptionUtil.decrypt(anyString(), anyString())).thenReturn("decryptedString");
+            mockedEncryptionUtil.when(() -> EncryptionUtil.decryptText(any(byte[].class), anyString())).thenReturn("decryptedString");
 
-            String result = stringEncryptor.convertToEntityAttribute("encryptedString");
+            String result = stringEncryptor.convertToEntityAttribute(ENCRYPTED_STRING);
 
             assertEquals("decryptedString", result);
-            mockedEncryptionUtil.verify(() -> EncryptionUtil.decrypt("encryptedString", ENCRYPTION_KEY), times(1));
+            mockedEncryptionUtil.verify(() -> EncryptionUtil.decryptText(ENCRYPTED_STRING, ENCRYPTION_KEY), times(1));
         }
     }
 
     @Test
     void convertToEntityAttribute_ShouldThrowRuntimeExceptionOnDecryptionError() {
         try (MockedStatic<EncryptionUtil> mockedEncryptionUtil = Mockito.mockStatic(EncryptionUtil.class)) {
-            mockedEncryptionUtil.when(() -> EncryptionUtil.decrypt(anyString(), anyString())).thenThrow(new RuntimeException("Decryption error"));
+            mockedEncryptionUtil.when(() -> EncryptionUtil.decryptText(any(byte[].class), anyString())).thenThrow(new RuntimeException("Decryption error"));
 
             RuntimeException exception = assertThrows(RuntimeException.class, () -> {
-                stringEncryptor.convertToEntityAttribute("encryptedString");
+                stringEncryptor.convertToEntityAttribute(ENCRYPTED_STRING);
             });
 
             assertEquals("Error decrypting string", exception.getMessage());
@@ -73,7 +77,7 @@ class StringEncryptorTest {
 
     @Test
     void convertToDatabaseColumn_ShouldHandleNullAttribute() {
-        String result = stringEncryptor.convertToDatabaseColumn(null);
+        byte[] result = stringEncryptor.convertToDatabaseColumn(null);
         assertNull(result);
     }
 
@@ -82,4 +86,21 @@ class StringEncryptorTest {
         String result = stringEncryptor.convertToEntityAttribute(null);
         assertNull(result);
     }
-}
\ No newline at end of file
+
+    @Test
+    void converterCalls_ShouldBeTimedPerOperation() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        Metrics.addRegistry(meterRegistry);
+        try {
+            StringEncryptor encryptor = new StringEncryptor();
+            ReflectionTestUtils.setField(encryptor, "encryptionKey", "1234567890123456");
+
+            encryptor.convertToEntityAttribute(encryptor.convertToDatabaseColumn("testString"));
+
+            assertEquals(1, meterRegistry.get(ConverterMetrics.TIMER_NAME).tags("type", "string", "operation", "encrypt").timer().count());
+            assertEquals(1, meterRegistry.get(ConverterMetrics.TIMER_NAME).tags("type", "string", "operation", "decrypt").timer().count());
+        } finally {
+            Metrics.removeRegistry(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.myfund.services.jwt;
+
+import com.myfund.models.AccessToken;
+import com.myfund.models.User;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    private static final SecretKey KEY = Keys.hmacShaKeyFor("0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8));
+
+    private static final Instant NOW = Instant.parse("2024-05-01T10:00:00Z");
+
+    private final User user = User.builder().id(7L).username("testuser").email("test@example.com").role("USER").build();
+
+    @Test
+    void issue_TokenRoundTripsToPrincipal() {
+        JwtService jwtService = new JwtService(KEY, Duration.ofHours(1), Clock.fixed(NOW, ZoneOffset.UTC));
+
+        AccessToken accessToken = jwtService.issue(user);
+        Optional<User> principal = jwtService.parse(accessToken.getToken());
+
+        assertEquals(NOW.plus(Duration.ofHours(1)), accessToken.getExpiresAt());
+        assertTrue(principal.isPresent());
+        assertEquals(7L, principal.get().getId());
+        assertEquals("testuser", principal.get().getUsername());
+        assertEquals("USER", principal.get().getRole());
+        assertNull(principal.get().getEmail());
+    }
+
+    @Test
+    void parse_RejectsExpiredToken() {
+        String token = new JwtService(KEY, Duration.ofMinutes(5), Clock.fixed(NOW, ZoneOffset.UTC)).issue(user).getToken();
+        JwtService later = new JwtService(KEY, Duration.ofMinutes(5), Clock.fixed(NOW.plus(Duration.ofMinutes(6)), ZoneOffset.UTC));
+
+        assertTrue(later.parse(token).isEmpty());
+    }
+
+    @Test
+    void parse_RejectsTokenSignedWithOtherKey() {
+        SecretKey otherKey = Keys.hmacShaKeyFor("fedcba9876543210fedcba9876543210".getBytes(StandardCharsets.UTF_8));
+        String token = new JwtService(otherKey, Duration.ofHours(1), Clock.fixed(NOW, ZoneOffset.UTC)).issue(user).getToken();
+
+        assertTrue(new JwtService(KEY, Duration.ofHours(1), Clock.fixed(NOW, ZoneOffset.UTC)).parse(token).isEmpty());
+    }
+
+    @Test
+    void parse_RejectsMalformedToken() {
+        JwtService jwtService = new JwtService(KEY, Duration.ofHours(1), Clock.fixed(NOW, ZoneOffset.UTC));
+
+        assertTrue(jwtService.parse("not-a-token").isEmpty());
+        assertTrue(jwtService.parse("").isEmpty());
+    }
+
+    @Test
+    void constructor_DerivesKeyFromEncryptionKeyWhenSecretMissing() {
+        JwtService first = new JwtService("", "1234567890123456", Duration.ofHours(1));
+        JwtService second = new JwtService("", "1234567890123456", Duration.ofHours(1));
+
+        assertTrue(second.parse(first.issue(user).getToken()).isPresent());
+    }
+}